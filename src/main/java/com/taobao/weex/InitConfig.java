@@ -29,6 +29,7 @@ import com.taobao.weex.adapter.IWXUserTrackAdapter;
 import com.taobao.weex.adapter.URIAdapter;
 import com.taobao.weex.appfram.storage.IWXStorageAdapter;
 import com.taobao.weex.appfram.websocket.IWebSocketAdapterFactory;
+import com.taobao.weex.http.WXBundleCache;
 
 /**
  * Created by sospartan on 5/31/16.
@@ -44,6 +45,7 @@ public class InitConfig {
   private URIAdapter mURIAdapter;
   private IWebSocketAdapterFactory webSocketAdapterFactory;
   private IWXJSExceptionAdapter mJSExceptionAdapter;
+  private WXBundleCache bundleCache;
   private String framework;
 
   //本木自定义adapter
@@ -97,6 +99,10 @@ public class InitConfig {
     return mTypefaceAdapter;
   }
 
+  public WXBundleCache getBundleCache() {
+    return bundleCache;
+  }
+
   private InitConfig() {
   }
 
@@ -110,6 +116,7 @@ public class InitConfig {
     IWXSoLoaderAdapter soLoader;
     URIAdapter mURIAdapter;
     IWXJSExceptionAdapter mJSExceptionAdapter;
+    WXBundleCache bundleCache;
     String framework;
     IWebSocketAdapterFactory webSocketAdapterFactory;
 
@@ -180,6 +187,14 @@ public class InitConfig {
       return this;
     }
 
+    /**
+     * Cache bundles loaded by {@link WXSDKInstance#renderByUrl}, disabled by default.
+     */
+    public Builder setBundleCache(WXBundleCache cache) {
+      this.bundleCache = cache;
+      return this;
+    }
+
     public InitConfig build() {
       InitConfig config = new InitConfig();
       config.httpAdapter = this.httpAdapter;
@@ -194,6 +209,7 @@ public class InitConfig {
       config.webSocketAdapterFactory = this.webSocketAdapterFactory;
       config.mJSExceptionAdapter = this.mJSExceptionAdapter;
       config.mTypefaceAdapter = this.typefaceAdapter;
+      config.bundleCache = this.bundleCache;
       return config;
     }
   }
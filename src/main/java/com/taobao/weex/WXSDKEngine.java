@@ -47,6 +47,7 @@ import com.taobao.weex.common.WXException;
 import com.taobao.weex.common.WXInstanceWrap;
 import com.taobao.weex.common.WXModule;
 import com.taobao.weex.dom.BasicEditTextDomObject;
+import com.taobao.weex.dom.DomObjectCreator;
 import com.taobao.weex.dom.TextAreaEditTextDomObject;
 import com.taobao.weex.dom.WXCellDomObject;
 import com.taobao.weex.dom.WXDomObject;
@@ -291,24 +292,146 @@ public class WXSDKEngine {
         WXBasicComponentType.SLIDER_NEIGHBOR
       );
       String simpleList = "simplelist";
-      registerComponent(SimpleListComponent.class,false,simpleList);
-      registerComponent(WXListComponent.class, false,WXBasicComponentType.LIST,WXBasicComponentType.VLIST,WXBasicComponentType.RECYCLER,WXBasicComponentType.WATERFALL);
-      registerComponent(WXRecyclerTemplateList.class, false,WXBasicComponentType.RECYCLE_LIST);
-      registerComponent(HorizontalListComponent.class,false,WXBasicComponentType.HLIST);
-      registerComponent(WXBasicComponentType.CELL, WXCell.class, true);
-      registerComponent(WXBasicComponentType.CELL_SLOT, WXCell.class, true);
-      registerComponent(WXBasicComponentType.INDICATOR, WXIndicator.class, true);
-      registerComponent(WXBasicComponentType.VIDEO, WXVideo.class, false);
-      registerComponent(WXBasicComponentType.INPUT, WXInput.class, false);
-      registerComponent(WXBasicComponentType.TEXTAREA, Textarea.class,false);
-      registerComponent(WXBasicComponentType.SWITCH, WXSwitch.class, false);
-      registerComponent(WXBasicComponentType.A, WXA.class, false);
-      registerComponent(WXBasicComponentType.EMBED, WXEmbed.class, true);
-      registerComponent(WXBasicComponentType.WEB, WXWeb.class);
-      registerComponent(WXBasicComponentType.REFRESH, WXRefresh.class);
-      registerComponent(WXBasicComponentType.LOADING, WXLoading.class);
-      registerComponent(WXBasicComponentType.LOADING_INDICATOR, WXLoadingIndicator.class);
-      registerComponent(WXBasicComponentType.HEADER, WXHeader.class);
+      registerComponent(
+        new SimpleComponentHolder(
+          SimpleListComponent.class,
+          new SimpleListComponent.Creator()
+        ),
+        false,
+        simpleList
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXListComponent.class,
+          new WXListComponent.Creator()
+        ),
+        false,
+        WXBasicComponentType.LIST,
+        WXBasicComponentType.VLIST,
+        WXBasicComponentType.RECYCLER,
+        WXBasicComponentType.WATERFALL
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXRecyclerTemplateList.class,
+          new WXRecyclerTemplateList.Creator()
+        ),
+        false,
+        WXBasicComponentType.RECYCLE_LIST
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          HorizontalListComponent.class,
+          new HorizontalListComponent.Creator()
+        ),
+        false,
+        WXBasicComponentType.HLIST
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXCell.class,
+          new WXCell.Creator()
+        ),
+        true,
+        WXBasicComponentType.CELL,
+        WXBasicComponentType.CELL_SLOT
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXIndicator.class,
+          new WXIndicator.Creator()
+        ),
+        true,
+        WXBasicComponentType.INDICATOR
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXVideo.class,
+          new WXVideo.Creator()
+        ),
+        false,
+        WXBasicComponentType.VIDEO
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXInput.class,
+          new WXInput.Creator()
+        ),
+        false,
+        WXBasicComponentType.INPUT
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          Textarea.class,
+          new Textarea.Creator()
+        ),
+        false,
+        WXBasicComponentType.TEXTAREA
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXSwitch.class,
+          new WXSwitch.Creator()
+        ),
+        false,
+        WXBasicComponentType.SWITCH
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXA.class,
+          new WXA.Creator()
+        ),
+        false,
+        WXBasicComponentType.A
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXEmbed.class,
+          new WXEmbed.Creator()
+        ),
+        true,
+        WXBasicComponentType.EMBED
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXWeb.class,
+          new WXWeb.Creator()
+        ),
+        false,
+        WXBasicComponentType.WEB
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXRefresh.class,
+          new WXRefresh.Creator()
+        ),
+        false,
+        WXBasicComponentType.REFRESH
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXLoading.class,
+          new WXLoading.Creator()
+        ),
+        false,
+        WXBasicComponentType.LOADING
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXLoadingIndicator.class,
+          new WXLoadingIndicator.Creator()
+        ),
+        false,
+        WXBasicComponentType.LOADING_INDICATOR
+      );
+      registerComponent(
+        new SimpleComponentHolder(
+          WXHeader.class,
+          new WXHeader.Creator()
+        ),
+        false,
+        WXBasicComponentType.HEADER
+      );
 
       registerModule("modal", WXModalUIModule.class, false);
       registerModule("instanceWrap", WXInstanceWrap.class, true);
@@ -326,22 +449,25 @@ public class WXSDKEngine {
       registerModule("locale", WXLocaleModule.class);
 
 
-      registerDomObject(simpleList, WXListDomObject.class);
-      registerDomObject(WXBasicComponentType.INDICATOR, WXIndicator.IndicatorDomNode.class);
-      registerDomObject(WXBasicComponentType.TEXT, WXTextDomObject.class);
-      registerDomObject(WXBasicComponentType.HEADER, WXCellDomObject.class);
-      registerDomObject(WXBasicComponentType.CELL, WXCellDomObject.class);
-      registerDomObject(WXBasicComponentType.CELL_SLOT, WXCellDomObject.class);
-      registerDomObject(WXBasicComponentType.INPUT, BasicEditTextDomObject.class);
-      registerDomObject(WXBasicComponentType.TEXTAREA, TextAreaEditTextDomObject.class);
-      registerDomObject(WXBasicComponentType.SWITCH, WXSwitchDomObject.class);
-      registerDomObject(WXBasicComponentType.LIST, WXListDomObject.class);
-      registerDomObject(WXBasicComponentType.RECYCLE_LIST, WXRecyclerDomObject.class);
-      registerDomObject(WXBasicComponentType.VLIST, WXListDomObject.class);
-      registerDomObject(WXBasicComponentType.HLIST, WXListDomObject.class);
-      registerDomObject(WXBasicComponentType.SCROLLER, WXScrollerDomObject.class);
-      registerDomObject(WXBasicComponentType.RECYCLER, WXRecyclerDomObject.class);
-      registerDomObject(WXBasicComponentType.WATERFALL, WXRecyclerDomObject.class);
+      DomObjectCreator listCreator = new WXListDomObject.Creator();
+      registerDomObject(simpleList, WXListDomObject.class, listCreator);
+      registerDomObject(WXBasicComponentType.INDICATOR, WXIndicator.IndicatorDomNode.class, new WXIndicator.IndicatorDomNode.Creator());
+      registerDomObject(WXBasicComponentType.TEXT, WXTextDomObject.class, new WXTextDomObject.Creator());
+      DomObjectCreator cellCreator = new WXCellDomObject.Creator();
+      registerDomObject(WXBasicComponentType.HEADER, WXCellDomObject.class, cellCreator);
+      registerDomObject(WXBasicComponentType.CELL, WXCellDomObject.class, cellCreator);
+      registerDomObject(WXBasicComponentType.CELL_SLOT, WXCellDomObject.class, cellCreator);
+      registerDomObject(WXBasicComponentType.INPUT, BasicEditTextDomObject.class, new BasicEditTextDomObject.Creator());
+      registerDomObject(WXBasicComponentType.TEXTAREA, TextAreaEditTextDomObject.class, new TextAreaEditTextDomObject.Creator());
+      registerDomObject(WXBasicComponentType.SWITCH, WXSwitchDomObject.class, new WXSwitchDomObject.Creator());
+      DomObjectCreator recyclerCreator = new WXRecyclerDomObject.Creator();
+      registerDomObject(WXBasicComponentType.LIST, WXListDomObject.class, listCreator);
+      registerDomObject(WXBasicComponentType.RECYCLE_LIST, WXRecyclerDomObject.class, recyclerCreator);
+      registerDomObject(WXBasicComponentType.VLIST, WXListDomObject.class, listCreator);
+      registerDomObject(WXBasicComponentType.HLIST, WXListDomObject.class, listCreator);
+      registerDomObject(WXBasicComponentType.SCROLLER, WXScrollerDomObject.class, new WXScrollerDomObject.Creator());
+      registerDomObject(WXBasicComponentType.RECYCLER, WXRecyclerDomObject.class, recyclerCreator);
+      registerDomObject(WXBasicComponentType.WATERFALL, WXRecyclerDomObject.class, recyclerCreator);
     } catch (WXException e) {
       WXLogUtils.e("[WXSDKEngine] register:", e);
     }
@@ -457,6 +583,13 @@ public class WXSDKEngine {
     return WXDomRegistry.registerDomObject(type, clazz);
   }
 
+  /**
+   * Register dom object with a creator, which avoids reflection when nodes of type are parsed or cloned.
+   */
+  public static boolean registerDomObject(String type, Class<? extends WXDomObject> clazz, DomObjectCreator creator) throws WXException {
+    return WXDomRegistry.registerDomObject(type, clazz, creator);
+  }
+
   public static void callback(String instanceId, String funcId, Map<String, Object> data) {
     WXSDKManager.getInstance().callback(instanceId, funcId, data);
   }
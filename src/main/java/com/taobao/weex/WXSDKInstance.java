@@ -53,6 +53,7 @@ import com.taobao.weex.common.Constants;
 import com.taobao.weex.common.Destroyable;
 import com.taobao.weex.common.IWXDebugProxy;
 import com.taobao.weex.common.OnWXScrollListener;
+import com.taobao.weex.common.WXBundleSource;
 import com.taobao.weex.common.WXErrorCode;
 import com.taobao.weex.common.WXModule;
 import com.taobao.weex.common.WXPerformance;
@@ -65,6 +66,8 @@ import com.taobao.weex.dom.WXDomHandler;
 import com.taobao.weex.dom.WXDomObject;
 import com.taobao.weex.dom.WXDomTask;
 import com.taobao.weex.dom.WXEvent;
+import com.taobao.weex.http.WXBundleCache;
+import com.taobao.weex.http.WXBundleCacheAdapter;
 import com.taobao.weex.http.WXHttpUtil;
 import com.taobao.weex.tracing.WXTracing;
 import com.taobao.weex.ui.component.NestedContainer;
@@ -75,6 +78,7 @@ import com.taobao.weex.ui.component.WXEmbed;
 import com.taobao.weex.ui.flat.FlatGUIContext;
 import com.taobao.weex.ui.view.WXScrollView;
 import com.taobao.weex.ui.view.WXScrollView.WXScrollViewListener;
+import com.taobao.weex.ui.view.WXViewPool;
 import com.taobao.weex.utils.Trace;
 import com.taobao.weex.utils.WXExceptionUtils;
 import com.taobao.weex.utils.WXFileUtils;
@@ -118,6 +122,8 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
   private WXRefreshData mLastRefreshData;
   private NestedInstanceInterceptor mNestedInstanceInterceptor;
   private String mBundleUrl = "";
+  private long mViewPoolSavedNanos;
+  private WXViewPool mViewPool;
   public static String requestUrl = "requestUrl";
   private boolean isDestroy=false;
   private Map<String,Serializable> mUserTrackParams;
@@ -476,6 +482,19 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
     renderInternal(pageName,template,options,jsonInitData,flag);
   }
 
+  /**
+   * Render a bundle source asynchronously, the source is read on the JS thread.
+   *
+   * @param pageName, used for performance log.
+   * @param source bundle js, see {@link WXBundleSource}
+   * @param options see {@link #render(String, String, Map, String, WXRenderStrategy)}
+   * @param jsonInitData Initial data for rendering
+   * @param flag     RenderStrategy {@link WXRenderStrategy}
+   */
+  public void render(String pageName, WXBundleSource source, Map<String, Object> options, String jsonInitData, WXRenderStrategy flag) {
+    renderInternal(pageName,source,options,jsonInitData,flag);
+  }
+
   private void ensureRenderArchor(){
     if(mRenderContainer == null){
       if (getContext() != null) {
@@ -496,6 +515,17 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
     if (mRendered || TextUtils.isEmpty(template)) {
       return;
     }
+    renderInternal(pageName, WXBundleSource.fromString(template), options, jsonInitData, flag);
+  }
+
+  private void renderInternal(String pageName,
+                              WXBundleSource source,
+                              Map<String, Object> options,
+                              String jsonInitData,
+                              WXRenderStrategy flag){
+    if (mRendered || source == null || source.length() == 0) {
+      return;
+    }
 
 	mWXPerformance.pageName = (TextUtils.isEmpty(pageName) ? "defaultBundleUrl":pageName);
 	if (TextUtils.isEmpty(mBundleUrl)) {
@@ -527,14 +557,12 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
       return;
     }
 
-    mWXPerformance.JSTemplateSize = template.length() / 1024f;
-
     mRenderStartTime = System.currentTimeMillis();
     mRenderStrategy = flag;
 
     WXSDKManager.getInstance().setCrashInfo(WXEnvironment.WEEX_CURRENT_KEY,pageName);
 
-    WXSDKManager.getInstance().createInstance(this, template, renderOptions, jsonInitData);
+    WXSDKManager.getInstance().createInstance(this, source, renderOptions, jsonInitData);
     mRendered = true;
   }
 
@@ -547,6 +575,10 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
     ensureRenderArchor();
     pageName = wrapPageName(pageName, url);
     mBundleUrl = url;
+    WXViewPool viewPool = getViewPool();
+    if (viewPool != null) {
+      viewPool.prepare(WXComponentFactory.getComponentCountsByBundleUrl(url));
+    }
     if(WXSDKManager.getInstance().getValidateProcessor()!=null) {
       mNeedValidate = WXSDKManager.getInstance().getValidateProcessor().needValidate(mBundleUrl);
     }
@@ -561,11 +593,15 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
 
     Uri uri = Uri.parse(url);
     if (uri != null && TextUtils.equals(uri.getScheme(), "file")) {
-      render(pageName, WXFileUtils.loadFileOrAsset(assembleFilePath(uri), mContext), renderOptions, jsonInitData, flag);
+      render(pageName, WXFileUtils.openFileOrAsset(assembleFilePath(uri), mContext), renderOptions, jsonInitData, flag);
       return;
     }
 
     IWXHttpAdapter adapter = WXSDKManager.getInstance().getIWXHttpAdapter();
+    WXBundleCache bundleCache = WXSDKManager.getInstance().getBundleCache();
+    if (bundleCache != null) {
+      adapter = new WXBundleCacheAdapter(adapter, bundleCache);
+    }
 
     WXRequest wxRequest = new WXRequest();
     wxRequest.url = rewriteUri(Uri.parse(url),URIAdapter.BUNDLE).toString();
@@ -1084,6 +1120,8 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
     WXLogUtils.renderPerformanceLog("       TotalCssLayoutTime", mWXPerformance.cssLayoutTime);
     WXLogUtils.renderPerformanceLog("       TotalApplyUpdateTime", mWXPerformance.applyUpdateTime);
     WXLogUtils.renderPerformanceLog("       TotalUpdateDomObjTime", mWXPerformance.updateDomObjTime);
+    WXLogUtils.renderPerformanceLog("       TotalLayoutVisitedNodes", mWXPerformance.layoutVisitedNodes);
+    WXLogUtils.renderPerformanceLog("       TotalLayoutUpdatedNodes", mWXPerformance.layoutUpdatedNodes);
 
 
     mWXPerformance.totalTime = time;
@@ -1242,6 +1280,52 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
       mWXPerformance.updateDomObjTime += time;
     }
 
+  public void layoutNodes(int visited, int updated) {
+    mWXPerformance.lastBatchVisitedNodes = visited;
+    mWXPerformance.lastBatchUpdatedNodes = updated;
+    mWXPerformance.layoutVisitedNodes += visited;
+    mWXPerformance.layoutUpdatedNodes += updated;
+  }
+
+  public void layoutCopies(int copies, int snapshots) {
+    mWXPerformance.layoutDomCopies += copies;
+    mWXPerformance.layoutSnapshots += snapshots;
+  }
+
+  /**
+   * @return the view pool of the context, held by this instance until it is destroyed, so the pool
+   * and the views in it go away with the last instance of the context.
+   */
+  public @Nullable WXViewPool getViewPool() {
+    if (mContext == null) {
+      return null;
+    }
+    if (mViewPool == null || mViewPool.getContext() != mContext) {
+      mViewPool = WXViewPool.get(mContext);
+    }
+    return mViewPool;
+  }
+
+  public void viewPoolObtained(boolean hit, long savedNanos) {
+    if (hit) {
+      mWXPerformance.viewPoolHits++;
+      mViewPoolSavedNanos += savedNanos;
+      mWXPerformance.viewPoolSavedTime = mViewPoolSavedNanos / 1000000;
+    } else {
+      mWXPerformance.viewPoolMisses++;
+    }
+  }
+
+  public void renderQueueDepth(int depth) {
+    if (depth > mWXPerformance.maxRenderQueueDepth) {
+      mWXPerformance.maxRenderQueueDepth = depth;
+    }
+  }
+
+  public void renderFrameOverBudget() {
+    mWXPerformance.renderFramesOverBudget++;
+  }
+
 
   public void createInstanceFinished(long time) {
     if (time > 0) {
@@ -1287,13 +1371,22 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
     try {
       if (rootView instanceof ViewGroup) {
         ViewGroup cViewGroup = ((ViewGroup) rootView);
-        for (int index = 0; index < cViewGroup.getChildCount(); index++) {
-          destroyView(cViewGroup.getChildAt(index));
+        int count = cViewGroup.getChildCount();
+        View[] children = new View[count];
+        for (int index = 0; index < count; index++) {
+          children[index] = cViewGroup.getChildAt(index);
+          destroyView(children[index]);
         }
 
         cViewGroup.removeViews(0, ((ViewGroup) rootView).getChildCount());
         // Ensure that the viewgroup's status to be normal
         WXReflectionUtils.setValue(rootView, "mChildrenCount", 0);
+        WXViewPool viewPool = getViewPool();
+        if (viewPool != null) {
+          for (View child : children) {
+            viewPool.release(child);
+          }
+        }
 
       }
       if(rootView instanceof Destroyable){
@@ -1309,7 +1402,7 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
       if(mRendered) {
         WXSDKManager.getInstance().destroyInstance(mInstanceId);
       }
-      WXComponentFactory.removeComponentTypesByInstanceId(getInstanceId());
+      WXComponentFactory.removeComponentTypesByInstanceId(getInstanceId(), getBundleUrl());
 
       if (mGlobalEventReceiver != null) {
         getContext().unregisterReceiver(mGlobalEventReceiver);
@@ -1338,6 +1431,7 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
       mUserTrackAdapter = null;
       mScrollView = null;
       mContext = null;
+      mViewPool = null;
       mRenderListener = null;
       isDestroy = true;
       mStatisticsListener = null;
@@ -1702,6 +1796,15 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
 
       mWXPerformance.networkTime = System.currentTimeMillis() - startRequestTime;
       if(response.extendParams!=null){
+        Object bundleCacheState=response.extendParams.get(WXBundleCacheAdapter.KEY_CACHE_STATE);
+        if(bundleCacheState instanceof String){
+          mWXPerformance.bundleCacheHit=WXBundleCacheAdapter.STATE_MISS.equals(bundleCacheState)?0:1;
+          Object savedTime=response.extendParams.get(WXBundleCacheAdapter.KEY_SAVED_TIME);
+          mWXPerformance.bundleCacheSavedTime=savedTime instanceof Long?(long)savedTime:0;
+          WXLogUtils.d("WXSDKInstance", "bundle cache " + bundleCacheState + ": " + mBundleUrl);
+          WXLogUtils.renderPerformanceLog("bundleCacheSavedTime", mWXPerformance.bundleCacheSavedTime);
+        }
+
         Object actualNetworkTime=response.extendParams.get("actualNetworkTime");
         mWXPerformance.actualNetworkTime=actualNetworkTime instanceof Long?(long)actualNetworkTime:0;
         WXLogUtils.renderPerformanceLog("actualNetworkTime", mWXPerformance.actualNetworkTime);
@@ -1769,8 +1872,7 @@ public class WXSDKInstance implements IWXActivityStateListener,DomContext, View.
       }
       WXLogUtils.renderPerformanceLog("networkTime", mWXPerformance.networkTime);
       if (response!=null && response.originalData!=null && TextUtils.equals("200", response.statusCode)) {
-        String template = new String(response.originalData);
-        render(pageName, template, options, jsonInitData, flag);
+        render(pageName, WXBundleSource.fromBytes(response.originalData), options, jsonInitData, flag);
 
 		// check content-type
       } else if (TextUtils.equals(WXRenderErrorCode.DegradPassivityCode.WX_DEGRAD_ERR_BUNDLE_CONTENTTYPE_ERROR.getDegradErrorCode(),
@@ -42,13 +42,16 @@ import com.taobao.weex.appfram.storage.IWXStorageAdapter;
 import com.taobao.weex.appfram.websocket.IWebSocketAdapter;
 import com.taobao.weex.appfram.websocket.IWebSocketAdapterFactory;
 import com.taobao.weex.bridge.WXBridgeManager;
+import com.taobao.weex.bridge.WXInstanceRegistry;
 import com.taobao.weex.bridge.WXModuleManager;
 import com.taobao.weex.bridge.WXValidateProcessor;
+import com.taobao.weex.common.WXBundleSource;
 import com.taobao.weex.common.WXRefreshData;
 import com.taobao.weex.common.WXRuntimeException;
 import com.taobao.weex.common.WXThread;
 import com.taobao.weex.common.WXWorkThreadManager;
 import com.taobao.weex.dom.WXDomManager;
+import com.taobao.weex.http.WXBundleCache;
 import com.taobao.weex.ui.WXRenderManager;
 import com.taobao.weex.utils.WXLogUtils;
 import com.taobao.weex.utils.WXUtils;
@@ -71,12 +74,14 @@ public class WXSDKManager {
   private final WXWorkThreadManager mWXWorkThreadManager;
   private WXBridgeManager mBridgeManager;
   /** package **/ WXRenderManager mWXRenderManager;
+  private final WXInstanceRegistry mInstanceRegistry = new WXInstanceRegistry();
 
   private IWXUserTrackAdapter mIWXUserTrackAdapter;
   private IWXImgLoaderAdapter mIWXImgLoaderAdapter;
   private IWXSoLoaderAdapter mIWXSoLoaderAdapter;
   private IDrawableLoader mDrawableLoader;
   private IWXHttpAdapter mIWXHttpAdapter;
+  private WXBundleCache mBundleCache;
   private IActivityNavBarSetter mActivityNavBarSetter;
   private IWXAccessibilityRoleAdapter mRoleAdapter;
 
@@ -280,8 +285,13 @@ public class WXSDKManager {
   }
 
   void createInstance(WXSDKInstance instance, String code, Map<String, Object> options, String jsonInitData) {
+    createInstance(instance, TextUtils.isEmpty(code) ? null : WXBundleSource.fromString(code), options, jsonInitData);
+  }
+
+  void createInstance(WXSDKInstance instance, WXBundleSource source, Map<String, Object> options, String jsonInitData) {
+    mInstanceRegistry.markCreated(instance.getInstanceId());
     mWXRenderManager.registerInstance(instance);
-    mBridgeManager.createInstance(instance.getInstanceId(), code, options, jsonInitData);
+    mBridgeManager.createInstance(instance.getInstanceId(), source, options, jsonInitData);
     if (mLifeCycleCallbacks != null) {
       for (InstanceLifeCycleCallbacks callbacks : mLifeCycleCallbacks) {
         callbacks.onInstanceCreated(instance.getInstanceId());
@@ -312,6 +322,13 @@ public class WXSDKManager {
     WXModuleManager.destroyInstanceModules(instanceId);
   }
 
+  /**
+   * Instances destroyed recently, shared by the bridge and modules to drop late js calls.
+   */
+  public WXInstanceRegistry getInstanceRegistry() {
+    return mInstanceRegistry;
+  }
+
   String generateInstanceId() {
     return String.valueOf(sInstanceId.incrementAndGet());
   }
@@ -343,6 +360,10 @@ public class WXSDKManager {
     return mIWXHttpAdapter;
   }
 
+  public @Nullable WXBundleCache getBundleCache() {
+    return mBundleCache;
+  }
+
   public @NonNull URIAdapter getURIAdapter() {
     if(mURIAdapter == null){
       mURIAdapter = new DefaultUriAdapter();
@@ -370,6 +391,7 @@ public class WXSDKManager {
     this.mIWXJSExceptionAdapter = config.getJSExceptionAdapter();
     this.mIWXSoLoaderAdapter = config.getIWXSoLoaderAdapter();
     this.mITypefaceAdapter = config.getTypefaceAdapter();
+    this.mBundleCache = config.getBundleCache();
   }
 
   public IWXStorageAdapter getIWXStorageAdapter(){
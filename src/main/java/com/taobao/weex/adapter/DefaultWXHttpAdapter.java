@@ -26,13 +26,13 @@ import com.taobao.weex.common.WXRequest;
 import com.taobao.weex.common.WXResponse;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -76,7 +76,7 @@ public class DefaultWXHttpAdapter implements IWXHttpAdapter {
           if (responseCode >= 200 && responseCode<=299) {
             InputStream rawStream = connection.getInputStream();
             rawStream = reporter.interpretResponseStream(rawStream);
-            response.originalData = readInputStreamAsBytes(rawStream, listener);
+            response.originalData = readInputStreamAsBytes(rawStream, connection.getContentLength(), listener);
           } else {
             response.errorMsg = readInputStream(connection.getErrorStream(), listener);
           }
@@ -151,27 +151,38 @@ public class DefaultWXHttpAdapter implements IWXHttpAdapter {
     return connection;
   }
 
-  private byte[] readInputStreamAsBytes(InputStream inputStream,OnHttpListener listener) throws IOException{
+  /**
+   * Read the body into an array sized by Content-Length, so the bytes are not copied again
+   * when the length is known. The array grows if the length is unknown or wrong.
+   */
+  private byte[] readInputStreamAsBytes(InputStream inputStream, int contentLength, OnHttpListener listener) throws IOException{
     if(inputStream == null){
       return null;
     }
-    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-
+    byte[] buffer = new byte[contentLength > 0 ? contentLength : 2048];
     int nRead;
     int readCount = 0;
-    byte[] data = new byte[2048];
 
-    while ((nRead = inputStream.read(data, 0, data.length)) != -1) {
-      buffer.write(data, 0, nRead);
+    while (true) {
+      if (readCount == buffer.length) {
+        int next = inputStream.read();
+        if (next == -1) {
+          break;
+        }
+        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        buffer[readCount++] = (byte) next;
+      }
+      nRead = inputStream.read(buffer, readCount, buffer.length - readCount);
+      if (nRead == -1) {
+        break;
+      }
       readCount += nRead;
       if (listener != null) {
         listener.onHttpResponseProgress(readCount);
       }
     }
 
-    buffer.flush();
-
-    return buffer.toByteArray();
+    return readCount == buffer.length ? buffer : Arrays.copyOf(buffer, readCount);
   }
 
   private String readInputStream(InputStream inputStream, OnHttpListener listener) throws IOException {
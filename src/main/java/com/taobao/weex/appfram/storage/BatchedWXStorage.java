@@ -0,0 +1,814 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.appfram.storage;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteFullException;
+import android.database.sqlite.SQLiteStatement;
+import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
+
+import com.taobao.weex.common.WXThread;
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A write-behind {@link IWXStorageAdapter} that uses the same table as {@link DefaultWXStorage}.
+ *
+ * <ul>
+ *   <li>values are served from a LRU memory cache, so a repeated getItem does not hit the database.</li>
+ *   <li>setItem/removeItem and the timestamp updates of getItem are queued and written in one transaction,
+ *   either {@link #FLUSH_DELAY_MS} after the first queued change or when {@link #MAX_PENDING} changes are queued.
+ *   The statements of a flush are compiled once per database.</li>
+ *   <li>pending changes are written on {@link #close()}, on {@link #flush()} and when the app goes to background.
+ *   If a flush fails the changes are kept, reads still see them, and the flush is retried with a doubled delay.</li>
+ * </ul>
+ *
+ * NOTE: the result of setItem is reported before the value is written to disk, a change queued
+ * right before the process is killed may be lost.
+ *
+ * Use {@link com.taobao.weex.InitConfig.Builder#setStorageAdapter(IWXStorageAdapter)} to enable it.
+ */
+public class BatchedWXStorage implements IWXStorageBulkAdapter {
+
+    static final long FLUSH_DELAY_MS = 1000;
+    static final long MAX_RETRY_DELAY_MS = 60 * 1000;
+    static final int MAX_PENDING = 64;
+    private static final int CACHE_SIZE = 512 * 1024;//chars
+
+    /**
+     * marks a key known to be absent in the cache.
+     */
+    private static final String MISSING = new String("");
+
+    private static final String SQL_INSERT = "INSERT OR REPLACE INTO " + WXSQLiteOpenHelper.TABLE_STORAGE + " VALUES (?,?,?,?);";
+    private static final String SQL_DELETE = "DELETE FROM " + WXSQLiteOpenHelper.TABLE_STORAGE + " WHERE " + WXSQLiteOpenHelper.COLUMN_KEY + "=?";
+    private static final String SQL_TOUCH = "UPDATE " + WXSQLiteOpenHelper.TABLE_STORAGE + " SET " + WXSQLiteOpenHelper.COLUMN_TIMESTAMP + "=? WHERE " + WXSQLiteOpenHelper.COLUMN_KEY + "=?";
+    private static final String SQL_EVICT = "DELETE FROM " + WXSQLiteOpenHelper.TABLE_STORAGE + " WHERE " + WXSQLiteOpenHelper.COLUMN_KEY
+            + " IN (SELECT " + WXSQLiteOpenHelper.COLUMN_KEY + " FROM " + WXSQLiteOpenHelper.TABLE_STORAGE
+            + " WHERE " + WXSQLiteOpenHelper.COLUMN_PERSISTENT + "=0 ORDER BY " + WXSQLiteOpenHelper.COLUMN_TIMESTAMP + " ASC LIMIT ?)";
+
+    private static class PendingWrite {
+        final String value;//null means remove
+        final boolean persistent;
+
+        PendingWrite(String value, boolean persistent) {
+            this.value = value;
+            this.persistent = persistent;
+        }
+    }
+
+    /** package **/ WXSQLiteOpenHelper mDatabaseSupplier;
+    private final Context mCallbackContext;
+    private final ComponentCallbacks2 mComponentCallbacks = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            if (level >= TRIM_MEMORY_UI_HIDDEN) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+
+        @Override
+        public void onLowMemory() {
+        }
+    };
+
+    private ScheduledExecutorService mExecutorService;
+    private final Object mExecutorLock = new Object();
+    private final Object mLock = new Object();
+
+    private final LruCache<String, String> mCache = new LruCache<String, String>(CACHE_SIZE) {
+        @Override
+        protected int sizeOf(String key, String value) {
+            return key.length() + value.length();
+        }
+    };
+
+    private final Map<String, PendingWrite> mPendingWrites = new LinkedHashMap<>();
+    private final Set<String> mPendingTouches = new LinkedHashSet<>();
+    private boolean mFlushScheduled;
+    /**
+     * delay of the next retry after a failed flush, 0 if the last flush succeeded.
+     */
+    private long mRetryDelay;
+
+    private SQLiteDatabase mStatementDatabase;
+    private SQLiteStatement mInsertStatement;
+    private SQLiteStatement mDeleteStatement;
+    private SQLiteStatement mTouchStatement;
+
+    private final Runnable mFlushTask = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (mLock) {
+                mFlushScheduled = false;
+                performFlush();
+            }
+        }
+    };
+
+    public BatchedWXStorage(Context context) {
+        this.mDatabaseSupplier = new WXSQLiteOpenHelper(context);
+        Context application = context.getApplicationContext();
+        mCallbackContext = application != null ? application : context;
+        mCallbackContext.registerComponentCallbacks(mComponentCallbacks);
+    }
+
+    private ScheduledExecutorService getExecutor() {
+        synchronized (mExecutorLock) {
+            if (mExecutorService == null) {
+                mExecutorService = Executors.newSingleThreadScheduledExecutor();
+            }
+            return mExecutorService;
+        }
+    }
+
+    /**
+     * every task holds {@link #mLock}, as a task queued before {@link #close()} may still be
+     * running when the next executor starts.
+     */
+    private void execute(@Nullable final Runnable runnable) {
+        if (runnable != null) {
+            getExecutor().execute(WXThread.secure(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (mLock) {
+                        runnable.run();
+                    }
+                }
+            }));
+        }
+    }
+
+    @Override
+    public void setItem(final String key, final String value, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.setItemResult(performSetItem(key, value, false));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void getItem(final String key, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.getItemResult(performGetItem(key));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void removeItem(final String key, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.removeItemResult(performRemoveItem(key));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void length(final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                performFlush();
+                Map<String, Object> data = StorageResultHandler.getLengthResult(performGetLength());
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void getAllKeys(final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                performFlush();
+                Map<String, Object> data = StorageResultHandler.getAllkeysResult(performGetAllKeys());
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void setItemPersistent(final String key, final String value, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.setItemResult(performSetItem(key, value, true));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void multiGet(final List<String> keys, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.multiGetResult(performMultiGet(keys));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void multiSet(final Map<String, String> items, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.multiSetResult(performMultiSet(items));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void multiRemove(final List<String> keys, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.multiRemoveResult(performMultiRemove(keys));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void getItemsByPrefix(final String prefix, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.multiGetResult(performGetItemsByPrefix(prefix));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    /**
+     * write all pending changes to the database.
+     */
+    public void flush() {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                performFlush();
+            }
+        });
+    }
+
+    /**
+     * pending changes are written before the database is closed. the storage can still be used after close,
+     * but changes are no longer flushed when the app goes to background.
+     */
+    @Override
+    public void close() {
+        mCallbackContext.unregisterComponentCallbacks(mComponentCallbacks);
+        synchronized (mExecutorLock) {
+            if (mExecutorService == null) {
+                return;
+            }
+            execute(new Runnable() {
+                @Override
+                public void run() {
+                    performFlush();
+                    releaseStatements();
+                    mDatabaseSupplier.closeDatabase();
+                }
+            });
+            mExecutorService.shutdown();
+            mExecutorService = null;
+        }
+    }
+
+    private boolean performSetItem(String key, String value, boolean isPersistent) {
+        if (key == null || value == null) {
+            return false;
+        }
+        queueWrite(key, value, isPersistent);
+        scheduleFlush();
+        return true;
+    }
+
+    private String performGetItem(String key) {
+        if (key == null) {
+            return null;
+        }
+        String value = cachedValue(key);
+        if (value == null) {
+            value = queryValue(key);
+            if (value == null) {
+                //query failed, the key is not known to be absent
+                return null;
+            }
+            mCache.put(key, value);
+        }
+        if (value == MISSING) {
+            return null;
+        }
+        queueTouch(key);
+        scheduleFlush();
+        return value;
+    }
+
+    private boolean performRemoveItem(String key) {
+        if (key == null) {
+            return false;
+        }
+        String value = cachedValue(key);
+        if (value == null) {
+            value = queryValue(key);
+        }
+        if (value == null) {
+            //query failed, queue the delete anyway so the key is absent after the flush
+            queueRemove(key, true);
+            scheduleFlush();
+            return true;
+        }
+        boolean exists = value != MISSING;
+        queueRemove(key, exists);
+        scheduleFlush();
+        return exists;
+    }
+
+    private Map<String, String> performMultiGet(List<String> keys) {
+        Map<String, String> result = new HashMap<>(keys.size());
+        List<String> misses = new ArrayList<>();
+        for (String key : new LinkedHashSet<>(keys)) {
+            if (key == null) {
+                continue;
+            }
+            String value = cachedValue(key);
+            if (value == null) {
+                misses.add(key);
+            } else if (value != MISSING) {
+                result.put(key, value);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<String, String> found = queryValues(misses);
+            if (found == null) {
+                return null;
+            }
+            for (String key : misses) {
+                String value = found.get(key);
+                mCache.put(key, value == null ? MISSING : value);
+            }
+            result.putAll(found);
+        }
+        for (String key : result.keySet()) {
+            queueTouch(key);
+        }
+        scheduleFlush();
+        return result;
+    }
+
+    private boolean performMultiSet(Map<String, String> items) {
+        for (Map.Entry<String, String> item : items.entrySet()) {
+            if (item.getKey() == null || item.getValue() == null) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, String> item : items.entrySet()) {
+            queueWrite(item.getKey(), item.getValue(), false);
+        }
+        scheduleFlush();
+        return true;
+    }
+
+    private int performMultiRemove(List<String> keys) {
+        Set<String> existing = new HashSet<>();
+        List<String> misses = new ArrayList<>();
+        for (String key : new LinkedHashSet<>(keys)) {
+            if (key == null) {
+                continue;
+            }
+            String value = cachedValue(key);
+            if (value == null) {
+                misses.add(key);
+            } else if (value != MISSING) {
+                existing.add(key);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<String, String> found = queryValues(misses);
+            if (found == null) {
+                return -1;
+            }
+            for (String key : misses) {
+                if (!found.containsKey(key)) {
+                    queueRemove(key, false);
+                }
+            }
+            existing.addAll(found.keySet());
+        }
+        for (String key : existing) {
+            queueRemove(key, true);
+        }
+        scheduleFlush();
+        return existing.size();
+    }
+
+    /**
+     * the cache can not be scanned in key order, so pending writes are flushed and the database is queried.
+     * */
+    private Map<String, String> performGetItemsByPrefix(String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        performFlush();
+        SQLiteDatabase database = mDatabaseSupplier.getDatabase();
+        if (database == null) {
+            return null;
+        }
+
+        Map<String, String> result = new HashMap<>();
+        Cursor c = database.query(WXSQLiteOpenHelper.TABLE_STORAGE,
+                new String[]{WXSQLiteOpenHelper.COLUMN_KEY, WXSQLiteOpenHelper.COLUMN_VALUE},
+                WXSQLiteOpenHelper.keyPrefixClause(prefix),
+                WXSQLiteOpenHelper.keyPrefixArgs(prefix),
+                null, null, WXSQLiteOpenHelper.COLUMN_KEY + " ASC");
+        try {
+            while (c.moveToNext()) {
+                String key = c.getString(0);
+                if (key == null || !key.startsWith(prefix)) {
+                    break;
+                }
+                result.put(key, c.getString(1));
+            }
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "BatchedWXStorage occurred an exception when execute getItemsByPrefix:" + e.getMessage());
+            return null;
+        } finally {
+            c.close();
+        }
+        for (Map.Entry<String, String> item : result.entrySet()) {
+            mCache.put(item.getKey(), item.getValue());
+            queueTouch(item.getKey());
+        }
+        //left when the flush failed
+        for (Map.Entry<String, PendingWrite> entry : mPendingWrites.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                if (entry.getValue().value == null) {
+                    result.remove(entry.getKey());
+                } else {
+                    result.put(entry.getKey(), entry.getValue().value);
+                }
+            }
+        }
+        scheduleFlush();
+        return result;
+    }
+
+    /**
+     * @return the pending value of key, which may be evicted from the cache but not written yet,
+     * or the cached value, {@link #MISSING} if key is known to be absent, null if unknown.
+     */
+    private String cachedValue(String key) {
+        PendingWrite write = mPendingWrites.get(key);
+        if (write != null) {
+            return write.value == null ? MISSING : write.value;
+        }
+        return mCache.get(key);
+    }
+
+    private void queueWrite(String key, String value, boolean isPersistent) {
+        mCache.put(key, value);
+        mPendingTouches.remove(key);
+        mPendingWrites.put(key, new PendingWrite(value, isPersistent));
+    }
+
+    private void queueRemove(String key, boolean exists) {
+        mCache.put(key, MISSING);
+        mPendingTouches.remove(key);
+        if (exists) {
+            mPendingWrites.put(key, new PendingWrite(null, false));
+        }
+    }
+
+    private void queueTouch(String key) {
+        if (!mPendingWrites.containsKey(key)) {
+            mPendingTouches.add(key);
+        }
+    }
+
+    private void scheduleFlush() {
+        if (mPendingWrites.isEmpty() && mPendingTouches.isEmpty()) {
+            return;
+        }
+        if (mRetryDelay == 0 && mPendingWrites.size() + mPendingTouches.size() >= MAX_PENDING) {
+            performFlush();
+        } else if (!mFlushScheduled) {
+            mFlushScheduled = true;
+            getExecutor().schedule(WXThread.secure(mFlushTask), mRetryDelay > 0 ? mRetryDelay : FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void performFlush() {
+        if (mPendingWrites.isEmpty() && mPendingTouches.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int count = mPendingWrites.size() + mPendingTouches.size();
+        //all pending changes are written in one transaction, they are committed or kept together.
+        boolean success = writePending(true);
+        if (success) {
+            mPendingWrites.clear();
+            mPendingTouches.clear();
+            mRetryDelay = 0;
+        } else {
+            //setItem already reported success, keep the changes and retry later.
+            mRetryDelay = Math.min(mRetryDelay == 0 ? FLUSH_DELAY_MS : mRetryDelay * 2, MAX_RETRY_DELAY_MS);
+            scheduleFlush();
+        }
+        WXLogUtils.d(WXSQLiteOpenHelper.TAG_STORAGE, "flush " + count + " changes " + (success ? "success" : "failed")
+                + " (" + (System.currentTimeMillis() - start) + "ms)");
+    }
+
+    private boolean writePending(boolean allowRetryWhenFull) {
+        SQLiteDatabase database = mDatabaseSupplier.getDatabase();
+        if (database == null || !prepareStatements(database)) {
+            return false;
+        }
+
+        String timeStamp = WXSQLiteOpenHelper.sDateFormatter.format(new Date());
+        try {
+            database.beginTransaction();
+            try {
+                for (Map.Entry<String, PendingWrite> entry : mPendingWrites.entrySet()) {
+                    PendingWrite write = entry.getValue();
+                    if (write.value == null) {
+                        mDeleteStatement.clearBindings();
+                        mDeleteStatement.bindString(1, entry.getKey());
+                        mDeleteStatement.execute();
+                    } else {
+                        mInsertStatement.clearBindings();
+                        mInsertStatement.bindString(1, entry.getKey());
+                        mInsertStatement.bindString(2, write.value);
+                        mInsertStatement.bindString(3, timeStamp);
+                        mInsertStatement.bindLong(4, write.persistent ? 1 : 0);
+                        mInsertStatement.execute();
+                    }
+                }
+                for (String key : mPendingTouches) {
+                    mTouchStatement.clearBindings();
+                    mTouchStatement.bindString(1, timeStamp);
+                    mTouchStatement.bindString(2, key);
+                    mTouchStatement.execute();
+                }
+                database.setTransactionSuccessful();
+            } finally {
+                database.endTransaction();
+            }
+            return true;
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "BatchedWXStorage occurred an exception when execute flush :" + e.getMessage());
+            if (e instanceof SQLiteFullException) {
+                //a flush only allow try once when occurred a sqliteFullException.
+                if (allowRetryWhenFull && trimToSize(database)) {
+                    return writePending(false);
+                }
+            }
+            return false;
+        }
+    }
+
+    private boolean prepareStatements(SQLiteDatabase database) {
+        if (database == mStatementDatabase && database.isOpen()) {
+            return true;
+        }
+        releaseStatements();
+        try {
+            mInsertStatement = database.compileStatement(SQL_INSERT);
+            mDeleteStatement = database.compileStatement(SQL_DELETE);
+            mTouchStatement = database.compileStatement(SQL_TOUCH);
+            mStatementDatabase = database;
+            return true;
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "BatchedWXStorage occurred an exception when compile statements :" + e.getMessage());
+            releaseStatements();
+            return false;
+        }
+    }
+
+    private void releaseStatements() {
+        if (mInsertStatement != null) {
+            mInsertStatement.close();
+            mInsertStatement = null;
+        }
+        if (mDeleteStatement != null) {
+            mDeleteStatement.close();
+            mDeleteStatement = null;
+        }
+        if (mTouchStatement != null) {
+            mTouchStatement.close();
+            mTouchStatement = null;
+        }
+        mStatementDatabase = null;
+    }
+
+    /**
+     * remove 10% of total record(at most) ordered by timestamp, using the timestamp index.
+     * */
+    private boolean trimToSize(SQLiteDatabase database) {
+        SQLiteStatement statement = null;
+        try {
+            long evictSize = performGetLength() / 10;
+            if (evictSize <= 0) {
+                return false;
+            }
+            statement = database.compileStatement(SQL_EVICT);
+            statement.bindLong(1, evictSize);
+            int num = statement.executeUpdateDelete();
+            mCache.evictAll();
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "remove " + num + " items by lru");
+            return num > 0;
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "BatchedWXStorage occurred an exception when execute trimToSize:" + e.getMessage());
+            return false;
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+        }
+    }
+
+    /**
+     * @return the value of key, {@link #MISSING} if key is absent, or null if the query failed.
+     * */
+    private String queryValue(String key) {
+        SQLiteDatabase database = mDatabaseSupplier.getDatabase();
+        if (database == null) {
+            return null;
+        }
+
+        Cursor c = null;
+        try {
+            c = database.query(WXSQLiteOpenHelper.TABLE_STORAGE,
+                    new String[]{WXSQLiteOpenHelper.COLUMN_VALUE},
+                    WXSQLiteOpenHelper.COLUMN_KEY + "=?",
+                    new String[]{key},
+                    null, null, null);
+            if (!c.moveToNext()) {
+                return MISSING;
+            }
+            String value = c.getString(0);
+            return value == null ? MISSING : value;
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "BatchedWXStorage occurred an exception when execute getItem:" + e.getMessage());
+            return null;
+        } finally {
+            if (c != null) {
+                c.close();
+            }
+        }
+    }
+
+    /**
+     * @return values of the keys found, or null if the query failed.
+     * */
+    private Map<String, String> queryValues(List<String> keys) {
+        SQLiteDatabase database = mDatabaseSupplier.getDatabase();
+        if (database == null) {
+            return null;
+        }
+
+        Map<String, String> result = new HashMap<>(keys.size());
+        try {
+            for (int start = 0; start < keys.size(); start += WXSQLiteOpenHelper.MAX_KEYS_PER_STATEMENT) {
+                List<String> chunk = keys.subList(start, Math.min(keys.size(), start + WXSQLiteOpenHelper.MAX_KEYS_PER_STATEMENT));
+                Cursor c = database.query(WXSQLiteOpenHelper.TABLE_STORAGE,
+                        new String[]{WXSQLiteOpenHelper.COLUMN_KEY, WXSQLiteOpenHelper.COLUMN_VALUE},
+                        WXSQLiteOpenHelper.keyInClause(chunk.size()),
+                        chunk.toArray(new String[chunk.size()]),
+                        null, null, null);
+                try {
+                    while (c.moveToNext()) {
+                        result.put(c.getString(0), c.getString(1));
+                    }
+                } finally {
+                    c.close();
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "BatchedWXStorage occurred an exception when execute multiGet:" + e.getMessage());
+            return null;
+        }
+    }
+
+    private long performGetLength() {
+        SQLiteDatabase database = mDatabaseSupplier.getDatabase();
+        if (database == null) {
+            return 0;
+        }
+
+        String sql = "SELECT count(" + WXSQLiteOpenHelper.COLUMN_KEY + ") FROM " + WXSQLiteOpenHelper.TABLE_STORAGE;
+        SQLiteStatement statement = null;
+        try {
+            statement = database.compileStatement(sql);
+            return statement.simpleQueryForLong();
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "BatchedWXStorage occurred an exception when execute getLength:" + e.getMessage());
+            return 0;
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+        }
+    }
+
+    private List<String> performGetAllKeys() {
+        SQLiteDatabase database = mDatabaseSupplier.getDatabase();
+        if (database == null) {
+            return null;
+        }
+
+        List<String> result = new ArrayList<>();
+        Cursor c = database.query(WXSQLiteOpenHelper.TABLE_STORAGE, new String[]{WXSQLiteOpenHelper.COLUMN_KEY}, null, null, null, null, null);
+        try {
+            while (c.moveToNext()) {
+                result.add(c.getString(0));
+            }
+            return result;
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "BatchedWXStorage occurred an exception when execute getAllKeys:" + e.getMessage());
+            return result;
+        } finally {
+            c.close();
+        }
+    }
+}
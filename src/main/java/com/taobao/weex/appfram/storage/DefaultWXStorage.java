@@ -31,12 +31,14 @@ import com.taobao.weex.utils.WXLogUtils;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
-public class DefaultWXStorage implements IWXStorageAdapter {
+public class DefaultWXStorage implements IWXStorageBulkAdapter {
 
     private WXSQLiteOpenHelper mDatabaseSupplier;
 
@@ -141,6 +143,62 @@ public class DefaultWXStorage implements IWXStorageAdapter {
         });
     }
 
+    @Override
+    public void multiGet(final List<String> keys, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.multiGetResult(performMultiGet(keys));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void multiSet(final Map<String, String> items, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.multiSetResult(performMultiSet(items, true));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void multiRemove(final List<String> keys, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.multiRemoveResult(performMultiRemove(keys));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
+    @Override
+    public void getItemsByPrefix(final String prefix, final OnResultReceivedListener listener) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, Object> data = StorageResultHandler.multiGetResult(performGetItemsByPrefix(prefix));
+                if (listener == null) {
+                    return;
+                }
+                listener.onReceived(data);
+            }
+        });
+    }
+
     @Override
     public void close() {
         try {
@@ -326,4 +384,172 @@ public class DefaultWXStorage implements IWXStorageAdapter {
         }
     }
 
+    private Map<String, String> performMultiGet(List<String> keys) {
+        SQLiteDatabase database = mDatabaseSupplier.getDatabase();
+        if (database == null) {
+            return null;
+        }
+
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        Map<String, String> result = new HashMap<>(distinct.size());
+        String timeStamp = WXSQLiteOpenHelper.sDateFormatter.format(new Date());
+        database.beginTransaction();
+        try {
+            for (int start = 0; start < distinct.size(); start += WXSQLiteOpenHelper.MAX_KEYS_PER_STATEMENT) {
+                List<String> chunk = distinct.subList(start, Math.min(distinct.size(), start + WXSQLiteOpenHelper.MAX_KEYS_PER_STATEMENT));
+                List<String> found = new ArrayList<>(chunk.size());
+                Cursor c = database.query(WXSQLiteOpenHelper.TABLE_STORAGE,
+                        new String[]{WXSQLiteOpenHelper.COLUMN_KEY, WXSQLiteOpenHelper.COLUMN_VALUE},
+                        WXSQLiteOpenHelper.keyInClause(chunk.size()),
+                        chunk.toArray(new String[chunk.size()]),
+                        null, null, null);
+                try {
+                    while (c.moveToNext()) {
+                        String key = c.getString(0);
+                        found.add(key);
+                        result.put(key, c.getString(1));
+                    }
+                } finally {
+                    c.close();
+                }
+                touchKeys(database, found, timeStamp);
+            }
+            database.setTransactionSuccessful();
+            WXLogUtils.d(WXSQLiteOpenHelper.TAG_STORAGE, "multiGet " + result.size() + "/" + distinct.size() + " items found");
+            return result;
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "DefaultWXStorage occurred an exception when execute multiGet:" + e.getMessage());
+            return null;
+        } finally {
+            database.endTransaction();
+        }
+    }
+
+    private boolean performMultiSet(Map<String, String> items, boolean allowRetryWhenFull) {
+        SQLiteDatabase database = mDatabaseSupplier.getDatabase();
+        if (database == null) {
+            return false;
+        }
+
+        WXLogUtils.d(WXSQLiteOpenHelper.TAG_STORAGE, "set " + items.size() + " k-v to storage(allowRetry:" + allowRetryWhenFull + ")");
+        String sql = "INSERT OR REPLACE INTO " + WXSQLiteOpenHelper.TABLE_STORAGE + " VALUES (?,?,?,?);";
+        SQLiteStatement statement = null;
+        String timeStamp = WXSQLiteOpenHelper.sDateFormatter.format(new Date());
+        try {
+            statement = database.compileStatement(sql);
+            database.beginTransaction();
+            try {
+                for (Map.Entry<String, String> item : items.entrySet()) {
+                    statement.clearBindings();
+                    statement.bindString(1, item.getKey());
+                    statement.bindString(2, item.getValue());
+                    statement.bindString(3, timeStamp);
+                    statement.bindLong(4, 0);
+                    statement.execute();
+                }
+                database.setTransactionSuccessful();
+            } finally {
+                database.endTransaction();
+            }
+            return true;
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "DefaultWXStorage occurred an exception when execute multiSet :" + e.getMessage());
+            if (e instanceof SQLiteFullException) {
+                if (allowRetryWhenFull && trimToSize()) {
+                    //multiSet only allow try once when occurred a sqliteFullException, like setItem.
+                    return performMultiSet(items, false);
+                }
+            }
+            return false;
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+        }
+    }
+
+    /**
+     * @return number of keys removed, or -1 if failed.
+     * */
+    private int performMultiRemove(List<String> keys) {
+        SQLiteDatabase database = mDatabaseSupplier.getDatabase();
+        if (database == null) {
+            return -1;
+        }
+
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        int count = 0;
+        database.beginTransaction();
+        try {
+            for (int start = 0; start < distinct.size(); start += WXSQLiteOpenHelper.MAX_KEYS_PER_STATEMENT) {
+                List<String> chunk = distinct.subList(start, Math.min(distinct.size(), start + WXSQLiteOpenHelper.MAX_KEYS_PER_STATEMENT));
+                count += database.delete(WXSQLiteOpenHelper.TABLE_STORAGE,
+                        WXSQLiteOpenHelper.keyInClause(chunk.size()),
+                        chunk.toArray(new String[chunk.size()]));
+            }
+            database.setTransactionSuccessful();
+            return count;
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "DefaultWXStorage occurred an exception when execute multiRemove:" + e.getMessage());
+            return -1;
+        } finally {
+            database.endTransaction();
+        }
+    }
+
+    /**
+     * keys with the same prefix are adjacent in key order, so this is one range scan on the primary key.
+     * */
+    private Map<String, String> performGetItemsByPrefix(String prefix) {
+        SQLiteDatabase database = mDatabaseSupplier.getDatabase();
+        if (database == null) {
+            return null;
+        }
+
+        Map<String, String> result = new HashMap<>();
+        List<String> found = new ArrayList<>();
+        database.beginTransaction();
+        try {
+            Cursor c = database.query(WXSQLiteOpenHelper.TABLE_STORAGE,
+                    new String[]{WXSQLiteOpenHelper.COLUMN_KEY, WXSQLiteOpenHelper.COLUMN_VALUE},
+                    WXSQLiteOpenHelper.keyPrefixClause(prefix),
+                    WXSQLiteOpenHelper.keyPrefixArgs(prefix),
+                    null, null, WXSQLiteOpenHelper.COLUMN_KEY + " ASC");
+            try {
+                while (c.moveToNext()) {
+                    String key = c.getString(0);
+                    if (key == null || !key.startsWith(prefix)) {
+                        break;
+                    }
+                    found.add(key);
+                    result.put(key, c.getString(1));
+                }
+            } finally {
+                c.close();
+            }
+            String timeStamp = WXSQLiteOpenHelper.sDateFormatter.format(new Date());
+            for (int start = 0; start < found.size(); start += WXSQLiteOpenHelper.MAX_KEYS_PER_STATEMENT) {
+                touchKeys(database, found.subList(start, Math.min(found.size(), start + WXSQLiteOpenHelper.MAX_KEYS_PER_STATEMENT)), timeStamp);
+            }
+            database.setTransactionSuccessful();
+            return result;
+        } catch (Exception e) {
+            WXLogUtils.e(WXSQLiteOpenHelper.TAG_STORAGE, "DefaultWXStorage occurred an exception when execute getItemsByPrefix:" + e.getMessage());
+            return null;
+        } finally {
+            database.endTransaction();
+        }
+    }
+
+    private void touchKeys(SQLiteDatabase database, List<String> keys, String timeStamp) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        ContentValues values = new ContentValues();
+        values.put(WXSQLiteOpenHelper.COLUMN_TIMESTAMP, timeStamp);
+        database.update(WXSQLiteOpenHelper.TABLE_STORAGE, values,
+                WXSQLiteOpenHelper.keyInClause(keys.size()),
+                keys.toArray(new String[keys.size()]));
+    }
+
 }
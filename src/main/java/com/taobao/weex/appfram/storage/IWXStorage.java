@@ -20,6 +20,8 @@ package com.taobao.weex.appfram.storage;
 
 import android.support.annotation.Nullable;
 
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
 import com.taobao.weex.bridge.JSCallback;
 
 interface IWXStorage {
@@ -29,4 +31,8 @@ interface IWXStorage {
     public void length(@Nullable JSCallback callback);
     public void getAllKeys(@Nullable JSCallback callback);
     public void setItemPersistent(String key, String value, @Nullable JSCallback callback);
+    public void multiGet(JSONArray keys, @Nullable JSCallback callback);
+    public void multiSet(JSONObject items, @Nullable JSCallback callback);
+    public void multiRemove(JSONArray keys, @Nullable JSCallback callback);
+    public void getItemsByPrefix(String prefix, @Nullable JSCallback callback);
 }
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.appfram.storage;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * optional multi-key operations of a {@link IWXStorageAdapter}.
+ * every operation reads or writes all keys in one transaction and reports one result.
+ * {@link WXStorageModule} reports a no_handler error for these operations if the adapter
+ * does not implement this interface.
+ * */
+public interface IWXStorageBulkAdapter extends IWXStorageAdapter {
+
+    /**
+     * data of the result is a map of the keys found to their values, missing keys are omitted.
+     * */
+    void multiGet(List<String> keys, OnResultReceivedListener listener);
+
+    void multiSet(Map<String, String> items, OnResultReceivedListener listener);
+
+    /**
+     * data of the result is the number of keys removed.
+     * */
+    void multiRemove(List<String> keys, OnResultReceivedListener listener);
+
+    /**
+     * data of the result is a map of all keys starting with the prefix to their values.
+     * */
+    void getItemsByPrefix(String prefix, OnResultReceivedListener listener);
+}
@@ -84,6 +84,24 @@ public class StorageResultHandler {
         return map;
     }
 
+    public static Map<String, Object> multiGetResult(Map<String, String> result) {
+        Map<String, Object> map = new HashMap<>(4);
+        map.put(RESULT, result != null ? RESULT_OK : RESULT_FAILED);
+        map.put(DATA, result != null ? result : UNDEFINED);
+        return map;
+    }
+
+    public static Map<String, Object> multiSetResult(boolean result) {
+        return setItemResult(result);
+    }
+
+    public static Map<String, Object> multiRemoveResult(int result) {
+        Map<String, Object> map = new HashMap<>(4);
+        map.put(RESULT, result >= 0 ? RESULT_OK : RESULT_FAILED);
+        map.put(DATA, result >= 0 ? result : UNDEFINED);
+        return map;
+    }
+
 
     private static void handleResult(@Nullable JSCallback callback, String result, Object data) {
         if (callback == null) {
@@ -50,6 +50,11 @@ public class WXSQLiteOpenHelper extends SQLiteOpenHelper {
     static final String COLUMN_TIMESTAMP = "timestamp";
     static final String COLUMN_PERSISTENT = "persistent";
 
+    /**
+     * sqlite allows at most 999 arguments in one statement.
+     * */
+    static final int MAX_KEYS_PER_STATEMENT = 500;
+
     private static final int SLEEP_TIME_MS = 30;
 
     private static final String STATEMENT_CREATE_TABLE = "CREATE TABLE IF NOT EXISTS " + TABLE_STORAGE + " ("
@@ -63,6 +68,9 @@ public class WXSQLiteOpenHelper extends SQLiteOpenHelper {
             + " INTEGER DEFAULT 0"
             + ")";
 
+    private static final String STATEMENT_CREATE_TIMESTAMP_INDEX = "CREATE INDEX IF NOT EXISTS "
+            + TABLE_STORAGE + "_" + COLUMN_TIMESTAMP + " ON " + TABLE_STORAGE + " (" + COLUMN_TIMESTAMP + ")";
+
 
     public WXSQLiteOpenHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
@@ -175,6 +183,7 @@ public class WXSQLiteOpenHelper extends SQLiteOpenHelper {
         }
 
         createTableIfNotExists(mDb);
+        createTimestampIndexIfNotExists(mDb);
 
         mDb.setMaximumSize(mMaximumDatabaseSize);
     }
@@ -215,5 +224,53 @@ public class WXSQLiteOpenHelper extends SQLiteOpenHelper {
         }
     }
 
+    /**
+     * @return selection of the keys starting with prefix, a range of the primary key so that the scan stops at the end of it.
+     */
+    static String keyPrefixClause(String prefix) {
+        return prefixUpperBound(prefix) == null ? COLUMN_KEY + ">=?" : COLUMN_KEY + ">=? AND " + COLUMN_KEY + "<?";
+    }
+
+    static String[] keyPrefixArgs(String prefix) {
+        String upperBound = prefixUpperBound(prefix);
+        return upperBound == null ? new String[]{prefix} : new String[]{prefix, upperBound};
+    }
+
+    /**
+     * @return the smallest string greater than every string starting with prefix, or null if there is none.
+     * chars which can't be incremented without producing a surrogate are dropped, the bound is then looser.
+     */
+    static String prefixUpperBound(String prefix) {
+        for (int i = prefix.length() - 1; i >= 0; i--) {
+            char next = (char) (prefix.charAt(i) + 1);
+            if (next != 0 && (next < Character.MIN_SURROGATE || next > Character.MAX_SURROGATE)) {
+                return prefix.substring(0, i) + next;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return "key IN (?,?,...)" with count arguments.
+     * */
+    static String keyInClause(int count) {
+        StringBuilder builder = new StringBuilder(COLUMN_KEY.length() + 6 + count * 2);
+        builder.append(COLUMN_KEY).append(" IN (");
+        for (int i = 0; i < count; i++) {
+            builder.append(i == 0 ? "?" : ",?");
+        }
+        return builder.append(')').toString();
+    }
+
+    /**
+     * index on timestamp column, so that evicting the oldest records does not need a full table scan.
+     * */
+    private void createTimestampIndexIfNotExists(@NonNull SQLiteDatabase db) {
+        try {
+            db.execSQL(STATEMENT_CREATE_TIMESTAMP_INDEX);
+        } catch (Exception e) {
+            WXLogUtils.e(TAG_STORAGE, "create timestamp index failed:" + e.getMessage());
+        }
+    }
 
 }
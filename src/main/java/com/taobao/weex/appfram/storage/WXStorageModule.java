@@ -21,10 +21,15 @@ package com.taobao.weex.appfram.storage;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
 
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
 import com.taobao.weex.WXSDKEngine;
 import com.taobao.weex.bridge.JSCallback;
 import com.taobao.weex.annotation.JSMethod;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class WXStorageModule extends WXSDKEngine.DestroyableModule implements IWXStorage {
@@ -170,6 +175,134 @@ public class WXStorageModule extends WXSDKEngine.DestroyableModule implements IW
         });
     }
 
+    @Override
+    @JSMethod(uiThread = false)
+    public void multiGet(JSONArray keys, @Nullable final JSCallback callback) {
+        List<String> keyList = toKeyList(keys);
+        if (keyList == null) {
+            StorageResultHandler.handleInvalidParam(callback);
+            return;
+        }
+
+        IWXStorageBulkAdapter adapter = bulkAbility();
+        if (adapter == null) {
+            StorageResultHandler.handleNoHandlerError(callback);
+            return;
+        }
+        adapter.multiGet(keyList, new IWXStorageAdapter.OnResultReceivedListener() {
+            @Override
+            public void onReceived(Map<String, Object> data) {
+                if(callback != null){
+                    callback.invoke(data);
+                }
+            }
+        });
+    }
+
+    @Override
+    @JSMethod(uiThread = false)
+    public void multiSet(JSONObject items, @Nullable final JSCallback callback) {
+        if (items == null) {
+            StorageResultHandler.handleInvalidParam(callback);
+            return;
+        }
+        Map<String, String> itemMap = new HashMap<>(items.size());
+        for (Map.Entry<String, Object> item : items.entrySet()) {
+            if (TextUtils.isEmpty(item.getKey()) || item.getValue() == null) {
+                StorageResultHandler.handleInvalidParam(callback);
+                return;
+            }
+            itemMap.put(item.getKey(), String.valueOf(item.getValue()));
+        }
+
+        IWXStorageBulkAdapter adapter = bulkAbility();
+        if (adapter == null) {
+            StorageResultHandler.handleNoHandlerError(callback);
+            return;
+        }
+        adapter.multiSet(itemMap, new IWXStorageAdapter.OnResultReceivedListener() {
+            @Override
+            public void onReceived(Map<String, Object> data) {
+                if(callback != null){
+                    callback.invoke(data);
+                }
+            }
+        });
+    }
+
+    @Override
+    @JSMethod(uiThread = false)
+    public void multiRemove(JSONArray keys, @Nullable final JSCallback callback) {
+        List<String> keyList = toKeyList(keys);
+        if (keyList == null) {
+            StorageResultHandler.handleInvalidParam(callback);
+            return;
+        }
+
+        IWXStorageBulkAdapter adapter = bulkAbility();
+        if (adapter == null) {
+            StorageResultHandler.handleNoHandlerError(callback);
+            return;
+        }
+        adapter.multiRemove(keyList, new IWXStorageAdapter.OnResultReceivedListener() {
+            @Override
+            public void onReceived(Map<String, Object> data) {
+                if(callback != null){
+                    callback.invoke(data);
+                }
+            }
+        });
+    }
+
+    @Override
+    @JSMethod(uiThread = false)
+    public void getItemsByPrefix(String prefix, @Nullable final JSCallback callback) {
+        if (prefix == null) {
+            StorageResultHandler.handleInvalidParam(callback);
+            return;
+        }
+
+        IWXStorageBulkAdapter adapter = bulkAbility();
+        if (adapter == null) {
+            StorageResultHandler.handleNoHandlerError(callback);
+            return;
+        }
+        adapter.getItemsByPrefix(prefix, new IWXStorageAdapter.OnResultReceivedListener() {
+            @Override
+            public void onReceived(Map<String, Object> data) {
+                if(callback != null){
+                    callback.invoke(data);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the adapter if it supports multi-key operations, or null.
+     */
+    private @Nullable IWXStorageBulkAdapter bulkAbility() {
+        IWXStorageAdapter adapter = ability();
+        return adapter instanceof IWXStorageBulkAdapter ? (IWXStorageBulkAdapter) adapter : null;
+    }
+
+    /**
+     * @return keys in the array, or null if any of them is empty.
+     */
+    private static @Nullable List<String> toKeyList(JSONArray keys) {
+        if (keys == null) {
+            return null;
+        }
+        List<String> keyList = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.getString(i);
+            if (TextUtils.isEmpty(key)) {
+                return null;
+            }
+            keyList.add(key);
+        }
+        return keyList;
+    }
+
     @Override
     public void destroy() {
         IWXStorageAdapter adapter = ability();
@@ -42,7 +42,7 @@ public final class NativeInvokeHelper {
         invoker.getParameterTypes(),
         args);
     if (invoker.isRunOnUIThread()) {
-      WXSDKManager.getInstance().postOnUiThread(new Runnable() {
+      WXSDKManager.getInstance().getWXRenderManager().postOnUiThread(mInstanceId, new Runnable() {
         @Override
         public void run() {
           try {
@@ -51,7 +51,7 @@ public final class NativeInvokeHelper {
             throw new RuntimeException(target + "Invoker " + invoker.toString() ,e);
           }
         }
-      }, 0);
+      });
     } else {
       return invoker.invoke(target, params);
     }
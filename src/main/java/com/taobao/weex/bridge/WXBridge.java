@@ -115,7 +115,7 @@ class WXBridge implements IWXBridge {
 
   public int callNative(String instanceId, byte [] tasks, String callback) {
     try {
-     return callNative(instanceId,(JSONArray)WXJsonUtils.parseWson(tasks),callback);
+     return callNative(instanceId,(JSONArray)WXJsonUtils.parseWsonLazy(tasks),callback);
     } catch (Throwable e) {
       //catch everything during call native.
       // if(WXEnvironment.isApkDebugable()){
@@ -153,7 +153,7 @@ class WXBridge implements IWXBridge {
   }
   public int callAddElement(String instanceId, String ref,byte[] dom,String index, String callback) {
     try {
-      return callAddElement(instanceId,ref, (JSONObject) WXJsonUtils.parseWson(dom),index,callback);
+      return callAddElement(instanceId,ref, (JSONObject) WXJsonUtils.parseWsonLazy(dom),index,callback);
     } catch (Throwable e) {
       WXLogUtils.e(TAG,"callAddElement throw exception:"+e.getMessage());
       return 0;
@@ -24,6 +24,7 @@ import android.os.Handler;
 import android.os.Handler.Callback;
 import android.os.Looper;
 import android.os.Message;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.util.ArrayMap;
@@ -38,13 +39,16 @@ import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.WXSDKManager;
 import com.taobao.weex.adapter.IWXJSExceptionAdapter;
 import com.taobao.weex.adapter.IWXUserTrackAdapter;
+import com.taobao.weex.common.Constants;
 import com.taobao.weex.common.IWXBridge;
 import com.taobao.weex.common.IWXDebugProxy;
+import com.taobao.weex.common.WXBundleSource;
 import com.taobao.weex.common.WXConfig;
 import com.taobao.weex.common.WXErrorCode;
 import com.taobao.weex.common.WXException;
 import com.taobao.weex.common.WXJSBridgeMsgType;
 import com.taobao.weex.common.WXJSExceptionInfo;
+import com.taobao.weex.common.WXPerformance;
 import com.taobao.weex.common.WXRefreshData;
 import com.taobao.weex.common.WXRuntimeException;
 import com.taobao.weex.common.WXThread;
@@ -54,6 +58,7 @@ import com.taobao.weex.dom.action.Action;
 import com.taobao.weex.dom.action.Actions;
 import com.taobao.weex.dom.action.TraceableAction;
 import com.taobao.weex.tracing.WXTracing;
+import com.taobao.weex.ui.view.gesture.WXGestureType;
 import com.taobao.weex.utils.WXExceptionUtils;
 import com.taobao.weex.utils.WXFileUtils;
 import com.taobao.weex.utils.WXJsonUtils;
@@ -73,11 +78,13 @@ import java.lang.reflect.Constructor;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -140,6 +147,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
   private static final String UNDEFINED = "undefined";
   private static final int INIT_FRAMEWORK_OK = 1;
   private static final int CRASHREINIT = 50;
+  private static final int MAX_INSTANCES_PER_BATCH = 16;
   static volatile WXBridgeManager mBridgeManager;
   private static long LOW_MEM_VALUE = 120;
   private volatile static int reInitCount = 1;
@@ -155,15 +163,28 @@ public class WXBridgeManager implements Callback, BactchExecutor {
 
   private static String globalConfig = "none";
   private static String GLOBAL_CONFIG_KEY = "global_switch_config";
+  private static final Set<String> sCoalescibleEvents = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+  static {
+    sCoalescibleEvents.add(Constants.Event.SCROLL);
+    sCoalescibleEvents.add(WXGestureType.LowLevelGesture.ACTION_MOVE.toString());
+    sCoalescibleEvents.add(WXGestureType.HighLevelGesture.PAN_MOVE.toString());
+  }
 
   /**
    * package
    **/
   Handler mJSHandler;
   /**
-   * next tick tasks, can set priority
+   * next tick tasks, one queue per instance, foreground instance first
    */
-  private WXHashMap<String, ArrayList<WXHashMap<String, Object>>> mNextTickTasks = new WXHashMap<>();
+  private WXJSTaskScheduler mNextTickTasks = new WXJSTaskScheduler();
+  private WXJSTaskScheduler.Drainer mCallJSDrainer = new WXJSTaskScheduler.Drainer() {
+    @Override
+    public void onDrain(String instanceId, List<WXHashMap<String, Object>> tasks) {
+      invokeCallJS(instanceId, tasks);
+    }
+  };
   /**
    * JSThread
    */
@@ -176,7 +197,6 @@ public class WXBridgeManager implements Callback, BactchExecutor {
   private List<Map<String, Object>> mRegisterComponentFailList = new ArrayList<>(8);
   private List<Map<String, Object>> mRegisterModuleFailList = new ArrayList<>(8);
   private List<String> mRegisterServiceFailList = new ArrayList<>(8);
-  private List<String> mDestroyedInstanceId = new ArrayList<>();
   private StringBuilder mLodBuilder = new StringBuilder(50);
   private Interceptor mInterceptor;
   private WXParams mInitParams;
@@ -297,14 +317,19 @@ public class WXBridgeManager implements Callback, BactchExecutor {
    *
    * @param instanceId {@link WXSDKInstance#mInstanceId}
    */
-  public synchronized void setStackTopInstance(final String instanceId) {
-    post(new Runnable() {
+  public void setStackTopInstance(final String instanceId) {
+    if (!TextUtils.isEmpty(instanceId)) {
+      mNextTickTasks.setForegroundInstance(instanceId);
+    }
+  }
 
-      @Override
-      public void run() {
-        mNextTickTasks.setStackTopInstance(instanceId);
-      }
-    }, instanceId);
+  /**
+   * Set the order in which instances with pending tasks are drained in one callJS batch pass.
+   *
+   * @param policy {@link WXJSTaskScheduler#POLICY_FIFO} or {@link WXJSTaskScheduler#POLICY_FOREGROUND_FIRST}
+   */
+  public void setJSTaskDrainPolicy(int policy) {
+    mNextTickTasks.setPolicy(policy);
   }
 
   @Override
@@ -468,7 +493,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     mLodBuilder.setLength(0);
     }
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -545,7 +570,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -591,7 +616,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       mLodBuilder.setLength(0);
     }
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -625,7 +650,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     mLodBuilder.setLength(0);
      }
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -660,7 +685,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       mLodBuilder.setLength(0);
     }
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -705,7 +730,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       mLodBuilder.setLength(0);
     }
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -760,7 +785,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     mLodBuilder.setLength(0);
     }
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -806,7 +831,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       mLodBuilder.setLength(0);
     }
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -847,7 +872,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       mLodBuilder.setLength(0);
     }
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -883,7 +908,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     mLodBuilder.setLength(0);
    }
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -922,7 +947,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       mLodBuilder.setLength(0);
     }
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -960,7 +985,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       mLodBuilder.setLength(0);
     }
 
-    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+    if (isInstanceDestroyed(instanceId)) {
       return IWXBridge.DESTROY_INSTANCE;
     }
 
@@ -1018,7 +1043,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       setJSFrameworkInit(false);
       initScriptsFramework("");
 
-      if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+      if (isInstanceDestroyed(instanceId)) {
         return IWXBridge.DESTROY_INSTANCE;
       }
     } catch (Exception e) {
@@ -1107,7 +1132,6 @@ public class WXBridgeManager implements Callback, BactchExecutor {
 
   private void getNextTick(final String instanceId, final String callback) {
     addJSTask(METHOD_CALLBACK, instanceId, callback, "{}");
-    sendMessage(instanceId, WXJSBridgeMsgType.CALL_JS_BATCH);
   }
 
 
@@ -1222,38 +1246,48 @@ public class WXBridgeManager implements Callback, BactchExecutor {
   }
 
 
+  /**
+   * Queue the task directly from the calling thread, and schedule a callJS batch
+   * when the instance had no pending tasks.
+   */
   private void addJSEventTask(final String method, final String instanceId, final List<Object> params, final Object... args) {
-    post(new Runnable() {
-      @Override
-      public void run() {
-        if (args == null || args.length == 0) {
-          return;
-        }
+    WXHashMap<String, Object> task = createJSTask(method, params, args);
+    if (task != null && mNextTickTasks.offer(instanceId, task)) {
+      sendMessage(instanceId, WXJSBridgeMsgType.CALL_JS_BATCH);
+    }
+  }
 
-        ArrayList<Object> argsList = new ArrayList<>();
-        for (Object arg : args) {
-          argsList.add(arg);
-        }
-        if (params != null) {
-          ArrayMap map = new ArrayMap(4);
-          map.put(KEY_PARAMS, params);
-          argsList.add(map);
-        }
+  /**
+   * Like {@link #addJSEventTask(String, String, List, Object...)}, but a pending event with the
+   * same ref and type is replaced by this one instead of being sent twice.
+   */
+  private void addCoalescibleJSEventTask(final String instanceId, final String ref, final String type,
+                                         final List<Object> params, final Object... args) {
+    WXHashMap<String, Object> task = createJSTask(METHOD_FIRE_EVENT, params, args);
+    if (task != null && mNextTickTasks.offerCoalescible(instanceId, ref + '|' + type, type, task)) {
+      sendMessage(instanceId, WXJSBridgeMsgType.CALL_JS_BATCH);
+    }
+  }
 
-        WXHashMap<String, Object> task = new WXHashMap<>();
-        task.put(KEY_METHOD, method);
-        task.put(KEY_ARGS, argsList);
+  private WXHashMap<String, Object> createJSTask(final String method, final List<Object> params, final Object... args) {
+    if (args == null || args.length == 0) {
+      return null;
+    }
 
+    ArrayList<Object> argsList = new ArrayList<>(args.length + 1);
+    for (Object arg : args) {
+      argsList.add(arg);
+    }
+    if (params != null) {
+      ArrayMap map = new ArrayMap(4);
+      map.put(KEY_PARAMS, params);
+      argsList.add(map);
+    }
 
-        if (mNextTickTasks.get(instanceId) == null) {
-          ArrayList<WXHashMap<String, Object>> list = new ArrayList<>();
-          list.add(task);
-          mNextTickTasks.put(instanceId, list);
-        } else {
-          mNextTickTasks.get(instanceId).add(task);
-        }
-      }
-    });
+    WXHashMap<String, Object> task = new WXHashMap<>();
+    task.put(KEY_METHOD, method);
+    task.put(KEY_ARGS, argsList);
+    return task;
   }
 
   private void addJSTask(final String method, final String instanceId, final Object... args) {
@@ -1330,13 +1364,37 @@ public class WXBridgeManager implements Callback, BactchExecutor {
           "fireEvent must be called by main thread");
     }
     if(callback == null) {
-      addJSEventTask(METHOD_FIRE_EVENT, instanceId, params, ref, type, data, domChanges);
-      sendMessage(instanceId, WXJSBridgeMsgType.CALL_JS_BATCH);
+      if (sCoalescibleEvents.contains(type)) {
+        addCoalescibleJSEventTask(instanceId, ref, type, params, ref, type, data, domChanges);
+      } else {
+        addJSEventTask(METHOD_FIRE_EVENT, instanceId, params, ref, type, data, domChanges);
+      }
     }else{
       asyncCallJSEventWithResult(callback, METHD_FIRE_EVENT_SYNC, instanceId, params, ref, type, data, domChanges);
     }
   }
 
+  /**
+   * Events of the type only deliver their latest payload when several are pending for the same ref.
+   * Only add types whose last event carries the whole state, start/end style events must not be coalesced.
+   */
+  public static void addCoalescibleEvent(String type) {
+    if (!TextUtils.isEmpty(type)) {
+      sCoalescibleEvents.add(type);
+    }
+  }
+
+  public static void removeCoalescibleEvent(String type) {
+    sCoalescibleEvents.remove(type);
+  }
+
+  /**
+   * @return event type to count of events dropped by coalescing
+   */
+  public Map<String, Integer> getCoalescedEventCounts() {
+    return mNextTickTasks.getCoalescedCounts();
+  }
+
   private boolean checkMainThread() {
     return Looper.myLooper() == Looper.getMainLooper();
   }
@@ -1391,7 +1449,6 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     addJSTask(METHOD_CALLBACK, instanceId, callback, data, keepAlive);
-    sendMessage(instanceId, WXJSBridgeMsgType.CALL_JS_BATCH);
   }
 
   /**
@@ -1522,16 +1579,24 @@ public class WXBridgeManager implements Callback, BactchExecutor {
    */
   public void createInstance(final String instanceId, final String template,
                              final Map<String, Object> options, final String data) {
+    createInstance(instanceId, TextUtils.isEmpty(template) ? null : WXBundleSource.fromString(template), options, data);
+  }
+
+  /**
+   * Create instance, the source is decoded on the JS thread right before it is passed to JS.
+   */
+  public void createInstance(final String instanceId, final WXBundleSource source,
+                             final Map<String, Object> options, final String data) {
     final WXSDKInstance instance = WXSDKManager.getInstance().getSDKInstance(instanceId);
     if (instance == null) {
       WXLogUtils.e("WXBridgeManager", "createInstance failed, SDKInstance is not exist");
       return;
     }
-    if (TextUtils.isEmpty(instanceId) || TextUtils.isEmpty(template) || mJSHandler == null) {
+    if (TextUtils.isEmpty(instanceId) || source == null || source.length() == 0 || mJSHandler == null) {
       instance.onRenderError(
 			  WXRenderErrorCode.DegradPassivityCode.WX_DEGRAD_ERR_INSTANCE_CREATE_FAILED.getDegradErrorCode(),
 			  WXRenderErrorCode.DegradPassivityCode.WX_DEGRAD_ERR_INSTANCE_CREATE_FAILED.getDegradErrorMsg() +
-	  " instanceId==" + instanceId + " template ==" + template + " mJSHandler== " + mJSHandler.toString()
+	  " instanceId==" + instanceId + " template ==" + source + " mJSHandler== " + mJSHandler
 	  );
       return;
     }
@@ -1554,6 +1619,10 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     post(new Runnable() {
       @Override
       public void run() {
+        String template = readBundle(instance, source);
+        if (template == null) {
+          return;
+        }
         long start = System.currentTimeMillis();
         invokeCreateInstance(instance, template, options, data);
         final long totalTime = System.currentTimeMillis() - start;
@@ -1568,6 +1637,26 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }, instanceId);
   }
 
+  private String readBundle(@NonNull WXSDKInstance instance, WXBundleSource source) {
+    long decodeStart = SystemClock.uptimeMillis();
+    String template = source.readSafely();
+    if (TextUtils.isEmpty(template)) {
+      instance.onRenderError(
+          WXRenderErrorCode.DegradPassivityCode.WX_DEGRAD_ERR_INSTANCE_CREATE_FAILED.getDegradErrorCode(),
+          WXRenderErrorCode.DegradPassivityCode.WX_DEGRAD_ERR_INSTANCE_CREATE_FAILED.getDegradErrorMsg() +
+              " template is empty or unreadable");
+      return null;
+    }
+    long now = SystemClock.uptimeMillis();
+    WXPerformance performance = instance.getWXPerformance();
+    performance.JSTemplateSize = template.length() / 1024f;
+    performance.bundleDecodeTime = now - decodeStart;
+    performance.bundleToJSTime = now - source.getCreateTime();
+    WXLogUtils.renderPerformanceLog("bundleDecodeTime", performance.bundleDecodeTime);
+    WXLogUtils.renderPerformanceLog("bundleToJSTime", performance.bundleToJSTime);
+    return template;
+  }
+
   private void invokeCreateInstance(@NonNull WXSDKInstance instance, String template,
                                     Map<String, Object> options, String data) {
 
@@ -1621,16 +1710,23 @@ public class WXBridgeManager implements Callback, BactchExecutor {
 
   }
 
+  private boolean isInstanceDestroyed(String instanceId) {
+    return WXSDKManager.getInstance().getInstanceRegistry().isDestroyed(instanceId);
+  }
+
   public void destroyInstance(final String instanceId) {
     if (mJSHandler == null
         || TextUtils.isEmpty(instanceId)) {
       return;
     }
-    if (mDestroyedInstanceId != null) {
-      mDestroyedInstanceId.add(instanceId);
-    }
+    WXSDKManager.getInstance().getInstanceRegistry().markDestroyed(instanceId);
     // clear message with instanceId
     mJSHandler.removeCallbacksAndMessages(instanceId);
+    removeTaskByInstance(instanceId);
+    // the removed batch message may carry tasks of other instances
+    if (mNextTickTasks.hasPendingTasks()) {
+      mJSHandler.sendEmptyMessage(WXJSBridgeMsgType.CALL_JS_BATCH);
+    }
     post(new Runnable() {
       @Override
       public void run() {
@@ -1641,7 +1737,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
   }
 
   private void removeTaskByInstance(String instanceId) {
-    mNextTickTasks.removeFromMapAndStack(instanceId);
+    mNextTickTasks.removeInstance(instanceId);
   }
 
   private void invokeDestroyInstance(String instanceId) {
@@ -1806,6 +1902,10 @@ public class WXBridgeManager implements Callback, BactchExecutor {
           execRegisterFailTask();
           WXEnvironment.JsFrameworkInit = true;
           registerDomModule();
+          // tasks queued before framework ready are only scheduled once
+          if (mNextTickTasks.hasPendingTasks()) {
+            mJSHandler.sendEmptyMessage(WXJSBridgeMsgType.CALL_JS_BATCH);
+          }
           String reinitInfo = "";
           if (reInitCount > 1) {
             reinitInfo = "reinit Framework:";
@@ -1846,51 +1946,36 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
   }
 
-  @SuppressWarnings("unchecked")
   private void invokeCallJSBatch(Message message) {
-    if (mNextTickTasks.isEmpty() || !isJSFrameworkInit()) {
-      if (!isJSFrameworkInit()) {
-        WXLogUtils.e("[WXBridgeManager] invokeCallJSBatch: framework.js uninitialized!!  message:" + message.toString());
-      }
+    if (!isJSFrameworkInit()) {
+      WXLogUtils.e("[WXBridgeManager] invokeCallJSBatch: framework.js uninitialized!!  message:" + message.toString());
       return;
     }
 
+    mNextTickTasks.drain(mCallJSDrainer, MAX_INSTANCES_PER_BATCH);
+
+    // If task is not empty, loop until it is empty
+    if (mNextTickTasks.hasPendingTasks()) {
+      mJSHandler.sendEmptyMessage(WXJSBridgeMsgType.CALL_JS_BATCH);
+    }
+  }
+
+  private void invokeCallJS(String instanceId, List<WXHashMap<String, Object>> task) {
     try {
-      Object instanceId = message.obj;
-
-      ArrayList<WXHashMap<String, Object>> task = null;
-      Stack<String> instanceStack = mNextTickTasks.getInstanceStack();
-      int size = instanceStack.size();
-      for (int i = size - 1; i >= 0; i--) {
-        instanceId = instanceStack.get(i);
-        task = mNextTickTasks.remove(instanceId);
-        if (task != null && !((ArrayList) task).isEmpty()) {
-          break;
-        }
-      }
-      Object[] tasks = ((ArrayList) task).toArray();
+      Object[] tasks = task.toArray();
 
       WXJSObject[] args = {
           new WXJSObject(WXJSObject.String, instanceId),
           WXJsonUtils.wsonWXJSObject(tasks)};
 
-      invokeExecJS(String.valueOf(instanceId), null, METHOD_CALL_JS, args);
+      invokeExecJS(instanceId, null, METHOD_CALL_JS, args);
       task.clear();
-      for(int i=0; i<tasks.length; i++){
-        args[i] = null;
-      }
-      args = null;
     } catch (Throwable e) {
       WXLogUtils.e("WXBridgeManager", e);
       String err = "invokeCallJSBatch#" + WXLogUtils.getStackTrace(e);
 	  WXExceptionUtils.commitCriticalExceptionRT(null, WXErrorCode.WX_ERR_JS_FRAMEWORK.getErrorCode(),
 			  "invokeCallJSBatch", err, null);
     }
-
-    // If task is not empty, loop until it is empty
-    if (!mNextTickTasks.isEmpty()) {
-      mJSHandler.sendEmptyMessage(WXJSBridgeMsgType.CALL_JS_BATCH);
-    }
   }
 
   private WXParams assembleDefaultOptions() {
@@ -2090,8 +2175,9 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       mJSThread.quit();
     }
     mBridgeManager = null;
-    if (mDestroyedInstanceId != null) {
-      mDestroyedInstanceId.clear();
+    WXSDKManager.getInstance().getInstanceRegistry().clear();
+    if (mNextTickTasks != null) {
+      mNextTickTasks.clear();
     }
 
   }
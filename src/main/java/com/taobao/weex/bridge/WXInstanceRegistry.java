@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.bridge;
+
+import android.text.TextUtils;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instances destroyed recently, js calls for them are dropped by {@link WXBridgeManager} and
+ * {@link WXModuleManager}.
+ * <p>
+ * Lookup is a single hash lookup from any thread. Late js calls only arrive until destroyInstance
+ * reached the js thread, so a marker is kept for {@link #DEFAULT_RETENTION_MILLIS} and at most
+ * {@link #DEFAULT_CAPACITY} markers are kept, memory doesn't grow with instances destroyed in the
+ * process.
+ */
+public class WXInstanceRegistry {
+
+  static final int DEFAULT_CAPACITY = 256;
+  static final long DEFAULT_RETENTION_MILLIS = 60 * 1000;
+
+  private static class Marker {
+    final String instanceId;
+    final long time;
+
+    Marker(String instanceId, long time) {
+      this.instanceId = instanceId;
+      this.time = time;
+    }
+  }
+
+  private final int mCapacity;
+  private final long mRetentionMillis;
+  private final ConcurrentHashMap<String, Marker> mDestroyed = new ConcurrentHashMap<>();
+  /**
+   * markers in the order of destroy, guarded by itself
+   */
+  private final ArrayDeque<Marker> mOrder = new ArrayDeque<>();
+
+  public WXInstanceRegistry() {
+    this(DEFAULT_CAPACITY, DEFAULT_RETENTION_MILLIS);
+  }
+
+  public WXInstanceRegistry(int capacity, long retentionMillis) {
+    mCapacity = capacity;
+    mRetentionMillis = retentionMillis;
+  }
+
+  public boolean isDestroyed(String instanceId) {
+    return instanceId != null && mDestroyed.containsKey(instanceId);
+  }
+
+  public void markDestroyed(String instanceId) {
+    markDestroyed(instanceId, System.currentTimeMillis());
+  }
+
+  void markDestroyed(String instanceId, long now) {
+    if (TextUtils.isEmpty(instanceId)) {
+      return;
+    }
+    Marker marker = new Marker(instanceId, now);
+    synchronized (mOrder) {
+      mDestroyed.put(instanceId, marker);
+      mOrder.addLast(marker);
+      Marker eldest;
+      while ((eldest = mOrder.peekFirst()) != null
+          && (mOrder.size() > mCapacity || now - eldest.time > mRetentionMillis)) {
+        mOrder.pollFirst();
+        // the instance may be destroyed again with the same id, keep the newer marker
+        mDestroyed.remove(eldest.instanceId, eldest);
+      }
+    }
+  }
+
+  /**
+   * An instance is created with instanceId, which may be reused by the host.
+   */
+  public void markCreated(String instanceId) {
+    if (instanceId != null) {
+      mDestroyed.remove(instanceId);
+    }
+  }
+
+  public int size() {
+    return mDestroyed.size();
+  }
+
+  public void clear() {
+    synchronized (mOrder) {
+      mOrder.clear();
+      mDestroyed.clear();
+    }
+  }
+}
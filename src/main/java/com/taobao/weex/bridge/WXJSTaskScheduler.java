@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.bridge;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Next tick task queues for callJS, one queue per instance.
+ * <p>
+ * Tasks can be offered from any thread, there is no need to hop to the JS thread first.
+ * An instance is put into the ready queue once when its queue turns from empty to non-empty,
+ * so enqueue is O(1) no matter how many instances are alive.
+ * {@link #drain(Drainer, int)} must only be called on the JS thread.
+ * <p>
+ * High frequency events can be offered with a coalesce key, a pending task with the same key
+ * gets its args replaced in place, so only the latest payload reaches callJS.
+ */
+public class WXJSTaskScheduler {
+
+  /**
+   * Drain instances in the order they became ready.
+   */
+  public static final int POLICY_FIFO = 0;
+  /**
+   * Drain the foreground instance (see {@link #setForegroundInstance(String)}) first,
+   * then the others in the order they became ready.
+   */
+  public static final int POLICY_FOREGROUND_FIRST = 1;
+
+  public interface Drainer {
+    /**
+     * Called on the JS thread with all pending tasks of one instance.
+     */
+    void onDrain(String instanceId, List<WXHashMap<String, Object>> tasks);
+  }
+
+  private static class InstanceQueue {
+    final ConcurrentLinkedQueue<WXHashMap<String, Object>> tasks = new ConcurrentLinkedQueue<>();
+    final AtomicBoolean ready = new AtomicBoolean(false);
+    /**
+     * bumped after every plain task is queued, a coalescible task queued before can not be
+     * updated any more once it changed
+     */
+    final AtomicLong sequence = new AtomicLong();
+    /**
+     * pending coalescible tasks by key, guarded by the InstanceQueue itself
+     */
+    final HashMap<String, Coalescible> coalescible = new HashMap<>();
+  }
+
+  private static class Coalescible {
+    final WXHashMap<String, Object> task;
+    final long sequence;
+
+    Coalescible(WXHashMap<String, Object> task, long sequence) {
+      this.task = task;
+      this.sequence = sequence;
+    }
+  }
+
+  private final ConcurrentHashMap<String, InstanceQueue> mQueues = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<String> mReadyInstances = new ConcurrentLinkedQueue<>();
+  private volatile String mForegroundInstanceId;
+  private volatile int mPolicy = POLICY_FOREGROUND_FIRST;
+  private final ConcurrentHashMap<String, AtomicInteger> mCoalescedCount = new ConcurrentHashMap<>();
+
+  /**
+   * Append a task to the queue of the instance, lock free.
+   *
+   * @return true if the instance was idle before and a drain should be scheduled.
+   */
+  public boolean offer(String instanceId, WXHashMap<String, Object> task) {
+    if (instanceId == null || task == null) {
+      return false;
+    }
+    InstanceQueue queue = obtainQueue(instanceId);
+    queue.tasks.offer(task);
+    // a later task must not be overtaken by a coalesced one, pending coalescible tasks
+    // see the sequence changed and are not updated any more
+    queue.sequence.incrementAndGet();
+    return markReady(instanceId, queue);
+  }
+
+  /**
+   * Append a task, or replace the args of the pending task offered with the same key.
+   *
+   * @param key  coalesce key, unique per ref and event type within the instance
+   * @param type event type, used for {@link #getCoalescedCount(String)}
+   * @return true if the instance was idle before and a drain should be scheduled.
+   */
+  public boolean offerCoalescible(String instanceId, String key, String type, WXHashMap<String, Object> task) {
+    if (instanceId == null || key == null || task == null) {
+      return false;
+    }
+    InstanceQueue queue = obtainQueue(instanceId);
+    synchronized (queue) {
+      long sequence = queue.sequence.get();
+      Coalescible pending = queue.coalescible.get(key);
+      if (pending != null && pending.sequence == sequence) {
+        pending.task.put(WXBridgeManager.KEY_ARGS, task.get(WXBridgeManager.KEY_ARGS));
+        increaseCoalescedCount(type);
+        return false;
+      }
+      queue.coalescible.put(key, new Coalescible(task, sequence));
+      queue.tasks.offer(task);
+    }
+    return markReady(instanceId, queue);
+  }
+
+  private InstanceQueue obtainQueue(String instanceId) {
+    InstanceQueue queue = mQueues.get(instanceId);
+    if (queue == null) {
+      InstanceQueue newQueue = new InstanceQueue();
+      queue = mQueues.putIfAbsent(instanceId, newQueue);
+      if (queue == null) {
+        queue = newQueue;
+      }
+    }
+    return queue;
+  }
+
+  private boolean markReady(String instanceId, InstanceQueue queue) {
+    if (queue.ready.compareAndSet(false, true)) {
+      mReadyInstances.offer(instanceId);
+      return true;
+    }
+    return false;
+  }
+
+  private void increaseCoalescedCount(String type) {
+    if (type == null) {
+      return;
+    }
+    AtomicInteger count = mCoalescedCount.get(type);
+    if (count == null) {
+      AtomicInteger newCount = new AtomicInteger();
+      count = mCoalescedCount.putIfAbsent(type, newCount);
+      if (count == null) {
+        count = newCount;
+      }
+    }
+    count.incrementAndGet();
+  }
+
+  /**
+   * @return how many events of the type were dropped because a newer one replaced them.
+   */
+  public int getCoalescedCount(String type) {
+    AtomicInteger count = mCoalescedCount.get(type);
+    return count == null ? 0 : count.get();
+  }
+
+  public Map<String, Integer> getCoalescedCounts() {
+    Map<String, Integer> counts = new HashMap<>();
+    for (Map.Entry<String, AtomicInteger> entry : mCoalescedCount.entrySet()) {
+      counts.put(entry.getKey(), entry.getValue().get());
+    }
+    return counts;
+  }
+
+  /**
+   * Drain pending tasks, at most <code>maxInstances</code> instances in one pass.
+   *
+   * @return the number of instances drained.
+   */
+  public int drain(Drainer drainer, int maxInstances) {
+    int drained = 0;
+    String foreground = mForegroundInstanceId;
+    if (mPolicy == POLICY_FOREGROUND_FIRST && foreground != null) {
+      if (drainInstance(foreground, drainer)) {
+        drained++;
+      }
+    }
+    String instanceId;
+    while (drained < maxInstances && (instanceId = mReadyInstances.poll()) != null) {
+      if (drainInstance(instanceId, drainer)) {
+        drained++;
+      }
+    }
+    return drained;
+  }
+
+  private boolean drainInstance(String instanceId, Drainer drainer) {
+    InstanceQueue queue = mQueues.get(instanceId);
+    if (queue == null || !queue.ready.get()) {
+      return false;
+    }
+    // clear the flag before polling, a producer racing with us will mark the instance ready again
+    queue.ready.set(false);
+    ArrayList<WXHashMap<String, Object>> tasks = new ArrayList<>();
+    // polled tasks must not be coalesced into any more
+    synchronized (queue) {
+      queue.coalescible.clear();
+      WXHashMap<String, Object> task;
+      while ((task = queue.tasks.poll()) != null) {
+        tasks.add(task);
+      }
+    }
+    if (tasks.isEmpty()) {
+      return false;
+    }
+    drainer.onDrain(instanceId, tasks);
+    return true;
+  }
+
+  /**
+   * May report true for an instance that has been drained or removed meanwhile,
+   * which only costs one empty drain pass.
+   */
+  public boolean hasPendingTasks() {
+    return !mReadyInstances.isEmpty();
+  }
+
+  /**
+   * Drop all pending tasks of the instance, called when the instance is destroyed.
+   */
+  public void removeInstance(String instanceId) {
+    if (instanceId == null) {
+      return;
+    }
+    mQueues.remove(instanceId);
+    if (instanceId.equals(mForegroundInstanceId)) {
+      mForegroundInstanceId = null;
+    }
+  }
+
+  public void setForegroundInstance(String instanceId) {
+    mForegroundInstanceId = instanceId;
+  }
+
+  public String getForegroundInstance() {
+    return mForegroundInstanceId;
+  }
+
+  public void setPolicy(int policy) {
+    mPolicy = policy;
+  }
+
+  public int getPolicy() {
+    return mPolicy;
+  }
+
+  public void clear() {
+    mQueues.clear();
+    mCoalescedCount.clear();
+    mReadyInstances.clear();
+    mForegroundInstanceId = null;
+  }
+}
@@ -140,6 +140,10 @@ public class WXModuleManager {
   }
 
   static Object callModuleMethod(final String instanceId, String moduleStr, String methodStr, JSONArray args) {
+    if (WXSDKManager.getInstance().getInstanceRegistry().isDestroyed(instanceId)) {
+      // modules of the instance are destroyed, don't create them again for late calls
+      return null;
+    }
     ModuleFactory factory = sModuleFactoryMap.get(moduleStr);
     if(factory == null){
       WXLogUtils.e("[WXModuleManager] module factory not found.");
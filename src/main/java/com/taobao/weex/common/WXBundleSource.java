@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.common;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Source of a js bundle, read on the JS thread right before the bundle is passed to createInstance.
+ * <p>
+ * The bridge takes the bundle as a String, so one decode into a String is unavoidable.
+ * Every source decodes UTF-8 bytes into the String in one pass, without StringBuilder, Reader or
+ * ByteArrayOutputStream copies in between:
+ * <ul>
+ *   <li>{@link #fromFile(File)} and uncompressed assets are memory mapped and decoded from the
+ *   mapping, without copying the bytes to the heap.</li>
+ *   <li>{@link #fromBytes(byte[])} decodes a downloaded body in place. The http adapter hands over
+ *   the whole body, so it is still buffered once.</li>
+ *   <li>{@link #fromStream(InputStream, int)} reads into a buffer of the expected length.</li>
+ * </ul>
+ */
+public abstract class WXBundleSource {
+
+  private static final String TAG = "WXBundleSource";
+  private static final String CHARSET = "UTF-8";
+
+  private final long mCreateTime = SystemClock.uptimeMillis();
+
+  /**
+   * Decode the bundle, a source can only be read once.
+   */
+  public abstract String read() throws IOException;
+
+  /**
+   * @return size of the bundle, in bytes, or in chars for a String source, -1 if unknown.
+   */
+  public int length() {
+    return -1;
+  }
+
+  /**
+   * @return uptime when the source was created, used to measure the time until the bundle gets into JS.
+   */
+  public long getCreateTime() {
+    return mCreateTime;
+  }
+
+  /**
+   * @return the bundle, or null if the source can not be read.
+   */
+  public @Nullable String readSafely() {
+    try {
+      return read();
+    } catch (IOException | RuntimeException e) {
+      WXLogUtils.e(TAG, e);
+      return null;
+    }
+  }
+
+  public static WXBundleSource fromString(@NonNull final String template) {
+    return new WXBundleSource() {
+      @Override
+      public String read() {
+        return template;
+      }
+
+      @Override
+      public int length() {
+        return template.length();
+      }
+    };
+  }
+
+  public static WXBundleSource fromBytes(@NonNull final byte[] data) {
+    return new WXBundleSource() {
+      @Override
+      public String read() throws IOException {
+        return new String(data, 0, data.length, CHARSET);
+      }
+
+      @Override
+      public int length() {
+        return data.length;
+      }
+    };
+  }
+
+  /**
+   * @param length expected number of bytes, or -1 if unknown.
+   */
+  public static WXBundleSource fromStream(@NonNull final InputStream stream, final int length) {
+    return new WXBundleSource() {
+      @Override
+      public String read() throws IOException {
+        try {
+          byte[] buffer = new byte[length > 0 ? length : 8192];
+          int count = 0;
+          int read;
+          while (true) {
+            if (count == buffer.length) {
+              int next = stream.read();
+              if (next == -1) {
+                break;
+              }
+              //longer than expected
+              byte[] grown = new byte[buffer.length * 2];
+              System.arraycopy(buffer, 0, grown, 0, count);
+              buffer = grown;
+              buffer[count++] = (byte) next;
+            }
+            read = stream.read(buffer, count, buffer.length - count);
+            if (read == -1) {
+              break;
+            }
+            count += read;
+          }
+          return new String(buffer, 0, count, CHARSET);
+        } finally {
+          closeQuietly(stream);
+        }
+      }
+
+      @Override
+      public int length() {
+        return length;
+      }
+    };
+  }
+
+  public static WXBundleSource fromFile(@NonNull final File file) {
+    return new WXBundleSource() {
+      @Override
+      public String read() throws IOException {
+        FileInputStream stream = new FileInputStream(file);
+        try {
+          FileChannel channel = stream.getChannel();
+          return decode(channel, 0, channel.size());
+        } finally {
+          closeQuietly(stream);
+        }
+      }
+
+      @Override
+      public int length() {
+        return (int) file.length();
+      }
+    };
+  }
+
+  /**
+   * Uncompressed assets are mapped from the apk, compressed ones are streamed.
+   */
+  public static WXBundleSource fromAsset(@NonNull final Context context, @NonNull final String path) {
+    return new WXBundleSource() {
+      @Override
+      public String read() throws IOException {
+        AssetFileDescriptor descriptor;
+        try {
+          descriptor = context.getAssets().openFd(path);
+        } catch (FileNotFoundException e) {
+          //compressed, the size is only known after open
+          InputStream stream = context.getAssets().open(path);
+          return fromStream(stream, stream.available()).read();
+        }
+        FileInputStream stream = null;
+        try {
+          stream = descriptor.createInputStream();
+          return decode(stream.getChannel(), descriptor.getStartOffset(), descriptor.getLength());
+        } finally {
+          closeQuietly(stream);
+          descriptor.close();
+        }
+      }
+    };
+  }
+
+  private static String decode(FileChannel channel, long offset, long length) throws IOException {
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("bundle too large: " + length);
+    }
+    if (length == 0) {
+      return "";
+    }
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    //utf-8 never has more chars than bytes
+    CharBuffer chars = CharBuffer.allocate((int) length);
+    CharsetDecoder decoder = Charset.forName(CHARSET).newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    CoderResult result = decoder.decode(buffer, chars, true);
+    if (!result.isUnderflow()) {
+      result.throwException();
+    }
+    result = decoder.flush(chars);
+    if (!result.isUnderflow()) {
+      result.throwException();
+    }
+    chars.flip();
+    return chars.toString();
+  }
+
+  private static void closeQuietly(@Nullable InputStream stream) {
+    if (stream != null) {
+      try {
+        stream.close();
+      } catch (IOException e) {
+        WXLogUtils.e(TAG, e);
+      }
+    }
+  }
+}
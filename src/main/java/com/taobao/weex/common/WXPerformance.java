@@ -70,6 +70,51 @@ public class WXPerformance {
    */
   public long communicateTime;
 
+  /**
+   * Time spent decoding the bundle into a String on the JS thread, see {@link WXBundleSource}
+   */
+  public long bundleDecodeTime;
+
+  /**
+   * Time from the bundle being available (downloaded or opened) until it is passed to createInstance in JS
+   */
+  public long bundleToJSTime;
+
+  /**
+   * 1 if the bundle was rendered from {@link com.taobao.weex.http.WXBundleCache}, otherwise 0
+   */
+  public long bundleCacheHit;
+
+  /**
+   * Network time saved by rendering the bundle from cache, estimated from the download time of the cached bundle
+   */
+  public long bundleCacheSavedTime;
+
+  /**
+   * UI thread slices of render tasks that took longer than a frame
+   */
+  public long renderFramesOverBudget;
+
+  /**
+   * Max number of render tasks waiting for the UI thread
+   */
+  public long maxRenderQueueDepth;
+
+  /**
+   * dom objects copied for the UI thread by layout, and layout snapshots sent instead of copies
+   * when only layout changed
+   */
+  public long layoutDomCopies;
+  public long layoutSnapshots;
+
+  /**
+   * host views taken from {@link com.taobao.weex.ui.view.WXViewPool} and created on demand, and the
+   * creation time saved by the pool, estimated from the time of creating views ahead
+   */
+  public long viewPoolHits;
+  public long viewPoolMisses;
+  public long viewPoolSavedTime;
+
   /**
    * Time spent when rendering first screen
    */
@@ -111,6 +156,18 @@ public class WXPerformance {
    */
   public long cssLayoutTime;
 
+  /**
+   * dom nodes visited and updated by layout, only dirty subtree is visited
+   */
+  public long layoutVisitedNodes;
+  public long layoutUpdatedNodes;
+
+  /**
+   * dom nodes visited and updated by the last layout batch
+   */
+  public int lastBatchVisitedNodes;
+  public int lastBatchUpdatedNodes;
+
   /**
    * Time spent, the unit is micro second
    */
@@ -209,6 +266,20 @@ public class WXPerformance {
     quotas.put("SDKInitTime",(double)WXEnvironment.sSDKInitTime);
     quotas.put("maxDeepViewLayer", (double) maxDeepViewLayer);
     quotas.put("useScroller", (double) useScroller);
+    quotas.put("layoutVisitedNodes", (double) layoutVisitedNodes);
+    quotas.put("layoutUpdatedNodes", (double) layoutUpdatedNodes);
+    quotas.put("bundleDecodeTime", (double) bundleDecodeTime);
+    quotas.put("bundleToJSTime", (double) bundleToJSTime);
+    quotas.put("bundleCacheHit", (double) bundleCacheHit);
+    quotas.put("bundleCacheSavedTime", (double) bundleCacheSavedTime);
+    quotas.put("renderFramesOverBudget", (double) renderFramesOverBudget);
+    quotas.put("maxRenderQueueDepth", (double) maxRenderQueueDepth);
+    quotas.put("layoutDomCopies", (double) layoutDomCopies);
+    quotas.put("layoutSnapshots", (double) layoutSnapshots);
+    quotas.put("viewPoolHits", (double) viewPoolHits);
+    quotas.put("viewPoolMisses", (double) viewPoolMisses);
+    quotas.put("viewPoolHitRate", viewPoolHits + viewPoolMisses == 0 ? 0 : (double) viewPoolHits / (viewPoolHits + viewPoolMisses));
+    quotas.put("viewPoolSavedTime", (double) viewPoolSavedTime);
 	quotas.put("measureTime1", (double) measureTimes[0]);
 	quotas.put("measureTime2", (double) measureTimes[1]);
 	quotas.put("measureTime3", (double) measureTimes[2]);
@@ -260,6 +331,20 @@ public class WXPerformance {
         "firstScreenJSFExecuteTime",
         "maxDeepViewLayer",
         "useScroller",
+        "layoutVisitedNodes",
+        "layoutUpdatedNodes",
+        "bundleDecodeTime",
+        "bundleToJSTime",
+        "bundleCacheHit",
+        "bundleCacheSavedTime",
+        "renderFramesOverBudget",
+        "maxRenderQueueDepth",
+        "layoutDomCopies",
+        "layoutSnapshots",
+        "viewPoolHits",
+        "viewPoolMisses",
+        "viewPoolHitRate",
+        "viewPoolSavedTime",
 		"measureTime1",
 		"measureTime2",
 		"measureTime3",
@@ -34,6 +34,14 @@ import static com.taobao.weex.dom.WXStyle.UNSET;
  */
 public class BasicEditTextDomObject extends WXDomObject {
 
+  public static class Creator implements DomObjectCreator {
+
+    @Override
+    public WXDomObject create() {
+      return new BasicEditTextDomObject();
+    }
+  }
+
   private TextPaint mPaint = new TextPaint();
 
   //  private int mFontSize = UNSET;
@@ -28,6 +28,7 @@ import com.taobao.weex.dom.action.Actions;
 import com.taobao.weex.dom.flex.CSSLayoutContext;
 import com.taobao.weex.tracing.Stopwatch;
 import com.taobao.weex.tracing.WXTracing;
+import com.taobao.weex.ui.IWXIncrementalRenderTask;
 import com.taobao.weex.ui.IWXRenderTask;
 import com.taobao.weex.ui.WXRenderManager;
 import com.taobao.weex.ui.animation.WXAnimationBean;
@@ -197,7 +198,7 @@ class DOMActionContextImpl implements DOMActionContext {
     long start0 = System.currentTimeMillis();
     rebuildingFixedDomTree(rootDom);
 
-    rootDom.traverseTree( new WXDomObject.Consumer() {
+    int visited = rootDom.traverseUpdateTree( new WXDomObject.Consumer() {
       @Override
       public void accept(WXDomObject dom) {
         if (!dom.hasUpdate() || mDestroy) {
@@ -216,7 +217,12 @@ class DOMActionContextImpl implements DOMActionContext {
     }
 
     start = System.currentTimeMillis();
-    rootDom.traverseTree( new WXDomObject.Consumer() {
+    float viewportHeight = rootDom.getLayoutHeight();
+    if (instance != null && instance.getWeexHeight() > 0) {
+      viewportHeight = Math.min(viewportHeight, instance.getWeexHeight());
+    }
+    ApplyUpdateConsumer applyUpdateConsumer = new ApplyUpdateConsumer(viewportHeight);
+    visited += rootDom.traverseUpdateTree( new WXDomObject.Consumer() {
       @Override
       public void accept(WXDomObject dom) {
         if (!dom.hasUpdate() || mDestroy) {
@@ -224,11 +230,16 @@ class DOMActionContextImpl implements DOMActionContext {
         }
         dom.layoutAfter();
       }
-    }, new ApplyUpdateConsumer());
+    }, applyUpdateConsumer);
+    if (!applyUpdateConsumer.layoutTask.isEmpty()) {
+      mNormalTasks.add(applyUpdateConsumer.layoutTask);
+    }
 
 
     if (instance != null) {
       instance.applyUpdateTime(System.currentTimeMillis() - start);
+      instance.layoutNodes(visited, applyUpdateConsumer.updated);
+      instance.layoutCopies(applyUpdateConsumer.copies, applyUpdateConsumer.snapshots);
     }
 
     start = System.currentTimeMillis();
@@ -251,42 +262,140 @@ class DOMActionContextImpl implements DOMActionContext {
   }
 
   void consumeRenderTasks() {
-    int count = mNormalTasks.size();
-    for (int i = 0; i < count && !mDestroy; ++i) {
-      mWXRenderManager.runOnThread(mInstanceId, mNormalTasks.get(i));
+    if (!mDestroy && !mNormalTasks.isEmpty()) {
+      mWXRenderManager.runOnThread(mInstanceId, new ArrayList<>(mNormalTasks));
     }
     mNormalTasks.clear();
   }
 
   private class ApplyUpdateConsumer implements WXDomObject.Consumer{
 
+    int updated;
+    int copies;
+    int snapshots;
+    final LayoutTask layoutTask = new LayoutTask(mWXRenderManager, mInstanceId);
+    private final float mViewportHeight;
+
+    ApplyUpdateConsumer(float viewportHeight) {
+      mViewportHeight = viewportHeight;
+    }
+
     @Override
     public void accept(WXDomObject dom) {
       if (dom.hasUpdate()) {
+        updated++;
         dom.markUpdateSeen();
         if (!dom.isYoung()) {
+          WXDomObject content = dom.getLayoutCopy();
+          if (content != null) {
+            //only layout changed, the ui thread updates its own copy
+            layoutTask.add(layoutTask.snapshot(dom, content), isInViewport(dom));
+            snapshots++;
+            return;
+          }
           final WXDomObject copy = dom.clone();
           if (copy == null) {
             return;
           }
-          mNormalTasks.add(new IWXRenderTask() {
-
-            @Override
-            public void execute() {
-              mWXRenderManager.setLayout(mInstanceId, copy.getRef(), copy);
-              if(copy.getExtra() != null) {
-                mWXRenderManager.setExtra(mInstanceId, copy.getRef(), copy.getExtra());
-              }
-            }
-
-            @Override
-            public String toString() {
-              return "setLayout & setExtra";
-            }
-          });
+          dom.setLayoutCopy(copy);
+          layoutTask.add(copy, isInViewport(dom));
+          copies++;
         }
       }
     }
+
+    /**
+     * Whether the dom and all its ancestors start inside the root viewport,
+     * so a visible dom is never laid out before its parent.
+     */
+    private boolean isInViewport(WXDomObject dom) {
+      if (mViewportHeight <= 0) {
+        return true;
+      }
+      float top = 0;
+      for (WXDomObject node = dom; node != null; node = node.parent) {
+        top += node.getLayoutY();
+      }
+      for (WXDomObject node = dom; node != null; node = node.parent) {
+        if (top >= mViewportHeight) {
+          return false;
+        }
+        top -= node.getLayoutY();
+      }
+      return true;
+    }
+  }
+
+  /**
+   * setLayout and setExtra of one batch in a single task. Doms in the viewport are applied first,
+   * the others may be continued in the next frames.
+   */
+  private static class LayoutTask implements IWXIncrementalRenderTask {
+
+    private final WXRenderManager mRenderManager;
+    private final String mInstanceId;
+    private final ArrayList<ImmutableDomObject> mVisible = new ArrayList<>();
+    private final ArrayList<ImmutableDomObject> mInvisible = new ArrayList<>();
+    private int mExecuted;
+
+    /**
+     * layout of all snapshots, a new array is used when full, snapshots keep the old one.
+     */
+    private float[] mLayouts;
+    private int mLayoutsSize;
+
+    LayoutTask(WXRenderManager renderManager, String instanceId) {
+      mRenderManager = renderManager;
+      mInstanceId = instanceId;
+    }
+
+    LayoutSnapshot snapshot(WXDomObject dom, WXDomObject content) {
+      if (mLayouts == null || mLayoutsSize + LayoutSnapshot.SIZE > mLayouts.length) {
+        int capacity = mLayouts == null ? 16 : mLayouts.length / LayoutSnapshot.SIZE * 2;
+        mLayouts = new float[capacity * LayoutSnapshot.SIZE];
+        mLayoutsSize = 0;
+      }
+      int offset = mLayoutsSize;
+      LayoutSnapshot.write(dom, mLayouts, offset);
+      mLayoutsSize += LayoutSnapshot.SIZE;
+      return new LayoutSnapshot(dom.getRef(), content, mLayouts, offset, dom.getExtra());
+    }
+
+    void add(ImmutableDomObject copy, boolean visible) {
+      (visible ? mVisible : mInvisible).add(copy);
+    }
+
+    boolean isEmpty() {
+      return mVisible.isEmpty() && mInvisible.isEmpty();
+    }
+
+    @Override
+    public void execute() {
+      execute(Long.MAX_VALUE);
+    }
+
+    @Override
+    public boolean execute(long deadlineNanos) {
+      int visible = mVisible.size();
+      int total = visible + mInvisible.size();
+      while (mExecuted < total) {
+        ImmutableDomObject copy = mExecuted < visible ? mVisible.get(mExecuted) : mInvisible.get(mExecuted - visible);
+        mExecuted++;
+        mRenderManager.setLayout(mInstanceId, copy.getRef(), copy);
+        if (copy.getExtra() != null) {
+          mRenderManager.setExtra(mInstanceId, copy.getRef(), copy.getExtra());
+        }
+        if (mExecuted >= visible && System.nanoTime() >= deadlineNanos) {
+          break;
+        }
+      }
+      return mExecuted >= total;
+    }
+
+    @Override
+    public String toString() {
+      return "setLayout & setExtra";
+    }
   }
 
   private void parseAnimation() {
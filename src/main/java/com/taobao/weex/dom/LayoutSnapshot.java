@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.dom;
+
+import android.support.annotation.NonNull;
+
+import com.taobao.weex.dom.flex.CSSLayout;
+import com.taobao.weex.dom.flex.FloatUtil;
+import com.taobao.weex.dom.flex.Spacing;
+
+/**
+ * Layout of a dom object handed to the ui thread when only its layout changed since the last
+ * copy, instead of a new {@link WXDomObject#clone()}.
+ * Position, size, margin, padding and border are read from a flat array shared by all snapshots of
+ * a layout batch. Styles, attrs and events are read from the last copy, which has the same version
+ * of them as the dom object.
+ * Components apply a snapshot to their own copy by {@link #copyLayoutTo(WXDomObject)}.
+ */
+public final class LayoutSnapshot implements ImmutableDomObject {
+
+  static final int LEFT = 0;
+  static final int TOP = 1;
+  static final int RIGHT = 2;
+  static final int BOTTOM = 3;
+  static final int WIDTH = 4;
+  static final int HEIGHT = 5;
+  static final int MARGIN = 6;
+  static final int PADDING = 10;
+  static final int BORDER = 14;
+  /**
+   * floats used by one snapshot
+   */
+  static final int SIZE = 18;
+
+  private final String mRef;
+  private final WXDomObject mContent;
+  private final float[] mLayout;
+  private final int mOffset;
+  private final Object mExtra;
+
+  /**
+   * writes layout of dom to layout from offset, which must have {@link #SIZE} floats left
+   */
+  static void write(WXDomObject dom, float[] layout, int offset) {
+    CSSLayout csslayout = dom.csslayout;
+    layout[offset + LEFT] = csslayout.position[CSSLayout.POSITION_LEFT];
+    layout[offset + TOP] = csslayout.position[CSSLayout.POSITION_TOP];
+    layout[offset + RIGHT] = csslayout.position[CSSLayout.POSITION_RIGHT];
+    layout[offset + BOTTOM] = csslayout.position[CSSLayout.POSITION_BOTTOM];
+    layout[offset + WIDTH] = csslayout.dimensions[CSSLayout.DIMENSION_WIDTH];
+    layout[offset + HEIGHT] = csslayout.dimensions[CSSLayout.DIMENSION_HEIGHT];
+    writeSpacing(dom.getMargin(), layout, offset + MARGIN);
+    writeSpacing(dom.getPadding(), layout, offset + PADDING);
+    writeSpacing(dom.getBorder(), layout, offset + BORDER);
+  }
+
+  private static void writeSpacing(Spacing spacing, float[] layout, int offset) {
+    layout[offset + Spacing.LEFT] = spacing.get(Spacing.LEFT);
+    layout[offset + Spacing.TOP] = spacing.get(Spacing.TOP);
+    layout[offset + Spacing.RIGHT] = spacing.get(Spacing.RIGHT);
+    layout[offset + Spacing.BOTTOM] = spacing.get(Spacing.BOTTOM);
+  }
+
+  /**
+   * @param content the last copy of the dom object handed to the ui thread
+   * @param layout  array written by {@link #write(WXDomObject, float[], int)}, must not be changed later
+   */
+  LayoutSnapshot(String ref, WXDomObject content, float[] layout, int offset, Object extra) {
+    mRef = ref;
+    mContent = content;
+    mLayout = layout;
+    mOffset = offset;
+    mExtra = extra;
+  }
+
+  /**
+   * Update layout of dom, which is a copy of the same dom object owned by the caller.
+   */
+  public void copyLayoutTo(WXDomObject dom) {
+    CSSLayout csslayout = dom.csslayout;
+    csslayout.position[CSSLayout.POSITION_LEFT] = mLayout[mOffset + LEFT];
+    csslayout.position[CSSLayout.POSITION_TOP] = mLayout[mOffset + TOP];
+    csslayout.position[CSSLayout.POSITION_RIGHT] = mLayout[mOffset + RIGHT];
+    csslayout.position[CSSLayout.POSITION_BOTTOM] = mLayout[mOffset + BOTTOM];
+    csslayout.dimensions[CSSLayout.DIMENSION_WIDTH] = mLayout[mOffset + WIDTH];
+    csslayout.dimensions[CSSLayout.DIMENSION_HEIGHT] = mLayout[mOffset + HEIGHT];
+    copySpacing(mOffset + MARGIN, dom.getMargin());
+    copySpacing(mOffset + PADDING, dom.getPadding());
+    copySpacing(mOffset + BORDER, dom.getBorder());
+  }
+
+  private void copySpacing(int offset, Spacing spacing) {
+    for (int i = Spacing.LEFT; i <= Spacing.BOTTOM; i++) {
+      float value = mLayout[offset + i];
+      if (!FloatUtil.floatsEqual(spacing.get(i), value)) {
+        spacing.set(i, value);
+      }
+    }
+  }
+
+  private Spacing getSpacing(int offset) {
+    Spacing spacing = new Spacing();
+    copySpacing(offset, spacing);
+    return spacing;
+  }
+
+  @Override
+  public String getRef() {
+    return mRef;
+  }
+
+  @NonNull
+  @Override
+  public Spacing getMargin() {
+    return getSpacing(mOffset + MARGIN);
+  }
+
+  @Override
+  public float getLayoutWidth() {
+    return mLayout[mOffset + WIDTH];
+  }
+
+  @Override
+  public float getLayoutHeight() {
+    return mLayout[mOffset + HEIGHT];
+  }
+
+  @Override
+  public float getLayoutX() {
+    return mLayout[mOffset + LEFT];
+  }
+
+  @Override
+  public float getLayoutY() {
+    return mLayout[mOffset + TOP];
+  }
+
+  @Override
+  public float getCSSLayoutTop() {
+    return mLayout[mOffset + TOP];
+  }
+
+  @Override
+  public float getCSSLayoutBottom() {
+    return mLayout[mOffset + BOTTOM];
+  }
+
+  @Override
+  public float getCSSLayoutLeft() {
+    return mLayout[mOffset + LEFT];
+  }
+
+  @Override
+  public float getCSSLayoutRight() {
+    return mLayout[mOffset + RIGHT];
+  }
+
+  @Override
+  public boolean isFixed() {
+    return mContent.isFixed();
+  }
+
+  @NonNull
+  @Override
+  public WXStyle getStyles() {
+    return mContent.getStyles();
+  }
+
+  @NonNull
+  @Override
+  public WXEvent getEvents() {
+    return mContent.getEvents();
+  }
+
+  @NonNull
+  @Override
+  public WXAttr getAttrs() {
+    return mContent.getAttrs();
+  }
+
+  @NonNull
+  @Override
+  public Spacing getPadding() {
+    return getSpacing(mOffset + PADDING);
+  }
+
+  @NonNull
+  @Override
+  public Spacing getBorder() {
+    return getSpacing(mOffset + BORDER);
+  }
+
+  @Override
+  public Object getExtra() {
+    return mExtra;
+  }
+
+  @Override
+  public String getType() {
+    return mContent.getType();
+  }
+}
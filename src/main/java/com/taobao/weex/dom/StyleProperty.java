@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.dom;
+
+import com.taobao.weex.common.Constants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Integer id of style properties used by layout. Ids are used to index parsed values in {@link WXStyle},
+ * and to dispatch style updates in {@link WXDomObject#applyStyleToNode(Map)}.
+ */
+public final class StyleProperty {
+
+  public static final int UNKNOWN = -1;
+
+  public static final int ALIGN_ITEMS = 0;
+  public static final int ALIGN_SELF = 1;
+  public static final int FLEX = 2;
+  public static final int FLEX_DIRECTION = 3;
+  public static final int JUSTIFY_CONTENT = 4;
+  public static final int FLEX_WRAP = 5;
+  public static final int MIN_WIDTH = 6;
+  public static final int MIN_HEIGHT = 7;
+  public static final int MAX_WIDTH = 8;
+  public static final int MAX_HEIGHT = 9;
+  public static final int DEFAULT_WIDTH = 10;
+  public static final int DEFAULT_HEIGHT = 11;
+  public static final int WIDTH = 12;
+  public static final int HEIGHT = 13;
+  public static final int POSITION = 14;
+  public static final int LEFT = 15;
+  public static final int TOP = 16;
+  public static final int RIGHT = 17;
+  public static final int BOTTOM = 18;
+  public static final int MARGIN = 19;
+  public static final int MARGIN_LEFT = 20;
+  public static final int MARGIN_TOP = 21;
+  public static final int MARGIN_RIGHT = 22;
+  public static final int MARGIN_BOTTOM = 23;
+  public static final int BORDER_WIDTH = 24;
+  public static final int BORDER_LEFT_WIDTH = 25;
+  public static final int BORDER_TOP_WIDTH = 26;
+  public static final int BORDER_RIGHT_WIDTH = 27;
+  public static final int BORDER_BOTTOM_WIDTH = 28;
+  public static final int PADDING = 29;
+  public static final int PADDING_LEFT = 30;
+  public static final int PADDING_TOP = 31;
+  public static final int PADDING_RIGHT = 32;
+  public static final int PADDING_BOTTOM = 33;
+
+  /**
+   * ids are bits of a long in {@link WXStyle#getLayoutProperties()}, no more than 64
+   */
+  public static final int COUNT = 34;
+
+  private static final Map<String, Integer> sIds = new HashMap<>(COUNT * 2);
+  private static final String[] sNames = new String[COUNT];
+
+  static {
+    put(Constants.Name.ALIGN_ITEMS, ALIGN_ITEMS);
+    put(Constants.Name.ALIGN_SELF, ALIGN_SELF);
+    put(Constants.Name.FLEX, FLEX);
+    put(Constants.Name.FLEX_DIRECTION, FLEX_DIRECTION);
+    put(Constants.Name.JUSTIFY_CONTENT, JUSTIFY_CONTENT);
+    put(Constants.Name.FLEX_WRAP, FLEX_WRAP);
+    put(Constants.Name.MIN_WIDTH, MIN_WIDTH);
+    put(Constants.Name.MIN_HEIGHT, MIN_HEIGHT);
+    put(Constants.Name.MAX_WIDTH, MAX_WIDTH);
+    put(Constants.Name.MAX_HEIGHT, MAX_HEIGHT);
+    put(Constants.Name.DEFAULT_WIDTH, DEFAULT_WIDTH);
+    put(Constants.Name.DEFAULT_HEIGHT, DEFAULT_HEIGHT);
+    put(Constants.Name.WIDTH, WIDTH);
+    put(Constants.Name.HEIGHT, HEIGHT);
+    put(Constants.Name.POSITION, POSITION);
+    put(Constants.Name.LEFT, LEFT);
+    put(Constants.Name.TOP, TOP);
+    put(Constants.Name.RIGHT, RIGHT);
+    put(Constants.Name.BOTTOM, BOTTOM);
+    put(Constants.Name.MARGIN, MARGIN);
+    put(Constants.Name.MARGIN_LEFT, MARGIN_LEFT);
+    put(Constants.Name.MARGIN_TOP, MARGIN_TOP);
+    put(Constants.Name.MARGIN_RIGHT, MARGIN_RIGHT);
+    put(Constants.Name.MARGIN_BOTTOM, MARGIN_BOTTOM);
+    put(Constants.Name.BORDER_WIDTH, BORDER_WIDTH);
+    put(Constants.Name.BORDER_LEFT_WIDTH, BORDER_LEFT_WIDTH);
+    put(Constants.Name.BORDER_TOP_WIDTH, BORDER_TOP_WIDTH);
+    put(Constants.Name.BORDER_RIGHT_WIDTH, BORDER_RIGHT_WIDTH);
+    put(Constants.Name.BORDER_BOTTOM_WIDTH, BORDER_BOTTOM_WIDTH);
+    put(Constants.Name.PADDING, PADDING);
+    put(Constants.Name.PADDING_LEFT, PADDING_LEFT);
+    put(Constants.Name.PADDING_TOP, PADDING_TOP);
+    put(Constants.Name.PADDING_RIGHT, PADDING_RIGHT);
+    put(Constants.Name.PADDING_BOTTOM, PADDING_BOTTOM);
+  }
+
+  private static void put(String name, int id) {
+    sIds.put(name, id);
+    sNames[id] = name;
+  }
+
+  /**
+   * @return id of style property, {@link #UNKNOWN} if not used by layout.
+   */
+  public static int getId(String name) {
+    Integer id = name == null ? null : sIds.get(name);
+    return id == null ? UNKNOWN : id;
+  }
+
+  /**
+   * @return style key of the id.
+   */
+  public static String getName(int id) {
+    return sNames[id];
+  }
+
+  private StyleProperty() {
+  }
+}
@@ -25,6 +25,14 @@ import com.taobao.weex.common.Constants;
  */
 public class TextAreaEditTextDomObject extends BasicEditTextDomObject {
 
+  public static class Creator implements DomObjectCreator {
+
+    @Override
+    public WXDomObject create() {
+      return new TextAreaEditTextDomObject();
+    }
+  }
+
   public static final int DEFAULT_ROWS = 2;
   private int mNumberOfLines = DEFAULT_ROWS;
 
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.dom;
+
+import android.support.v4.util.LruCache;
+import android.text.Layout;
+import android.text.Spanned;
+import android.text.TextUtils;
+
+import com.taobao.weex.ui.component.WXTextDecoration;
+
+import java.util.Map;
+
+/**
+ * Process wide cache of text layout, shared by {@link WXTextDomObject} with the same text,
+ * text style and width. Only layouts that finished layout and warm up are put into the cache,
+ * they are never modified after that, so one layout can be used by many text views.
+ * Entries with font family are evicted when the font is loaded, see
+ * {@link com.taobao.weex.utils.TypefaceUtil}.
+ */
+public class TextLayoutCache {
+
+  private static final int MAX_SIZE = 256;
+
+  private static final LruCache<Key, Entry> sCache = new LruCache<>(MAX_SIZE);
+
+  static class Entry {
+    final Layout layout;
+    final Spanned spanned;
+
+    Entry(Layout layout, Spanned spanned) {
+      this.layout = layout;
+      this.spanned = spanned;
+    }
+  }
+
+  /**
+   * everything affects the spanned text and the layout of it.
+   */
+  static class Key {
+    private final String text;
+    private final int color;
+    private final boolean colorSet;
+    private final int fontSize;
+    private final int fontStyle;
+    private final int fontWeight;
+    private final String fontFamily;
+    private final int lineHeight;
+    private final int lines;
+    private final Layout.Alignment alignment;
+    private final TextUtils.TruncateAt textOverflow;
+    private final WXTextDecoration textDecoration;
+    private final boolean forceRtl;
+    private final int width;
+    private final int hashCode;
+
+    Key(String text, int color, boolean colorSet, int fontSize, int fontStyle, int fontWeight,
+        String fontFamily, int lineHeight, int lines, Layout.Alignment alignment,
+        TextUtils.TruncateAt textOverflow, WXTextDecoration textDecoration, boolean forceRtl, int width) {
+      this.text = text;
+      this.color = color;
+      this.colorSet = colorSet;
+      this.fontSize = fontSize;
+      this.fontStyle = fontStyle;
+      this.fontWeight = fontWeight;
+      this.fontFamily = fontFamily;
+      this.lineHeight = lineHeight;
+      this.lines = lines;
+      this.alignment = alignment;
+      this.textOverflow = textOverflow;
+      this.textDecoration = textDecoration;
+      this.forceRtl = forceRtl;
+      this.width = width;
+      int result = text.hashCode();
+      result = 31 * result + (colorSet ? color : 0);
+      result = 31 * result + fontSize;
+      result = 31 * result + fontStyle;
+      result = 31 * result + fontWeight;
+      result = 31 * result + (fontFamily != null ? fontFamily.hashCode() : 0);
+      result = 31 * result + lineHeight;
+      result = 31 * result + lines;
+      result = 31 * result + (alignment != null ? alignment.hashCode() : 0);
+      result = 31 * result + (textOverflow != null ? textOverflow.hashCode() : 0);
+      result = 31 * result + (textDecoration != null ? textDecoration.hashCode() : 0);
+      result = 31 * result + (forceRtl ? 1 : 0);
+      result = 31 * result + width;
+      this.hashCode = result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return hashCode == key.hashCode
+          && width == key.width
+          && colorSet == key.colorSet
+          && (!colorSet || color == key.color)
+          && fontSize == key.fontSize
+          && fontStyle == key.fontStyle
+          && fontWeight == key.fontWeight
+          && lineHeight == key.lineHeight
+          && lines == key.lines
+          && forceRtl == key.forceRtl
+          && alignment == key.alignment
+          && textOverflow == key.textOverflow
+          && textDecoration == key.textDecoration
+          && TextUtils.equals(fontFamily, key.fontFamily)
+          && text.equals(key.text);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  static Entry get(Key key) {
+    return sCache.get(key);
+  }
+
+  static void put(Key key, Layout layout, Spanned spanned) {
+    sCache.put(key, new Entry(layout, spanned));
+  }
+
+  /**
+   * evict layouts measured with the font family, called when the font is loaded or changed.
+   */
+  public static void evictFontFamily(String fontFamily) {
+    if (TextUtils.isEmpty(fontFamily)) {
+      return;
+    }
+    for (Map.Entry<Key, Entry> entry : sCache.snapshot().entrySet()) {
+      if (fontFamily.equals(entry.getKey().fontFamily)) {
+        sCache.remove(entry.getKey());
+      }
+    }
+  }
+
+  public static void evictAll() {
+    sCache.evictAll();
+  }
+
+  public static int getHitCount() {
+    return sCache.hitCount();
+  }
+
+  public static int getMissCount() {
+    return sCache.missCount();
+  }
+
+  public static int getEvictionCount() {
+    return sCache.evictionCount();
+  }
+
+  public static int size() {
+    return sCache.size();
+  }
+}
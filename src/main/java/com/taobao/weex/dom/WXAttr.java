@@ -31,7 +31,6 @@ import com.taobao.weex.common.Constants.Name;
 import com.taobao.weex.common.WXImageSharpen;
 import com.taobao.weex.dom.binding.ELUtils;
 import com.taobao.weex.dom.binding.WXStatement;
-import com.taobao.weex.el.parse.Parser;
 import com.taobao.weex.ui.view.listview.WXRecyclerView;
 import com.taobao.weex.utils.WXLogUtils;
 import com.taobao.weex.utils.WXUtils;
@@ -66,6 +65,11 @@ public class WXAttr implements Map<String, Object>,Cloneable {
    * */
   private WXStatement mStatement;
 
+  /**
+   * increased on every change through this map, see {@link #getVersion()}
+   */
+  private int mVersion;
+
   public WXAttr(){
     attr =new ArrayMap<>();
   }
@@ -363,6 +367,7 @@ public class WXAttr implements Map<String, Object>,Cloneable {
 
   @Override
   public void clear() {
+    mVersion++;
     attr.clear();
   }
 
@@ -400,6 +405,7 @@ public class WXAttr implements Map<String, Object>,Cloneable {
 
   @Override
   public Object put(String key, Object value) {
+    mVersion++;
     if(filterBindingStatement(key, value)){
       return null;
     }
@@ -408,11 +414,13 @@ public class WXAttr implements Map<String, Object>,Cloneable {
 
   @Override
   public void putAll(Map<? extends String, ?> map) {
+    mVersion++;
     this.attr.putAll(filterBindingStatement(map));
   }
 
   @Override
   public Object remove(Object key) {
+    mVersion++;
     return attr.remove(key);
   }
 
@@ -444,10 +452,12 @@ public class WXAttr implements Map<String, Object>,Cloneable {
 
 
   public void setBindingAttrs(ArrayMap<String, Object> mBindingAttrs) {
+    mVersion++;
     this.mBindingAttrs = mBindingAttrs;
   }
 
   public void setStatement(WXStatement mStatement) {
+    mVersion++;
     this.mStatement = mStatement;
   }
 
@@ -496,7 +506,7 @@ public class WXAttr implements Map<String, Object>,Cloneable {
              mStatement = new WXStatement();
           }
           if(value != null) {
-            mStatement.put(key, Parser.parse(value.toString()));
+            mStatement.put(key, ELUtils.parse(value.toString()));
           }
           return  true;
         }
@@ -522,9 +532,18 @@ public class WXAttr implements Map<String, Object>,Cloneable {
   }
 
   public void skipFilterPutAll(Map<String,Object> attrs){
+    mVersion++;
     this.attr.putAll(attrs);
   }
 
+  /**
+   * @return version of attrs, changed by put, remove and clear, used to tell whether a copy of
+   * the attrs is still up to date. Changes through views like {@link #entrySet()} are not counted.
+   */
+  int getVersion() {
+    return mVersion;
+  }
+
   @Override
   protected WXAttr clone() {
     WXAttr wxAttr = new WXAttr();
@@ -101,6 +101,14 @@ public class WXCellDomObject extends WXDomObject {
     }
   };
 
+  public static class Creator implements DomObjectCreator {
+
+    @Override
+    public WXDomObject create() {
+      return new WXCellDomObject();
+    }
+  }
+
   public WXCellDomObject() {
     setMeasureFunction(CELL_MEASURE_FUNCTION);
   }
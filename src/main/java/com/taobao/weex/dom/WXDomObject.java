@@ -38,6 +38,7 @@ import com.taobao.weex.ui.component.WXBasicComponentType;
 import com.taobao.weex.utils.WXLogUtils;
 import com.taobao.weex.utils.WXUtils;
 import com.taobao.weex.utils.WXViewUtils;
+import com.taobao.weex.wson.LazyWson;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -115,6 +116,18 @@ public class WXDomObject extends CSSNode implements Cloneable,ImmutableDomObject
 
   private  boolean cloneThis = false;
 
+  /**
+   * the last copy handed to the ui thread by layout, with styles, attrs and events it was copied from
+   * and their versions. see {@link #getLayoutCopy()}
+   */
+  private WXDomObject mLayoutCopy;
+  private WXStyle mLayoutCopyStyles;
+  private WXAttr mLayoutCopyAttrs;
+  private WXEvent mLayoutCopyEvents;
+  private int mLayoutCopyStylesVersion;
+  private int mLayoutCopyAttrsVersion;
+  private int mLayoutCopyEventsVersion;
+
   public void traverseTree(Consumer...consumers){
     long startNanos = System.nanoTime();
     if (consumers == null) {
@@ -135,24 +148,28 @@ public class WXDomObject extends CSSNode implements Cloneable,ImmutableDomObject
   }
 
   /**
-   * diff with tranverse tree, only tranverse update tree
+   * diff with tranverse tree, only tranverse update tree. dirty is propagated to parent and
+   * children only get new layout when parent is laid out, so clean subtree is skipped.
+   * @return count of nodes visited, include clean subtree roots
    * */
-  public void traverseUpdateTree(Consumer...consumers){
+  public int traverseUpdateTree(Consumer...consumers){
     if (consumers == null) {
-      return;
+      return 0;
     }
     if(!hasUpdate()){
-      return;
+      return 1;
     }
     for (Consumer consumer:consumers){
       consumer.accept(this);
     }
+    int visited = 1;
     int count = childCount();
     WXDomObject child;
     for (int i = 0; i < count; ++i) {
       child = getChild(i);
-      child.traverseTree(consumers);
+      visited += child.traverseUpdateTree(consumers);
     }
+    return visited;
   }
 
 
@@ -251,13 +268,13 @@ public class WXDomObject extends CSSNode implements Cloneable,ImmutableDomObject
     this.mRef = (String) map.get("ref");
     Object style = map.get("style");
     if (style != null && style instanceof JSONObject) {
-      WXStyle styles = new WXStyle((JSONObject) style,false);
+      WXStyle styles = new WXStyle(LazyWson.detached((JSONObject) style),false);
       this.mStyles = styles;
       this.transition = WXTransition.fromMap(styles, this);
     }
     Object attr = map.get("attr");
     if (attr != null && attr instanceof JSONObject) {
-      WXAttr attrs = new WXAttr((JSONObject) attr);
+      WXAttr attrs = new WXAttr(LazyWson.detached((JSONObject) attr));
       this.mAttributes = attrs;
     }
     Object event = map.get("event");
@@ -267,7 +284,7 @@ public class WXDomObject extends CSSNode implements Cloneable,ImmutableDomObject
       int count = eventArray.size();
       for (int i = 0; i < count; i++) {
         Object value = eventArray.get(i);
-        events.addEvent(value);
+        events.addEvent(LazyWson.detach(value));
       }
       this.mEvents = events;
     }
@@ -547,111 +564,127 @@ public class WXDomObject extends CSSNode implements Cloneable,ImmutableDomObject
     WXStyle stylesMap = getStyles();
     int vp = getViewPortWidth();
     if (!stylesMap.isEmpty()) {
-      for(Map.Entry<String,Object> item: updates.entrySet()) {
-        switch (item.getKey()) {
-          case Constants.Name.ALIGN_ITEMS:
-            setAlignItems(stylesMap.getAlignItems());
-            break;
-          case Constants.Name.ALIGN_SELF:
-            setAlignSelf(stylesMap.getAlignSelf());
-            break;
-          case Constants.Name.FLEX:
-            setFlex(stylesMap.getFlex());
-            break;
-          case Constants.Name.FLEX_DIRECTION:
-            setFlexDirection(stylesMap.getFlexDirection());
-            break;
-          case Constants.Name.JUSTIFY_CONTENT:
-            setJustifyContent(stylesMap.getJustifyContent());
-            break;
-          case Constants.Name.FLEX_WRAP:
-            setWrap(stylesMap.getCSSWrap());
-            break;
-          case Constants.Name.MIN_WIDTH:
-            setMinWidth(WXViewUtils.getRealPxByWidth(stylesMap.getMinWidth(vp),vp));
-            break;
-          case Constants.Name.MIN_HEIGHT:
-            setMinHeight(WXViewUtils.getRealPxByWidth(stylesMap.getMinHeight(vp),vp));
-            break;
-          case Constants.Name.MAX_WIDTH:
-            setMaxWidth(WXViewUtils.getRealPxByWidth(stylesMap.getMaxWidth(vp),vp));
-            break;
-          case Constants.Name.MAX_HEIGHT:
-            setMaxHeight(WXViewUtils.getRealPxByWidth(stylesMap.getMaxHeight(vp),vp));
-            break;
-          case Constants.Name.DEFAULT_HEIGHT:
-          case Constants.Name.HEIGHT:
-            setStyleHeight(WXViewUtils.getRealPxByWidth(stylesMap.containsKey(Constants.Name.HEIGHT)?stylesMap.getHeight(vp):stylesMap.getDefaultHeight(),vp));
-            break;
-          case Constants.Name.WIDTH:
-          case Constants.Name.DEFAULT_WIDTH:
-            setStyleWidth(WXViewUtils.getRealPxByWidth(stylesMap.containsKey(Constants.Name.WIDTH)?stylesMap.getWidth(vp):stylesMap.getDefaultWidth(),vp));
-            break;
-          case Constants.Name.POSITION:
-            setPositionType(stylesMap.getPosition());
-            break;
-          case Constants.Name.LEFT:
-            setPositionLeft(WXViewUtils.getRealPxByWidth(stylesMap.getLeft(vp),vp));
-            break;
-          case Constants.Name.TOP:
-            setPositionTop(WXViewUtils.getRealPxByWidth(stylesMap.getTop(vp),vp));
-            break;
-          case Constants.Name.RIGHT:
-            setPositionRight(WXViewUtils.getRealPxByWidth(stylesMap.getRight(vp),vp));
-            break;
-          case Constants.Name.BOTTOM:
-            setPositionBottom(WXViewUtils.getRealPxByWidth(stylesMap.getBottom(vp),vp));
-            break;
-          case Constants.Name.MARGIN:
-            setMargin(Spacing.ALL, WXViewUtils.getRealPxByWidth(stylesMap.getMargin(vp), vp));
-            break;
-          case Constants.Name.MARGIN_LEFT:
-            setMargin(Spacing.LEFT, WXViewUtils.getRealPxByWidth(stylesMap.getMarginLeft(vp), vp));
-            break;
-          case Constants.Name.MARGIN_TOP:
-            setMargin(Spacing.TOP, WXViewUtils.getRealPxByWidth(stylesMap.getMarginTop(vp), vp));
-            break;
-          case Constants.Name.MARGIN_RIGHT:
-            setMargin(Spacing.RIGHT, WXViewUtils.getRealPxByWidth(stylesMap.getMarginRight(vp), vp));
-            break;
-          case Constants.Name.MARGIN_BOTTOM:
-            setMargin(Spacing.BOTTOM, WXViewUtils.getRealPxByWidth(stylesMap.getMarginBottom(vp), vp));
-            break;
-          case Constants.Name.BORDER_WIDTH:
-            setBorder(Spacing.ALL, WXViewUtils.getRealPxByWidth(stylesMap.getBorderWidth(vp), vp));
-            break;
-          case Constants.Name.BORDER_TOP_WIDTH:
-            setBorder(Spacing.TOP, WXViewUtils.getRealPxByWidth(stylesMap.getBorderTopWidth(vp), vp));
-            break;
-          case Constants.Name.BORDER_RIGHT_WIDTH:
-            setBorder(Spacing.RIGHT, WXViewUtils.getRealPxByWidth(stylesMap.getBorderRightWidth(vp), vp));
-            break;
-          case Constants.Name.BORDER_BOTTOM_WIDTH:
-            setBorder(Spacing.BOTTOM, WXViewUtils.getRealPxByWidth(stylesMap.getBorderBottomWidth(vp), vp));
-            break;
-          case Constants.Name.BORDER_LEFT_WIDTH:
-            setBorder(Spacing.LEFT, WXViewUtils.getRealPxByWidth(stylesMap.getBorderLeftWidth(vp), vp));
-            break;
-          case Constants.Name.PADDING:
-            setPadding(Spacing.ALL, WXViewUtils.getRealPxByWidth(stylesMap.getPadding(vp), vp));
-            break;
-          case Constants.Name.PADDING_LEFT:
-            setPadding(Spacing.LEFT, WXViewUtils.getRealPxByWidth(stylesMap.getPaddingLeft(vp), vp));
-            break;
-          case Constants.Name.PADDING_TOP:
-            setPadding(Spacing.TOP, WXViewUtils.getRealPxByWidth(stylesMap.getPaddingTop(vp), vp));
-            break;
-          case Constants.Name.PADDING_RIGHT:
-            setPadding(Spacing.RIGHT, WXViewUtils.getRealPxByWidth(stylesMap.getPaddingRight(vp), vp));
-            break;
-          case Constants.Name.PADDING_BOTTOM:
-            setPadding(Spacing.BOTTOM, WXViewUtils.getRealPxByWidth(stylesMap.getPaddingBottom(vp), vp));
-            break;
+      if (updates instanceof WXStyle) {
+        //ids are resolved when styles are stored, no lookup by key
+        long ids = ((WXStyle) updates).getLayoutProperties();
+        while (ids != 0) {
+          int id = Long.numberOfTrailingZeros(ids);
+          ids &= ids - 1;
+          if (updates.containsKey(StyleProperty.getName(id))) {
+            applyStyleProperty(id, stylesMap, vp);
+          }
+        }
+      } else {
+        for (String key : updates.keySet()) {
+          applyStyleProperty(StyleProperty.getId(key), stylesMap, vp);
         }
       }
     }
   }
 
+  private void applyStyleProperty(int id, WXStyle stylesMap, int vp) {
+    switch (id) {
+      case StyleProperty.ALIGN_ITEMS:
+        setAlignItems(stylesMap.getAlignItems());
+        break;
+      case StyleProperty.ALIGN_SELF:
+        setAlignSelf(stylesMap.getAlignSelf());
+        break;
+      case StyleProperty.FLEX:
+        setFlex(stylesMap.getFlex());
+        break;
+      case StyleProperty.FLEX_DIRECTION:
+        setFlexDirection(stylesMap.getFlexDirection());
+        break;
+      case StyleProperty.JUSTIFY_CONTENT:
+        setJustifyContent(stylesMap.getJustifyContent());
+        break;
+      case StyleProperty.FLEX_WRAP:
+        setWrap(stylesMap.getCSSWrap());
+        break;
+      case StyleProperty.MIN_WIDTH:
+        setMinWidth(WXViewUtils.getRealPxByWidth(stylesMap.getMinWidth(vp),vp));
+        break;
+      case StyleProperty.MIN_HEIGHT:
+        setMinHeight(WXViewUtils.getRealPxByWidth(stylesMap.getMinHeight(vp),vp));
+        break;
+      case StyleProperty.MAX_WIDTH:
+        setMaxWidth(WXViewUtils.getRealPxByWidth(stylesMap.getMaxWidth(vp),vp));
+        break;
+      case StyleProperty.MAX_HEIGHT:
+        setMaxHeight(WXViewUtils.getRealPxByWidth(stylesMap.getMaxHeight(vp),vp));
+        break;
+      case StyleProperty.DEFAULT_HEIGHT:
+      case StyleProperty.HEIGHT:
+        setStyleHeight(WXViewUtils.getRealPxByWidth(stylesMap.containsKey(Constants.Name.HEIGHT)?stylesMap.getHeight(vp):stylesMap.getDefaultHeight(),vp));
+        break;
+      case StyleProperty.WIDTH:
+      case StyleProperty.DEFAULT_WIDTH:
+        setStyleWidth(WXViewUtils.getRealPxByWidth(stylesMap.containsKey(Constants.Name.WIDTH)?stylesMap.getWidth(vp):stylesMap.getDefaultWidth(),vp));
+        break;
+      case StyleProperty.POSITION:
+        setPositionType(stylesMap.getPosition());
+        break;
+      case StyleProperty.LEFT:
+        setPositionLeft(WXViewUtils.getRealPxByWidth(stylesMap.getLeft(vp),vp));
+        break;
+      case StyleProperty.TOP:
+        setPositionTop(WXViewUtils.getRealPxByWidth(stylesMap.getTop(vp),vp));
+        break;
+      case StyleProperty.RIGHT:
+        setPositionRight(WXViewUtils.getRealPxByWidth(stylesMap.getRight(vp),vp));
+        break;
+      case StyleProperty.BOTTOM:
+        setPositionBottom(WXViewUtils.getRealPxByWidth(stylesMap.getBottom(vp),vp));
+        break;
+      case StyleProperty.MARGIN:
+        setMargin(Spacing.ALL, WXViewUtils.getRealPxByWidth(stylesMap.getMargin(vp), vp));
+        break;
+      case StyleProperty.MARGIN_LEFT:
+        setMargin(Spacing.LEFT, WXViewUtils.getRealPxByWidth(stylesMap.getMarginLeft(vp), vp));
+        break;
+      case StyleProperty.MARGIN_TOP:
+        setMargin(Spacing.TOP, WXViewUtils.getRealPxByWidth(stylesMap.getMarginTop(vp), vp));
+        break;
+      case StyleProperty.MARGIN_RIGHT:
+        setMargin(Spacing.RIGHT, WXViewUtils.getRealPxByWidth(stylesMap.getMarginRight(vp), vp));
+        break;
+      case StyleProperty.MARGIN_BOTTOM:
+        setMargin(Spacing.BOTTOM, WXViewUtils.getRealPxByWidth(stylesMap.getMarginBottom(vp), vp));
+        break;
+      case StyleProperty.BORDER_WIDTH:
+        setBorder(Spacing.ALL, WXViewUtils.getRealPxByWidth(stylesMap.getBorderWidth(vp), vp));
+        break;
+      case StyleProperty.BORDER_TOP_WIDTH:
+        setBorder(Spacing.TOP, WXViewUtils.getRealPxByWidth(stylesMap.getBorderTopWidth(vp), vp));
+        break;
+      case StyleProperty.BORDER_RIGHT_WIDTH:
+        setBorder(Spacing.RIGHT, WXViewUtils.getRealPxByWidth(stylesMap.getBorderRightWidth(vp), vp));
+        break;
+      case StyleProperty.BORDER_BOTTOM_WIDTH:
+        setBorder(Spacing.BOTTOM, WXViewUtils.getRealPxByWidth(stylesMap.getBorderBottomWidth(vp), vp));
+        break;
+      case StyleProperty.BORDER_LEFT_WIDTH:
+        setBorder(Spacing.LEFT, WXViewUtils.getRealPxByWidth(stylesMap.getBorderLeftWidth(vp), vp));
+        break;
+      case StyleProperty.PADDING:
+        setPadding(Spacing.ALL, WXViewUtils.getRealPxByWidth(stylesMap.getPadding(vp), vp));
+        break;
+      case StyleProperty.PADDING_LEFT:
+        setPadding(Spacing.LEFT, WXViewUtils.getRealPxByWidth(stylesMap.getPaddingLeft(vp), vp));
+        break;
+      case StyleProperty.PADDING_TOP:
+        setPadding(Spacing.TOP, WXViewUtils.getRealPxByWidth(stylesMap.getPaddingTop(vp), vp));
+        break;
+      case StyleProperty.PADDING_RIGHT:
+        setPadding(Spacing.RIGHT, WXViewUtils.getRealPxByWidth(stylesMap.getPaddingRight(vp), vp));
+        break;
+      case StyleProperty.PADDING_BOTTOM:
+        setPadding(Spacing.BOTTOM, WXViewUtils.getRealPxByWidth(stylesMap.getPaddingBottom(vp), vp));
+        break;
+    }
+  }
+
   public int childCount() {
     return mDomChildren == null ? 0 : mDomChildren.size();
   }
@@ -693,6 +726,41 @@ public class WXDomObject extends CSSNode implements Cloneable,ImmutableDomObject
     return dom;
   }
 
+  /**
+   * @return the last copy handed to the ui thread, if styles, attrs and events are not changed
+   * since, then a {@link LayoutSnapshot} is enough to update the ui thread. Otherwise null,
+   * a new copy is needed. Subclasses and {@link #isCloneThis()} always need a new copy, as they may
+   * have other fields to copy.
+   */
+  WXDomObject getLayoutCopy() {
+    if (mLayoutCopy == null || getClass() != WXDomObject.class || isCloneThis()) {
+      return null;
+    }
+    if (mStyles != mLayoutCopyStyles || mAttributes != mLayoutCopyAttrs || mEvents != mLayoutCopyEvents) {
+      return null;
+    }
+    if (mStyles.getVersion() != mLayoutCopyStylesVersion
+        || mAttributes.getVersion() != mLayoutCopyAttrsVersion
+        || mEvents.getVersion() != mLayoutCopyEventsVersion) {
+      return null;
+    }
+    return mLayoutCopy;
+  }
+
+  /**
+   * Remember copy, which is created by {@link #clone()} and handed to the ui thread by layout.
+   */
+  void setLayoutCopy(WXDomObject copy) {
+    //created here, so creating them lazily later doesn't look like a change
+    mLayoutCopy = copy;
+    mLayoutCopyStyles = getStyles();
+    mLayoutCopyAttrs = getAttrs();
+    mLayoutCopyEvents = getEvents();
+    mLayoutCopyStylesVersion = mLayoutCopyStyles.getVersion();
+    mLayoutCopyAttrsVersion = mLayoutCopyAttrs.getVersion();
+    mLayoutCopyEventsVersion = mLayoutCopyEvents.getVersion();
+  }
+
   public boolean isDestroy(){
     if(sDestroy == null){
       return  true;
@@ -719,6 +787,7 @@ public class WXDomObject extends CSSNode implements Cloneable,ImmutableDomObject
       mDomChildren.clear();
     }
     mDomContext = null;
+    mLayoutCopy = null;
   }
 
   /** package **/
@@ -772,7 +841,6 @@ public class WXDomObject extends CSSNode implements Cloneable,ImmutableDomObject
           if (result != null && !result.isSuccess) {
             type = TextUtils.isEmpty(result.replacedComponent) ? WXBasicComponentType.DIV
                     : result.replacedComponent;
-            json.put(TYPE, type);
             if (result.validateInfo != null) {
               String tag = "[WXDomObject]onComponentValidate failure. >>> " + result.validateInfo.toJSONString();
               WXLogUtils.e(tag);
@@ -784,13 +852,13 @@ public class WXDomObject extends CSSNode implements Cloneable,ImmutableDomObject
       }
 
       WXDomObject domObject = WXDomObjectFactory.newInstance(type);
-
-      domObject.setViewPortWidth(wxsdkInstance.getInstanceViewPortWidth());
-
       if(domObject == null){
         return null;
       }
+
+      domObject.setViewPortWidth(wxsdkInstance.getInstanceViewPortWidth());
       domObject.parseFromJson(json);
+      domObject.mType = type;
       domObject.mDomContext = wxsdkInstance;
       domObject.parent = parentDomObject;
 
@@ -21,7 +21,6 @@ package com.taobao.weex.dom;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
 
-import com.taobao.weex.WXEnvironment;
 import com.taobao.weex.utils.WXLogUtils;
 
 /**
@@ -34,21 +33,8 @@ public class WXDomObjectFactory {
       return null;
     }
 
-    Class<? extends WXDomObject> clazz = WXDomRegistry.getDomObjectClass(type);
-    if (clazz == null) {
-      if (WXEnvironment.isApkDebugable()) {
-        String tag = "WXDomObjectFactory error type:[" +
-                type + "]" + " class not found";
-        WXLogUtils.e(tag);
-      }
-    }
-
     try {
-      if (WXDomObject.class.isAssignableFrom(clazz)) {
-        WXDomObject domObject = clazz.getConstructor()
-            .newInstance();
-        return domObject;
-      }
+      return WXDomRegistry.getDomObjectCreator(type).create();
     } catch (Exception e) {
       WXLogUtils.e("WXDomObjectFactory Exception type:[" + type + "] ", e);
     }
@@ -22,8 +22,10 @@ import android.text.TextUtils;
 
 import com.taobao.weex.WXEnvironment;
 import com.taobao.weex.common.WXException;
+import com.taobao.weex.common.WXRuntimeException;
 import com.taobao.weex.utils.WXLogUtils;
 
+import java.lang.reflect.Constructor;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,8 +33,51 @@ public class WXDomRegistry {
 
   public static Class<? extends WXDomObject> mDefaultClass = WXDomObject.class;
   private static Map<String, Class<? extends WXDomObject>> sDom = new HashMap<>();
+  private static Map<String, DomObjectCreator> sCreators = new HashMap<>();
+  private static volatile ClazzDomObjectCreator sDefaultClassCreator;
+
+  private static final DomObjectCreator DEFAULT_CREATOR = new DomObjectCreator() {
+    @Override
+    public WXDomObject create() {
+      return new WXDomObject();
+    }
+  };
+
+  /**
+   * Calls the public constructor without arguments, used when no creator is registered.
+   */
+  static class ClazzDomObjectCreator implements DomObjectCreator {
+
+    private final Class<? extends WXDomObject> mClazz;
+    private final Constructor<? extends WXDomObject> mConstructor;
+
+    ClazzDomObjectCreator(Class<? extends WXDomObject> clazz) {
+      mClazz = clazz;
+      try {
+        mConstructor = clazz.getConstructor();
+      } catch (NoSuchMethodException e) {
+        throw new WXRuntimeException("Can't find constructor of dom object " + clazz.getName());
+      }
+    }
+
+    @Override
+    public WXDomObject create() {
+      try {
+        return mConstructor.newInstance();
+      } catch (Exception e) {
+        throw new WXRuntimeException("Create dom object failed: " + e.getMessage());
+      }
+    }
+  }
 
   public static boolean registerDomObject(String type, Class<? extends WXDomObject> clazz) throws WXException {
+    return registerDomObject(type, clazz, null);
+  }
+
+  /**
+   * @param creator creates dom objects of type, null to use the constructor of clazz.
+   */
+  public static boolean registerDomObject(String type, Class<? extends WXDomObject> clazz, DomObjectCreator creator) throws WXException {
     if (clazz == null || TextUtils.isEmpty(type)) {
       return false;
     }
@@ -45,7 +90,19 @@ public class WXDomRegistry {
         return false;
       }
     }
+    if (creator == null) {
+      try {
+        creator = new ClazzDomObjectCreator(clazz);
+      } catch (WXRuntimeException e) {
+        if (WXEnvironment.isApkDebugable()) {
+          throw new WXException(e.getMessage());
+        }
+        WXLogUtils.e("WXDomRegistry " + e.getMessage());
+        return false;
+      }
+    }
     sDom.put(type, clazz);
+    sCreators.put(type, creator);
     return true;
   }
 
@@ -56,4 +113,25 @@ public class WXDomRegistry {
     Class<? extends WXDomObject> clazz = sDom.get(type);
     return clazz == null ? mDefaultClass : clazz;
   }
+
+  /**
+   * @return creator of type, or of {@link #mDefaultClass} if type is not registered.
+   */
+  public static DomObjectCreator getDomObjectCreator(String type) {
+    DomObjectCreator creator = TextUtils.isEmpty(type) ? null : sCreators.get(type);
+    if (creator != null) {
+      return creator;
+    }
+    Class<? extends WXDomObject> defaultClass = mDefaultClass;
+    if (defaultClass == WXDomObject.class) {
+      return DEFAULT_CREATOR;
+    }
+    //mDefaultClass is public and may be replaced, cache the creator of the current one
+    ClazzDomObjectCreator defaultCreator = sDefaultClassCreator;
+    if (defaultCreator == null || defaultCreator.mClazz != defaultClass) {
+      defaultCreator = new ClazzDomObjectCreator(defaultClass);
+      sDefaultClassCreator = defaultCreator;
+    }
+    return defaultCreator;
+  }
 }
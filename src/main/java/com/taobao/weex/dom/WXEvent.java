@@ -132,6 +132,7 @@ public class WXEvent extends ArrayList<String> implements Serializable, Cloneabl
         mEventBindingArgs = new ArrayMap();
       }
       mEventBindingArgs.put(event, ELUtils.bindingBlock(args));
+      modCount++;
     }
   }
 
@@ -144,10 +145,18 @@ public class WXEvent extends ArrayList<String> implements Serializable, Cloneabl
     }else{
       mEventBindingArgsValues.put(event, value);
     }
+    modCount++;
   }
 
 
 
+  /**
+   * @return version of events, changed by add, remove, clear and binding args updates
+   */
+  int getVersion() {
+    return modCount;
+  }
+
   @Override
   public WXEvent clone() {
     WXEvent event = new WXEvent();
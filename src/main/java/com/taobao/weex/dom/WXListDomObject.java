@@ -27,6 +27,14 @@ import java.util.Map;
 
 public class WXListDomObject extends WXDomObject {
 
+    public static class Creator implements DomObjectCreator {
+
+        @Override
+        public WXDomObject create() {
+            return new WXListDomObject();
+        }
+    }
+
     @Override
     protected Map<String, String> getDefaultStyle() {
         Map<String,String> map = new ArrayMap<>();
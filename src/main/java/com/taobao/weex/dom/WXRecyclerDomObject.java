@@ -38,6 +38,14 @@ import java.util.Map;
  */
 public class WXRecyclerDomObject extends WXDomObject{
 
+    public static class Creator implements DomObjectCreator {
+
+        @Override
+        public WXDomObject create() {
+            return new WXRecyclerDomObject();
+        }
+    }
+
 
     private int mColumnCount = Constants.Value.COLUMN_COUNT_NORMAL;
     private float mColumnWidth = Constants.Value.AUTO;
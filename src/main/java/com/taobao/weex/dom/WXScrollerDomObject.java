@@ -26,6 +26,14 @@ import java.util.Map;
 
 public class WXScrollerDomObject extends WXDomObject {
 
+    public static class Creator implements DomObjectCreator {
+
+        @Override
+        public WXDomObject create() {
+            return new WXScrollerDomObject();
+        }
+    }
+
     @Override
     protected Map<String, String> getDefaultStyle() {
         Map<String, String> map = new ArrayMap<>();
@@ -25,6 +25,7 @@ import android.support.v4.util.ArrayMap;
 import android.text.Layout;
 import android.text.TextUtils;
 
+import com.taobao.weex.WXEnvironment;
 import com.taobao.weex.common.Constants;
 import com.taobao.weex.dom.binding.ELUtils;
 import com.taobao.weex.dom.binding.WXStatement;
@@ -57,6 +58,20 @@ public class WXStyle implements Map<String, Object>,Cloneable {
   public static final int UNSET = -1;
 
   private @NonNull final Map<String,Object> mStyles;
+
+  /**
+   * parsed values of layout properties, index by {@link StyleProperty} id.
+   * a parsed value is valid only when its raw value is the same object in mStyles,
+   * so there is no need to invalidate it when styles changed.
+   * */
+  private ParsedValue[] mParsedValues;
+
+  /**
+   * bit set of {@link StyleProperty} ids of keys put into this style, resolved once when stored,
+   * see {@link #getLayoutProperties()}.
+   * */
+  private long mLayoutProperties;
+
   private Map<String,Map<String,Object>> mPesudoStyleMap = new ArrayMap<>();// clz_group:{styleMap}
   private Map<String,Object> mPesudoResetStyleMap = new ArrayMap<>();
 
@@ -65,6 +80,11 @@ public class WXStyle implements Map<String, Object>,Cloneable {
    * */
   private ArrayMap<String, Object>  mBindingStyle;
 
+  /**
+   * increased on every change through this map, see {@link #getVersion()}
+   */
+  private int mVersion;
+
   public WXStyle(){
     mStyles = new ArrayMap<>();
   }
@@ -224,7 +244,13 @@ public class WXStyle implements Map<String, Object>,Cloneable {
     if (alignItems == null) {
       return CSSAlign.STRETCH;
     }
-    return CSSAlignConvert.convert2AlignItems(alignItems.toString().trim());
+    ParsedValue parsed = getParsed(StyleProperty.ALIGN_ITEMS, alignItems, 0);
+    if (parsed != null) {
+      return (CSSAlign) parsed.value;
+    }
+    CSSAlign value = CSSAlignConvert.convert2AlignItems(alignItems.toString().trim());
+    putParsed(StyleProperty.ALIGN_ITEMS, new ParsedValue(alignItems, 0, 0, value));
+    return value;
   }
 
   public CSSAlign getAlignSelf() {
@@ -232,7 +258,13 @@ public class WXStyle implements Map<String, Object>,Cloneable {
     if (alignSelf == null) {
       return CSSAlign.AUTO;
     }
-    return CSSAlignConvert.convert2AlignSelf(alignSelf.toString().trim());
+    ParsedValue parsed = getParsed(StyleProperty.ALIGN_SELF, alignSelf, 0);
+    if (parsed != null) {
+      return (CSSAlign) parsed.value;
+    }
+    CSSAlign value = CSSAlignConvert.convert2AlignSelf(alignSelf.toString().trim());
+    putParsed(StyleProperty.ALIGN_SELF, new ParsedValue(alignSelf, 0, 0, value));
+    return value;
   }
 
   public float getFlex() {
@@ -244,7 +276,13 @@ public class WXStyle implements Map<String, Object>,Cloneable {
     if (flexDirection == null) {
       return CSSFlexDirection.COLUMN;
     }
-    return CSSFlexDirectionConvert.convert(flexDirection.toString().trim());
+    ParsedValue parsed = getParsed(StyleProperty.FLEX_DIRECTION, flexDirection, 0);
+    if (parsed != null) {
+      return (CSSFlexDirection) parsed.value;
+    }
+    CSSFlexDirection value = CSSFlexDirectionConvert.convert(flexDirection.toString().trim());
+    putParsed(StyleProperty.FLEX_DIRECTION, new ParsedValue(flexDirection, 0, 0, value));
+    return value;
   }
 
   public CSSJustify getJustifyContent() {
@@ -252,7 +290,13 @@ public class WXStyle implements Map<String, Object>,Cloneable {
     if (justifyContent == null) {
       return CSSJustify.FLEX_START;
     }
-    return CSSJustifyConvert.convert(justifyContent.toString().trim());
+    ParsedValue parsed = getParsed(StyleProperty.JUSTIFY_CONTENT, justifyContent, 0);
+    if (parsed != null) {
+      return (CSSJustify) parsed.value;
+    }
+    CSSJustify value = CSSJustifyConvert.convert(justifyContent.toString().trim());
+    putParsed(StyleProperty.JUSTIFY_CONTENT, new ParsedValue(justifyContent, 0, 0, value));
+    return value;
   }
 
   public CSSWrap getCSSWrap() {
@@ -260,7 +304,13 @@ public class WXStyle implements Map<String, Object>,Cloneable {
     if (cssWrap == null) {
       return CSSWrap.NOWRAP;
     }
-    return CSSWrapConvert.convert(cssWrap.toString().trim());
+    ParsedValue parsed = getParsed(StyleProperty.FLEX_WRAP, cssWrap, 0);
+    if (parsed != null) {
+      return (CSSWrap) parsed.value;
+    }
+    CSSWrap value = CSSWrapConvert.convert(cssWrap.toString().trim());
+    putParsed(StyleProperty.FLEX_WRAP, new ParsedValue(cssWrap, 0, 0, value));
+    return value;
   }
 
   /*
@@ -303,27 +353,27 @@ public class WXStyle implements Map<String, Object>,Cloneable {
 
 
   public float getWidth(int viewport) {
-    return WXUtils.getFloatByViewport(get(Constants.Name.WIDTH), viewport);
+    return getFloatByViewport(StyleProperty.WIDTH, Constants.Name.WIDTH, viewport);
   }
 
   public float getMinWidth(int viewport) {
-    return WXUtils.getFloatByViewport(get(Constants.Name.MIN_WIDTH), viewport);
+    return getFloatByViewport(StyleProperty.MIN_WIDTH, Constants.Name.MIN_WIDTH, viewport);
   }
 
   public float getMaxWidth(int viewport) {
-    return WXUtils.getFloatByViewport(get(Constants.Name.MAX_WIDTH), viewport);
+    return getFloatByViewport(StyleProperty.MAX_WIDTH, Constants.Name.MAX_WIDTH, viewport);
   }
 
   public float getHeight(int viewport) {
-    return WXUtils.getFloatByViewport(get(Constants.Name.HEIGHT), viewport);
+    return getFloatByViewport(StyleProperty.HEIGHT, Constants.Name.HEIGHT, viewport);
   }
 
   public float getMinHeight(int viewport) {
-    return WXUtils.getFloatByViewport(get(Constants.Name.MIN_HEIGHT), viewport);
+    return getFloatByViewport(StyleProperty.MIN_HEIGHT, Constants.Name.MIN_HEIGHT, viewport);
   }
 
   public float getMaxHeight(int viewport) {
-    return WXUtils.getFloatByViewport(get(Constants.Name.MAX_HEIGHT), viewport);
+    return getFloatByViewport(StyleProperty.MAX_HEIGHT, Constants.Name.MAX_HEIGHT, viewport);
   }
   /*
    * border
@@ -344,8 +394,8 @@ public class WXStyle implements Map<String, Object>,Cloneable {
     return temp;
   }
 
-  private float getBorderWidth(String key, int viewport) {
-    float temp = WXUtils.getFloatByViewport(get(key), viewport);
+  private float getBorderWidth(int id, String key, int viewport) {
+    float temp = getFloatByViewport(id, key, viewport);
     if (WXUtils.isUndefined(temp)) {
       return getBorderWidth(viewport);
     }
@@ -358,23 +408,23 @@ public class WXStyle implements Map<String, Object>,Cloneable {
   }
 
   public float getBorderWidth(int viewport) {
-    return WXUtils.getFloatByViewport(get(Constants.Name.BORDER_WIDTH), viewport);
+    return getFloatByViewport(StyleProperty.BORDER_WIDTH, Constants.Name.BORDER_WIDTH, viewport);
   }
 
   public float getBorderRightWidth(int viewport) {
-    return getBorderWidth(Constants.Name.BORDER_RIGHT_WIDTH, viewport);
+    return getBorderWidth(StyleProperty.BORDER_RIGHT_WIDTH, Constants.Name.BORDER_RIGHT_WIDTH, viewport);
   }
 
   public float getBorderTopWidth(int viewport) {
-    return getBorderWidth(Constants.Name.BORDER_TOP_WIDTH, viewport);
+    return getBorderWidth(StyleProperty.BORDER_TOP_WIDTH, Constants.Name.BORDER_TOP_WIDTH, viewport);
   }
 
   public float getBorderBottomWidth(int viewport) {
-    return getBorderWidth(Constants.Name.BORDER_BOTTOM_WIDTH, viewport);
+    return getBorderWidth(StyleProperty.BORDER_BOTTOM_WIDTH, Constants.Name.BORDER_BOTTOM_WIDTH, viewport);
   }
 
   public float getBorderLeftWidth(int viewport) {
-    return getBorderWidth(Constants.Name.BORDER_LEFT_WIDTH, viewport);
+    return getBorderWidth(StyleProperty.BORDER_LEFT_WIDTH, Constants.Name.BORDER_LEFT_WIDTH, viewport);
   }
 
   public String getBorderColor() {
@@ -398,11 +448,11 @@ public class WXStyle implements Map<String, Object>,Cloneable {
   }
 
   public float getMargin(int viewport){
-    return WXUtils.getFloatByViewport(get(Constants.Name.MARGIN), viewport);
+    return getFloatByViewport(StyleProperty.MARGIN, Constants.Name.MARGIN, viewport);
   }
 
   public float getPadding(int viewport){
-    return WXUtils.getFloatByViewport(get(Constants.Name.PADDING), viewport);
+    return getFloatByViewport(StyleProperty.PADDING, Constants.Name.PADDING, viewport);
   }
 
   /*
@@ -444,33 +494,33 @@ public class WXStyle implements Map<String, Object>,Cloneable {
    * margin
    **/
   public float getMarginTop(int viewport) {
-    float temp = WXUtils.getFloatByViewport(get(Constants.Name.MARGIN_TOP), viewport);
+    float temp = getFloatByViewport(StyleProperty.MARGIN_TOP, Constants.Name.MARGIN_TOP, viewport);
     if (WXUtils.isUndefined(temp)) {
-      temp = WXUtils.getFloatByViewport(get(Constants.Name.MARGIN), viewport);
+      temp = getFloatByViewport(StyleProperty.MARGIN, Constants.Name.MARGIN, viewport);
     }
     return temp;
   }
 
   public float getMarginLeft(int viewport) {
-    float temp = WXUtils.getFloatByViewport(get(Constants.Name.MARGIN_LEFT), viewport);
+    float temp = getFloatByViewport(StyleProperty.MARGIN_LEFT, Constants.Name.MARGIN_LEFT, viewport);
     if (WXUtils.isUndefined(temp)) {
-      temp = WXUtils.getFloatByViewport(get(Constants.Name.MARGIN), viewport);
+      temp = getFloatByViewport(StyleProperty.MARGIN, Constants.Name.MARGIN, viewport);
     }
     return temp;
   }
 
   public float getMarginRight(int viewport) {
-    float temp = WXUtils.getFloatByViewport(get(Constants.Name.MARGIN_RIGHT), viewport);
+    float temp = getFloatByViewport(StyleProperty.MARGIN_RIGHT, Constants.Name.MARGIN_RIGHT, viewport);
     if (WXUtils.isUndefined(temp)) {
-      temp = WXUtils.getFloatByViewport(get(Constants.Name.MARGIN), viewport);
+      temp = getFloatByViewport(StyleProperty.MARGIN, Constants.Name.MARGIN, viewport);
     }
     return temp;
   }
 
   public float getMarginBottom(int viewport) {
-    float temp = WXUtils.getFloatByViewport(get(Constants.Name.MARGIN_BOTTOM), viewport);
+    float temp = getFloatByViewport(StyleProperty.MARGIN_BOTTOM, Constants.Name.MARGIN_BOTTOM, viewport);
     if (WXUtils.isUndefined(temp)) {
-      temp = WXUtils.getFloatByViewport(get(Constants.Name.MARGIN), viewport);
+      temp = getFloatByViewport(StyleProperty.MARGIN, Constants.Name.MARGIN, viewport);
     }
     return temp;
   }
@@ -515,33 +565,33 @@ public class WXStyle implements Map<String, Object>,Cloneable {
    * padding
    **/
   public float getPaddingTop(int viewport) {
-    float temp = WXUtils.getFloatByViewport(get(Constants.Name.PADDING_TOP), viewport);
+    float temp = getFloatByViewport(StyleProperty.PADDING_TOP, Constants.Name.PADDING_TOP, viewport);
     if (WXUtils.isUndefined(temp)) {
-      temp = WXUtils.getFloatByViewport(get(Constants.Name.PADDING), viewport);
+      temp = getFloatByViewport(StyleProperty.PADDING, Constants.Name.PADDING, viewport);
     }
     return temp;
   }
 
   public float getPaddingLeft(int viewport) {
-    float temp = WXUtils.getFloatByViewport(get(Constants.Name.PADDING_LEFT), viewport);
+    float temp = getFloatByViewport(StyleProperty.PADDING_LEFT, Constants.Name.PADDING_LEFT, viewport);
     if (WXUtils.isUndefined(temp)) {
-      temp = WXUtils.getFloatByViewport(get(Constants.Name.PADDING), viewport);
+      temp = getFloatByViewport(StyleProperty.PADDING, Constants.Name.PADDING, viewport);
     }
     return temp;
   }
 
   public float getPaddingRight(int viewport) {
-    float temp = WXUtils.getFloatByViewport(get(Constants.Name.PADDING_RIGHT), viewport);
+    float temp = getFloatByViewport(StyleProperty.PADDING_RIGHT, Constants.Name.PADDING_RIGHT, viewport);
     if (WXUtils.isUndefined(temp)) {
-      temp = WXUtils.getFloatByViewport(get(Constants.Name.PADDING), viewport);
+      temp = getFloatByViewport(StyleProperty.PADDING, Constants.Name.PADDING, viewport);
     }
     return temp;
   }
 
   public float getPaddingBottom(int viewport) {
-    float temp = WXUtils.getFloatByViewport(get(Constants.Name.PADDING_BOTTOM), viewport);
+    float temp = getFloatByViewport(StyleProperty.PADDING_BOTTOM, Constants.Name.PADDING_BOTTOM, viewport);
     if (WXUtils.isUndefined(temp)) {
-      temp = WXUtils.getFloatByViewport(get(Constants.Name.PADDING), viewport);
+      temp = getFloatByViewport(StyleProperty.PADDING, Constants.Name.PADDING, viewport);
     }
     return temp;
   }
@@ -554,7 +604,13 @@ public class WXStyle implements Map<String, Object>,Cloneable {
     if (position == null) {
       return CSSPositionType.RELATIVE;
     }
-    return CSSPositionTypeConvert.convert(position.toString().trim());
+    ParsedValue parsed = getParsed(StyleProperty.POSITION, position, 0);
+    if (parsed != null) {
+      return (CSSPositionType) parsed.value;
+    }
+    CSSPositionType value = CSSPositionTypeConvert.convert(position.toString().trim());
+    putParsed(StyleProperty.POSITION, new ParsedValue(position, 0, 0, value));
+    return value;
   }
 
   public boolean isSticky() {
@@ -590,19 +646,19 @@ public class WXStyle implements Map<String, Object>,Cloneable {
   }
 
   public float getLeft(int viewport) {
-    return WXUtils.getFloatByViewport(get(Constants.Name.LEFT), viewport);
+    return getFloatByViewport(StyleProperty.LEFT, Constants.Name.LEFT, viewport);
   }
 
   public float getTop(int viewport) {
-    return WXUtils.getFloatByViewport(get(Constants.Name.TOP), viewport);
+    return getFloatByViewport(StyleProperty.TOP, Constants.Name.TOP, viewport);
   }
 
   public float getRight(int viewport) {
-    return WXUtils.getFloatByViewport(get(Constants.Name.RIGHT), viewport);
+    return getFloatByViewport(StyleProperty.RIGHT, Constants.Name.RIGHT, viewport);
   }
 
   public float getBottom(int viewport) {
-    return WXUtils.getFloatByViewport(get(Constants.Name.BOTTOM), viewport);
+    return getFloatByViewport(StyleProperty.BOTTOM, Constants.Name.BOTTOM, viewport);
   }
 
   /*
@@ -635,6 +691,107 @@ public class WXStyle implements Map<String, Object>,Cloneable {
     return obj == null ? Constants.Value.VISIBLE : obj.toString();
   }
 
+  /**
+   * same as {@link WXUtils#getFloatByViewport(Object, int)}, value is parsed once until it's changed.
+   * "wx" values also depend on screen width and density, they are parsed again after rotation
+   * or screen size changed.
+   * */
+  private float getFloatByViewport(int id, String key, int viewport) {
+    Object raw = get(key);
+    if (raw == null) {
+      return Float.NaN;
+    }
+    ParsedValue parsed = getParsed(id, raw, viewport);
+    if (parsed != null) {
+      if (parsed.screenWidth == 0) {
+        return parsed.floatValue;
+      }
+      if (parsed.screenWidth == WXViewUtils.getScreenWidth()
+          && parsed.density == WXViewUtils.getScreenDensity(WXEnvironment.sApplication)) {
+        return parsed.floatValue;
+      }
+    }
+    float value = WXUtils.getFloatByViewport(raw, viewport);
+    if (raw.toString().trim().endsWith("wx")) {
+      putParsed(id, new ParsedValue(raw, viewport, value, null, WXViewUtils.getScreenWidth(),
+          WXViewUtils.getScreenDensity(WXEnvironment.sApplication)));
+    } else {
+      putParsed(id, new ParsedValue(raw, viewport, value, null));
+    }
+    return value;
+  }
+
+  private ParsedValue getParsed(int id, Object raw, int viewport) {
+    ParsedValue[] parsedValues = mParsedValues;
+    if (parsedValues == null) {
+      return null;
+    }
+    ParsedValue parsed = parsedValues[id];
+    if (parsed != null && parsed.raw == raw && parsed.viewport == viewport) {
+      return parsed;
+    }
+    return null;
+  }
+
+  private void putParsed(int id, ParsedValue parsed) {
+    ParsedValue[] parsedValues = mParsedValues;
+    if (parsedValues == null) {
+      parsedValues = new ParsedValue[StyleProperty.COUNT];
+      mParsedValues = parsedValues;
+    }
+    parsedValues[id] = parsed;
+  }
+
+  /**
+   * immutable, can be read by other thread without lock
+   * */
+  private static final class ParsedValue {
+    final Object raw;
+    final int viewport;
+    final float floatValue;
+    final Object value;
+    /**
+     * screen the value was parsed with, 0 if the value does not depend on screen
+     * */
+    final int screenWidth;
+    final float density;
+
+    ParsedValue(Object raw, int viewport, float floatValue, Object value) {
+      this(raw, viewport, floatValue, value, 0, 0);
+    }
+
+    ParsedValue(Object raw, int viewport, float floatValue, Object value, int screenWidth, float density) {
+      this.raw = raw;
+      this.viewport = viewport;
+      this.floatValue = floatValue;
+      this.value = value;
+      this.screenWidth = screenWidth;
+      this.density = density;
+    }
+  }
+
+  private void putLayoutProperty(String key) {
+    int id = StyleProperty.getId(key);
+    if (id != StyleProperty.UNKNOWN) {
+      mLayoutProperties |= 1L << id;
+    }
+  }
+
+  private void putLayoutProperties(Map<? extends String, ?> map) {
+    for (String key : map.keySet()) {
+      putLayoutProperty(key);
+    }
+  }
+
+  /**
+   * @return bit set of {@link StyleProperty} ids in this style, bit <code>1L &lt;&lt; id</code>
+   * is set if the property was put. A property removed through views like {@link #keySet()}
+   * may still be set, check the value before use.
+   * */
+  long getLayoutProperties() {
+    return mLayoutProperties;
+  }
+
   @Override
   public boolean equals(Object o) {
     return mStyles.equals(o);
@@ -647,6 +804,8 @@ public class WXStyle implements Map<String, Object>,Cloneable {
 
   @Override
   public void clear() {
+    mVersion++;
+    mLayoutProperties = 0;
     mStyles.clear();
   }
 
@@ -684,11 +843,15 @@ public class WXStyle implements Map<String, Object>,Cloneable {
 
   @Override
   public Object put(String key, Object value) {
+    mVersion++;
+    putLayoutProperty(key);
     return mStyles.put(key,value);
   }
 
   @Override
   public void putAll(Map<? extends String, ?> map) {
+    mVersion++;
+    putLayoutProperties(map);
     this.mStyles.putAll(map);
   }
 
@@ -698,6 +861,8 @@ public class WXStyle implements Map<String, Object>,Cloneable {
    * @param byPesudo
    */
   public void putAll(Map<? extends String, ?> map, boolean byPesudo) {
+    mVersion++;
+    putLayoutProperties(map);
     this.mStyles.putAll(map);
     if (!byPesudo) {
       this.mPesudoResetStyleMap.putAll(map);
@@ -727,6 +892,7 @@ public class WXStyle implements Map<String, Object>,Cloneable {
         if (clzName.equals(Constants.PSEUDO.ENABLED)) {
           //enabled, use as regular style
           String styleKey = key.substring(0, i);
+          putLayoutProperty(styleKey);
           this.mStyles.put(styleKey, entry.getValue());
           this.mPesudoResetStyleMap.put(styleKey, entry.getValue());
           continue;
@@ -746,6 +912,13 @@ public class WXStyle implements Map<String, Object>,Cloneable {
 
   @Override
   public Object remove(Object key) {
+    mVersion++;
+    if (key instanceof String) {
+      int id = StyleProperty.getId((String) key);
+      if (id != StyleProperty.UNKNOWN) {
+        mLayoutProperties &= ~(1L << id);
+      }
+    }
     return mStyles.remove(key);
   }
 
@@ -765,6 +938,10 @@ public class WXStyle implements Map<String, Object>,Cloneable {
     WXStyle style = new WXStyle();
     style.mStyles.putAll(this.mStyles);
     style.mBindingStyle = mBindingStyle;
+    style.mLayoutProperties = mLayoutProperties;
+    if (mParsedValues != null) {
+      style.mParsedValues = mParsedValues.clone();
+    }
 
     for(Entry<String,Map<String,Object>> entry:this.mPesudoStyleMap.entrySet()){
       Map<String,Object> valueClone = new ArrayMap<>();
@@ -813,4 +990,12 @@ public class WXStyle implements Map<String, Object>,Cloneable {
   public ArrayMap<String, Object> getBindingStyle() {
     return mBindingStyle;
   }
+
+  /**
+   * @return version of styles, changed by put, remove and clear, used to tell whether a copy of
+   * the styles is still up to date. Changes through views like {@link #entrySet()} are not counted.
+   */
+  int getVersion() {
+    return mVersion;
+  }
 }
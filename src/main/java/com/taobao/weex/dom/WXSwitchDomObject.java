@@ -27,6 +27,14 @@ import com.taobao.weex.utils.WXLogUtils;
 
 public class WXSwitchDomObject extends WXDomObject {
 
+  public static class Creator implements DomObjectCreator {
+
+    @Override
+    public WXDomObject create() {
+      return new WXSwitchDomObject();
+    }
+  }
+
   private static final MeasureFunction SWITCH_MEASURE_FUNCTION = new MeasureFunction() {
 
     @Override
@@ -154,9 +154,19 @@ public class WXTextDomObject extends WXDomObject {
   private @Nullable Spanned spanned;
   private @Nullable Layout layout;
   private AtomicReference<Layout> atomicReference = new AtomicReference<>();
+  private @Nullable TextLayoutCache.Key mLayoutKey;
+  private boolean mLayoutFromCache;
 
   private BroadcastReceiver mTypefaceObserver;
 
+  public static class Creator implements DomObjectCreator {
+
+    @Override
+    public WXDomObject create() {
+      return new WXTextDomObject();
+    }
+  }
+
   /**
    * Create an instance of current class, and set {@link #TEXT_MEASURE_FUNCTION} as the
    * measureFunction
@@ -205,12 +215,16 @@ public class WXTextDomObject extends WXDomObject {
       recalculateLayout();
     }
     hasBeenMeasured = false;
-    if (layout != null && !layout.equals(atomicReference.get()) &&
+    if (layout != null && !mLayoutFromCache && !layout.equals(atomicReference.get()) &&
         Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
       if(Thread.currentThread() != Looper.getMainLooper().getThread()){
           warmUpTextLayoutCache(layout);
       }
     }
+    if (layout != null && !mLayoutFromCache && mLayoutKey != null) {
+      TextLayoutCache.put(mLayoutKey, layout, spanned);
+      mLayoutFromCache = true;
+    }
     swap();
     super.layoutAfter();
   }
@@ -340,6 +354,13 @@ public class WXTextDomObject extends WXDomObject {
       if (direction != null && "text".equals(mType)) {
         forceRtl = direction.equals(Constants.Name.RTL);
       }
+      mLayoutKey = createLayoutKey((int) Math.ceil(textWidth), forceRtl);
+      TextLayoutCache.Entry entry = mLayoutKey == null ? null : TextLayoutCache.get(mLayoutKey);
+      mLayoutFromCache = entry != null;
+      if (entry != null) {
+        spanned = entry.spanned;
+        return entry.layout;
+      }
       layout = StaticLayoutProxy.create(spanned, mTextPaint, (int) Math.ceil(textWidth),
           Layout.Alignment.ALIGN_NORMAL, 1, 0, false, forceRtl);
     } else {
@@ -367,6 +388,19 @@ public class WXTextDomObject extends WXDomObject {
     return layout;
   }
 
+  /**
+   * Key of {@link TextLayoutCache}, subclass may change spans or paint, so they are not cached.
+   * @return null if layout should not be cached.
+   */
+  private @Nullable TextLayoutCache.Key createLayoutKey(int width, boolean forceRtl) {
+    if (mText == null || getClass() != WXTextDomObject.class) {
+      return null;
+    }
+    return new TextLayoutCache.Key(mText, mColor, mIsColorSet, mFontSize, mFontStyle, mFontWeight,
+        mFontFamily, mLineHeight, mNumberOfLines, mAlignment, textOverflow, mTextDecoration,
+        forceRtl, width);
+  }
+
   /**
    * Truncate the source span to the specified lines.
    * Caller of this method must ensure that the lines of text is <strong>greater than desired lines and need truncate</strong>.
@@ -547,7 +581,9 @@ public class WXTextDomObject extends WXDomObject {
   private boolean warmUpTextLayoutCache(Layout layout) {
     boolean result;
     try {
-      layout.draw(DUMMY_CANVAS);
+      synchronized (DUMMY_CANVAS) {
+        layout.draw(DUMMY_CANVAS);
+      }
       result = true;
     } catch (Exception e) {
       WXLogUtils.eTag(TAG, e);
@@ -22,7 +22,6 @@ import com.taobao.weex.LayoutFinishListener;
 import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.WXSDKManager;
 import com.taobao.weex.common.WXRenderStrategy;
-import com.taobao.weex.common.WXThread;
 import com.taobao.weex.dom.DOMActionContext;
 import com.taobao.weex.dom.RenderActionContext;
 import com.taobao.weex.tracing.Stopwatch;
@@ -40,12 +39,12 @@ final class CreateFinishAction extends AbstractLayoutFinishAction {
     final WXSDKInstance instance = context.getInstance();
     final LayoutFinishListener listener;
     if(instance != null && (listener = instance.getLayoutFinishListener()) != null) {
-      WXSDKManager.getInstance().getWXRenderManager().postOnUiThread(WXThread.secure(new Runnable() {
+      WXSDKManager.getInstance().getWXRenderManager().postOnUiThread(instance.getInstanceId(), new Runnable() {
         @Override
         public void run() {
           listener.onLayoutFinish(instance);
         }
-      }),0);
+      });
     }
   }
 
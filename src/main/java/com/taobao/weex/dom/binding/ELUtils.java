@@ -18,6 +18,8 @@
  */
 package com.taobao.weex.dom.binding;
 
+import android.support.v4.util.LruCache;
+
 import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.taobao.weex.WXEnvironment;
@@ -44,6 +46,42 @@ public class ELUtils {
 
     public static final  String[] EXCLUDES_BINDING = {"clickEventParams"};
 
+    /**
+     * parsed expressions, keyed by source code. parsed token is never modified after parse
+     * and execute keeps no state, so one token is shared by all templates and instances,
+     * on dom thread and template list's copy threads.
+     * */
+    private static final int PARSE_CACHE_SIZE = 512;
+    private static final LruCache<String, Token> sParseCache = new LruCache<>(PARSE_CACHE_SIZE);
+
+    /**
+     * parse expression code, same code returns the same shared token
+     * */
+    public static Token parse(String code){
+        Token token = sParseCache.get(code);
+        if(token == null){
+            token = Parser.parse(code);
+            sParseCache.put(code, token);
+        }
+        return token;
+    }
+
+    public static int getParseCacheHitCount(){
+        return sParseCache.hitCount();
+    }
+
+    public static int getParseCacheMissCount(){
+        return sParseCache.missCount();
+    }
+
+    public static int getParseCacheEvictionCount(){
+        return sParseCache.evictionCount();
+    }
+
+    public static void clearParseCache(){
+        sParseCache.evictAll();
+    }
+
     /**
      * @param value check object is binding expression
      * */
@@ -73,7 +111,7 @@ public class ELUtils {
             if(object.containsKey(BINDING)){
                 Object binding = object.get(BINDING);
                 if(!(binding instanceof Token)){
-                    object.put(BINDING, Parser.parse(binding.toString()));
+                    object.put(BINDING, parse(binding.toString()));
                 }
             }
             Set<String> keys = object.keySet();
@@ -83,7 +121,7 @@ public class ELUtils {
                     JSONObject propsValue = (JSONObject) object.get(propsKey);
                     Object binding = propsValue.get(BINDING);
                     if(!(binding instanceof Token)){
-                        propsValue.put(BINDING, Parser.parse(binding.toString()));
+                        propsValue.put(BINDING, parse(binding.toString()));
                     }
                 }
             }
@@ -101,7 +139,7 @@ public class ELUtils {
             if(((JSONObject) vfor).containsKey(WXStatement.WX_FOR_LIST)){
                 Object list = ((JSONObject) vfor).get(WXStatement.WX_FOR_LIST);
                 if(!(list instanceof Token)){
-                    ((JSONObject) vfor).put(WXStatement.WX_FOR_LIST, Parser.parse(list.toString()));
+                    ((JSONObject) vfor).put(WXStatement.WX_FOR_LIST, parse(list.toString()));
                 }
             }
         }else{
@@ -0,0 +1,448 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.el.parse;
+
+import com.alibaba.fastjson.JSONArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * expression token compiled to flat stack machine code, binding expressions are
+ * executed for every cell and every update, compiled once avoid walking token tree,
+ * string switch of operators and literal parse in each execute.
+ * result is the same as the token tree execute, the tree is kept for toString.
+ */
+class CompiledToken extends Token {
+
+    private static final int CONST = 0;
+    private static final int IDENT = 1;
+    private static final int DOT_IDENT = 2;
+    private static final int DOT_CONTEXT = 3;
+    private static final int DOT_CHECK_NULL = 4;
+    private static final int DOT_KEY = 5;
+    private static final int EQUAL = 6;
+    private static final int NOT_EQUAL = 7;
+    private static final int NOT = 8;
+    private static final int TO_BOOLEAN = 9;
+    private static final int JUMP = 10;
+    private static final int JUMP_IF_FALSE = 11;
+    private static final int AND_JUMP = 12;
+    private static final int OR_JUMP = 13;
+    private static final int G = 14;
+    private static final int GE = 15;
+    private static final int L = 16;
+    private static final int LE = 17;
+    private static final int PLUS = 18;
+    private static final int SUB = 19;
+    private static final int MUL = 20;
+    private static final int DIV = 21;
+    private static final int MOD = 22;
+    private static final int ARRAY = 23;
+    private static final int EXECUTE = 24;
+
+    private final Token tree;
+    /**
+     * pairs of opcode and operand
+     * */
+    private final int[] code;
+    private final Object[] constants;
+    private final int maxStack;
+
+    private CompiledToken(Token tree, int[] code, Object[] constants, int maxStack) {
+        super(tree.getToken(), tree.getType());
+        this.tree = tree;
+        this.code = code;
+        this.constants = constants;
+        this.maxStack = maxStack;
+    }
+
+    /**
+     * compile token tree, return token self if already compiled
+     * */
+    public static Token compile(Token tree){
+        if(tree == null || tree instanceof CompiledToken){
+            return tree;
+        }
+        Compiler compiler = new Compiler();
+        compiler.emitToken(tree);
+        return new CompiledToken(tree, Arrays.copyOf(compiler.code, compiler.length),
+                compiler.constants.toArray(), Math.max(compiler.maxDepth, 1));
+    }
+
+    @Override
+    public Object execute(Object context) {
+        final int[] code = this.code;
+        final Object[] constants = this.constants;
+        Object[] stack = new Object[maxStack];
+        int sp = 0;
+        int pc = 0;
+        while (pc < code.length){
+            int op = code[pc];
+            int arg = code[pc + 1];
+            pc += 2;
+            switch (op){
+                case CONST:
+                    stack[sp++] = constants[arg];
+                    break;
+                case IDENT:
+                    stack[sp++] = Operators.el(context, (String) constants[arg]);
+                    break;
+                case DOT_IDENT:{
+                    Object left = stack[sp - 1];
+                    if(left != null){
+                        String key = (String) constants[arg];
+                        Object value = Operators.el(left, key);
+                        stack[sp - 1] = value != null ? value : Operators.specialKey(left, key);
+                    }
+                }
+                break;
+                case DOT_CONTEXT:{
+                    Object left = stack[sp - 1];
+                    if(left != null){
+                        Token right = (Token) constants[arg];
+                        Object value = right.execute(left);
+                        stack[sp - 1] = value != null ? value : Operators.specialKey(left, right.getToken());
+                    }
+                }
+                break;
+                case DOT_CHECK_NULL:
+                    if(stack[sp - 1] == null){
+                        pc = arg;
+                    }
+                    break;
+                case DOT_KEY:{
+                    Object identifter = stack[--sp];
+                    stack[sp] = null;
+                    Object left = stack[sp - 1];
+                    if(identifter instanceof Double){
+                        identifter = ((Double) identifter).intValue();
+                    }
+                    String key = identifter == null ? "" : identifter.toString().trim();
+                    Object value = Operators.el(left, key);
+                    stack[sp - 1] = value != null ? value : Operators.specialKey(left, (String) constants[arg]);
+                }
+                break;
+                case EQUAL:
+                    sp--;
+                    stack[sp - 1] = Operators.isEquals(stack[sp - 1], stack[sp]);
+                    stack[sp] = null;
+                    break;
+                case NOT_EQUAL:
+                    sp--;
+                    stack[sp - 1] = !Operators.isEquals(stack[sp - 1], stack[sp]);
+                    stack[sp] = null;
+                    break;
+                case NOT:
+                    stack[sp - 1] = !Operators.isTrue(stack[sp - 1]);
+                    break;
+                case TO_BOOLEAN:
+                    stack[sp - 1] = Operators.isTrue(stack[sp - 1]);
+                    break;
+                case JUMP:
+                    pc = arg;
+                    break;
+                case JUMP_IF_FALSE:
+                    sp--;
+                    if(!Operators.isTrue(stack[sp])){
+                        pc = arg;
+                    }
+                    stack[sp] = null;
+                    break;
+                case AND_JUMP:
+                    if(!Operators.isTrue(stack[sp - 1])){
+                        stack[sp - 1] = Boolean.FALSE;
+                        pc = arg;
+                    }else{
+                        stack[--sp] = null;
+                    }
+                    break;
+                case OR_JUMP:
+                    if(Operators.isTrue(stack[sp - 1])){
+                        stack[sp - 1] = Boolean.TRUE;
+                        pc = arg;
+                    }else{
+                        stack[--sp] = null;
+                    }
+                    break;
+                case G:
+                    sp--;
+                    stack[sp - 1] = Operators.getNumber(stack[sp - 1]) > Operators.getNumber(stack[sp]);
+                    stack[sp] = null;
+                    break;
+                case GE:
+                    sp--;
+                    stack[sp - 1] = Operators.getNumber(stack[sp - 1]) >= Operators.getNumber(stack[sp]);
+                    stack[sp] = null;
+                    break;
+                case L:
+                    sp--;
+                    stack[sp - 1] = Operators.getNumber(stack[sp - 1]) < Operators.getNumber(stack[sp]);
+                    stack[sp] = null;
+                    break;
+                case LE:
+                    sp--;
+                    stack[sp - 1] = Operators.getNumber(stack[sp - 1]) <= Operators.getNumber(stack[sp]);
+                    stack[sp] = null;
+                    break;
+                case PLUS:
+                    sp--;
+                    stack[sp - 1] = Operators.plus(stack[sp - 1], stack[sp]);
+                    stack[sp] = null;
+                    break;
+                case SUB:
+                    sp--;
+                    stack[sp - 1] = Operators.sub(stack[sp - 1], stack[sp]);
+                    stack[sp] = null;
+                    break;
+                case MUL:
+                    sp--;
+                    stack[sp - 1] = Operators.mul(stack[sp - 1], stack[sp]);
+                    stack[sp] = null;
+                    break;
+                case DIV:
+                    sp--;
+                    stack[sp - 1] = Operators.div(stack[sp - 1], stack[sp]);
+                    stack[sp] = null;
+                    break;
+                case MOD:
+                    sp--;
+                    stack[sp - 1] = Operators.mod(stack[sp - 1], stack[sp]);
+                    stack[sp] = null;
+                    break;
+                case ARRAY:{
+                    JSONArray array = new JSONArray(Math.max(arg, 4));
+                    int start = sp - arg;
+                    for(int i=start; i<sp; i++){
+                        array.add(stack[i]);
+                        stack[i] = null;
+                    }
+                    sp = start;
+                    stack[sp++] = array;
+                }
+                break;
+                case EXECUTE:
+                    stack[sp++] = ((Token) constants[arg]).execute(context);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unhandled opcode " + op);
+            }
+        }
+        return sp > 0 ? stack[sp - 1] : null;
+    }
+
+    @Override
+    public String toString() {
+        return tree.toString();
+    }
+
+
+    private static class Compiler {
+        private int[] code = new int[16];
+        private int length;
+        private List<Object> constants = new ArrayList<>(4);
+        private int depth;
+        private int maxDepth;
+
+        private int emit(int op, int arg, int stackChange){
+            if(length + 2 > code.length){
+                code = Arrays.copyOf(code, code.length*2);
+            }
+            int position = length;
+            code[length++] = op;
+            code[length++] = arg;
+            depth += stackChange;
+            if(depth > maxDepth){
+                maxDepth = depth;
+            }
+            return position;
+        }
+
+        private int constant(Object value){
+            constants.add(value);
+            return constants.size() - 1;
+        }
+
+        /**
+         * set jump target of the instruction at position to current end
+         * */
+        private void patch(int position){
+            code[position + 1] = length;
+        }
+
+        private void emitConst(Object value){
+            emit(CONST, constant(value), 1);
+        }
+
+        void emitToken(Token token){
+            if(token == null){
+                emitConst(null);
+            }else if(token instanceof CompiledToken){
+                emitToken(((CompiledToken) token).tree);
+            }else if(token instanceof Operator){
+                emitOperator((Operator) token);
+            }else if(token instanceof Block){
+                emitBlock((Block) token);
+            }else if(token.getClass() == Token.class){
+                emitLiteral(token);
+            }else{
+                emit(EXECUTE, constant(token), 1);
+            }
+        }
+
+        private void emitLiteral(Token token){
+            switch (token.getType()){
+                case Token.TYPE_IDENTIFIER:
+                    emit(IDENT, constant(token.getToken()), 1);
+                    break;
+                case Token.TYPE_STRING:
+                case Token.TYPE_INT:
+                case Token.TYPE_DOUBLE:
+                case Token.TYPE_KEYWORD:
+                    emitConst(token.execute(null));
+                    break;
+                default:
+                    emit(EXECUTE, constant(token), 1);
+                    break;
+            }
+        }
+
+        private void emitBlock(Block block){
+            List<Token> tokens = block.getTokens();
+            if(block.getType() == Token.TYPE_ARRAY){
+                int size = tokens == null ? 0 : tokens.size();
+                for(int i=0; i<size; i++){
+                    emitToken(tokens.get(i));
+                }
+                emit(ARRAY, size, 1 - size);
+                return;
+            }
+            if(tokens == null || tokens.size() == 0){
+                emitConst(null);
+                return;
+            }
+            emitToken(tokens.get(0));
+        }
+
+        private void emitOperator(Operator operator){
+            String op = operator.getToken();
+            switch (op){
+                case  Operators.DOT_STR:
+                case  Operators.ARRAY_START_STR:
+                    emitDot(operator.first, operator.second);
+                    break;
+                case  Operators.EQUAL:
+                case  Operators.EQUAL2:
+                case  Operators.NOT_EQUAL:
+                case  Operators.NOT_EQUAL2:{
+                    boolean equal = Operators.EQUAL.equals(op) || Operators.EQUAL2.equals(op);
+                    if(operator.first == null && operator.second == null){
+                        emitConst(equal);
+                        break;
+                    }
+                    emitBinary(operator, equal ? EQUAL : NOT_EQUAL);
+                }
+                break;
+                case  Operators.CONDITION_IF_STRING:{
+                    emitToken(operator.self);
+                    int jumpElse = emit(JUMP_IF_FALSE, 0, -1);
+                    emitToken(operator.first);
+                    int jumpEnd = emit(JUMP, 0, -1);
+                    patch(jumpElse);
+                    emitToken(operator.second);
+                    patch(jumpEnd);
+                }
+                break;
+                case  Operators.AND_NOT:
+                    emitToken(operator.self);
+                    emit(NOT, 0, 0);
+                    break;
+                case  Operators.AND:
+                case  Operators.OR:{
+                    emitToken(operator.first);
+                    int jump = emit(Operators.AND.equals(op) ? AND_JUMP : OR_JUMP, 0, -1);
+                    emitToken(operator.second);
+                    emit(TO_BOOLEAN, 0, 0);
+                    patch(jump);
+                }
+                break;
+                case  Operators.G:
+                    emitBinary(operator, G);
+                    break;
+                case  Operators.GE:
+                    emitBinary(operator, GE);
+                    break;
+                case  Operators.L:
+                    emitBinary(operator, L);
+                    break;
+                case  Operators.LE:
+                    emitBinary(operator, LE);
+                    break;
+                case  Operators.PLUS:
+                    emitBinary(operator, PLUS);
+                    break;
+                case  Operators.SUB:
+                    emitBinary(operator, SUB);
+                    break;
+                case  Operators.MUL:
+                    emitBinary(operator, MUL);
+                    break;
+                case  Operators.DIV:
+                    emitBinary(operator, DIV);
+                    break;
+                case  Operators.MOD:
+                    emitBinary(operator, MOD);
+                    break;
+                default:
+                    emit(EXECUTE, constant(operator), 1);
+                    break;
+            }
+        }
+
+        private void emitBinary(Operator operator, int op){
+            emitToken(operator.first);
+            emitToken(operator.second);
+            emit(op, 0, -1);
+        }
+
+        /**
+         * same as Operators.dot, identifier right side is executed with left value as context
+         * */
+        private void emitDot(Token left, Token right){
+            if(left == null || right == null){
+                emitConst(null);
+                return;
+            }
+            emitToken(left);
+            if(right.getType() == Token.TYPE_IDENTIFIER){
+                if(right.getClass() == Token.class){
+                    emit(DOT_IDENT, constant(right.getToken()), 0);
+                }else{
+                    emit(DOT_CONTEXT, constant(compile(right)), 0);
+                }
+                return;
+            }
+            int jump = emit(DOT_CHECK_NULL, 0, 0);
+            emitToken(right);
+            emit(DOT_KEY, constant(right.getToken()), -1);
+            patch(jump);
+        }
+    }
+}
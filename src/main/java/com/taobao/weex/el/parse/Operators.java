@@ -78,8 +78,9 @@ public class Operators {
                 Object value = stack.get(index);
                 if(value instanceof  Map){
                     Map map = (Map) value;
-                    if(map.containsKey(key)){
-                        return map.get(key);
+                    Object result = map.get(key);
+                    if(result != null || map.containsKey(key)){
+                        return result;
                     }
                 }
             }
@@ -90,8 +91,9 @@ public class Operators {
                 Object value = stack.get(index);
                 if(value instanceof  Map){
                     Map map = (Map) value;
-                    if(map.containsKey(key)){
-                        return map.get(key);
+                    Object result = map.get(key);
+                    if(result != null || map.containsKey(key)){
+                        return result;
                     }
                 }
             }
@@ -145,6 +147,10 @@ public class Operators {
         if(right  != null){
             rightValue = right.execute(context);
         }
+        return plus(leftValue, rightValue);
+    }
+
+    public static Object plus(Object leftValue, Object rightValue){
         if(leftValue instanceof  CharSequence || rightValue instanceof  CharSequence){
             if(leftValue == null){
                 return  rightValue;
@@ -173,6 +179,10 @@ public class Operators {
         if(right  != null){
             rightValue = right.execute(context);
         }
+        return sub(leftValue, rightValue);
+    }
+
+    public static Object sub(Object leftValue, Object rightValue){
         return getNumber(leftValue) - getNumber(rightValue);
     }
 
@@ -185,6 +195,10 @@ public class Operators {
         if(right  != null){
             rightValue = right.execute(context);
         }
+        return div(leftValue, rightValue);
+    }
+
+    public static Object div(Object leftValue, Object rightValue){
         return getNumber(leftValue)/getNumber(rightValue);
     }
 
@@ -197,6 +211,10 @@ public class Operators {
         if(right  != null){
             rightValue = right.execute(context);
         }
+        return mul(leftValue, rightValue);
+    }
+
+    public static Object mul(Object leftValue, Object rightValue){
         return getNumber(leftValue)*getNumber(rightValue);
     }
 
@@ -209,6 +227,10 @@ public class Operators {
         if(right  != null){
             rightValue = right.execute(context);
         }
+        return mod(leftValue, rightValue);
+    }
+
+    public static Object mod(Object leftValue, Object rightValue){
         return (getNumber(leftValue))%(getNumber(rightValue));
     }
 
@@ -272,6 +294,13 @@ public class Operators {
         if(right != null) {
             rightValue = right.execute(context);
         }
+        return isEquals(leftValue, rightValue);
+    }
+
+    /**
+     * isEquls operation on values
+     * */
+    public static boolean isEquals(Object leftValue, Object rightValue){
         if(leftValue == null){
             if(rightValue == null){
                 return  true;
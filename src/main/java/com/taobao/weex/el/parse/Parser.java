@@ -60,12 +60,12 @@ public class Parser {
 
 
     /**
-     * parse code to ast block.
+     * parse code to ast block, and compile it for execute, see CompiledToken
      * */
     public static  Token parse(String code){
         try{
             Parser parser = new Parser(code);
-            return parser.parse();
+            return CompiledToken.compile(parser.parse());
         }catch (Exception e){
             if(WXEnvironment.isApkDebugable()){
                 WXLogUtils.e("code " + code, e);
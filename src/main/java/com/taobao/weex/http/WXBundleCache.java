@@ -0,0 +1,401 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.http;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.taobao.weex.common.WXThread;
+import com.taobao.weex.utils.WXFileUtils;
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Disk cache of js bundles, keyed by the rewritten bundle url.
+ * <p>
+ * Every entry keeps the validators (ETag/Last-Modified) of the response and the md5 of the bundle,
+ * a bundle whose md5 does not match is dropped when read. The total size is capped, least recently
+ * used bundles are evicted first.
+ * <p>
+ * Set the cache with {@link com.taobao.weex.InitConfig.Builder#setBundleCache(WXBundleCache)},
+ * bundles requested by {@link com.taobao.weex.WXSDKInstance#renderByUrl} then go through
+ * {@link WXBundleCacheAdapter}.
+ */
+public class WXBundleCache {
+
+  private static final String TAG = "WXBundleCache";
+
+  public static final long DEFAULT_MAX_SIZE = 10 * 1024 * 1024;
+  private static final String DIRECTORY = "weex_bundle_cache";
+  private static final String DATA_SUFFIX = ".js";
+  private static final String META_SUFFIX = ".meta";
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private static final String META_URL = "url";
+  private static final String META_ETAG = "etag";
+  private static final String META_LAST_MODIFIED = "lastModified";
+  private static final String META_MD5 = "md5";
+  private static final String META_SIZE = "size";
+  private static final String META_NETWORK_TIME = "networkTime";
+
+  private final File mDirectory;
+  private final long mMaxSize;
+  /** access ordered, the eldest entry is evicted first **/
+  private final LinkedHashMap<String, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+  private long mSize;
+  private boolean mLoaded;
+  private volatile boolean mStaleWhileRevalidate;
+  private ExecutorService mExecutor;
+
+  public static class Entry {
+    private final String key;
+    private final String url;
+    private String etag;
+    private String lastModified;
+    private String md5;
+    private long size;
+    private long networkTime;
+
+    private Entry(String key, String url) {
+      this.key = key;
+      this.url = url;
+    }
+
+    public String getUrl() {
+      return url;
+    }
+
+    public String getETag() {
+      return etag;
+    }
+
+    public String getLastModified() {
+      return lastModified;
+    }
+
+    public long getSize() {
+      return size;
+    }
+
+    /**
+     * @return time used to download the bundle when it was stored, in ms
+     */
+    public long getNetworkTime() {
+      return networkTime;
+    }
+  }
+
+  public WXBundleCache(@NonNull File directory, long maxSize) {
+    mDirectory = directory;
+    mMaxSize = maxSize;
+  }
+
+  public static WXBundleCache create(@NonNull Context context) {
+    return new WXBundleCache(new File(context.getCacheDir(), DIRECTORY), DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * In stale-while-revalidate mode a cached bundle is rendered right away and refreshed in the
+   * background for the next render, otherwise it is revalidated before rendering.
+   */
+  public void setStaleWhileRevalidate(boolean staleWhileRevalidate) {
+    mStaleWhileRevalidate = staleWhileRevalidate;
+  }
+
+  public boolean isStaleWhileRevalidate() {
+    return mStaleWhileRevalidate;
+  }
+
+  public synchronized @Nullable Entry get(String url) {
+    if (TextUtils.isEmpty(url)) {
+      return null;
+    }
+    ensureLoaded();
+    return mEntries.get(WXFileUtils.md5(url));
+  }
+
+  /**
+   * Read the bundle of an entry, the entry is removed if the bundle is missing or corrupted.
+   */
+  public synchronized @Nullable byte[] read(@NonNull Entry entry) {
+    if (mEntries.get(entry.key) != entry) {
+      return null;
+    }
+    File file = new File(mDirectory, entry.key + DATA_SUFFIX);
+    byte[] data = null;
+    try {
+      data = readFile(file, entry.size);
+    } catch (IOException e) {
+      WXLogUtils.e(TAG, e);
+    }
+    if (data == null || !TextUtils.equals(entry.md5, WXFileUtils.md5(data))) {
+      WXLogUtils.w(TAG, "drop corrupted bundle " + entry.url);
+      removeEntry(entry);
+      return null;
+    }
+    new File(mDirectory, entry.key + META_SUFFIX).setLastModified(System.currentTimeMillis());
+    return data;
+  }
+
+  public synchronized boolean put(String url, @NonNull byte[] data, String etag, String lastModified, long networkTime) {
+    if (TextUtils.isEmpty(url) || data.length == 0 || data.length > mMaxSize) {
+      return false;
+    }
+    ensureLoaded();
+    if (!mDirectory.exists() && !mDirectory.mkdirs()) {
+      return false;
+    }
+    String key = WXFileUtils.md5(url);
+    Entry old = mEntries.get(key);
+    if (old != null) {
+      removeEntry(old);
+    }
+    Entry entry = new Entry(key, url);
+    entry.etag = etag;
+    entry.lastModified = lastModified;
+    entry.md5 = WXFileUtils.md5(data);
+    entry.size = data.length;
+    entry.networkTime = networkTime;
+
+    File temp = new File(mDirectory, key + TEMP_SUFFIX);
+    if (!writeFile(temp, data) || !temp.renameTo(new File(mDirectory, key + DATA_SUFFIX))) {
+      temp.delete();
+      return false;
+    }
+    if (!writeMeta(entry)) {
+      new File(mDirectory, key + DATA_SUFFIX).delete();
+      return false;
+    }
+    mEntries.put(key, entry);
+    mSize += entry.size;
+    trimToSize();
+    return true;
+  }
+
+  /**
+   * Refresh the validators of an entry after the server answered 304.
+   */
+  public synchronized void update(@NonNull Entry entry, String etag, String lastModified) {
+    if (mEntries.get(entry.key) != entry) {
+      return;
+    }
+    if (!TextUtils.isEmpty(etag)) {
+      entry.etag = etag;
+    }
+    if (!TextUtils.isEmpty(lastModified)) {
+      entry.lastModified = lastModified;
+    }
+    writeMeta(entry);
+  }
+
+  public synchronized void remove(String url) {
+    Entry entry = get(url);
+    if (entry != null) {
+      removeEntry(entry);
+    }
+  }
+
+  public synchronized void clear() {
+    ensureLoaded();
+    for (Entry entry : new ArrayList<>(mEntries.values())) {
+      removeEntry(entry);
+    }
+  }
+
+  public synchronized long size() {
+    ensureLoaded();
+    return mSize;
+  }
+
+  /**
+   * Run cache io off the caller thread, one task at a time.
+   */
+  void execute(Runnable task) {
+    synchronized (this) {
+      if (mExecutor == null) {
+        mExecutor = Executors.newSingleThreadExecutor();
+      }
+    }
+    mExecutor.execute(WXThread.secure(task));
+  }
+
+  private void trimToSize() {
+    Iterator<Entry> iterator = mEntries.values().iterator();
+    while (mSize > mMaxSize && iterator.hasNext()) {
+      Entry eldest = iterator.next();
+      iterator.remove();
+      mSize -= eldest.size;
+      deleteFiles(eldest.key);
+    }
+  }
+
+  private void removeEntry(Entry entry) {
+    if (mEntries.remove(entry.key) != null) {
+      mSize -= entry.size;
+    }
+    deleteFiles(entry.key);
+  }
+
+  private void deleteFiles(String key) {
+    new File(mDirectory, key + DATA_SUFFIX).delete();
+    new File(mDirectory, key + META_SUFFIX).delete();
+  }
+
+  /**
+   * Rebuild the index from the meta files, ordered by their last access.
+   */
+  private void ensureLoaded() {
+    if (mLoaded) {
+      return;
+    }
+    mLoaded = true;
+    File[] files = mDirectory.listFiles();
+    if (files == null) {
+      return;
+    }
+    List<File> metas = new ArrayList<>();
+    for (File file : files) {
+      String name = file.getName();
+      if (name.endsWith(META_SUFFIX)) {
+        metas.add(file);
+      } else if (name.endsWith(TEMP_SUFFIX)) {
+        file.delete();
+      }
+    }
+    Collections.sort(metas, new Comparator<File>() {
+      @Override
+      public int compare(File lhs, File rhs) {
+        long l = lhs.lastModified();
+        long r = rhs.lastModified();
+        return l < r ? -1 : (l == r ? 0 : 1);
+      }
+    });
+    for (File meta : metas) {
+      String name = meta.getName();
+      String key = name.substring(0, name.length() - META_SUFFIX.length());
+      Entry entry = readMeta(key, meta);
+      if (entry == null || new File(mDirectory, key + DATA_SUFFIX).length() != entry.size) {
+        deleteFiles(key);
+        continue;
+      }
+      mEntries.put(key, entry);
+      mSize += entry.size;
+    }
+    for (File file : files) {
+      String name = file.getName();
+      if (name.endsWith(DATA_SUFFIX)
+          && !mEntries.containsKey(name.substring(0, name.length() - DATA_SUFFIX.length()))) {
+        file.delete();
+      }
+    }
+    trimToSize();
+  }
+
+  private @Nullable Entry readMeta(String key, File meta) {
+    try {
+      byte[] data = readFile(meta, meta.length());
+      JSONObject object = JSON.parseObject(new String(data, "UTF-8"));
+      Entry entry = new Entry(key, object.getString(META_URL));
+      entry.etag = object.getString(META_ETAG);
+      entry.lastModified = object.getString(META_LAST_MODIFIED);
+      entry.md5 = object.getString(META_MD5);
+      entry.size = object.getLongValue(META_SIZE);
+      entry.networkTime = object.getLongValue(META_NETWORK_TIME);
+      return entry;
+    } catch (Exception e) {
+      WXLogUtils.e(TAG, e);
+      return null;
+    }
+  }
+
+  private boolean writeMeta(Entry entry) {
+    Map<String, Object> object = new LinkedHashMap<>();
+    object.put(META_URL, entry.url);
+    object.put(META_ETAG, entry.etag);
+    object.put(META_LAST_MODIFIED, entry.lastModified);
+    object.put(META_MD5, entry.md5);
+    object.put(META_SIZE, entry.size);
+    object.put(META_NETWORK_TIME, entry.networkTime);
+    try {
+      return writeFile(new File(mDirectory, entry.key + META_SUFFIX), JSON.toJSONString(object).getBytes("UTF-8"));
+    } catch (IOException e) {
+      WXLogUtils.e(TAG, e);
+      return false;
+    }
+  }
+
+  private static byte[] readFile(File file, long size) throws IOException {
+    if (file.length() != size || size > Integer.MAX_VALUE) {
+      return null;
+    }
+    byte[] data = new byte[(int) size];
+    FileInputStream in = new FileInputStream(file);
+    try {
+      int offset = 0;
+      while (offset < data.length) {
+        int read = in.read(data, offset, data.length - offset);
+        if (read == -1) {
+          return null;
+        }
+        offset += read;
+      }
+      return data;
+    } finally {
+      in.close();
+    }
+  }
+
+  private static boolean writeFile(File file, byte[] data) {
+    FileOutputStream out = null;
+    try {
+      out = new FileOutputStream(file);
+      out.write(data);
+      out.getFD().sync();
+      return true;
+    } catch (IOException e) {
+      WXLogUtils.e(TAG, e);
+      return false;
+    } finally {
+      if (out != null) {
+        try {
+          out.close();
+        } catch (IOException e) {
+          WXLogUtils.e(TAG, e);
+        }
+      }
+    }
+  }
+}
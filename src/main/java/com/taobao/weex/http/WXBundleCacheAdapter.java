@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.http;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+import com.taobao.weex.adapter.IWXHttpAdapter;
+import com.taobao.weex.common.WXRequest;
+import com.taobao.weex.common.WXResponse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Http adapter for bundle requests, serves bundles from a {@link WXBundleCache} and sends
+ * conditional requests through the real adapter.
+ * <p>
+ * The cache state and the network time saved are put into {@link WXResponse#extendParams}
+ * with {@link #KEY_CACHE_STATE} and {@link #KEY_SAVED_TIME}.
+ */
+public class WXBundleCacheAdapter implements IWXHttpAdapter {
+
+  public static final String KEY_CACHE_STATE = "bundleCacheState";
+  public static final String KEY_SAVED_TIME = "bundleCacheSavedTime";
+
+  /** downloaded from network **/
+  public static final String STATE_MISS = "miss";
+  /** server answered 304, rendered from cache **/
+  public static final String STATE_REVALIDATED = "revalidated";
+  /** rendered from cache, revalidated in background **/
+  public static final String STATE_STALE = "stale";
+
+  private static final String REQUEST_TYPE_CACHE = "cache";
+
+  private final IWXHttpAdapter mDelegate;
+  private final WXBundleCache mCache;
+
+  public WXBundleCacheAdapter(@NonNull IWXHttpAdapter delegate, @NonNull WXBundleCache cache) {
+    mDelegate = delegate;
+    mCache = cache;
+  }
+
+  @Override
+  public void sendRequest(final WXRequest request, final OnHttpListener listener) {
+    if (request == null || TextUtils.isEmpty(request.url)
+        || (request.method != null && !"GET".equalsIgnoreCase(request.method))) {
+      mDelegate.sendRequest(request, listener);
+      return;
+    }
+    mCache.execute(new Runnable() {
+      @Override
+      public void run() {
+        load(request, listener);
+      }
+    });
+  }
+
+  private void load(WXRequest request, OnHttpListener listener) {
+    long start = System.currentTimeMillis();
+    WXBundleCache.Entry entry = mCache.get(request.url);
+    byte[] cached = entry == null ? null : mCache.read(entry);
+    if (cached == null) {
+      mDelegate.sendRequest(request, new CacheListener(listener, request.url, null, null, start));
+      return;
+    }
+
+    if (request.paramMap == null) {
+      request.paramMap = new HashMap<>();
+    }
+    if (!TextUtils.isEmpty(entry.getETag())) {
+      request.paramMap.put("If-None-Match", entry.getETag());
+    }
+    if (!TextUtils.isEmpty(entry.getLastModified())) {
+      request.paramMap.put("If-Modified-Since", entry.getLastModified());
+    }
+
+    if (mCache.isStaleWhileRevalidate()) {
+      WXResponse response = new WXResponse();
+      response.statusCode = "200";
+      response.originalData = cached;
+      response.extendParams = new HashMap<>();
+      response.extendParams.put("requestType", REQUEST_TYPE_CACHE);
+      putCacheState(response, STATE_STALE, entry.getNetworkTime());
+      if (listener != null) {
+        listener.onHttpStart();
+        listener.onHttpFinish(response);
+      }
+      mDelegate.sendRequest(request, new CacheListener(null, request.url, entry, null, start));
+    } else {
+      mDelegate.sendRequest(request, new CacheListener(listener, request.url, entry, cached, start));
+    }
+  }
+
+  private static void putCacheState(WXResponse response, String state, long savedTime) {
+    if (response.extendParams == null) {
+      response.extendParams = new HashMap<>();
+    }
+    response.extendParams.put(KEY_CACHE_STATE, state);
+    response.extendParams.put(KEY_SAVED_TIME, Math.max(0, savedTime));
+  }
+
+  private static @Nullable String getHeader(Map<String, List<String>> headers, String name) {
+    if (headers == null) {
+      return null;
+    }
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey()) && header.getValue() != null && !header.getValue().isEmpty()) {
+        return header.getValue().get(0);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Stores downloaded bundles and answers 304 with the cached bundle.
+   */
+  private class CacheListener implements OnHttpListener {
+
+    private final OnHttpListener mListener;
+    private final String mUrl;
+    private final WXBundleCache.Entry mEntry;
+    private final byte[] mCached;
+    private final long mStart;
+    private Map<String, List<String>> mHeaders;
+
+    CacheListener(@Nullable OnHttpListener listener, String url, @Nullable WXBundleCache.Entry entry,
+                  @Nullable byte[] cached, long start) {
+      mListener = listener;
+      mUrl = url;
+      mEntry = entry;
+      mCached = cached;
+      mStart = start;
+    }
+
+    @Override
+    public void onHttpStart() {
+      if (mListener != null) {
+        mListener.onHttpStart();
+      }
+    }
+
+    @Override
+    public void onHeadersReceived(int statusCode, Map<String, List<String>> headers) {
+      mHeaders = headers;
+      if (mListener != null) {
+        mListener.onHeadersReceived(statusCode, headers);
+      }
+    }
+
+    @Override
+    public void onHttpUploadProgress(int uploadProgress) {
+      if (mListener != null) {
+        mListener.onHttpUploadProgress(uploadProgress);
+      }
+    }
+
+    @Override
+    public void onHttpResponseProgress(int loadedLength) {
+      if (mListener != null) {
+        mListener.onHttpResponseProgress(loadedLength);
+      }
+    }
+
+    @Override
+    public void onHttpFinish(WXResponse response) {
+      if (response != null) {
+        long networkTime = System.currentTimeMillis() - mStart;
+        String etag = getHeader(mHeaders, "ETag");
+        String lastModified = getHeader(mHeaders, "Last-Modified");
+        if ("304".equals(response.statusCode) && mEntry != null) {
+          mCache.update(mEntry, etag, lastModified);
+          if (mCached != null) {
+            response.statusCode = "200";
+            response.originalData = mCached;
+            putCacheState(response, STATE_REVALIDATED, mEntry.getNetworkTime() - networkTime);
+          }
+        } else if ("200".equals(response.statusCode) && response.originalData != null
+            && response.originalData.length > 0) {
+          String cacheControl = getHeader(mHeaders, "Cache-Control");
+          if (cacheControl == null || !cacheControl.contains("no-store")) {
+            mCache.put(mUrl, response.originalData, etag, lastModified, networkTime);
+          }
+          putCacheState(response, STATE_MISS, 0);
+        }
+      }
+      if (mListener != null) {
+        mListener.onHttpFinish(response);
+      }
+    }
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui;
+
+/**
+ * Render task that may be executed across several frames, see {@link WXRenderScheduler}.
+ */
+public interface IWXIncrementalRenderTask extends IWXRenderTask {
+
+  /**
+   * Execute until the task is finished or {@link System#nanoTime()} passes the deadline,
+   * the task is continued in the next frame if it is not finished.
+   * @param deadlineNanos deadline of the current frame slice
+   * @return true if the task is finished
+   */
+  boolean execute(long deadlineNanos);
+}
@@ -54,6 +54,7 @@ public class SimpleComponentHolder implements IFComponentHolder{
   static class ClazzComponentCreator implements ComponentCreator{
 
     private Constructor<? extends WXComponent> mConstructor;
+    private int mParameterCount;
     private final Class<? extends WXComponent> mCompClz;
 
     ClazzComponentCreator(Class<? extends WXComponent> c){
@@ -79,6 +80,7 @@ public class SimpleComponentHolder implements IFComponentHolder{
           }
         }
       }
+      mParameterCount = constructor.getParameterTypes().length;
       mConstructor = constructor;
     }
 
@@ -87,12 +89,11 @@ public class SimpleComponentHolder implements IFComponentHolder{
       if(mConstructor == null){
         loadConstructor();
       }
-      int parameters = mConstructor.getParameterTypes().length;
       WXComponent component;
 
-      if(parameters == 3){
+      if(mParameterCount == 3){
         component =  mConstructor.newInstance(instance,node,parent);
-      }else if(parameters == 4){
+      }else if(mParameterCount == 4){
         component =  mConstructor.newInstance(instance,node,parent,false);
       }else{
         //compatible deprecated constructor
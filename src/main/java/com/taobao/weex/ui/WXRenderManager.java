@@ -27,7 +27,7 @@ import com.taobao.weex.common.WXRuntimeException;
 import com.taobao.weex.common.WXThread;
 import com.taobao.weex.dom.RenderAction;
 import com.taobao.weex.dom.RenderActionContext;
-import com.taobao.weex.dom.WXDomObject;
+import com.taobao.weex.dom.ImmutableDomObject;
 import com.taobao.weex.dom.action.AbstractAddElementAction;
 import com.taobao.weex.dom.action.TraceableAction;
 import com.taobao.weex.tracing.Stopwatch;
@@ -48,10 +48,12 @@ public class WXRenderManager {
 
   private ConcurrentHashMap<String, RenderActionContextImpl> mRegistries;
   private WXRenderHandler mWXRenderHandler;
+  private WXRenderScheduler mScheduler;
 
   public WXRenderManager() {
     mRegistries = new ConcurrentHashMap<>();
     mWXRenderHandler = new WXRenderHandler();
+    mScheduler = new WXRenderScheduler(this, mWXRenderHandler);
   }
 
   public RenderActionContext getRenderContext(String instanceId) {
@@ -78,6 +80,24 @@ public class WXRenderManager {
     mWXRenderHandler.postDelayed(WXThread.secure(runnable), delayMillis);
   }
 
+  /**
+   * Run the runnable on UI thread after render tasks of the instance queued before it. Posting to
+   * the handler directly would overtake tasks carried to later frames by {@link WXRenderScheduler}.
+   */
+  public void postOnUiThread(String instanceId, final Runnable runnable) {
+    if (instanceId == null || getRenderContext(instanceId) == null) {
+      //no render task can be pending
+      postOnUiThread(runnable, 0);
+      return;
+    }
+    mScheduler.post(instanceId, new IWXRenderTask() {
+      @Override
+      public void execute() {
+        runnable.run();
+      }
+    });
+  }
+
   /**
    * Remove renderStatement, can only be invoked in UI thread.
    * @param instanceId {@link WXSDKInstance#mInstanceId}
@@ -87,33 +107,31 @@ public class WXRenderManager {
       throw new WXRuntimeException("[WXRenderManager] removeRenderStatement can only be called in main thread");
     }
     RenderActionContextImpl statement = mRegistries.remove(instanceId);
+    mScheduler.removeInstance(instanceId);
     if (statement != null) {
       statement.destroy();
     }
   }
 
-  //TODO Use runnable temporarily
+  /**
+   * Run the task on UI thread, tasks of an instance are executed in order, see {@link WXRenderScheduler}.
+   */
   public void runOnThread(final String instanceId, final IWXRenderTask task) {
-    mWXRenderHandler.post(WXThread.secure(new Runnable() {
+    mScheduler.post(instanceId, task);
+  }
 
-      @Override
-      public void run() {
-        if (mRegistries.get(instanceId) == null) {
-          return;
-        }
-        task.execute();
-      }
-    }));
+  /**
+   * Run a batch of tasks on UI thread with one post.
+   */
+  public void runOnThread(final String instanceId, final List<? extends IWXRenderTask> tasks) {
+    mScheduler.postAll(instanceId, tasks);
   }
 
   public void runOnThread(final String instanceId, final RenderAction action) {
     final long start = SystemClock.uptimeMillis();
-    mWXRenderHandler.post(WXThread.secure(new Runnable() {
+    mScheduler.post(instanceId, new IWXRenderTask() {
       @Override
-      public void run() {
-        if (mRegistries.get(instanceId) == null) {
-          return;
-        }
+      public void execute() {
         if (WXTracing.isAvailable() && action instanceof TraceableAction) {
           ((TraceableAction) action).mUIQueueTime = SystemClock.uptimeMillis() - start;
         }
@@ -135,14 +153,14 @@ public class WXRenderManager {
           }
         }
       }
-    }));
+    });
   }
 
   public void registerInstance(WXSDKInstance instance) {
     mRegistries.put(instance.getInstanceId(), new RenderActionContextImpl(instance));
   }
 
-  public void setLayout(String instanceId, String ref, WXDomObject domObject) {
+  public void setLayout(String instanceId, String ref, ImmutableDomObject domObject) {
     RenderActionContextImpl statement = mRegistries.get(instanceId);
     if (statement == null) {
       return;
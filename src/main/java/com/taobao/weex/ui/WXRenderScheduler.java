@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.view.Choreographer;
+import android.view.View;
+
+import com.taobao.weex.WXEnvironment;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executes render tasks on the UI thread in frame slices.
+ * <p>
+ * Tasks are queued per instance and executed in order. A batch of tasks costs one post, and one
+ * drain runs for at most {@link #SLICE_BUDGET_MS}; the rest is carried to the next frame with a
+ * {@link Choreographer} frame callback, so a large createBody or list append does not block
+ * several frames in a row. Instances whose view is shown are drained first.
+ * <p>
+ * Frames over budget and queue depth are recorded in {@link com.taobao.weex.common.WXPerformance}.
+ */
+class WXRenderScheduler {
+
+  private static final String TAG = "WXRenderScheduler";
+
+  static final long SLICE_BUDGET_MS = 8;
+  static final long FRAME_BUDGET_MS = 16;
+  private static final long NANOS_PER_MS = 1000000;
+  /**
+   * Frame callbacks stop while the window is hidden, drain anyway after this delay
+   */
+  private static final long FALLBACK_DELAY_MS = 100;
+
+  private final WXRenderManager mRenderManager;
+  private final Handler mHandler;
+  private final Object mLock = new Object();
+  private final LinkedHashMap<String, ArrayDeque<IWXRenderTask>> mQueues = new LinkedHashMap<>();
+  /** guarded by mLock, true while a drain is posted or running **/
+  private boolean mScheduled;
+  private final FrameDriver mFrameDriver;
+
+  private final Runnable mDrainRunnable = new Runnable() {
+    @Override
+    public void run() {
+      drain();
+    }
+  };
+
+  WXRenderScheduler(WXRenderManager renderManager, Handler handler) {
+    mRenderManager = renderManager;
+    mHandler = handler;
+    mFrameDriver = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN ? new FrameDriver() : null;
+  }
+
+  void post(String instanceId, IWXRenderTask task) {
+    postAll(instanceId, Collections.singletonList(task));
+  }
+
+  void postAll(String instanceId, List<? extends IWXRenderTask> tasks) {
+    if (instanceId == null || tasks.isEmpty()) {
+      return;
+    }
+    int depth;
+    boolean schedule;
+    synchronized (mLock) {
+      ArrayDeque<IWXRenderTask> queue = mQueues.get(instanceId);
+      if (queue == null) {
+        queue = new ArrayDeque<>();
+        mQueues.put(instanceId, queue);
+      }
+      queue.addAll(tasks);
+      depth = queue.size();
+      schedule = !mScheduled;
+      mScheduled = true;
+    }
+    WXSDKInstance instance = mRenderManager.getWXSDKInstance(instanceId);
+    if (instance != null) {
+      instance.renderQueueDepth(depth);
+    }
+    if (schedule) {
+      mHandler.post(mDrainRunnable);
+    }
+  }
+
+  void removeInstance(String instanceId) {
+    synchronized (mLock) {
+      mQueues.remove(instanceId);
+    }
+  }
+
+  private void drain() {
+    mHandler.removeCallbacks(mDrainRunnable);
+    if (mFrameDriver != null) {
+      mFrameDriver.cancel();
+    }
+    long start = System.nanoTime();
+    long deadline = start + SLICE_BUDGET_MS * NANOS_PER_MS;
+    List<String> executed = new ArrayList<>(1);
+    boolean exhausted = false;
+    try {
+      while (true) {
+        String instanceId;
+        IWXRenderTask task;
+        synchronized (mLock) {
+          instanceId = nextInstance();
+          if (instanceId == null) {
+            mScheduled = false;
+            exhausted = true;
+            break;
+          }
+          task = mQueues.get(instanceId).peek();
+        }
+        if (!executed.contains(instanceId)) {
+          executed.add(instanceId);
+        }
+        boolean finished = true;
+        try {
+          finished = execute(task, deadline);
+        } finally {
+          if (finished) {
+            synchronized (mLock) {
+              ArrayDeque<IWXRenderTask> queue = mQueues.get(instanceId);
+              if (queue != null && queue.peek() == task) {
+                queue.poll();
+              }
+            }
+          }
+        }
+        if (System.nanoTime() >= deadline) {
+          break;
+        }
+      }
+    } finally {
+      if ((System.nanoTime() - start) > FRAME_BUDGET_MS * NANOS_PER_MS) {
+        for (String instanceId : executed) {
+          WXSDKInstance instance = mRenderManager.getWXSDKInstance(instanceId);
+          if (instance != null) {
+            instance.renderFrameOverBudget();
+          }
+        }
+      }
+      if (!exhausted) {
+        scheduleNextFrame();
+      }
+    }
+  }
+
+  private boolean execute(IWXRenderTask task, long deadline) {
+    try {
+      if (task instanceof IWXIncrementalRenderTask) {
+        return ((IWXIncrementalRenderTask) task).execute(deadline);
+      }
+      task.execute();
+    } catch (Throwable e) {
+      //same as WXThread.secure, the task is dropped
+      if (WXEnvironment.isApkDebugable()) {
+        WXLogUtils.e(TAG, "render task throw exception:" + e.getMessage());
+        throw e;
+      }
+      WXLogUtils.w(TAG, e);
+    }
+    return true;
+  }
+
+  /**
+   * Pick the instance to run next, instances that are shown first.
+   * Queues of destroyed instances are dropped.
+   */
+  private String nextInstance() {
+    String first = null;
+    Iterator<Map.Entry<String, ArrayDeque<IWXRenderTask>>> iterator = mQueues.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, ArrayDeque<IWXRenderTask>> entry = iterator.next();
+      if (entry.getValue().isEmpty() || mRenderManager.getRenderContext(entry.getKey()) == null) {
+        iterator.remove();
+        continue;
+      }
+      WXSDKInstance instance = mRenderManager.getWXSDKInstance(entry.getKey());
+      View view = instance == null ? null : instance.getContainerView();
+      if (view != null && view.isShown()) {
+        return entry.getKey();
+      }
+      if (first == null) {
+        first = entry.getKey();
+      }
+    }
+    return first;
+  }
+
+  private void scheduleNextFrame() {
+    if (mFrameDriver != null) {
+      mFrameDriver.post();
+      mHandler.postDelayed(mDrainRunnable, FALLBACK_DELAY_MS);
+    } else {
+      mHandler.postDelayed(mDrainRunnable, FRAME_BUDGET_MS);
+    }
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private class FrameDriver implements Choreographer.FrameCallback {
+
+    private Choreographer mChoreographer;
+
+    /**
+     * Called on UI thread only, Choreographer is bound to the looper of the calling thread
+     */
+    void post() {
+      if (mChoreographer == null) {
+        mChoreographer = Choreographer.getInstance();
+      }
+      mChoreographer.removeFrameCallback(this);
+      mChoreographer.postFrameCallback(this);
+    }
+
+    void cancel() {
+      if (mChoreographer != null) {
+        mChoreographer.removeFrameCallback(this);
+      }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      drain();
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Interval index of appear/disappear watched components along the scroll axis.
+ * each helper has an interval [start, end), it's visible when the interval overlaps the viewport.
+ * when viewport moved, only helpers whose interval crossed the viewport edge are collected,
+ * so checking appearance is O(log n + changes) instead of checking all helpers on every scroll.
+ * intervals may be content offset in pixel (scroller) or cell position (list).
+ * not thread safe, used on main thread.
+ */
+public class AppearanceIndex {
+
+  private static final Comparator<Entry> START_COMPARATOR = new Comparator<Entry>() {
+    @Override
+    public int compare(Entry o1, Entry o2) {
+      return o1.start < o2.start ? -1 : (o1.start == o2.start ? 0 : 1);
+    }
+  };
+
+  private static final Comparator<Entry> END_COMPARATOR = new Comparator<Entry>() {
+    @Override
+    public int compare(Entry o1, Entry o2) {
+      return o1.end < o2.end ? -1 : (o1.end == o2.end ? 0 : 1);
+    }
+  };
+
+  private List<Entry> mEntries = new ArrayList<>();
+  private Entry[] mByStart;
+  private Entry[] mByEnd;
+  private boolean mSorted;
+  private int mStamp;
+
+  private int mViewStart;
+  private int mViewEnd;
+
+  public void clear() {
+    mEntries.clear();
+    mByStart = null;
+    mByEnd = null;
+    mSorted = false;
+  }
+
+  public int size() {
+    return mEntries.size();
+  }
+
+  public void put(AppearanceHelper helper, int start, int end) {
+    mEntries.add(new Entry(helper, start, end));
+    mSorted = false;
+  }
+
+  /**
+   * set viewport without collect changes, call this after all helpers are checked.
+   * */
+  public void setViewport(int viewStart, int viewEnd) {
+    mViewStart = viewStart;
+    mViewEnd = viewEnd;
+  }
+
+  /**
+   * collect helpers may change appear status when viewport moved from last viewport to [viewStart, viewEnd),
+   * and then set it as current viewport.
+   * @param edge helpers start in [start, start + edge) or [end - edge, end) of old and new viewport
+   *             are also collected, it's used when interval is cell position,
+   *             views in cells on the edge may appear or disappear when cell stay in the viewport.
+   * */
+  public void collectChanged(int viewStart, int viewEnd, int edge, List<AppearanceHelper> out) {
+    sort();
+    int stamp = ++mStamp;
+    //start < viewEnd changed
+    collectStartIn(Math.min(mViewEnd, viewEnd), Math.max(mViewEnd, viewEnd), stamp, out);
+    //end > viewStart changed
+    collectEndIn(Math.min(mViewStart, viewStart), Math.max(mViewStart, viewStart), stamp, out);
+    if (edge > 0) {
+      collectStartIn(mViewStart, Math.min(mViewStart + edge, mViewEnd), stamp, out);
+      collectStartIn(Math.max(mViewEnd - edge, mViewStart), mViewEnd, stamp, out);
+      collectStartIn(viewStart, Math.min(viewStart + edge, viewEnd), stamp, out);
+      collectStartIn(Math.max(viewEnd - edge, viewStart), viewEnd, stamp, out);
+    }
+    setViewport(viewStart, viewEnd);
+  }
+
+  /**
+   * entries which from <= start < to
+   * */
+  private void collectStartIn(int from, int to, int stamp, List<AppearanceHelper> out) {
+    if (from >= to) {
+      return;
+    }
+    for (int i = lowerBound(mByStart, from, true); i < mByStart.length && mByStart[i].start < to; i++) {
+      collect(mByStart[i], stamp, out);
+    }
+  }
+
+  /**
+   * entries which from < end <= to
+   * */
+  private void collectEndIn(int from, int to, int stamp, List<AppearanceHelper> out) {
+    if (from >= to) {
+      return;
+    }
+    for (int i = lowerBound(mByEnd, from + 1, false); i < mByEnd.length && mByEnd[i].end <= to; i++) {
+      collect(mByEnd[i], stamp, out);
+    }
+  }
+
+  private static void collect(Entry entry, int stamp, List<AppearanceHelper> out) {
+    if (entry.stamp != stamp) {
+      entry.stamp = stamp;
+      out.add(entry.helper);
+    }
+  }
+
+  /**
+   * first index of entry which start(or end) >= value
+   * */
+  private static int lowerBound(Entry[] entries, int value, boolean byStart) {
+    int low = 0;
+    int high = entries.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      int key = byStart ? entries[mid].start : entries[mid].end;
+      if (key < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private void sort() {
+    if (mSorted) {
+      return;
+    }
+    mByStart = mEntries.toArray(new Entry[mEntries.size()]);
+    mByEnd = mByStart.clone();
+    Arrays.sort(mByStart, START_COMPARATOR);
+    Arrays.sort(mByEnd, END_COMPARATOR);
+    mSorted = true;
+  }
+
+  private static class Entry {
+    final AppearanceHelper helper;
+    final int start;
+    final int end;
+    int stamp;
+
+    Entry(AppearanceHelper helper, int start, int end) {
+      this.helper = helper;
+      this.start = start;
+      this.end = end;
+    }
+  }
+}
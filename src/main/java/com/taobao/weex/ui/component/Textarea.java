@@ -25,13 +25,25 @@ import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.common.Constants;
 import com.taobao.weex.dom.TextAreaEditTextDomObject;
 import com.taobao.weex.dom.WXDomObject;
+import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.ui.view.WXEditText;
 import com.taobao.weex.utils.WXUtils;
 
+import java.lang.reflect.InvocationTargetException;
+
 /**
  * Created by sospartan on 7/11/16.
  */
 public class Textarea extends AbstractEditComponent {
+
+  public static class Creator implements ComponentCreator {
+
+    public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+        throws IllegalAccessException, InvocationTargetException, InstantiationException {
+      return new Textarea(instance, node, parent, false);
+    }
+  }
+
   public Textarea(WXSDKInstance instance, WXDomObject dom, WXVContainer parent, boolean isLazy) {
     super(instance, dom, parent, isLazy);
   }
@@ -24,13 +24,24 @@ import com.taobao.weex.common.Constants;
 import com.taobao.weex.dom.ImmutableDomObject;
 import com.taobao.weex.dom.WXAttr;
 import com.taobao.weex.dom.WXDomObject;
+import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.ui.view.WXFrameLayout;
 import com.taobao.weex.utils.ATagUtil;
 import com.taobao.weex.utils.WXLogUtils;
 
+import java.lang.reflect.InvocationTargetException;
+
 @Component(lazyload = false)
 public class WXA extends WXDiv {
 
+  public static class Creator implements ComponentCreator {
+
+    public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+        throws IllegalAccessException, InvocationTargetException, InstantiationException {
+      return new WXA(instance, node, parent);
+    }
+  }
+
   @Deprecated
   public WXA(WXSDKInstance instance, WXDomObject dom, WXVContainer parent, String instanceId, boolean isLazy) {
     this(instance, dom, parent);
@@ -68,6 +68,7 @@ import com.taobao.weex.common.Constants;
 import com.taobao.weex.common.IWXObject;
 import com.taobao.weex.common.WXRuntimeException;
 import com.taobao.weex.dom.ImmutableDomObject;
+import com.taobao.weex.dom.LayoutSnapshot;
 import com.taobao.weex.dom.RichTextDomObject;
 import com.taobao.weex.dom.WXDomHandler;
 import com.taobao.weex.dom.WXDomObject;
@@ -89,6 +90,7 @@ import com.taobao.weex.ui.flat.FlatGUIContext;
 import com.taobao.weex.ui.flat.WidgetContainer;
 import com.taobao.weex.ui.flat.widget.AndroidViewWidget;
 import com.taobao.weex.ui.flat.widget.Widget;
+import com.taobao.weex.ui.view.WXViewPool;
 import com.taobao.weex.ui.view.border.BorderDrawable;
 import com.taobao.weex.ui.view.gesture.WXGesture;
 import com.taobao.weex.ui.view.gesture.WXGestureObservable;
@@ -145,6 +147,10 @@ public abstract class  WXComponent<T extends View> implements IWXObject, IWXActi
   private int mPreRealLeft = 0;
   private int mPreRealTop = 0;
   private int mStickyOffset = 0;
+  /**
+   * this component or one of its descendants is watched for appearance by a scroller above it
+   */
+  private boolean mAppearancePath;
   protected WXGesture mGesture;
   private IFComponentHolder mHolder;
   private boolean isUsing = false;
@@ -511,6 +517,16 @@ public abstract class  WXComponent<T extends View> implements IWXObject, IWXActi
       return;
     }
 
+    if (domObject instanceof LayoutSnapshot) {
+      //only layout changed, keep the copy of this component and update its layout
+      ImmutableDomObject current = mDomObj;
+      if (!(current instanceof WXDomObject)) {
+        return;
+      }
+      ((LayoutSnapshot) domObject).copyLayoutTo((WXDomObject) current);
+      domObject = current;
+    }
+
     boolean nullParent = mParent == null;//parent is nullable
     mDomObj = domObject;
 
@@ -538,6 +554,12 @@ public abstract class  WXComponent<T extends View> implements IWXObject, IWXActi
 
     mAbsoluteY = (int) (nullParent?0:mParent.getAbsoluteY() + mDomObj.getLayoutY());
     mAbsoluteX = (int) (nullParent?0:mParent.getAbsoluteX() + mDomObj.getLayoutX());
+    if (!nullParent) {
+      mParent.onChildLayoutChanged(this);
+      if (mAppearancePath) {
+        dirtyParentAppearanceIndex();
+      }
+    }
 
     //calculate first screen time
     if (!mInstance.mEnd &&!(mHost instanceof ViewGroup) && mAbsoluteY+realHeight > mInstance.getWeexHeight()+1) {
@@ -1206,6 +1228,22 @@ public abstract class  WXComponent<T extends View> implements IWXObject, IWXActi
     return mParent;
   }
 
+  /**
+   * mark this component on the path from a watched component to its scroller,
+   * layout changes of it then dirty the appearance index of the scrollers above.
+   */
+  void setAppearancePath() {
+    mAppearancePath = true;
+  }
+
+  private void dirtyParentAppearanceIndex() {
+    for (WXVContainer parent = mParent; parent != null; parent = parent.getParent()) {
+      if (parent instanceof WXScroller) {
+        ((WXScroller) parent).markAppearanceIndexDirty();
+      }
+    }
+  }
+
   public String getRef() {
     if (mDomObj == null) {
       return null;
@@ -1269,6 +1307,21 @@ public abstract class  WXComponent<T extends View> implements IWXObject, IWXActi
     return null;
   }
 
+  /**
+   * Take a host view created ahead of time by {@link WXViewPool}, for {@link #initComponentHostView(Context)}.
+   * @param type type of the pool, see {@link WXViewPool#poolType(String)}
+   * @return null if the pool has no view of type, the component should create one then.
+   */
+  protected @Nullable View obtainPooledView(@NonNull Context context, String type) {
+    WXViewPool pool = getInstance().getViewPool();
+    if (pool == null || pool.getContext() != context) {
+      return null;
+    }
+    View view = pool.obtain(type);
+    getInstance().viewPoolObtained(view != null, view == null ? 0 : pool.getAverageCreateNanos(type));
+    return view;
+  }
+
   /**
    * Called after host view init. <br>
    * Any overriding methods should invoke this method at the right time, to ensure the cached animation can be triggered correctly.
@@ -1685,6 +1738,10 @@ public abstract class  WXComponent<T extends View> implements IWXObject, IWXActi
 
     mDomObj = ImmutableDomObject.DESTROYED;
     mIsDestroyed = true;
+    WXViewPool pool = getInstance().getViewPool();
+    if (pool != null) {
+      pool.release(mHost);
+    }
   }
 
   public boolean isDestoryed() {
@@ -26,36 +26,80 @@ import com.taobao.weex.common.WXRuntimeException;
 import com.taobao.weex.dom.WXDomObject;
 import com.taobao.weex.ui.IFComponentHolder;
 import com.taobao.weex.ui.WXComponentRegistry;
+import com.taobao.weex.ui.view.WXViewPool;
 import com.taobao.weex.utils.WXLogUtils;
 
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Component factory
  */
 public class WXComponentFactory {
-  private static Map<String,Set<String>> sComponentTypes=new HashMap<>();
+  private static final int MAX_BUNDLE_COUNT = 32;
+
+  /**
+   * number of components of each type, by instance id
+   */
+  private static Map<String,Map<String,Integer>> sComponentTypes=new ConcurrentHashMap<>();
+
+  /**
+   * component counts of the last destroyed instance of a bundle url, used to warm up {@link WXViewPool}
+   */
+  private static final Map<String,Map<String,Integer>> sBundleComponentTypes =
+      new LinkedHashMap<String,Map<String,Integer>>(MAX_BUNDLE_COUNT, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String,Map<String,Integer>> eldest) {
+          return size() > MAX_BUNDLE_COUNT;
+        }
+      };
+
   public static Set<String> getComponentTypesByInstanceId(String instanceId){
-    return sComponentTypes.get(instanceId);
+    Map<String,Integer> counts = sComponentTypes.get(instanceId);
+    return counts == null ? null : counts.keySet();
   }
+
+  public static Map<String,Integer> getComponentCountsByBundleUrl(String bundleUrl){
+    if (TextUtils.isEmpty(bundleUrl)) {
+      return null;
+    }
+    synchronized (sBundleComponentTypes) {
+      return sBundleComponentTypes.get(bundleUrl);
+    }
+  }
+
   public static void removeComponentTypesByInstanceId(String instanceId){
     sComponentTypes.remove(instanceId);
   }
 
+  /**
+   * Remove the component counts of instance, and keep them for the next render of bundleUrl.
+   */
+  public static void removeComponentTypesByInstanceId(String instanceId, String bundleUrl){
+    Map<String,Integer> counts = sComponentTypes.remove(instanceId);
+    if (counts != null && !TextUtils.isEmpty(bundleUrl)) {
+      synchronized (sBundleComponentTypes) {
+        sBundleComponentTypes.put(bundleUrl, new HashMap<>(counts));
+      }
+    }
+  }
+
   public static WXComponent newInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent) {
     if (instance == null || node == null || TextUtils.isEmpty(node.getType()) ) {
       return null;
     }
 
 
-    if(sComponentTypes.get(instance.getInstanceId())==null){
-      Set<String> types=new HashSet<>();
-      sComponentTypes.put(instance.getInstanceId(),types);
+    Map<String,Integer> counts = sComponentTypes.get(instance.getInstanceId());
+    if(counts==null){
+      counts=new ConcurrentHashMap<>();
+      sComponentTypes.put(instance.getInstanceId(),counts);
     }
-    sComponentTypes.get(instance.getInstanceId()).add(node.getType());
+    Integer count = counts.get(node.getType());
+    counts.put(node.getType(), count == null ? 1 : count + 1);
 
     IFComponentHolder holder = WXComponentRegistry.getComponent(node.getType());
     if (holder == null) {
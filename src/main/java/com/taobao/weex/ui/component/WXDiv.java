@@ -28,6 +28,7 @@ import com.taobao.weex.ui.flat.FlatComponent;
 import com.taobao.weex.ui.flat.WidgetContainer;
 import com.taobao.weex.ui.flat.widget.WidgetGroup;
 import com.taobao.weex.ui.view.WXFrameLayout;
+import com.taobao.weex.ui.view.WXViewPool;
 import java.lang.reflect.InvocationTargetException;
 
 /**
@@ -59,7 +60,10 @@ public class WXDiv extends WidgetContainer<WXFrameLayout> implements FlatCompone
 
   @Override
   protected WXFrameLayout initComponentHostView(@NonNull Context context) {
-    WXFrameLayout frameLayout = new WXFrameLayout(context);
+    WXFrameLayout frameLayout = (WXFrameLayout) obtainPooledView(context, WXViewPool.DIV);
+    if (frameLayout == null) {
+      frameLayout = new WXFrameLayout(context);
+    }
     frameLayout.holdComponent(this);
     return frameLayout;
   }
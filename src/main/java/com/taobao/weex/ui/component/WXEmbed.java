@@ -37,16 +37,26 @@ import com.taobao.weex.common.Constants;
 import com.taobao.weex.common.WXPerformance;
 import com.taobao.weex.common.WXRenderStrategy;
 import com.taobao.weex.dom.WXDomObject;
+import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.utils.WXLogUtils;
 import com.taobao.weex.utils.WXUtils;
 import com.taobao.weex.utils.WXViewUtils;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.Comparator;
 import java.util.PriorityQueue;
 
 @Component(lazyload = false)
 public class WXEmbed extends WXDiv implements WXSDKInstance.OnInstanceVisibleListener,NestedContainer{
 
+  public static class Creator implements ComponentCreator {
+
+    public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+        throws IllegalAccessException, InvocationTargetException, InstantiationException {
+      return new WXEmbed(instance, node, parent);
+    }
+  }
+
 
   public static final  String STRATEGY_NONE =  "none";
   public static final  String STRATEGY_NORMAL =  "normal";
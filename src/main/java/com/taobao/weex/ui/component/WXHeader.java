@@ -22,14 +22,25 @@ import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.annotation.Component;
 import com.taobao.weex.common.Constants;
 import com.taobao.weex.dom.WXDomObject;
+import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.ui.component.list.WXCell;
 
+import java.lang.reflect.InvocationTargetException;
+
 /**
  * The same as sticky cell
  */
 @Component(lazyload = false)
 public class WXHeader extends WXCell {
 
+  public static class Creator implements ComponentCreator {
+
+    public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+        throws IllegalAccessException, InvocationTargetException, InstantiationException {
+      return new WXHeader(instance, node, parent, false);
+    }
+  }
+
   @Deprecated
   public WXHeader(WXSDKInstance instance, WXDomObject dom, WXVContainer parent, String instanceId, boolean isLazy) {
     this(instance,dom,parent,isLazy);
@@ -49,6 +49,7 @@ import com.taobao.weex.dom.ImmutableDomObject;
 import com.taobao.weex.dom.WXDomObject;
 import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.ui.view.WXImageView;
+import com.taobao.weex.ui.view.WXViewPool;
 import com.taobao.weex.ui.view.border.BorderDrawable;
 import com.taobao.weex.utils.ImageDrawable;
 import com.taobao.weex.utils.ImgURIUtil;
@@ -105,7 +106,10 @@ public class WXImage extends WXComponent<ImageView> {
 
   @Override
   protected ImageView initComponentHostView(@NonNull Context context) {
-    WXImageView view = new WXImageView(context);
+    WXImageView view = (WXImageView) obtainPooledView(context, WXViewPool.IMAGE);
+    if (view == null) {
+      view = new WXImageView(context);
+    }
     view.setScaleType(ScaleType.FIT_XY);
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
       view.setCropToPadding(true);
@@ -29,13 +29,16 @@ import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.annotation.Component;
 import com.taobao.weex.common.Constants;
 import com.taobao.weex.common.WXRuntimeException;
+import com.taobao.weex.dom.DomObjectCreator;
 import com.taobao.weex.dom.WXDomObject;
 import com.taobao.weex.dom.WXStyle;
+import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.ui.view.WXCircleIndicator;
 import com.taobao.weex.utils.WXResourceUtils;
 import com.taobao.weex.utils.WXUtils;
 import com.taobao.weex.utils.WXViewUtils;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -46,6 +49,14 @@ import java.util.Map;
 @Component(lazyload = false)
 public class WXIndicator extends WXComponent<WXCircleIndicator> {
 
+  public static class Creator implements ComponentCreator {
+
+    public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+        throws IllegalAccessException, InvocationTargetException, InstantiationException {
+      return new WXIndicator(instance, node, parent, false);
+    }
+  }
+
   @Deprecated
   public WXIndicator(WXSDKInstance instance, WXDomObject dom, WXVContainer parent, String instanceId, boolean isLazy) {
     this(instance,dom,parent,isLazy);
@@ -152,6 +163,15 @@ public class WXIndicator extends WXComponent<WXCircleIndicator> {
   }
 
   public static class IndicatorDomNode extends WXDomObject{
+
+    public static class Creator implements DomObjectCreator {
+
+      @Override
+      public WXDomObject create() {
+        return new IndicatorDomNode();
+      }
+    }
+
     public IndicatorDomNode(){
       super();
     }
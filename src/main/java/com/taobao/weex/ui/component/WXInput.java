@@ -23,8 +23,11 @@ import android.graphics.Color;
 import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.annotation.Component;
 import com.taobao.weex.dom.WXDomObject;
+import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.ui.view.WXEditText;
 
+import java.lang.reflect.InvocationTargetException;
+
 /**
  *
  * Input component
@@ -32,6 +35,14 @@ import com.taobao.weex.ui.view.WXEditText;
 @Component(lazyload = false)
 public class WXInput extends AbstractEditComponent{
 
+  public static class Creator implements ComponentCreator {
+
+    public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+        throws IllegalAccessException, InvocationTargetException, InstantiationException {
+      return new WXInput(instance, node, parent, false);
+    }
+  }
+
   @Deprecated
   public WXInput(WXSDKInstance instance, WXDomObject dom, WXVContainer parent, String instanceId, boolean isLazy) {
     this(instance,dom,parent,isLazy);
@@ -26,14 +26,25 @@ import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.annotation.Component;
 import com.taobao.weex.common.Constants;
 import com.taobao.weex.dom.WXDomObject;
+import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.ui.view.refresh.circlebar.CircleProgressBar;
 import com.taobao.weex.utils.WXResourceUtils;
 import com.taobao.weex.utils.WXUtils;
 
+import java.lang.reflect.InvocationTargetException;
+
 @Component(lazyload = false)
 
 public class WXLoadingIndicator extends WXComponent<CircleProgressBar> {
 
+    public static class Creator implements ComponentCreator {
+
+        public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+                throws IllegalAccessException, InvocationTargetException, InstantiationException {
+            return new WXLoadingIndicator(instance, node, parent, false);
+        }
+    }
+
 
     public WXLoadingIndicator(WXSDKInstance instance, WXDomObject dom, WXVContainer parent, boolean isLazy) {
         super(instance, dom, parent, isLazy);
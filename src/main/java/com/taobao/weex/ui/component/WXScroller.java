@@ -25,6 +25,7 @@ import android.graphics.Rect;
 import android.os.Build;
 import android.os.Handler;
 import android.support.annotation.NonNull;
+import android.support.annotation.VisibleForTesting;
 import android.text.TextUtils;
 import android.view.View;
 import android.view.ViewGroup;
@@ -98,6 +99,13 @@ public class WXScroller extends WXVContainer<ViewGroup> implements WXScrollViewL
    **/
   private Map<String,AppearanceHelper> mAppearanceComponents = new HashMap<>();
 
+  /**
+   * index of appearance components position, rebuild when watch or layout changed
+   * */
+  private AppearanceIndex mAppearanceIndex = new AppearanceIndex();
+  private boolean mAppearanceIndexDirty = true;
+  private List<AppearanceHelper> mAppearanceChanged = new ArrayList<>();
+
   /**
    * Map for storing component that is sticky.
    **/
@@ -348,6 +356,8 @@ public class WXScroller extends WXVContainer<ViewGroup> implements WXScrollViewL
     if (mAppearanceComponents != null) {
       mAppearanceComponents.clear();
     }
+    mAppearanceIndex.clear();
+    mAppearanceIndexDirty = true;
     if (mStickyMap != null) {
       mStickyMap.clear();
     }
@@ -576,6 +586,10 @@ public class WXScroller extends WXVContainer<ViewGroup> implements WXScrollViewL
     }
 
     item.setWatchEvent(event,isWatch);
+    mAppearanceIndexDirty = true;
+    for (WXComponent path = component; path != null && path != this; path = path.getParent()) {
+      path.setAppearancePath();
+    }
 
     procAppear(0,0,0,0);//check current components appearance status.
   }
@@ -681,19 +695,85 @@ public class WXScroller extends WXVContainer<ViewGroup> implements WXScrollViewL
       direction = moveX > 0 ? Constants.Value.DIRECTION_RIGHT : Constants.Value.DIRECTION_LEFT;
     }
 
-    for (Entry<String, AppearanceHelper> item : mAppearanceComponents.entrySet()) {
-      AppearanceHelper helper = item.getValue();
+    ViewGroup innerView = getInnerView();
+    int viewStart = 0;
+    int viewEnd = 0;
+    if (innerView != null) {
+      if (mOrientation == Constants.Orientation.HORIZONTAL) {
+        viewStart = innerView.getScrollX();
+        viewEnd = viewStart + innerView.getWidth();
+      } else {
+        viewStart = innerView.getScrollY();
+        viewEnd = viewStart + innerView.getHeight();
+      }
+    }
 
-      if (!helper.isWatch()) {
-        continue;
+    if (mAppearanceIndexDirty || (moveX == 0 && moveY == 0)) {
+      for (Entry<String, AppearanceHelper> item : mAppearanceComponents.entrySet()) {
+        procAppear(item.getValue(), direction);
+      }
+      if (mAppearanceIndexDirty) {
+        buildAppearanceIndex();
       }
-      boolean visible = helper.isViewVisible(false);
+      mAppearanceIndex.setViewport(viewStart, viewEnd);
+      return;
+    }
 
-      int result = helper.setAppearStatus(visible);
-      if (result != AppearanceHelper.RESULT_NO_CHANGE) {
-        helper.getAwareChild().notifyAppearStateChange(result == AppearanceHelper.RESULT_APPEAR ? Constants.Event.APPEAR : Constants.Event.DISAPPEAR, direction);
+    List<AppearanceHelper> changed = mAppearanceChanged;
+    changed.clear();
+    mAppearanceIndex.collectChanged(viewStart, viewEnd, 0, changed);
+    for (int i = 0; i < changed.size(); i++) {
+      procAppear(changed.get(i), direction);
+    }
+    changed.clear();
+  }
+
+  private void procAppear(AppearanceHelper helper, String direction) {
+    if (!helper.isWatch()) {
+      return;
+    }
+    boolean visible = helper.isViewVisible(false);
+
+    int result = helper.setAppearStatus(visible);
+    if (result != AppearanceHelper.RESULT_NO_CHANGE) {
+      helper.getAwareChild().notifyAppearStateChange(result == AppearanceHelper.RESULT_APPEAR ? Constants.Event.APPEAR : Constants.Event.DISAPPEAR, direction);
+    }
+  }
+
+  /**
+   * index appearance components by layout position in scroller's content
+   * */
+  private void buildAppearanceIndex() {
+    mAppearanceIndex.clear();
+    boolean horizontal = mOrientation == Constants.Orientation.HORIZONTAL;
+    for (Entry<String, AppearanceHelper> item : mAppearanceComponents.entrySet()) {
+      AppearanceHelper helper = item.getValue();
+      WXComponent component = helper.getAwareChild();
+      int start;
+      int end;
+      if (horizontal) {
+        start = component.getAbsoluteX() - getAbsoluteX();
+        end = start + (int) component.getLayoutWidth();
+      } else {
+        start = component.getAbsoluteY() - getAbsoluteY();
+        end = start + (int) component.getLayoutHeight();
       }
+      mAppearanceIndex.put(helper, start, end);
     }
+    mAppearanceIndexDirty = false;
+  }
+
+  /**
+   * position of a watched component only changes with its own layout or layout of its ancestors,
+   * which are marked by {@link WXComponent#setAppearancePath()}, changes of other components keep the index.
+   * */
+  void markAppearanceIndexDirty() {
+    mAppearanceIndexDirty = true;
+  }
+
+  @VisibleForTesting
+  boolean isAppearanceIndexDirty() {
+    return mAppearanceIndexDirty;
   }
 
   @Override
@@ -37,6 +37,7 @@ import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.ui.flat.FlatComponent;
 import com.taobao.weex.ui.flat.widget.TextWidget;
 import com.taobao.weex.ui.view.WXTextView;
+import com.taobao.weex.ui.view.WXViewPool;
 
 import java.lang.reflect.InvocationTargetException;
 
@@ -96,7 +97,10 @@ public class WXText extends WXComponent<WXTextView> implements FlatComponent<Tex
 
     @Override
     protected WXTextView initComponentHostView(@NonNull Context context) {
-        WXTextView textView = new WXTextView(context);
+        WXTextView textView = (WXTextView) obtainPooledView(context, WXViewPool.TEXT);
+        if (textView == null) {
+            textView = new WXTextView(context);
+        }
         textView.holdComponent(this);
         return textView;
     }
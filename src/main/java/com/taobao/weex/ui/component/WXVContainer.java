@@ -124,6 +124,12 @@ public abstract class WXVContainer<T extends ViewGroup> extends WXComponent<T> {
     mTraceInfo.uiThreadNanos += (System.nanoTime() - startNanos);
   }
 
+  /**
+   * called when child's layout size or position changed, before child view is updated
+   */
+  protected void onChildLayoutChanged(WXComponent child){
+  }
+
   /**
    * Get or generate new layout parameter for child view
    *
@@ -29,16 +29,26 @@ import com.taobao.weex.annotation.Component;
 import com.taobao.weex.adapter.URIAdapter;
 import com.taobao.weex.common.Constants;
 import com.taobao.weex.dom.WXDomObject;
+import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.ui.view.IWebView;
 import com.taobao.weex.ui.view.WXWebView;
 import com.taobao.weex.utils.WXUtils;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
 @Component(lazyload = false)
 
 public class WXWeb extends WXComponent {
 
+    public static class Creator implements ComponentCreator {
+
+        public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+                throws IllegalAccessException, InvocationTargetException, InstantiationException {
+            return new WXWeb(instance, node, parent, false);
+        }
+    }
+
     public static final String GO_BACK = "goBack";
     public static final String GO_FORWARD = "goForward";
     public static final String RELOAD = "reload";
@@ -33,10 +33,50 @@ import com.taobao.weex.ui.component.list.template.TemplateViewHolder;
 import com.taobao.weex.ui.component.list.template.WXRecyclerTemplateList;
 import com.taobao.weex.utils.WXLogUtils;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Created by furture on 2017/8/21.
  */
 public class Layouts {
+
+    /**
+     * template cells' dom tree and layout context are independent, so cells are layout in
+     * parallel. layouts of the same holder are serialized by the holder's layout lock.
+     * */
+    private static final int LAYOUT_THREAD_COUNT = Math.max(2, Math.min(Runtime.getRuntime().availableProcessors() - 1, 4));
+
+    private static final Executor LAYOUT_EXECUTOR = createLayoutExecutor();
+
+    /**
+     * cell layout time histogram, upper bound of bucket in millis, last bucket for the rest
+     * */
+    private static final long[] LAYOUT_TIME_BUCKETS = {1, 2, 4, 8, 16, 32};
+    private static final AtomicLongArray sLayoutTimes = new AtomicLongArray(LAYOUT_TIME_BUCKETS.length + 1);
+    private static final AtomicLong sLayoutCount = new AtomicLong();
+    private static final AtomicLong sLayoutTotalNanos = new AtomicLong();
+    private static final AtomicLong sLayoutMaxNanos = new AtomicLong();
+
+    private static Executor createLayoutExecutor(){
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(LAYOUT_THREAD_COUNT, LAYOUT_THREAD_COUNT,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger mCount = new AtomicInteger(1);
+            @Override
+            public Thread newThread(Runnable r) {
+                return new Thread(r, "WeexCellLayout #" + mCount.getAndIncrement());
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
     /**
      * do dom layout async or sync , and set layout to component on main.
      * on first use do sync layout, when compontnet reuse do async layout
@@ -52,10 +92,16 @@ public class Layouts {
             AsyncTask<Void, Void, Void> asyncTask = new AsyncTask<Void, Void, Void>() {
                 @Override
                 protected Void doInBackground(Void... params) {
-                    if(templateViewHolder.getHolderPosition() == position){
-                        if(component.getInstance() != null && !component.getInstance().isDestroy()) {
-                            doSafeLayout(component, templateViewHolder.getLayoutContext());
+                    ReentrantLock layoutLock = templateViewHolder.getLayoutLock();
+                    layoutLock.lock();
+                    try{
+                        if(!isCancelled() && templateViewHolder.getHolderPosition() == position){
+                            if(component.getInstance() != null && !component.getInstance().isDestroy()) {
+                                doSafeLayout(component, templateViewHolder.getLayoutContext());
+                            }
                         }
+                    }finally {
+                        layoutLock.unlock();
                     }
                     return null;
                 }
@@ -70,9 +116,20 @@ public class Layouts {
                 }
             };
             templateViewHolder.asyncTask = asyncTask;
-            asyncTask.executeOnExecutor(AsyncTask.SERIAL_EXECUTOR); //serial executor is better
+            asyncTask.executeOnExecutor(LAYOUT_EXECUTOR);
         }else{
-            doSafeLayout(component, templateViewHolder.getLayoutContext());
+            ReentrantLock layoutLock = templateViewHolder.getLayoutLock();
+            if(!layoutLock.tryLock()){
+                // a cancelled layout of the holder is still running on a layout thread, keep the
+                // last finished layout instead of blocking main thread, and layout again async
+                doLayoutAsync(templateViewHolder, true);
+                return;
+            }
+            try{
+                doSafeLayout(component, templateViewHolder.getLayoutContext());
+            }finally {
+                layoutLock.unlock();
+            }
             setLayout(component, false);
         }
 
@@ -84,7 +141,9 @@ public class Layouts {
     public static void doSafeLayout(WXComponent component, final  CSSLayoutContext layoutContext){
         try{
             long start = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
             doLayout(component, layoutContext);
+            recordLayoutTime(System.nanoTime() - startNanos);
             if(WXEnvironment.isOpenDebugLog() && WXRecyclerTemplateList.ENABLE_TRACE_LOG) {
                 WXLogUtils.d(WXRecyclerTemplateList.TAG, "WXTemplateList doSafeLayout" +
                         component.getDomObject().getAttrs().get(Constants.Name.Recycler.SLOT_TEMPLATE_CASE) + Thread.currentThread().getName() + " doSafeLayout  used " +
@@ -101,6 +160,45 @@ public class Layouts {
         }
     }
 
+    private static void recordLayoutTime(long nanos){
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < LAYOUT_TIME_BUCKETS.length && millis >= LAYOUT_TIME_BUCKETS[bucket]){
+            bucket++;
+        }
+        sLayoutTimes.incrementAndGet(bucket);
+        sLayoutCount.incrementAndGet();
+        sLayoutTotalNanos.addAndGet(nanos);
+        long max = sLayoutMaxNanos.get();
+        while (nanos > max && !sLayoutMaxNanos.compareAndSet(max, nanos)){
+            max = sLayoutMaxNanos.get();
+        }
+    }
+
+    /**
+     * count of cell layout time in buckets [0,1), [1,2), [2,4), [4,8), [8,16), [16,32), [32,...) millis
+     * */
+    public static long[] getCellLayoutTimeHistogram(){
+        long[] histogram = new long[sLayoutTimes.length()];
+        for(int i=0; i<histogram.length; i++){
+            histogram[i] = sLayoutTimes.get(i);
+        }
+        return histogram;
+    }
+
+    public static long getCellLayoutCount(){
+        return sLayoutCount.get();
+    }
+
+    public static double getCellLayoutAverageTime(){
+        long count = sLayoutCount.get();
+        return count == 0 ? 0 : sLayoutTotalNanos.get()/1000000.0/count;
+    }
+
+    public static double getCellLayoutMaxTime(){
+        return sLayoutMaxNanos.get()/1000000.0;
+    }
+
     private static void doLayout(WXComponent component, final  CSSLayoutContext layoutContext){
         WXDomObject domObject = (WXDomObject) component.getDomObject();
         final WXSDKInstance instance = component.getInstance();
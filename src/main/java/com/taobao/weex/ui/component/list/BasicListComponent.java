@@ -53,6 +53,7 @@ import com.taobao.weex.dom.ImmutableDomObject;
 import com.taobao.weex.dom.WXAttr;
 import com.taobao.weex.dom.WXDomObject;
 import com.taobao.weex.ui.component.AppearanceHelper;
+import com.taobao.weex.ui.component.AppearanceIndex;
 import com.taobao.weex.ui.component.Scrollable;
 import com.taobao.weex.ui.component.WXBaseRefresh;
 import com.taobao.weex.ui.component.WXComponent;
@@ -79,6 +80,7 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -101,6 +103,13 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
   private Runnable mAppearComponentsRunnable = null;
   private long mAppearDelay = 50;
 
+  /**
+   * index of appear components by cell position, rebuild when watch or cells changed
+   * */
+  private AppearanceIndex mAppearIndex = new AppearanceIndex();
+  private boolean mAppearIndexDirty = true;
+  private List<AppearanceHelper> mAppearChanged = new ArrayList<>();
+
   private boolean isScrollable = true;
   private ArrayMap<String, Long> mRefToViewType;
   private SparseArray<ArrayList<WXComponent>> mViewTypes;
@@ -161,6 +170,10 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
    * */
   private ScrollStartEndHelper mScrollStartEndHelper;
 
+  private HeightIndex mHeightIndex = new HeightIndex();
+  private boolean mHeightIndexDirty = true;
+  private Map<WXComponent, Integer> mHeightIndexPositions = new IdentityHashMap<>();
+
 
 
   /**
@@ -460,6 +473,7 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
         item = new AppearanceHelper(component, index);
         item.setWatchEvent(event, true);
         mAppearComponents.put(component.getRef(), item);
+        mAppearIndexDirty = true;
       }
     }
   }
@@ -666,6 +680,7 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
   @Override
   public void addChild(WXComponent child, int index) {
     super.addChild(child, index);
+    mHeightIndexDirty = true;
     if (child == null || index < -1) {
       return;
     }
@@ -762,6 +777,7 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
       int index = mChildren.indexOf(dChild);
       value.setCellPosition(index);
     }
+    mAppearIndexDirty = true;
   }
 
 
@@ -776,8 +792,9 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
   }
 
   /**
-   * Remove the child from list. This method will use {@link
-   * java.util.List#indexOf(Object)} to retrieve the component to be deleted. Like {@link
+   * Remove the child from list. This method will use the position kept by the height index, or
+   * {@link java.util.List#indexOf(Object)} if children changed since the index was built, to
+   * retrieve the component to be deleted. Like {@link
    * #addChild(WXComponent)}, this method will not refresh the view immediately, the adapter will
    * decide when to refresh.
    *
@@ -785,7 +802,9 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
    */
   @Override
   public void remove(WXComponent child, boolean destroy) {
-    int index = mChildren.indexOf(child);
+    Integer position = mHeightIndexDirty ? null : mHeightIndexPositions.get(child);
+    int index = position != null ? position : mChildren.indexOf(child);
+    mHeightIndexDirty = true;
     if (destroy) {
       child.detachViewAndClearPreInfo();
     }
@@ -815,6 +834,9 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
       WXLogUtils.d(TAG, "removeChild child at " + index);
     }
     super.remove(child, destroy);
+    if (!mAppearComponents.isEmpty()) {
+      relocateAppearanceHelper();
+    }
   }
 
 
@@ -1214,39 +1236,80 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
        mAppearComponentsRunnable = null;
     }
     //notify appear state
-    Iterator<AppearanceHelper> it = mAppearComponents.values().iterator();
     String direction = directionY > 0 ? Constants.Value.DIRECTION_UP :
         directionY < 0 ? Constants.Value.DIRECTION_DOWN : null;
     if (getOrientation() == Constants.Orientation.HORIZONTAL && directionX != 0) {
       direction = directionX > 0 ? Constants.Value.DIRECTION_LEFT : Constants.Value.DIRECTION_RIGHT;
     }
 
-    while (it.hasNext()) {
-      AppearanceHelper item = it.next();
-      WXComponent component = item.getAwareChild();
-
-      if (!item.isWatch()) {
-        continue;
+    //only check cells entered or left visible range, and cells on the edge of visible range.
+    //staggered grid's visible range is not continuous in each column, so check all.
+    RecyclerView.LayoutManager layoutManager = getHostView() == null ? null : getHostView().getInnerView().getLayoutManager();
+    if (mAppearIndexDirty || (directionX == 0 && directionY == 0)
+        || lastVisible < firstVisible || !(layoutManager instanceof LinearLayoutManager)) {
+      Iterator<AppearanceHelper> it = mAppearComponents.values().iterator();
+      while (it.hasNext()) {
+        notifyAppearStateChange(it.next(), direction);
       }
+      if (mAppearIndexDirty) {
+        buildAppearIndex();
+      }
+      if (layoutManager instanceof LinearLayoutManager) {
+        LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+        mAppearIndex.setViewport(linearLayoutManager.findFirstVisibleItemPosition(),
+            linearLayoutManager.findLastVisibleItemPosition() + 1);
+      } else {
+        mAppearIndexDirty = true;
+      }
+      return;
+    }
 
+    int edge = 1;
+    if (layoutManager instanceof GridLayoutManager) {
+      edge = ((GridLayoutManager) layoutManager).getSpanCount();
+    }
+    List<AppearanceHelper> changed = mAppearChanged;
+    changed.clear();
+    mAppearIndex.collectChanged(firstVisible, lastVisible + 1, edge, changed);
+    for (int i = 0; i < changed.size(); i++) {
+      notifyAppearStateChange(changed.get(i), direction);
+    }
+    changed.clear();
+  }
 
-      View view = component.getHostView();
-      if (view == null) {
-        continue;
-      }
+  private void notifyAppearStateChange(AppearanceHelper item, String direction) {
+    WXComponent component = item.getAwareChild();
 
-      boolean outOfVisibleRange = !ViewCompat.isAttachedToWindow(view);
-      boolean visible = (!outOfVisibleRange) && item.isViewVisible(true);
+    if (!item.isWatch()) {
+      return;
+    }
 
-      int result = item.setAppearStatus(visible);
-      if (result == AppearanceHelper.RESULT_NO_CHANGE) {
-        continue;
-      }
-      if (WXEnvironment.isApkDebugable()) {
-        WXLogUtils.d("appear", "item " + item.getCellPositionINScollable() + " result " + result);
-      }
-      component.notifyAppearStateChange(result == AppearanceHelper.RESULT_APPEAR ? Constants.Event.APPEAR : Constants.Event.DISAPPEAR, direction);
+
+    View view = component.getHostView();
+    if (view == null) {
+      return;
+    }
+
+    boolean outOfVisibleRange = !ViewCompat.isAttachedToWindow(view);
+    boolean visible = (!outOfVisibleRange) && item.isViewVisible(true);
+
+    int result = item.setAppearStatus(visible);
+    if (result == AppearanceHelper.RESULT_NO_CHANGE) {
+      return;
+    }
+    if (WXEnvironment.isApkDebugable()) {
+      WXLogUtils.d("appear", "item " + item.getCellPositionINScollable() + " result " + result);
+    }
+    component.notifyAppearStateChange(result == AppearanceHelper.RESULT_APPEAR ? Constants.Event.APPEAR : Constants.Event.DISAPPEAR, direction);
+  }
+
+  private void buildAppearIndex() {
+    mAppearIndex.clear();
+    for (AppearanceHelper item : mAppearComponents.values()) {
+      int position = item.getCellPositionINScollable();
+      mAppearIndex.put(item, position, position + 1);
     }
+    mAppearIndexDirty = false;
   }
 
   @NonNull
@@ -1335,13 +1398,7 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
       offsetY = - calcContentOffset(recyclerView);
     }
     int contentWidth = recyclerView.getMeasuredWidth() + recyclerView.computeHorizontalScrollRange();
-    int contentHeight = 0;
-    for (int i = 0; i < getChildCount(); i++) {
-      WXComponent child = getChild(i);
-      if (child != null) {
-        contentHeight += child.getLayoutHeight();
-      }
-    }
+    int contentHeight = (int) getHeightIndex().total();
 
     Map<String, Object> event = new HashMap<>(2);
     Map<String, Object> contentSize = new HashMap<>(2);
@@ -1378,6 +1435,44 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
 
 
 
+  /**
+   * prefix sum of children height, rebuild when children changed
+   */
+  private HeightIndex getHeightIndex() {
+    int count = getChildCount();
+    if (mHeightIndexDirty || mHeightIndex.size() != count) {
+      mHeightIndexPositions.clear();
+      int[] heights = new int[count];
+      for (int i = 0; i < count; i++) {
+        WXComponent child = getChild(i);
+        if (child != null) {
+          heights[i] = (int) child.getLayoutHeight();
+          mHeightIndexPositions.put(child, i);
+        }
+      }
+      mHeightIndex.build(heights, count);
+      mHeightIndexDirty = false;
+    }
+    return mHeightIndex;
+  }
+
+  /**
+   * update height of the changed child only, position of the child is kept from last build,
+   * index is rebuilt on next use if children changed
+   */
+  @Override
+  protected void onChildLayoutChanged(WXComponent child) {
+    if (mHeightIndexDirty) {
+      return;
+    }
+    Integer index = mHeightIndexPositions.get(child);
+    if (index == null || index >= mHeightIndex.size()) {
+      mHeightIndexDirty = true;
+      return;
+    }
+    mHeightIndex.set(index, (int) child.getLayoutHeight());
+  }
+
   public int calcContentOffset(RecyclerView recyclerView) {
     RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
     if (layoutManager instanceof LinearLayoutManager) {
@@ -1392,13 +1487,7 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
         firstVisibleViewOffset = firstVisibleView.getTop();
       }
 
-      int offset = 0;
-      for (int i=0;i<firstVisibleItemPosition;i++) {
-        WXComponent child = getChild(i);
-        if (child != null) {
-          offset -= child.getLayoutHeight();
-        }
-      }
+      int offset = (int) -getHeightIndex().prefixSum(firstVisibleItemPosition);
 
       if (layoutManager instanceof GridLayoutManager) {
         int spanCount = ((GridLayoutManager) layoutManager).getSpanCount();
@@ -1420,13 +1509,7 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
         firstVisibleViewOffset = firstVisibleView.getTop();
       }
 
-      int offset = 0;
-      for (int i=0;i<firstVisibleItemPosition;i++) {
-        WXComponent child = getChild(i);
-        if (child != null) {
-          offset -= child.getLayoutHeight();
-        }
-      }
+      int offset = (int) -getHeightIndex().prefixSum(firstVisibleItemPosition);
 
       offset = offset / spanCount;
       offset += firstVisibleViewOffset;
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component.list;
+
+import java.util.Arrays;
+
+/**
+ * Prefix sum index of cell heights (fenwick tree), used to get content offset of a position,
+ * and the position of a content offset in O(log n) instead of summing all cells before it.
+ * update of one height is O(log n), insert or remove needs {@link #reset(int)} and rebuild.
+ * not thread safe, used on main thread.
+ */
+public class HeightIndex {
+
+  private int[] heights = new int[0];
+  private long[] tree = new long[1];
+  private int size;
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * reset index to size, all heights are zero
+   * */
+  public void reset(int size) {
+    if (heights.length < size) {
+      heights = new int[size];
+      tree = new long[size + 1];
+    } else {
+      Arrays.fill(heights, 0, heights.length, 0);
+      Arrays.fill(tree, 0);
+    }
+    this.size = size;
+  }
+
+  /**
+   * set all heights in O(n), faster than set one by one
+   * */
+  public void build(int[] values, int size) {
+    reset(size);
+    System.arraycopy(values, 0, heights, 0, size);
+    for (int i = 1; i <= size; i++) {
+      tree[i] += heights[i - 1];
+      int parent = i + (i & -i);
+      if (parent <= size) {
+        tree[parent] += tree[i];
+      }
+    }
+  }
+
+  public int get(int index) {
+    return heights[index];
+  }
+
+  public void set(int index, int height) {
+    int delta = height - heights[index];
+    if (delta == 0) {
+      return;
+    }
+    heights[index] = height;
+    for (int i = index + 1; i <= size; i += i & -i) {
+      tree[i] += delta;
+    }
+  }
+
+  /**
+   * @return sum of heights of [0, count)
+   * */
+  public long prefixSum(int count) {
+    if (count > size) {
+      count = size;
+    }
+    long sum = 0;
+    for (int i = count; i > 0; i -= i & -i) {
+      sum += tree[i];
+    }
+    return sum;
+  }
+
+  public long total() {
+    return prefixSum(size);
+  }
+
+  /**
+   * @return position of the cell contains offset, size if offset beyond total height.
+   * */
+  public int positionOf(long offset) {
+    if (offset < 0) {
+      return 0;
+    }
+    int position = 0;
+    int step = Integer.highestOneBit(Math.max(size, 1));
+    for (; step > 0; step >>= 1) {
+      int next = position + step;
+      if (next <= size && tree[next] <= offset) {
+        position = next;
+        offset -= tree[next];
+      }
+    }
+    return position;
+  }
+}
@@ -22,9 +22,13 @@ import android.content.Context;
 
 import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.dom.WXDomObject;
+import com.taobao.weex.ui.ComponentCreator;
+import com.taobao.weex.ui.component.WXComponent;
 import com.taobao.weex.ui.component.WXVContainer;
 import com.taobao.weex.ui.view.listview.WXRecyclerView;
 
+import java.lang.reflect.InvocationTargetException;
+
 /**
  * A simple list component based on regular recyclerview, do not support refreshing and loading.
  * Created by sospartan on 13/12/2016.
@@ -32,6 +36,14 @@ import com.taobao.weex.ui.view.listview.WXRecyclerView;
  */
 public class SimpleListComponent extends BasicListComponent<SimpleRecyclerView>{
 
+  public static class Creator implements ComponentCreator {
+
+    public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+        throws IllegalAccessException, InvocationTargetException, InstantiationException {
+      return new SimpleListComponent(instance, node, parent);
+    }
+  }
+
   public SimpleListComponent(WXSDKInstance instance, WXDomObject node, WXVContainer parent) {
     super(instance, node, parent);
   }
@@ -32,6 +32,8 @@ import com.taobao.weex.annotation.Component;
 import com.taobao.weex.common.Constants.Name;
 import com.taobao.weex.dom.WXAttr;
 import com.taobao.weex.dom.WXDomObject;
+import com.taobao.weex.ui.ComponentCreator;
+import com.taobao.weex.ui.component.WXComponent;
 import com.taobao.weex.ui.component.WXVContainer;
 import com.taobao.weex.ui.flat.WidgetContainer;
 import com.taobao.weex.ui.view.WXFrameLayout;
@@ -39,6 +41,8 @@ import com.taobao.weex.utils.WXLogUtils;
 import com.taobao.weex.utils.WXUtils;
 import com.taobao.weex.utils.WXViewUtils;
 
+import java.lang.reflect.InvocationTargetException;
+
 import static com.taobao.weex.common.Constants.Name.STICKY_OFFSET;
 
 /**
@@ -58,11 +62,19 @@ public class WXCell extends WidgetContainer<WXFrameLayout> {
     private boolean mFlatUIEnabled = false;
 
 
-    private Object  renderData;
+    private volatile Object  renderData;
 
     private boolean isSourceUsed = false;
 
 
+    public static class Creator implements ComponentCreator {
+
+        public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+                throws IllegalAccessException, InvocationTargetException, InstantiationException {
+            return new WXCell(instance, node, parent, false);
+        }
+    }
+
     @Deprecated
     public WXCell(WXSDKInstance instance, WXDomObject dom, WXVContainer parent, String instanceId, boolean isLazy) {
         super(instance, dom, parent);
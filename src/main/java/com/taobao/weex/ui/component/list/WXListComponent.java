@@ -29,6 +29,7 @@ import com.taobao.weex.common.WXThread;
 import com.taobao.weex.dom.WXDomObject;
 import com.taobao.weex.dom.WXRecyclerDomObject;
 import com.taobao.weex.dom.flex.Spacing;
+import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.ui.component.WXBaseRefresh;
 import com.taobao.weex.ui.component.WXBasicComponentType;
 import com.taobao.weex.ui.component.WXComponent;
@@ -43,6 +44,7 @@ import com.taobao.weex.ui.view.refresh.bmrefresh.BMLoadingRefresh;
 import com.taobao.weex.ui.view.refresh.wrapper.BounceRecyclerView;
 import com.taobao.weex.utils.WXUtils;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
 
 /**
@@ -55,6 +57,15 @@ import java.util.Map;
 @Component(lazyload = false)
 
 public class WXListComponent extends BasicListComponent<BounceRecyclerView> {
+
+  public static class Creator implements ComponentCreator {
+
+    public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+        throws IllegalAccessException, InvocationTargetException, InstantiationException {
+      return new WXListComponent(instance, node, parent, false);
+    }
+  }
+
   private String TAG = "WXListComponent";
   private WXRecyclerDomObject mRecyclerDom;
   private float mPaddingLeft;
@@ -54,7 +54,7 @@ class AsyncCellLoadTask extends AsyncTask<Void,Void, Void> {
         if(cellCache == null || cellCache.cells == null){
             return null;
         }
-        while (cellCache.cells.size() < templateList.getTemplateCacheSize()){
+        while (cellCache.cells.size() < cellCache.getLoadSize(templateList.getTemplateCacheSize())){
             long start = System.currentTimeMillis();
             WXCell component = (WXCell) templateList.copyComponentFromSourceCell(source);
             if(WXEnvironment.isOpenDebugLog() && WXRecyclerTemplateList.ENABLE_TRACE_LOG){
@@ -27,4 +27,12 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 class TemplateCache {
     ConcurrentLinkedQueue<WXCell> cells = new ConcurrentLinkedQueue<>();
     boolean isLoadIng = false;
+    /**
+     * cells needed by upcoming positions, predicted by {@link TemplatePrefetcher}
+     * */
+    volatile int predictSize;
+
+    int getLoadSize(int cacheSize){
+        return Math.max(cacheSize, predictSize);
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component.list.template;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * predict template of upcoming cells by scroll direction and velocity, and preload cells of
+ * them into {@link TemplateCache}, so onCreateViewHolder hit cache instead of copy cell on main thread.
+ */
+class TemplatePrefetcher {
+
+    /**
+     * frames of scroll distance to look ahead, about half second
+     * */
+    private static final int LOOK_AHEAD_FRAMES = 30;
+    private static final int MIN_LOOK_AHEAD = 2;
+    private static final int MAX_LOOK_AHEAD = 16;
+
+    /**
+     * max cells preload for one template
+     * */
+    static final int MAX_PREDICT_SIZE = 8;
+
+    private final WXRecyclerTemplateList templateList;
+    private final Map<String, Integer> counts = new HashMap<>();
+    /**
+     * templates preloaded by last pass
+     * */
+    private final Set<String> predicted = new HashSet<>();
+    private int lastEdgePosition = RecyclerView.NO_POSITION;
+    private int lastLookAhead;
+
+    TemplatePrefetcher(WXRecyclerTemplateList templateList) {
+        this.templateList = templateList;
+    }
+
+    void onScrolled(RecyclerView recyclerView, int dx, int dy){
+        int delta = recyclerView.getLayoutManager() != null
+                && recyclerView.getLayoutManager().canScrollHorizontally() ? dx : dy;
+        int childCount = recyclerView.getChildCount();
+        if(delta == 0 || childCount == 0){
+            return;
+        }
+        View edge = recyclerView.getChildAt(delta > 0 ? childCount - 1 : 0);
+        int edgePosition = recyclerView.getChildAdapterPosition(edge);
+        if(edgePosition == RecyclerView.NO_POSITION){
+            return;
+        }
+        int size = delta == dx ? recyclerView.getWidth() : recyclerView.getHeight();
+        int cellSize = Math.max(size/childCount, 1);
+        int lookAhead = (Math.abs(delta)*LOOK_AHEAD_FRAMES + cellSize - 1)/cellSize;
+        lookAhead = Math.max(MIN_LOOK_AHEAD, Math.min(lookAhead, MAX_LOOK_AHEAD));
+        if(edgePosition == lastEdgePosition && lookAhead <= lastLookAhead){
+            return;
+        }
+        lastEdgePosition = edgePosition;
+        lastLookAhead = lookAhead;
+        predict(edgePosition, delta > 0 ? 1 : -1, lookAhead);
+    }
+
+    /**
+     * count templates of the next lookAhead positions and preload cells for them,
+     * templates of last pass not in the window any more get their predict size reset
+     * */
+    void predict(int edgePosition, int direction, int lookAhead){
+        int itemCount = templateList.getItemCount();
+        counts.clear();
+        for(int i=1; i<=lookAhead; i++){
+            int position = edgePosition + i*direction;
+            if(position < 0 || position >= itemCount){
+                break;
+            }
+            String template = templateList.getTemplateKey(position);
+            Integer count = counts.get(template);
+            counts.put(template, count == null ? 1 : count + 1);
+        }
+        for(Map.Entry<String, Integer> entry : counts.entrySet()){
+            templateList.preloadTemplate(entry.getKey(), Math.min(entry.getValue(), MAX_PREDICT_SIZE));
+        }
+        for(String template : predicted){
+            if(!counts.containsKey(template)){
+                templateList.resetPredictSize(template);
+            }
+        }
+        predicted.clear();
+        predicted.addAll(counts.keySet());
+    }
+
+    void reset(){
+        lastEdgePosition = RecyclerView.NO_POSITION;
+        lastLookAhead = 0;
+    }
+}
@@ -29,6 +29,7 @@ import com.taobao.weex.ui.view.listview.adapter.ListBaseViewHolder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Created by furture on 2017/8/17.
@@ -47,6 +48,11 @@ public class TemplateViewHolder extends ListBaseViewHolder {
 
     public AsyncTask<Void, Void, Void> asyncTask;
 
+    /**
+     * serialize layouts of the holder's dom tree
+     * */
+    private final ReentrantLock layoutLock = new ReentrantLock();
+
     public Object  data;
 
     /**
@@ -85,4 +91,8 @@ public class TemplateViewHolder extends ListBaseViewHolder {
     public WXCell getTemplate() {
         return template;
     }
+
+    public ReentrantLock getLayoutLock() {
+        return layoutLock;
+    }
 }
@@ -57,6 +57,7 @@ import com.taobao.weex.dom.WXRecyclerDomObject;
 import com.taobao.weex.dom.flex.CSSLayoutContext;
 import com.taobao.weex.dom.flex.Spacing;
 import com.taobao.weex.el.parse.ArrayStack;
+import com.taobao.weex.ui.ComponentCreator;
 import com.taobao.weex.ui.component.AppearanceHelper;
 import com.taobao.weex.ui.component.ComponentUtils;
 import com.taobao.weex.ui.component.Scrollable;
@@ -69,6 +70,7 @@ import com.taobao.weex.ui.component.WXVContainer;
 import com.taobao.weex.ui.component.binding.Layouts;
 import com.taobao.weex.ui.component.binding.Statements;
 import com.taobao.weex.ui.component.helper.ScrollStartEndHelper;
+import com.taobao.weex.ui.component.list.HeightIndex;
 import com.taobao.weex.ui.component.list.RecyclerTransform;
 import com.taobao.weex.ui.component.list.WXCell;
 import com.taobao.weex.ui.view.listview.WXRecyclerView;
@@ -81,6 +83,7 @@ import com.taobao.weex.utils.WXLogUtils;
 import com.taobao.weex.utils.WXUtils;
 import com.taobao.weex.utils.WXViewUtils;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -99,6 +102,14 @@ import static com.taobao.weex.common.Constants.Name.LOADMOREOFFSET;
 public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> implements
         IRecyclerAdapterListener<TemplateViewHolder>, IOnLoadMoreListener, Scrollable {
 
+    public static class Creator implements ComponentCreator {
+
+        public WXComponent createInstance(WXSDKInstance instance, WXDomObject node, WXVContainer parent)
+                throws IllegalAccessException, InvocationTargetException, InstantiationException {
+            return new WXRecyclerTemplateList(instance, node, parent);
+        }
+    }
+
     /**
      * trace log for template list
      * */
@@ -166,6 +177,23 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
      * */
     private ScrollStartEndHelper mScrollStartEndHelper;
 
+    /**
+     * preload cells for upcoming templates, and cache stat of onCreateViewHolder
+     * */
+    private TemplatePrefetcher mTemplatePrefetcher = new TemplatePrefetcher(this);
+
+    /**
+     * prefix sum of cell height, cell height is the height of its source template.
+     * rebuild when list data or height of a used source template changed
+     * */
+    private HeightIndex mHeightIndex = new HeightIndex();
+    private boolean mHeightIndexDirty = true;
+    private Map<String, Integer> mHeightIndexTemplates = new HashMap<>();
+    private Map<String, List<Integer>> mHeightIndexPositions = new HashMap<>();
+    private int mCreateCacheHitCount;
+    private int mCreateSyncCopyCount;
+    private int mCreateCount;
+
 
 
     /**
@@ -305,6 +333,7 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
             @Override
             public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
                 super.onScrolled(recyclerView, dx, dy);
+                mTemplatePrefetcher.onScrolled(recyclerView, dx, dy);
                 List<OnWXScrollListener> listeners = getInstance().getWXScrollListeners();
                 if (listeners != null && listeners.size() > 0) {
                     try {
@@ -829,6 +858,7 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
         }
         if(data instanceof  JSONArray){
             cellDataManager.listData.addAll(data);
+            mHeightIndexDirty = true;
         }
         getHostView().getRecyclerViewBaseAdapter().notifyItemRangeInserted(position, data.size());
     }
@@ -843,6 +873,7 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
             return;
         }
         boolean renderStateChanged = cellDataManager.insertData(index, data);
+        mHeightIndexDirty = true;
         if(renderStateChanged){
             notifyUpdateList();
         }else{
@@ -870,6 +901,7 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
             return;
         }
         boolean renderStateChange = cellDataManager.insertRange(index, data);
+        mHeightIndexDirty = true;
         if(renderStateChange){
             notifyUpdateList();
         }else{
@@ -887,6 +919,7 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
             return;
         }
         boolean onlyDataChange = cellDataManager.updateData(data, index);
+        mHeightIndexDirty = true;
         if(onlyDataChange) {
             getHostView().getRecyclerViewBaseAdapter().notifyItemChanged(index, data);
         }else{
@@ -1164,6 +1197,10 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
         }
         WXCell component =  getCellTemplateFromCache(template);
         boolean cacheHit = true;
+        mCreateCount++;
+        if(component != null){
+            mCreateCacheHitCount++;
+        }
         if(component == null){
             cacheHit = false;
             if(!source.isSourceUsed()){
@@ -1177,6 +1214,7 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
         }
         if(component == null) {
             long start = System.currentTimeMillis();
+            mCreateSyncCopyCount++;
             component = (WXCell) copyComponentFromSourceCell(source);
             if(WXEnvironment.isOpenDebugLog() && ENABLE_TRACE_LOG) {
                 WXLogUtils.d(TAG, template + " onCreateViewHolder copy used " + (System.currentTimeMillis() - start));
@@ -1215,10 +1253,11 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
 
     /**
      *  render  init with  cell with one data,
-     *  if template has already render with data, done nothing
+     *  if template has already render with data, done nothing.
+     *  render data is volatile, only the first render takes the list lock
      *  @param  cell
      * */
-    private synchronized void renderTemplateCellWithData(WXCell cell){
+    private void renderTemplateCellWithData(WXCell cell){
         if(cell.getRenderData() == null){
             if(cellDataManager.listData != null && cellDataManager.listData.size() > 0){
                 synchronized (this){
@@ -1556,6 +1595,7 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
     }
 
     public void  notifyUpdateList(){
+        mHeightIndexDirty = true;
         if(getHostView() == null
                 || getHostView().getInnerView() == null
                 || listUpdateRunnable == null){
@@ -1570,31 +1610,61 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
     }
 
     private int calcContentSize() {
-        int totalHeight = 0;
-        if(cellDataManager.listData == null){
-            return totalHeight;
-        }
-        for (int i = 0; i < cellDataManager.listData.size(); i++) {
-            WXCell child = getSourceTemplate(i);
-            if (child != null) {
-                totalHeight += child.getLayoutHeight();
+        return (int) getHeightIndex().total();
+    }
+
+    private HeightIndex getHeightIndex(){
+        int count = cellDataManager.listData == null ? 0 : cellDataManager.listData.size();
+        if(mHeightIndexDirty || mHeightIndex.size() != count){
+            mHeightIndexTemplates.clear();
+            mHeightIndexPositions.clear();
+            int[] heights = new int[count];
+            for(int i=0; i<count; i++){
+                String template = getTemplateKey(i);
+                Integer height = mHeightIndexTemplates.get(template);
+                if(height == null){
+                    WXCell source = mTemplateSources.get(template);
+                    height = source == null ? 0 : (int) source.getLayoutHeight();
+                    mHeightIndexTemplates.put(template, height);
+                    mHeightIndexPositions.put(template, new ArrayList<Integer>());
+                }
+                mHeightIndexPositions.get(template).add(i);
+                heights[i] = height;
+            }
+            mHeightIndex.build(heights, count);
+            mHeightIndexDirty = false;
+        }else{
+            for(Map.Entry<String, Integer> entry : mHeightIndexTemplates.entrySet()){
+                WXCell source = mTemplateSources.get(entry.getKey());
+                int height = source == null ? 0 : (int) source.getLayoutHeight();
+                if(height != entry.getValue()){
+                    entry.setValue(height);
+                    updateTemplateHeight(entry.getKey(), height);
+                }
             }
         }
-        return totalHeight;
+        return mHeightIndex;
+    }
+
+    /**
+     * template source layout changed, update positions of the template only, positions of each
+     * template are kept from last build, so data is not parsed again.
+     * */
+    private void updateTemplateHeight(String template, int height){
+        List<Integer> positions = mHeightIndexPositions.get(template);
+        if(positions == null){
+            return;
+        }
+        for(int i=0; i<positions.size(); i++){
+            mHeightIndex.set(positions.get(i), height);
+        }
     }
 
     public int calcContentOffset(RecyclerView recyclerView) {
         RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
         if (layoutManager instanceof LinearLayoutManager) {
             int firstVisibleItemPosition = ((LinearLayoutManager) layoutManager).findFirstVisibleItemPosition();
-            int offset = 0;
-            for (int i=0;i<firstVisibleItemPosition;i++) {
-                WXCell cell = getSourceTemplate(i);
-                if(cell == null){
-                    continue;
-                }
-                offset -= cell.getLayoutHeight();
-            }
+            int offset = (int) -getHeightIndex().prefixSum(firstVisibleItemPosition);
 
             if (layoutManager instanceof GridLayoutManager) {
                 int spanCount = ((GridLayoutManager) layoutManager).getSpanCount();
@@ -1608,14 +1678,7 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
         } else if (layoutManager instanceof StaggeredGridLayoutManager) {
             int spanCount = ((StaggeredGridLayoutManager) layoutManager).getSpanCount();
             int firstVisibleItemPosition = ((StaggeredGridLayoutManager) layoutManager).findFirstVisibleItemPositions(null)[0];
-            int offset = 0;
-            for (int i=0;i<firstVisibleItemPosition;i++) {
-                WXCell cell = getSourceTemplate(i);
-                if(cell == null){
-                    continue;
-                }
-                offset -= cell.getLayoutHeight();
-            }
+            int offset = (int) -getHeightIndex().prefixSum(firstVisibleItemPosition);
             offset = offset / spanCount;
 
             View firstVisibleView = layoutManager.findViewByPosition(firstVisibleItemPosition);
@@ -1701,19 +1764,74 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
                 cache = new TemplateCache();
                 mTemplatesCache.put(template, cache);
             }
-            cache.isLoadIng = true;
-            WXCell source = mTemplateSources.get(template);
-            if(source != null){
-                boolean allowPreload = WXUtils.getBoolean(source.getDomObject().getAttrs().get("preload"), true);
-                if(allowPreload) {
-                    AsyncCellLoadTask asyncCellLoadTask = new AsyncCellLoadTask(template, source, this);
-                    asyncCellLoadTask.startTask();
-                }
-            }
+            startTemplateLoad(template, cache);
         }
         return  component;
     }
 
+    /**
+     * preload cells of template, until cache has predictSize cells.
+     * called by {@link TemplatePrefetcher} with count of template in upcoming positions
+     * */
+    void preloadTemplate(String template, int predictSize){
+        if(mTemplatesCache == null || isDestoryed()){
+            return;
+        }
+        TemplateCache cache = mTemplatesCache.get(template);
+        if(cache == null){
+            cache = new TemplateCache();
+            mTemplatesCache.put(template, cache);
+        }
+        cache.predictSize = predictSize;
+        if(!cache.isLoadIng && cache.cells.size() < cache.getLoadSize(templateCacheSize)){
+            startTemplateLoad(template, cache);
+        }
+    }
+
+    /**
+     * template not in upcoming positions any more, preload no more than templateCacheSize cells for it.
+     * */
+    void resetPredictSize(String template){
+        if(mTemplatesCache == null){
+            return;
+        }
+        TemplateCache cache = mTemplatesCache.get(template);
+        if(cache != null){
+            cache.predictSize = 0;
+        }
+    }
+
+    /**
+     * mark cache loading only when a task really starts, template without source or preload
+     * should not block later loads.
+     * */
+    private void startTemplateLoad(String template, TemplateCache cache){
+        WXCell source = mTemplateSources.get(template);
+        if(source == null){
+            return;
+        }
+        boolean allowPreload = WXUtils.getBoolean(source.getDomObject().getAttrs().get("preload"), true);
+        if(allowPreload) {
+            cache.isLoadIng = true;
+            AsyncCellLoadTask asyncCellLoadTask = new AsyncCellLoadTask(template, source, this);
+            asyncCellLoadTask.startTask();
+        }
+    }
+
+    /**
+     * ratio of onCreateViewHolder get cell from template cache
+     * */
+    public float getTemplateCacheHitRatio(){
+        return mCreateCount == 0 ? 0 : mCreateCacheHitCount/(float) mCreateCount;
+    }
+
+    /**
+     * count of cells copied from source on main thread, because cache is empty
+     * */
+    public int getSyncCopyCount(){
+        return mCreateSyncCopyCount;
+    }
+
     /**
      * create view for lazy cell and bind data
      * */
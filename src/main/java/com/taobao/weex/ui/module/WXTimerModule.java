@@ -25,13 +25,10 @@ import static com.taobao.weex.bridge.WXBridgeManager.METHOD_CALL_JS;
 import static com.taobao.weex.common.WXJSBridgeMsgType.MODULE_INTERVAL;
 import static com.taobao.weex.common.WXJSBridgeMsgType.MODULE_TIMEOUT;
 
-import android.os.Handler;
-import android.os.Message;
 import android.support.annotation.FloatRange;
 import android.support.annotation.IntDef;
 import android.support.annotation.IntRange;
 import android.support.annotation.VisibleForTesting;
-import android.util.SparseArray;
 
 import com.taobao.weex.WXEnvironment;
 import com.taobao.weex.WXSDKManager;
@@ -48,34 +45,49 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
-public class WXTimerModule extends WXModule implements Destroyable, Handler.Callback {
+public class WXTimerModule extends WXModule implements Destroyable {
 
   @IntDef({MODULE_TIMEOUT, MODULE_INTERVAL})
   @Retention(RetentionPolicy.SOURCE)
   @interface MessageType {}
 
   private final static String TAG = "timer";
-  private Handler handler;
-  private SparseArray<Integer> antiIntAutoBoxing;
+
+  /**
+   * Sends all timers of an instance expired in the same tick in one callJS.
+   */
+  private static final WXTimerWheel.Listener sCallJSListener = new WXTimerWheel.Listener() {
+    @Override
+    public void onTimersExpired(int instanceId, List<WXTimerWheel.Timer> timers) {
+      if(WXEnvironment.isApkDebugable()) {
+        WXLogUtils.d(TAG, "Timer Module fire " + timers.size() + " timers of instance " + instanceId);
+      }
+      WXBridgeManager.getInstance().invokeExecJS(String.valueOf(instanceId), null, METHOD_CALL_JS,
+          createTimerArgs(instanceId, timers), true);
+    }
+  };
+
+  private WXTimerWheel wheel;
+  private int instanceId = -1;
 
   public WXTimerModule() {
-    handler = new Handler(WXBridgeManager.getInstance().getJSLooper(), this);
-    antiIntAutoBoxing = new SparseArray<>();
+    wheel = WXTimerWheel.getInstance(WXBridgeManager.getInstance().getJSLooper(), sCallJSListener);
   }
 
 
   @JSMethod(uiThread = false)
   public void setTimeout(@IntRange(from = 1) int funcId, @FloatRange(from = 0) float delay) {
     if(mWXSDKInstance != null) {
-      postOrHoldMessage(MODULE_TIMEOUT, funcId, (int) delay, Integer.parseInt(mWXSDKInstance.getInstanceId()));
+      postOrHoldMessage(MODULE_TIMEOUT, funcId, (int) delay, getInstanceId());
     }
   }
 
   @JSMethod(uiThread = false)
   public void setInterval(@IntRange(from = 1) int funcId, @FloatRange(from = 0) float interval) {
     if(mWXSDKInstance != null) {
-      postOrHoldMessage(MODULE_INTERVAL, funcId, (int) interval, Integer.parseInt(mWXSDKInstance.getInstanceId()));
+      postOrHoldMessage(MODULE_INTERVAL, funcId, (int) interval, getInstanceId());
     }
   }
 
@@ -95,109 +107,130 @@ public class WXTimerModule extends WXModule implements Destroyable, Handler.Call
     removeOrHoldMessage(MODULE_INTERVAL, funcId);
   }
 
+  @Override
+  public void onActivityPause() {
+    setInstanceBackground(true);
+  }
+
+  @Override
+  public void onActivityResume() {
+    setInstanceBackground(false);
+  }
+
   @Override
   public void destroy() {
-    if (handler != null) {
+    if (instanceId != -1) {
       if(WXEnvironment.isApkDebugable()) {
-        WXLogUtils.d(TAG, "Timer Module removeAllMessages: ");
+        WXLogUtils.d(TAG, "Timer Module removeAllTimers: " + instanceId);
       }
-      handler.removeCallbacksAndMessages(null);
-      antiIntAutoBoxing.clear();
+      final int id = instanceId;
+      //destroy may be called outside the js thread
+      WXBridgeManager.getInstance().post(new Runnable() {
+        @Override
+        public void run() {
+          wheel.removeInstance(id);
+        }
+      });
     }
   }
 
-  @Override
-  public boolean handleMessage(Message msg) {
-    boolean ret = false;
-    WXJSObject[] args;
-    if (msg != null) {
-      int what = msg.what;
-      if(WXEnvironment.isApkDebugable()) {
-          WXLogUtils.d(TAG, "Timer Module handleMessage : " + msg.what);
-      }
-      switch (what) {
-        case MODULE_TIMEOUT:
-          if (msg.obj == null) {
-            break;
-          }
-          args = createTimerArgs(msg.arg1, (Integer) msg.obj, false);
-          WXBridgeManager.getInstance().invokeExecJS(String.valueOf(msg.arg1), null, METHOD_CALL_JS, args, true);
-          ret = true;
-          break;
-        case MODULE_INTERVAL:
-          if (msg.obj == null) {
-            break;
-          }
-          postMessage(MODULE_INTERVAL, (Integer) msg.obj, msg.arg2, msg.arg1);
-          args = createTimerArgs(msg.arg1, (Integer) msg.obj, true);
-          WXBridgeManager.getInstance().invokeExecJS(String.valueOf(msg.arg1), null, METHOD_CALL_JS, args, true);
-          ret = true;
-          break;
-        default:
-          break;
-      }
+  private void setInstanceBackground(final boolean background) {
+    if (instanceId != -1) {
+      final int id = instanceId;
+      //lifecycle callbacks come from the ui thread, the wheel is only touched on the js thread
+      WXBridgeManager.getInstance().post(new Runnable() {
+        @Override
+        public void run() {
+          wheel.setInstanceBackground(id, background);
+        }
+      });
+    }
+  }
+
+  @VisibleForTesting
+  void setTimerWheel(WXTimerWheel wheel) {
+    this.wheel = wheel;
+  }
+
+  /**
+   * mWXSDKInstance is only set during a method call, the id is kept for pause, resume and destroy.
+   */
+  private int getInstanceId() {
+    if (mWXSDKInstance != null) {
+      instanceId = Integer.parseInt(mWXSDKInstance.getInstanceId());
     }
-    return ret;
+    return instanceId;
   }
 
   @VisibleForTesting
-  void setHandler(Handler handler) {
-    this.handler = handler;
-  }
-
-  private WXJSObject[] createTimerArgs(int instanceId, int funcId, boolean keepAlive) {
-    ArrayList<Object> argsList = new ArrayList<>();
-    argsList.add(funcId);
-    argsList.add(new HashMap<>());
-    argsList.add(keepAlive);
-    WXHashMap<String, Object> task = new WXHashMap<>();
-    task.put(KEY_METHOD, METHOD_CALLBACK);
-    task.put(KEY_ARGS, argsList);
-    Object[] tasks = {task};
+  static WXJSObject[] createTimerArgs(int instanceId, List<WXTimerWheel.Timer> timers) {
+    Object[] tasks = new Object[timers.size()];
+    for (int i = 0; i < tasks.length; i++) {
+      WXTimerWheel.Timer timer = timers.get(i);
+      ArrayList<Object> argsList = new ArrayList<>(3);
+      argsList.add(timer.getFuncId());
+      argsList.add(new HashMap<>());
+      argsList.add(timer.isRepeat());
+      WXHashMap<String, Object> task = new WXHashMap<>();
+      task.put(KEY_METHOD, METHOD_CALLBACK);
+      task.put(KEY_ARGS, argsList);
+      tasks[i] = task;
+    }
     return new WXJSObject[]{
         new WXJSObject(WXJSObject.String, String.valueOf(instanceId)),
-        new WXJSObject(WXJSObject.JSON,
-                       WXJsonUtils.fromObjectToJSONString(tasks))};
+        WXJsonUtils.wsonWXJSObject(tasks)};
   }
 
   private void postOrHoldMessage(@MessageType final int what,final int funcId,final int interval,final int instanceId) {
     if(mWXSDKInstance.isPreRenderMode()) {
-      WXSDKManager.getInstance().getWXDomManager().postAction(mWXSDKInstance.getInstanceId(), Actions.getExecutableRenderAction(new Runnable() {
+      holdUntilRendered(new Runnable() {
         @Override
         public void run() {
           postMessage(what,funcId,interval,instanceId);
         }
-      }),false);
+      });
     } else {
       postMessage(what,funcId,interval,instanceId);
     }
   }
 
   private void removeOrHoldMessage(@MessageType final int what,final int funcId) {
-    if(mWXSDKInstance.isPreRenderMode()) {
-      WXSDKManager.getInstance().getWXDomManager().postAction(mWXSDKInstance.getInstanceId(), Actions.getExecutableRenderAction(new Runnable() {
+    final int instanceId = getInstanceId();
+    if (instanceId == -1) {
+      return;
+    }
+    if(mWXSDKInstance != null && mWXSDKInstance.isPreRenderMode()) {
+      holdUntilRendered(new Runnable() {
         @Override
         public void run() {
-          handler.removeMessages(what, antiIntAutoBoxing.get(funcId, funcId));
+          wheel.cancel(instanceId, funcId, what == MODULE_INTERVAL);
         }
-      }),false);
+      });
     } else {
-      handler.removeMessages(what, antiIntAutoBoxing.get(funcId, funcId));
+      wheel.cancel(instanceId, funcId, what == MODULE_INTERVAL);
     }
   }
 
+  /**
+   * In pre-render mode, the task waits for the render action, which runs on the ui thread,
+   * then it is posted back to the js thread, the only thread the wheel is touched on.
+   */
+  private void holdUntilRendered(final Runnable task) {
+    WXSDKManager.getInstance().getWXDomManager().postAction(mWXSDKInstance.getInstanceId(), Actions.getExecutableRenderAction(new Runnable() {
+      @Override
+      public void run() {
+        WXBridgeManager.getInstance().post(task);
+      }
+    }),false);
+  }
+
   private void postMessage(@MessageType int what,
       @IntRange(from = 1) int funcId,
       @IntRange(from = 0) int interval, int instanceId) {
     if (interval < 0 || funcId <= 0) {
       WXLogUtils.e(TAG, "interval < 0 or funcId <=0");
     } else {
-      if(antiIntAutoBoxing.get(funcId) == null) {
-        antiIntAutoBoxing.put(funcId, funcId);
-      }
-      Message message = handler
-          .obtainMessage(what, instanceId, interval, antiIntAutoBoxing.get(funcId));
-      handler.sendMessageDelayed(message, interval);
+      wheel.schedule(instanceId, funcId, interval, what == MODULE_INTERVAL);
     }
   }
 }
@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.module;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.os.SystemClock;
+import android.support.annotation.VisibleForTesting;
+import android.util.SparseArray;
+
+import com.taobao.weex.common.WXThread;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Hashed timer wheel for the timers of all instances, must only be used on the thread of its looper.
+ * <p>
+ * Deadlines are rounded up to a {@link #TICK_MS} tick, timers expiring in the same tick are
+ * delivered together, grouped by instance, so one {@link Listener#onTimersExpired(int, List)} call
+ * is made per instance and tick instead of one per timer.
+ * The handler only wakes up for ticks which have timers, an idle wheel posts nothing.
+ * <p>
+ * Timers of a background instance (see {@link #setInstanceBackground(int, boolean)}) are aligned to
+ * {@link #BACKGROUND_ALIGN_MS}, so they fire together at most once per {@link #BACKGROUND_ALIGN_MS}.
+ */
+public class WXTimerWheel implements Handler.Callback {
+
+  public static final int TICK_MS = 16;
+  private static final int WHEEL_SIZE = 64;//power of 2
+  /**
+   * one round of the wheel, about a second.
+   */
+  public static final int BACKGROUND_ALIGN_MS = TICK_MS * WHEEL_SIZE;
+  private static final int MSG_TICK = 1;
+
+  public interface Listener {
+    /**
+     * Called with all timers of one instance expired in the same tick, in deadline order.
+     */
+    void onTimersExpired(int instanceId, List<Timer> timers);
+  }
+
+  public static class Timer {
+    final int instanceId;
+    final int funcId;
+    final int interval;
+    final boolean repeat;
+    long deadline;
+    long tick;
+    boolean cancelled;
+
+    Timer(int instanceId, int funcId, int interval, boolean repeat) {
+      this.instanceId = instanceId;
+      this.funcId = funcId;
+      this.interval = interval;
+      this.repeat = repeat;
+    }
+
+    public int getFuncId() {
+      return funcId;
+    }
+
+    public boolean isRepeat() {
+      return repeat;
+    }
+
+    /**
+     * @return uptime in milliseconds at which the timer should fire.
+     */
+    public long getDeadline() {
+      return deadline;
+    }
+  }
+
+  private static final Comparator<Timer> DEADLINE_ORDER = new Comparator<Timer>() {
+    @Override
+    public int compare(Timer lhs, Timer rhs) {
+      return lhs.deadline < rhs.deadline ? -1 : (lhs.deadline == rhs.deadline ? 0 : 1);
+    }
+  };
+
+  private static WXTimerWheel sInstance;
+
+  private final Handler mHandler;
+  private final Listener mListener;
+  @SuppressWarnings("unchecked")
+  private final List<Timer>[] mSlots = new List[WHEEL_SIZE];
+  /**
+   * instanceId -> funcId -> timer
+   */
+  private final SparseArray<SparseArray<Timer>> mTimers = new SparseArray<>();
+  private final SparseArray<Boolean> mBackgroundInstances = new SparseArray<>();
+  private final SparseArray<List<Timer>> mExpired = new SparseArray<>();
+  private int mCount;
+  /**
+   * all ticks up to and including this one are processed.
+   */
+  private long mCurrentTick;
+  private long mScheduledTime = -1;
+
+  /**
+   * @return the wheel on the looper, created on first use.
+   */
+  static synchronized WXTimerWheel getInstance(Looper looper, Listener listener) {
+    if (sInstance == null || sInstance.mHandler.getLooper() != looper) {
+      sInstance = new WXTimerWheel(looper, listener);
+    }
+    return sInstance;
+  }
+
+  @VisibleForTesting
+  WXTimerWheel(Looper looper, Listener listener) {
+    mHandler = new Handler(looper, WXThread.secure(this));
+    mListener = listener;
+    mCurrentTick = SystemClock.uptimeMillis() / TICK_MS;
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      mSlots[i] = new ArrayList<>();
+    }
+  }
+
+  /**
+   * Add a timer, an existing timer with the same instance and function id is replaced.
+   */
+  public void schedule(int instanceId, int funcId, int delay, boolean repeat) {
+    cancel(instanceId, funcId);
+    if (mCount == 0) {
+      //nothing is pending, the wheel can jump to now
+      mCurrentTick = SystemClock.uptimeMillis() / TICK_MS;
+    }
+    Timer timer = new Timer(instanceId, funcId, delay, repeat);
+    SparseArray<Timer> timers = mTimers.get(instanceId);
+    if (timers == null) {
+      timers = new SparseArray<>();
+      mTimers.put(instanceId, timers);
+    }
+    timers.put(funcId, timer);
+    long now = SystemClock.uptimeMillis();
+    insert(timer, now + delay);
+    mCount++;
+    scheduleNextTick(now);
+  }
+
+  /**
+   * @param repeat cancel an interval if true, a timeout if false.
+   */
+  public void cancel(int instanceId, int funcId, boolean repeat) {
+    SparseArray<Timer> timers = mTimers.get(instanceId);
+    Timer timer = timers == null ? null : timers.get(funcId);
+    if (timer != null && timer.repeat == repeat) {
+      cancel(instanceId, funcId);
+    }
+  }
+
+  private void cancel(int instanceId, int funcId) {
+    SparseArray<Timer> timers = mTimers.get(instanceId);
+    Timer timer = timers == null ? null : timers.get(funcId);
+    if (timer != null) {
+      timer.cancelled = true;
+      timers.remove(funcId);
+      mCount--;
+    }
+  }
+
+  /**
+   * Cancel all timers of the instance.
+   */
+  public void removeInstance(int instanceId) {
+    SparseArray<Timer> timers = mTimers.get(instanceId);
+    if (timers != null) {
+      for (int i = 0; i < timers.size(); i++) {
+        timers.valueAt(i).cancelled = true;
+      }
+      mCount -= timers.size();
+      mTimers.remove(instanceId);
+    }
+    mBackgroundInstances.remove(instanceId);
+    if (mCount == 0) {
+      clearSlots();
+    }
+  }
+
+  /**
+   * Throttle the timers of a background instance, timers already scheduled are aligned when they
+   * fire next time.
+   */
+  public void setInstanceBackground(int instanceId, boolean background) {
+    if (background) {
+      mBackgroundInstances.put(instanceId, Boolean.TRUE);
+    } else {
+      mBackgroundInstances.remove(instanceId);
+    }
+  }
+
+  @VisibleForTesting
+  int size() {
+    return mCount;
+  }
+
+  @Override
+  public boolean handleMessage(Message msg) {
+    if (msg.what != MSG_TICK) {
+      return false;
+    }
+    mScheduledTime = -1;
+    //never process a tick before the time it was scheduled for
+    long now = Math.max(SystemClock.uptimeMillis(), msg.getWhen());
+    advance(now);
+    scheduleNextTick(now);
+    return true;
+  }
+
+  private void advance(long now) {
+    long nowTick = now / TICK_MS;
+    //a late looper can skip ticks, but never more than a round of slots.
+    //the tick after now is checked as well, for timers which are already due (delay 0).
+    long from = Math.max(mCurrentTick + 1, nowTick - WHEEL_SIZE + 2);
+    for (long tick = from; tick <= nowTick + 1; tick++) {
+      List<Timer> slot = mSlots[(int) (tick & (WHEEL_SIZE - 1))];
+      for (int i = 0; i < slot.size(); ) {
+        Timer timer = slot.get(i);
+        if (timer.cancelled) {
+          slot.remove(i);
+        } else if (timer.tick <= nowTick || timer.deadline <= now) {
+          slot.remove(i);
+          expire(timer);
+        } else {
+          i++;
+        }
+      }
+    }
+    mCurrentTick = nowTick;
+
+    for (int i = 0; i < mExpired.size(); i++) {
+      List<Timer> timers = mExpired.valueAt(i);
+      if (timers.isEmpty()) {
+        continue;
+      }
+      if (timers.size() > 1) {
+        Collections.sort(timers, DEADLINE_ORDER);
+      }
+      mListener.onTimersExpired(mExpired.keyAt(i), new ArrayList<>(timers));
+      for (Timer timer : timers) {
+        if (timer.repeat && !timer.cancelled) {
+          //keep the interval free of drift, but never fire again in the same tick
+          insert(timer, Math.max(timer.deadline + timer.interval, now + 1));
+        }
+      }
+      timers.clear();
+    }
+  }
+
+  private void expire(Timer timer) {
+    if (!timer.repeat) {
+      SparseArray<Timer> timers = mTimers.get(timer.instanceId);
+      if (timers != null) {
+        timers.remove(timer.funcId);
+      }
+      mCount--;
+    }
+    List<Timer> expired = mExpired.get(timer.instanceId);
+    if (expired == null) {
+      expired = new ArrayList<>();
+      mExpired.put(timer.instanceId, expired);
+    }
+    expired.add(timer);
+  }
+
+  private void insert(Timer timer, long deadline) {
+    if (mBackgroundInstances.get(timer.instanceId) != null) {
+      deadline = (deadline + BACKGROUND_ALIGN_MS - 1) / BACKGROUND_ALIGN_MS * BACKGROUND_ALIGN_MS;
+    }
+    timer.deadline = deadline;
+    timer.tick = Math.max(toTick(deadline), mCurrentTick + 1);
+    mSlots[(int) (timer.tick & (WHEEL_SIZE - 1))].add(timer);
+  }
+
+  private void scheduleNextTick(long now) {
+    long time = findNextTime(now);
+    if (time == mScheduledTime) {
+      return;
+    }
+    mHandler.removeMessages(MSG_TICK);
+    mScheduledTime = time;
+    if (time >= 0) {
+      mHandler.sendMessageAtTime(mHandler.obtainMessage(MSG_TICK), time);
+    }
+  }
+
+  /**
+   * @return uptime of the first tick with a timer in the next round, now if a timer is already due,
+   * the end of the round if the timers are all further away, -1 if there is no timer.
+   */
+  private long findNextTime(long now) {
+    if (mCount <= 0) {
+      clearSlots();
+      return -1;
+    }
+    long end = mCurrentTick + WHEEL_SIZE;
+    for (long tick = mCurrentTick + 1; tick <= end; tick++) {
+      List<Timer> slot = mSlots[(int) (tick & (WHEEL_SIZE - 1))];
+      long time = -1;
+      for (int i = 0; i < slot.size(); ) {
+        Timer timer = slot.get(i);
+        if (timer.cancelled) {
+          slot.remove(i);
+          continue;
+        }
+        if (timer.tick == tick) {
+          if (timer.deadline <= now) {
+            return now;
+          }
+          time = tick * TICK_MS;
+        }
+        i++;
+      }
+      if (time >= 0) {
+        return time;
+      }
+    }
+    return end * TICK_MS;
+  }
+
+  private void clearSlots() {
+    for (List<Timer> slot : mSlots) {
+      slot.clear();
+    }
+  }
+
+  /**
+   * @return the first tick not earlier than the time.
+   */
+  private static long toTick(long uptime) {
+    return (uptime + TICK_MS - 1) / TICK_MS;
+  }
+}
@@ -38,7 +38,7 @@ import java.util.List;
  * FrameLayout wrapper
  *
  */
-public class WXFrameLayout extends FrameLayout implements WXGestureObservable,IRenderStatus<WXDiv>,IRenderResult<WXDiv> {
+public class WXFrameLayout extends FrameLayout implements WXGestureObservable,IRenderStatus<WXDiv>,IRenderResult<WXDiv>,IReusableView {
 
   private WXGesture wxGesture;
 
@@ -75,6 +75,15 @@ public class WXFrameLayout extends FrameLayout implements WXGestureObservable,IR
     return null != mWeakReference ? mWeakReference.get() : null;
   }
 
+  @Override
+  public void resetForReuse() {
+    mWeakReference = null;
+    unmountFlatGUI();
+    setDescendantFocusability(FOCUS_BEFORE_DESCENDANTS);
+    setClipToPadding(true);
+    setClipChildren(true);
+  }
+
   public void mountFlatGUI(List<Widget> widgets){
     this.mWidgets = widgets;
     if (mWidgets != null) {
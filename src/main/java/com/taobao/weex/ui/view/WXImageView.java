@@ -46,7 +46,8 @@ import java.util.Arrays;
 
 public class WXImageView extends ImageView implements WXGestureObservable,
                                                       IRenderStatus<WXImage>,
-                                                      IRenderResult<WXImage>, WXImage.Measurable {
+                                                      IRenderResult<WXImage>, WXImage.Measurable,
+                                                      IReusableView {
 
   private WeakReference<WXImage> mWeakReference;
   private WXGesture wxGesture;
@@ -139,6 +140,19 @@ public class WXImageView extends ImageView implements WXGestureObservable,
     return null != mWeakReference ? mWeakReference.get() : null;
   }
 
+  @Override
+  public void resetForReuse() {
+    mWeakReference = null;
+    super.setImageDrawable(null);
+    borderRadius = null;
+    gif = false;
+    isBitmapReleased = false;
+    enableBitmapAutoManage = true;
+    mCurrentUrl = null;
+    hideLoading();
+    hideErrorBitmap();
+  }
+
   @Override
   public int getNaturalWidth() {
     Drawable drawable = getDrawable();
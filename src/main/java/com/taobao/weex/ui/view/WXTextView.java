@@ -36,7 +36,8 @@ import java.lang.ref.WeakReference;
  * TextView wrapper
  */
 public class WXTextView extends View implements WXGestureObservable, IWXTextView,
-                                                IRenderStatus<WXText>, IRenderResult<WXText> {
+                                                IRenderStatus<WXText>, IRenderResult<WXText>,
+                                                IReusableView {
 
   private WeakReference<WXText> mWeakReference;
   private WXGesture wxGesture;
@@ -118,4 +119,11 @@ public class WXTextView extends View implements WXGestureObservable, IWXTextView
   public WXText getComponent() {
      return null != mWeakReference ? mWeakReference.get() : null;
   }
+
+  @Override
+  public void resetForReuse() {
+    mWeakReference = null;
+    textLayout = null;
+    mIsLabelSet = false;
+  }
 }
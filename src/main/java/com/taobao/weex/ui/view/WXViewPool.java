@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.view;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Build;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.Nullable;
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.taobao.weex.WXSDKManager;
+import com.taobao.weex.ui.component.WXBasicComponentType;
+import com.taobao.weex.ui.component.WXComponent;
+import com.taobao.weex.ui.view.gesture.WXGestureObservable;
+import com.taobao.weex.utils.WXUtils;
+import com.taobao.weex.utils.WXViewUtils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Host views of div, text and image created ahead of time for a {@link Context}, so that
+ * components take them in initComponentHostView instead of creating them while render actions run.
+ * Views are created when the main thread is idle, as many as components of the type in the last
+ * render of the bundle, and views of destroyed components are reset and kept for the next render.
+ * <p>
+ * The pooled views hold the context, so pools are only registered weakly and are held by the
+ * live instances of the context, see {@link com.taobao.weex.WXSDKInstance#getViewPool()}. A pool
+ * goes away with the last instance, even if the activity is never destroyed through weex.
+ * <p>
+ * Methods except {@link #prepare(Map)} must be called on the main thread.
+ */
+public class WXViewPool {
+
+  public static final String DIV = WXBasicComponentType.DIV;
+  public static final String TEXT = WXBasicComponentType.TEXT;
+  public static final String IMAGE = WXBasicComponentType.IMAGE;
+
+  public static boolean ENABLE_POOL = true;
+
+  /**
+   * max views kept for one type
+   */
+  static final int MAX_POOL_SIZE = 64;
+
+  /**
+   * time spent creating views in one idle callback, to leave the main thread for input and frames
+   */
+  private static final long IDLE_BUDGET_NANOS = 4 * 1000 * 1000;
+
+  private static final Map<Context, WeakReference<WXViewPool>> sPools = new WeakHashMap<>();
+
+  private static class Entry {
+    final ArrayDeque<View> views = new ArrayDeque<>();
+    int target;
+    int created;
+    long createNanos;
+  }
+
+  private final Context mContext;
+  private final Map<String, Entry> mEntries = new HashMap<>();
+  private boolean mIdleScheduled;
+
+  private final MessageQueue.IdleHandler mIdleHandler = new MessageQueue.IdleHandler() {
+    @Override
+    public boolean queueIdle() {
+      mIdleScheduled = warm(IDLE_BUDGET_NANOS);
+      return mIdleScheduled;
+    }
+  };
+
+  WXViewPool(Context context) {
+    mContext = context;
+  }
+
+  /**
+   * @return pool of context, shared by the instances holding it, or null if pool is disabled or
+   * context is an activity being destroyed. The caller must hold the pool while it uses it.
+   */
+  public static @Nullable WXViewPool get(Context context) {
+    if (!ENABLE_POOL || context == null) {
+      return null;
+    }
+    if (isFinishing(context)) {
+      sPools.remove(context);
+      return null;
+    }
+    WeakReference<WXViewPool> reference = sPools.get(context);
+    WXViewPool pool = reference == null ? null : reference.get();
+    if (pool == null) {
+      pool = new WXViewPool(context);
+      sPools.put(context, new WeakReference<>(pool));
+    }
+    return pool;
+  }
+
+  public Context getContext() {
+    return mContext;
+  }
+
+  /**
+   * Create views for the components in counts when the main thread is idle.
+   * @param counts number of components of each type, usually of the last render of the bundle.
+   */
+  public void prepare(final Map<String, Integer> counts) {
+    if (counts == null || counts.isEmpty()) {
+      return;
+    }
+    if (!WXUtils.isUiThread()) {
+      WXSDKManager.getInstance().postOnUiThread(new Runnable() {
+        @Override
+        public void run() {
+          prepare(counts);
+        }
+      }, 0);
+      return;
+    }
+    prepareTargets(counts);
+  }
+
+  /**
+   * Reset view and keep it for the next component of its type. Views still attached are skipped,
+   * they are released with their parent, which releases children of destroyed components too.
+   */
+  public void release(View view) {
+    if (view == null || view.getParent() != null || typeOf(view) == null || isFinishing(mContext)) {
+      return;
+    }
+    recycle(view);
+  }
+
+  /**
+   * @return type of the pool for component type, or null if components of the type are not pooled.
+   */
+  public static @Nullable String poolType(String componentType) {
+    if (componentType == null) {
+      return null;
+    }
+    switch (componentType) {
+      case WXBasicComponentType.DIV:
+      case WXBasicComponentType.CONTAINER:
+        return DIV;
+      case WXBasicComponentType.TEXT:
+        return TEXT;
+      case WXBasicComponentType.IMAGE:
+      case WXBasicComponentType.IMG:
+        return IMAGE;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * @return a view of type created ahead of time, or null if there is none.
+   */
+  public @Nullable View obtain(String type) {
+    Entry entry = mEntries.get(type);
+    return entry == null ? null : entry.views.poll();
+  }
+
+  /**
+   * @return average time of creating a view of type, measured while warming up.
+   */
+  public long getAverageCreateNanos(String type) {
+    Entry entry = mEntries.get(type);
+    return entry == null || entry.created == 0 ? 0 : entry.createNanos / entry.created;
+  }
+
+  public int size(String type) {
+    Entry entry = mEntries.get(type);
+    return entry == null ? 0 : entry.views.size();
+  }
+
+  private void prepareTargets(Map<String, Integer> counts) {
+    Map<String, Integer> targets = new HashMap<>();
+    for (Map.Entry<String, Integer> count : counts.entrySet()) {
+      String type = poolType(count.getKey());
+      if (type != null && count.getValue() != null) {
+        Integer target = targets.get(type);
+        targets.put(type, target == null ? count.getValue() : target + count.getValue());
+      }
+    }
+
+    boolean warm = false;
+    for (Map.Entry<String, Integer> target : targets.entrySet()) {
+      Entry entry = entry(target.getKey());
+      entry.target = Math.max(entry.target, Math.min(target.getValue(), MAX_POOL_SIZE));
+      warm |= entry.views.size() < entry.target;
+    }
+    if (warm && !mIdleScheduled) {
+      mIdleScheduled = true;
+      Looper.myQueue().addIdleHandler(mIdleHandler);
+    }
+  }
+
+  /**
+   * Create views until every type reaches its target or budgetNanos is spent.
+   * @return true if there are views left to create.
+   */
+  boolean warm(long budgetNanos) {
+    if (isFinishing(mContext)) {
+      return false;
+    }
+    long start = System.nanoTime();
+    for (Map.Entry<String, Entry> item : mEntries.entrySet()) {
+      Entry entry = item.getValue();
+      while (entry.views.size() < entry.target) {
+        if (System.nanoTime() - start >= budgetNanos) {
+          return true;
+        }
+        long begin = System.nanoTime();
+        View view = create(item.getKey());
+        entry.createNanos += System.nanoTime() - begin;
+        entry.created++;
+        entry.views.push(view);
+      }
+    }
+    return false;
+  }
+
+  private void recycle(View view) {
+    String type = typeOf(view);
+    // transformed views may keep a pivot which can't be reset before api 28
+    if (type == null || !isReleased(view) || !view.getMatrix().isIdentity()) {
+      return;
+    }
+    if (view instanceof ViewGroup) {
+      ViewGroup group = (ViewGroup) view;
+      int count = group.getChildCount();
+      if (count > 0) {
+        View[] children = new View[count];
+        for (int i = 0; i < count; i++) {
+          children[i] = group.getChildAt(i);
+        }
+        group.removeAllViews();
+        for (View child : children) {
+          recycle(child);
+        }
+      }
+    }
+    Entry entry = entry(type);
+    if (entry.views.size() < MAX_POOL_SIZE) {
+      reset(view);
+      entry.views.push(view);
+    }
+  }
+
+  private Entry entry(String type) {
+    Entry entry = mEntries.get(type);
+    if (entry == null) {
+      entry = new Entry();
+      mEntries.put(type, entry);
+    }
+    return entry;
+  }
+
+  private View create(String type) {
+    switch (type) {
+      case TEXT:
+        return new WXTextView(mContext);
+      case IMAGE:
+        return new WXImageView(mContext);
+      default:
+        return new WXFrameLayout(mContext);
+    }
+  }
+
+  private static @Nullable String typeOf(View view) {
+    Class<?> clazz = view.getClass();
+    if (clazz == WXFrameLayout.class) {
+      return DIV;
+    } else if (clazz == WXTextView.class) {
+      return TEXT;
+    } else if (clazz == WXImageView.class) {
+      return IMAGE;
+    }
+    return null;
+  }
+
+  private static boolean isReleased(View view) {
+    WXComponent component = ((IRenderResult<?>) view).getComponent();
+    return component == null || component.isDestoryed();
+  }
+
+  private static boolean isFinishing(Context context) {
+    if (context instanceof Activity) {
+      Activity activity = (Activity) context;
+      return activity.isFinishing() || activity.isChangingConfigurations()
+          || (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 && activity.isDestroyed());
+    }
+    return false;
+  }
+
+  private static void reset(View view) {
+    view.animate().cancel();
+    view.clearAnimation();
+    view.setId(View.NO_ID);
+    view.setTag(null);
+    view.setVisibility(View.VISIBLE);
+    view.setEnabled(true);
+    view.setAlpha(1);
+    view.setPadding(0, 0, 0, 0);
+    view.scrollTo(0, 0);
+    view.setOnClickListener(null);
+    view.setClickable(false);
+    view.setOnLongClickListener(null);
+    view.setLongClickable(false);
+    view.setOnTouchListener(null);
+    view.setOnFocusChangeListener(null);
+    view.setFocusable(false);
+    view.setFocusableInTouchMode(false);
+    view.setContentDescription(null);
+    view.setLayerType(View.LAYER_TYPE_NONE, null);
+    ViewCompat.setAccessibilityDelegate(view, null);
+    ViewCompat.setImportantForAccessibility(view, ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_AUTO);
+    ViewCompat.setElevation(view, 0);
+    WXViewUtils.setBackGround(view, null);
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+      view.getOverlay().clear();
+    }
+    ((WXGestureObservable) view).registerGestureListener(null);
+    ((IReusableView) view).resetForReuse();
+  }
+}
@@ -34,6 +34,7 @@ import com.taobao.weex.adapter.IWXHttpAdapter;
 import com.taobao.weex.adapter.IWXTypefaceAdapter;
 import com.taobao.weex.common.WXRequest;
 import com.taobao.weex.common.WXResponse;
+import com.taobao.weex.dom.TextLayoutCache;
 import com.taobao.weex.dom.WXStyle;
 
 import java.io.File;
@@ -56,6 +57,7 @@ public class TypefaceUtil {
     public static void putFontDO(FontDO fontDO) {
         if (fontDO != null && !TextUtils.isEmpty(fontDO.getFontFamilyName())) {
             sCacheMap.put(fontDO.getFontFamilyName(), fontDO);
+            TextLayoutCache.evictFontFamily(fontDO.getFontFamilyName());
         }
     }
 
@@ -66,6 +68,7 @@ public class TypefaceUtil {
     public static void removeFontDO(String fontFamilyName) {
         WXLogUtils.d(TAG, fontFamilyName + " has removed");
         sCacheMap.remove(fontFamilyName);
+        TextLayoutCache.evictFontFamily(fontFamilyName);
     }
 
 
@@ -119,6 +122,7 @@ public class TypefaceUtil {
                 }
                 fontDo.setState(FontDO.STATE_SUCCESS);
                 fontDo.setTypeface(typeface);
+                TextLayoutCache.evictFontFamily(fontDo.getFontFamilyName());
             } else {
                 WXLogUtils.e(TAG, "Font asset file not found " + fontDo.getUrl());
             }
@@ -315,6 +319,7 @@ public class TypefaceUtil {
                 if (fontDo != null) {
                     fontDo.setState(FontDO.STATE_SUCCESS);
                     fontDo.setTypeface(typeface);
+                    TextLayoutCache.evictFontFamily(fontFamily);
                     if (WXEnvironment.isApkDebugable()) {
                         WXLogUtils.d(TAG, "load local font file success");
                     }
@@ -22,14 +22,11 @@ import android.content.Context;
 import android.text.TextUtils;
 import android.util.Base64;
 
-import java.io.BufferedReader;
+import com.taobao.weex.common.WXBundleSource;
+
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.security.MessageDigest;
@@ -47,12 +44,8 @@ public class WXFileUtils {
     if (!TextUtils.isEmpty(path)) {
       File file = new File(path);
       if (file.exists()) {
-        try {
-          FileInputStream fis = new FileInputStream(file);
-          return readStreamToString(fis);
-        } catch (FileNotFoundException e) {
-          e.printStackTrace();
-        }
+        String content = WXBundleSource.fromFile(file).readSafely();
+        return content == null ? "" : content;
       } else {
         return loadAsset(path, context);
       }
@@ -61,56 +54,38 @@ public class WXFileUtils {
   }
 
   /**
-   * Load file in asset directory.
+   * Open file in device directory, if not exist, open from asset directory.
+   * Nothing is read until {@link WXBundleSource#read()}, files and uncompressed assets are memory mapped.
    * @param path FilePath
    * @param context Weex Context
-   * @return the Content of the file
+   * @return the source of the file, null if path is empty
    */
-  public static String loadAsset(String path, Context context) {
-    if (context == null || TextUtils.isEmpty(path)) {
+  public static WXBundleSource openFileOrAsset(String path, Context context) {
+    if (TextUtils.isEmpty(path)) {
       return null;
     }
-    InputStream inputStream = null;
-    try {
-      inputStream = context.getAssets().open(path);
-      return readStreamToString(inputStream);
-    } catch (IOException e) {
-      e.printStackTrace();
+    File file = new File(path);
+    if (file.exists()) {
+      return WXBundleSource.fromFile(file);
     }
-    return "";
+    if (context == null) {
+      return null;
+    }
+    return WXBundleSource.fromAsset(context, path);
   }
 
-  private static String readStreamToString(InputStream inputStream) {
-    BufferedReader bufferedReader = null;
-    try {
-      StringBuilder builder = new StringBuilder(inputStream.available() + 10);
-      bufferedReader = new BufferedReader(new InputStreamReader(inputStream));
-      char[] data = new char[4096];
-      int len = -1;
-      while ((len = bufferedReader.read(data)) > 0) {
-        builder.append(data, 0, len);
-      }
-
-      return builder.toString();
-    } catch (IOException e) {
-      e.printStackTrace();
-      WXLogUtils.e("", e);
-    } finally {
-      try {
-        if (bufferedReader != null)
-          bufferedReader.close();
-      } catch (IOException e) {
-        WXLogUtils.e("WXFileUtils loadAsset: ", e);
-      }
-      try {
-        if (inputStream != null)
-          inputStream.close();
-      } catch (IOException e) {
-        WXLogUtils.e("WXFileUtils loadAsset: ", e);
-      }
+  /**
+   * Load file in asset directory.
+   * @param path FilePath
+   * @param context Weex Context
+   * @return the Content of the file
+   */
+  public static String loadAsset(String path, Context context) {
+    if (context == null || TextUtils.isEmpty(path)) {
+      return null;
     }
-
-    return "";
+    String content = WXBundleSource.fromAsset(context, path).readSafely();
+    return content == null ? "" : content;
   }
 
   public static boolean saveFile(String path, byte[] content, Context context) {
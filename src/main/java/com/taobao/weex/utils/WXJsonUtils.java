@@ -27,6 +27,7 @@ import com.alibaba.fastjson.serializer.SerializerFeature;
 import com.taobao.weex.WXEnvironment;
 import com.taobao.weex.bridge.WXJSObject;
 import com.taobao.weex.common.WXRuntimeException;
+import com.taobao.weex.wson.LazyWson;
 import com.taobao.weex.wson.Wson;
 
 import java.util.ArrayList;
@@ -114,6 +115,20 @@ public class WXJsonUtils {
   }
 
 
+  /**
+   * same as parseWson, but maps and arrays are lazy views over data, keys and values are
+   * decoded when accessed. used for js to native tasks, which usually read only a few keys.
+   * */
+  public static final Object parseWsonLazy(byte[] data){
+    if(data == null){
+      return  null;
+    }
+    if(USE_WSON && USE_LAZY_WSON){
+      return LazyWson.parse(data);
+    }
+    return parseWson(data);
+  }
+
   public static final WXJSObject wsonWXJSObject(Object tasks){
     //CompatibleUtils.checkDiff(tasks);
     if(USE_WSON) {
@@ -127,4 +142,9 @@ public class WXJsonUtils {
    * in WXBridgeManager class  method
    * */
   public static  boolean USE_WSON = true;
+
+  /**
+   * whether js to native tasks are decoded lazily, see parseWsonLazy
+   * */
+  public static  boolean USE_LAZY_WSON = true;
 }
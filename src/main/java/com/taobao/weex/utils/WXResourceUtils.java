@@ -22,6 +22,7 @@ import android.graphics.Color;
 import android.graphics.LinearGradient;
 import android.graphics.Shader;
 import android.support.annotation.NonNull;
+import android.support.v4.util.LruCache;
 import android.util.Pair;
 import android.text.TextUtils;
 
@@ -43,6 +44,16 @@ public class WXResourceUtils {
   private final static int COLOR_RANGE = 255;
   private final static String RGB = "rgb";
   private final static String RGBA = "rgba";
+
+  /**
+   * parsed color and gradient of raw strings, shared by dom and ui thread, LruCache is thread safe.
+   * invalid value is cached as {@link #INVALID}, so it's only parsed once.
+   * */
+  private final static int COLOR_CACHE_SIZE = 256;
+  private final static int GRADIENT_CACHE_SIZE = 64;
+  private final static Object INVALID = new Object();
+  private final static LruCache<String, Object> sColorCache = new LruCache<>(COLOR_CACHE_SIZE);
+  private final static LruCache<String, Object> sGradientCache = new LruCache<>(GRADIENT_CACHE_SIZE);
   private final static SingleFunctionParser.FlatMapper<Integer> FUNCTIONAL_RGB_MAPPER =
       new SingleFunctionParser.FlatMapper<Integer>() {
         @Override
@@ -236,23 +247,54 @@ public class WXResourceUtils {
     if (TextUtils.isEmpty(color)) {
       return defaultColor;
     }
+    Object cached = sColorCache.get(color);
+    if (cached == null) {
+      cached = parseColor(color);
+      sColorCache.put(color, cached);
+    }
+    return cached == INVALID ? defaultColor : (Integer) cached;
+  }
+
+  /**
+   * @return color, or {@link #INVALID}
+   */
+  private static Object parseColor(String color) {
     color = color.trim(); //remove non visible codes
 
-    int resultColor = defaultColor;
     Pair<Boolean, Integer> result;
     ColorConvertHandler[] handlers = ColorConvertHandler.values();
     for (ColorConvertHandler handler : handlers) {
       try {
         result = handler.handle(color);
         if (result.first) {
-          resultColor = result.second;
-          break;
+          return result.second;
         }
       } catch (RuntimeException e) {
         WXLogUtils.v("Color_Parser", WXLogUtils.getStackTrace(e));
       }
     }
-    return resultColor;
+    return INVALID;
+  }
+
+  public static int getColorCacheHitCount() {
+    return sColorCache.hitCount();
+  }
+
+  public static int getColorCacheMissCount() {
+    return sColorCache.missCount();
+  }
+
+  public static int getGradientCacheHitCount() {
+    return sGradientCache.hitCount();
+  }
+
+  public static int getGradientCacheMissCount() {
+    return sGradientCache.missCount();
+  }
+
+  public static void clearCache() {
+    sColorCache.evictAll();
+    sGradientCache.evictAll();
   }
 
   /**
@@ -263,16 +305,51 @@ public class WXResourceUtils {
    * @return gradient shader
    */
   public static Shader getShader(String image, float width, float height) {
+    if (TextUtils.isEmpty(image)) {
+      return null;
+    }
+    Object cached = sGradientCache.get(image);
+    if (cached == null) {
+      cached = parseGradient(image);
+      sGradientCache.put(image, cached);
+    }
+    if (cached == INVALID) {
+      return null;
+    }
+    Gradient gradient = (Gradient) cached;
+    float[] points = getGradientPoints(gradient.direction, width, height);
+    Shader shader = new LinearGradient(points[0], points[1],
+                                       points[2], points[3],
+                                       gradient.startColor, gradient.endColor,
+                                       Shader.TileMode.REPEAT);
+    return shader;
+  }
+
+  /**
+   * @return {@link Gradient}, or {@link #INVALID}
+   */
+  private static Object parseGradient(String image) {
     List<String> valueList = parseGradientValues(image);
     if (valueList != null && valueList.size() == 3) {
-      float[] points = parseGradientDirection(valueList.get(0), width, height);
-      Shader shader = new LinearGradient(points[0], points[1],
-                                         points[2], points[3],
-                                         getColor(valueList.get(1), Color.WHITE), getColor(valueList.get(2), Color.WHITE),
-                                         Shader.TileMode.REPEAT);
-      return shader;
+      return new Gradient(normalizeGradientDirection(valueList.get(0)),
+                          getColor(valueList.get(1), Color.WHITE), getColor(valueList.get(2), Color.WHITE));
+    }
+    return INVALID;
+  }
+
+  /**
+   * parsed linear gradient, immutable
+   */
+  private static class Gradient {
+    final String direction;
+    final int startColor;
+    final int endColor;
+
+    Gradient(String direction, int startColor, int endColor) {
+      this.direction = direction;
+      this.startColor = startColor;
+      this.endColor = endColor;
     }
-    return null;
   }
 
   /**
@@ -315,20 +392,26 @@ public class WXResourceUtils {
   }
 
   /**
-   * parse gradient direction
-   * @param direction gradient direction
+   * remove spaces of gradient direction, to right to toright
+   */
+  private static String normalizeGradientDirection(String direction) {
+    if (!TextUtils.isEmpty(direction)) {
+      direction = direction.replaceAll("\\s*", "").toLowerCase();
+    }
+    return direction;
+  }
+
+  /**
+   * get gradient points
+   * @param direction normalized gradient direction
    * @param width component width
    * @param height component height
    * @return gradient points
    */
-  private static float[] parseGradientDirection(String direction, float width, float height) {
+  private static float[] getGradientPoints(String direction, float width, float height) {
     int x1 = 0, y1 = 1, x2 = 2, y2 = 3;
     float[] points = {0, 0, 0, 0};
 
-    if (!TextUtils.isEmpty(direction)) {
-      direction = direction.replaceAll("\\s*", "").toLowerCase();
-    }
-
     switch (direction) {
       //to right
       case "toright":
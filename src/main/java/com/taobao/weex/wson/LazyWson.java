@@ -0,0 +1,610 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.wson;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * lazy wson parser, maps and arrays are returned as views over the original byte array.
+ * a view builds a small offset index on first access, and decodes keys and values only
+ * when they are read. the first modification of a view decodes it into a plain map or list.
+ *
+ * maps are wrapped in {@link JSONObject} and arrays in {@link JSONArray}, so the result can be
+ * used wherever the result of {@link Wson#parse(byte[])} is accepted.
+ *
+ * views keep the whole byte array alive, values kept after the task is done should be
+ * copied with {@link #detach(Object)} or {@link #detached(JSONObject)}.
+ */
+public class LazyWson {
+
+    /**
+     * parse wson data to object with lazy map and array views, please use WXJsonUtils.parseWsonLazy
+     * @param  data  byte array, must not be modified while views are in use
+     * */
+    public static final Object parse(byte[] data){
+        if(data == null){
+            return  null;
+        }
+        try{
+            return readValue(data, 0);
+        }catch (Exception e){
+            WXLogUtils.e("parseLazyWson", e);
+            return  null;
+        }
+    }
+
+    /**
+     * @return true if value is a lazy map or array view
+     * */
+    public static boolean isLazy(Object value){
+        return value instanceof LazyObject || value instanceof LazyArray;
+    }
+
+    /**
+     * copy a lazy map or array view and all views nested in it to plain maps and lists,
+     * so the result no longer references the wson byte array. other values are returned as is.
+     * */
+    public static Object detach(Object value){
+        if(value instanceof LazyObject){
+            return new JSONObject(((LazyObject) value).view.detach());
+        }
+        if(value instanceof LazyArray){
+            return new JSONArray(((LazyArray) value).view.detach());
+        }
+        return value;
+    }
+
+    /**
+     * a view for reading all entries of object once, e.g. to copy them into another map.
+     * keys and values are decoded while iterating without building the map, and nested maps
+     * and arrays are detached, so the copied values do not reference the wson byte array.
+     * the returned view should not be kept. non lazy objects are returned as is.
+     * */
+    public static JSONObject detached(JSONObject object){
+        if(!(object instanceof LazyObject)){
+            return object;
+        }
+        MapView view = ((LazyObject) object).view;
+        synchronized (view){
+            if(view.decoded != null){
+                return new JSONObject(view.detach());
+            }
+            return new JSONObject(new MapView(view.buffer, view.position, true));
+        }
+    }
+
+    private static Object readValue(byte[] buffer, int position){
+        return readValue(buffer, position, false);
+    }
+
+    /**
+     * @param detach decode maps and arrays to plain maps and lists instead of views
+     * */
+    private static Object readValue(byte[] buffer, int position, boolean detach){
+        byte type = buffer[position];
+        position++;
+        switch (type){
+            case Wson.STRING_TYPE:
+                return readUTF16String(buffer, position);
+            case Wson.NUMBER_INT_TYPE :
+                int raw = readUInt(buffer, position);
+                int num = (((raw << 31) >> 31) ^ raw) >> 1;
+                return num ^ (raw & (1 << 31));
+            case Wson.NUMBER_FLOAT_TYPE :
+                return Float.intBitsToFloat((int) readBigEndian(buffer, position, 4));
+            case Wson.MAP_TYPE:
+                if(detach){
+                    return new JSONObject(new MapView(buffer, position, true).detach());
+                }
+                return new LazyObject(new MapView(buffer, position, false));
+            case Wson.ARRAY_TYPE:
+                if(detach){
+                    return new JSONArray(new ListView(buffer, position).detach());
+                }
+                return new LazyArray(new ListView(buffer, position));
+            case Wson.NUMBER_DOUBLE_TYPE :
+                double number = Double.longBitsToDouble(readBigEndian(buffer, position, 8));
+                if(number > Integer.MAX_VALUE){
+                    long numberLong = (long) number;
+                    double doubleLong = (numberLong);
+                    if(number - doubleLong < Double.MIN_NORMAL){
+                        return numberLong;
+                    }
+                }
+                return number;
+            case Wson.NUMBER_LONG_TYPE :
+                return readBigEndian(buffer, position, 8);
+            case Wson.NUMBER_BIG_INTEGER_TYPE :
+                return new BigInteger(readUTF16String(buffer, position));
+            case Wson.NUMBER_BIG_DECIMAL_TYPE :
+                return new BigDecimal(readUTF16String(buffer, position));
+            case Wson.BOOLEAN_TYPE_FALSE:
+                return Boolean.FALSE;
+            case Wson.BOOLEAN_TYPE_TRUE:
+                return Boolean.TRUE;
+            case Wson.NULL_TYPE:
+                return null;
+            default:
+                throw new RuntimeException("wson unhandled type " + type + " " +
+                        position  +  " length " + buffer.length);
+        }
+    }
+
+    /**
+     * @return position of the byte after the value at position
+     * */
+    private static int skipValue(byte[] buffer, int position){
+        byte type = buffer[position];
+        position++;
+        switch (type){
+            case Wson.STRING_TYPE:
+            case Wson.NUMBER_BIG_INTEGER_TYPE:
+            case Wson.NUMBER_BIG_DECIMAL_TYPE:
+                return skipUTF16String(buffer, position);
+            case Wson.NUMBER_INT_TYPE :
+                return skipUInt(buffer, position);
+            case Wson.NUMBER_FLOAT_TYPE :
+                return position + 4;
+            case Wson.NUMBER_DOUBLE_TYPE :
+            case Wson.NUMBER_LONG_TYPE :
+                return position + 8;
+            case Wson.MAP_TYPE: {
+                int size = readUInt(buffer, position);
+                position = skipUInt(buffer, position);
+                for (int i = 0; i < size; i++) {
+                    position = skipUTF16String(buffer, position);
+                    position = skipValue(buffer, position);
+                }
+                return position;
+            }
+            case Wson.ARRAY_TYPE: {
+                int size = readUInt(buffer, position);
+                position = skipUInt(buffer, position);
+                for (int i = 0; i < size; i++) {
+                    position = skipValue(buffer, position);
+                }
+                return position;
+            }
+            case Wson.BOOLEAN_TYPE_FALSE:
+            case Wson.BOOLEAN_TYPE_TRUE:
+            case Wson.NULL_TYPE:
+                return position;
+            default:
+                throw new RuntimeException("wson unhandled type " + type + " " +
+                        position  +  " length " + buffer.length);
+        }
+    }
+
+    private static int readUInt(byte[] buffer, int position){
+        int value = 0;
+        int i = 0;
+        int b;
+        while (((b = buffer[position]) & 0x80) != 0) {
+            value |= (b & 0x7F) << i;
+            i += 7;
+            position+=1;
+            if (i > 35) {
+                throw new IllegalArgumentException("Variable length quantity is too long");
+            }
+        }
+        return value | (b << i);
+    }
+
+    private static int skipUInt(byte[] buffer, int position){
+        while ((buffer[position] & 0x80) != 0) {
+            position++;
+        }
+        return position + 1;
+    }
+
+    private static int skipUTF16String(byte[] buffer, int position){
+        int length = readUInt(buffer, position);
+        return skipUInt(buffer, position) + length;
+    }
+
+    private static long readBigEndian(byte[] buffer, int position, int bytes){
+        long value = 0;
+        for(int i=0; i<bytes; i++){
+            value = (value << 8) | (buffer[position + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static char readChar(byte[] buffer, int position){
+        if(Wson.IS_NATIVE_LITTLE_ENDIAN){
+            return (char) ((buffer[position] & 0xFF) + (buffer[position + 1] << 8));
+        }
+        return (char) ((buffer[position + 1] & 0xFF) + (buffer[position] << 8));
+    }
+
+    private static String readUTF16String(byte[] buffer, int position){
+        int length = readUInt(buffer, position)/2;
+        position = skipUInt(buffer, position);
+        char[] chars = new char[length];
+        for(int i=0; i<length; i++){
+            chars[i] = readChar(buffer, position);
+            position += 2;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * compare the utf-16 string at position with key, without decoding it
+     * */
+    private static boolean stringEquals(byte[] buffer, int position, String key){
+        int length = readUInt(buffer, position)/2;
+        if(length != key.length()){
+            return false;
+        }
+        position = skipUInt(buffer, position);
+        for(int i=0; i<length; i++){
+            if(readChar(buffer, position) != key.charAt(i)){
+                return false;
+            }
+            position += 2;
+        }
+        return true;
+    }
+
+    private static final Object NOT_DECODED = new Object();
+
+    static final class LazyObject extends JSONObject {
+
+        final MapView view;
+
+        LazyObject(MapView view){
+            super(view);
+            this.view = view;
+        }
+    }
+
+    static final class LazyArray extends JSONArray {
+
+        final ListView view;
+
+        LazyArray(ListView view){
+            super(view);
+            this.view = view;
+        }
+    }
+
+    /**
+     * map view, position is the size of the map right after the map type
+     * */
+    static final class MapView extends AbstractMap<String, Object> {
+
+        final byte[] buffer;
+        final int position;
+        private final int size;
+        private final boolean detach;
+        private int[] keyOffsets;
+        private int[] valueOffsets;
+        private Object[] values;
+        Map<String, Object> decoded;
+
+        /**
+         * @param detach decode nested maps and arrays to plain maps and lists
+         * */
+        MapView(byte[] buffer, int position, boolean detach){
+            this.buffer = buffer;
+            this.position = position;
+            this.size = readUInt(buffer, position);
+            this.detach = detach;
+        }
+
+        private void ensureIndex(){
+            if(keyOffsets != null){
+                return;
+            }
+            int[] keys = new int[size];
+            int[] offsets = new int[size];
+            int current = skipUInt(buffer, position);
+            for(int i=0; i<size; i++){
+                keys[i] = current;
+                current = skipUTF16String(buffer, current);
+                offsets[i] = current;
+                current = skipValue(buffer, current);
+            }
+            values = new Object[size];
+            for(int i=0; i<size; i++){
+                values[i] = NOT_DECODED;
+            }
+            valueOffsets = offsets;
+            keyOffsets = keys;
+        }
+
+        /**
+         * later key wins like the eager parser
+         * */
+        private int indexOf(Object key){
+            if(!(key instanceof String)){
+                return -1;
+            }
+            ensureIndex();
+            for(int i=size - 1; i>=0; i--){
+                if(stringEquals(buffer, keyOffsets[i], (String) key)){
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Object valueAt(int index){
+            Object value = values[index];
+            if(value == NOT_DECODED){
+                value = readValue(buffer, valueOffsets[index], detach);
+                values[index] = value;
+            }
+            return value;
+        }
+
+        private String keyAt(int index){
+            return readUTF16String(buffer, keyOffsets[index]);
+        }
+
+        synchronized Map<String, Object> detach(){
+            Map<String, Object> map;
+            if(decoded != null){
+                map = new LinkedHashMap<>(decoded.size()*2);
+                for(Entry<String, Object> entry : decoded.entrySet()){
+                    map.put(entry.getKey(), LazyWson.detach(entry.getValue()));
+                }
+            }else{
+                ensureIndex();
+                map = new LinkedHashMap<>(size*2);
+                for(int i=0; i<size; i++){
+                    map.put(keyAt(i), LazyWson.detach(valueAt(i)));
+                }
+            }
+            return map;
+        }
+
+        private Map<String, Object> decode(){
+            if(decoded == null){
+                ensureIndex();
+                Map<String, Object> map = new LinkedHashMap<>(size*2);
+                for(int i=0; i<size; i++){
+                    map.put(keyAt(i), valueAt(i));
+                }
+                decoded = map;
+            }
+            return decoded;
+        }
+
+        @Override
+        public synchronized Object get(Object key) {
+            if(decoded != null){
+                return decoded.get(key);
+            }
+            int index = indexOf(key);
+            return index < 0 ? null : valueAt(index);
+        }
+
+        @Override
+        public synchronized boolean containsKey(Object key) {
+            if(decoded != null){
+                return decoded.containsKey(key);
+            }
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public synchronized int size() {
+            if(decoded != null){
+                return decoded.size();
+            }
+            return size;
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public synchronized Object put(String key, Object value) {
+            return decode().put(key, value);
+        }
+
+        @Override
+        public synchronized Object remove(Object key) {
+            return decode().remove(key);
+        }
+
+        @Override
+        public synchronized void clear() {
+            decode().clear();
+        }
+
+        /**
+         * iterates the entries in place until the map is modified, so copying a view into
+         * another map does not decode it into a plain map first
+         * */
+        @Override
+        public synchronized Set<Entry<String, Object>> entrySet() {
+            if(decoded != null){
+                return decoded.entrySet();
+            }
+            return new EntrySet();
+        }
+
+        private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                synchronized (MapView.this){
+                    if(decoded != null){
+                        return decoded.entrySet().iterator();
+                    }
+                    ensureIndex();
+                }
+                return new Iterator<Entry<String, Object>>() {
+                    private int index;
+                    private String last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < size;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if(index >= size){
+                            throw new NoSuchElementException();
+                        }
+                        synchronized (MapView.this){
+                            last = keyAt(index);
+                            Entry<String, Object> entry = new SimpleImmutableEntry<>(last, valueAt(index));
+                            index++;
+                            return entry;
+                        }
+                    }
+
+                    @Override
+                    public void remove() {
+                        if(last == null){
+                            throw new IllegalStateException();
+                        }
+                        MapView.this.remove(last);
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return MapView.this.size();
+            }
+        }
+    }
+
+    /**
+     * list view, position is the size of the array right after the array type
+     * */
+    static final class ListView extends AbstractList<Object> implements RandomAccess {
+
+        private final byte[] buffer;
+        private final int position;
+        private final int size;
+        private int[] valueOffsets;
+        private Object[] values;
+        private List<Object> decoded;
+
+        ListView(byte[] buffer, int position){
+            this.buffer = buffer;
+            this.position = position;
+            this.size = readUInt(buffer, position);
+        }
+
+        private void ensureIndex(){
+            if(valueOffsets != null){
+                return;
+            }
+            int[] offsets = new int[size];
+            int current = skipUInt(buffer, position);
+            for(int i=0; i<size; i++){
+                offsets[i] = current;
+                current = skipValue(buffer, current);
+            }
+            values = new Object[size];
+            for(int i=0; i<size; i++){
+                values[i] = NOT_DECODED;
+            }
+            valueOffsets = offsets;
+        }
+
+        synchronized List<Object> detach(){
+            int count = size();
+            List<Object> list = new ArrayList<>(count);
+            for(int i=0; i<count; i++){
+                list.add(LazyWson.detach(get(i)));
+            }
+            return list;
+        }
+
+        private List<Object> decode(){
+            if(decoded == null){
+                List<Object> list = new ArrayList<>(size);
+                for(int i=0; i<size; i++){
+                    list.add(get(i));
+                }
+                decoded = list;
+            }
+            return decoded;
+        }
+
+        @Override
+        public synchronized Object get(int index) {
+            if(decoded != null){
+                return decoded.get(index);
+            }
+            if(index < 0 || index >= size){
+                throw new IndexOutOfBoundsException("index " + index + " size " + size);
+            }
+            ensureIndex();
+            Object value = values[index];
+            if(value == NOT_DECODED){
+                value = readValue(buffer, valueOffsets[index]);
+                values[index] = value;
+            }
+            return value;
+        }
+
+        @Override
+        public synchronized int size() {
+            if(decoded != null){
+                return decoded.size();
+            }
+            return size;
+        }
+
+        @Override
+        public synchronized Object set(int index, Object element) {
+            return decode().set(index, element);
+        }
+
+        @Override
+        public synchronized void add(int index, Object element) {
+            decode().add(index, element);
+            modCount++;
+        }
+
+        @Override
+        public synchronized Object remove(int index) {
+            modCount++;
+            return decode().remove(index);
+        }
+    }
+}
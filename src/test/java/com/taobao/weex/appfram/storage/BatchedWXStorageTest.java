@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.appfram.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class BatchedWXStorageTest {
+
+  BatchedWXStorage storage;
+
+  static class Result implements IWXStorageAdapter.OnResultReceivedListener {
+    final CountDownLatch latch;
+    Map<String, Object> data;
+
+    Result() {
+      this(1);
+    }
+
+    Result(int count) {
+      latch = new CountDownLatch(count);
+    }
+
+    @Override
+    public void onReceived(Map<String, Object> data) {
+      this.data = data;
+      latch.countDown();
+    }
+
+    Map<String, Object> await() throws InterruptedException {
+      assertTrue(latch.await(3000, TimeUnit.MILLISECONDS));
+      return data;
+    }
+  }
+
+  @Before
+  public void setup() throws Exception {
+    storage = new BatchedWXStorage(RuntimeEnvironment.application);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    storage.close();
+  }
+
+  @Test
+  public void testSetGetRemove() throws Exception {
+    Result set = new Result();
+    storage.setItem("k", "v", set);
+    assertEquals("success", set.await().get("result"));
+
+    Result get = new Result();
+    storage.getItem("k", get);
+    assertEquals("v", get.await().get("data"));
+
+    Result remove = new Result();
+    storage.removeItem("k", remove);
+    assertEquals("success", remove.await().get("result"));
+
+    get = new Result();
+    storage.getItem("k", get);
+    assertEquals("failed", get.await().get("result"));
+
+    remove = new Result();
+    storage.removeItem("k", remove);
+    assertEquals("failed", remove.await().get("result"));
+  }
+
+  @Test
+  public void testLengthAndKeysFlushPendingWrites() throws Exception {
+    storage.setItem("a", "1", null);
+    storage.setItemPersistent("b", "2", null);
+    storage.setItem("c", "3", null);
+    storage.removeItem("c", null);
+
+    Result length = new Result();
+    storage.length(length);
+    assertEquals(2L, length.await().get("data"));
+
+    Result keys = new Result();
+    storage.getAllKeys(keys);
+    List<?> list = (List<?>) keys.await().get("data");
+    assertEquals(2, list.size());
+    assertTrue(list.contains("a"));
+    assertTrue(list.contains("b"));
+  }
+
+  @Test
+  public void testFlushOnClose() throws Exception {
+    storage.setItem("closed", "value", null);
+    storage.close();
+
+    DefaultWXStorage other = new DefaultWXStorage(RuntimeEnvironment.application);
+    Result get = new Result();
+    other.getItem("closed", get);
+    assertEquals("value", get.await().get("data"));
+    other.close();
+  }
+
+  @Test
+  public void testMultiOperations() throws Exception {
+    Map<String, String> items = new HashMap<>();
+    items.put("user.name", "weex");
+    items.put("user.id", "1");
+    items.put("other", "2");
+    Result set = new Result();
+    storage.multiSet(items, set);
+    assertEquals("success", set.await().get("result"));
+
+    Result get = new Result();
+    storage.multiGet(Arrays.asList("user.name", "other", "missing"), get);
+    Map<?, ?> values = (Map<?, ?>) get.await().get("data");
+    assertEquals(2, values.size());
+    assertEquals("weex", values.get("user.name"));
+    assertEquals("2", values.get("other"));
+
+    Result prefix = new Result();
+    storage.getItemsByPrefix("user.", prefix);
+    values = (Map<?, ?>) prefix.await().get("data");
+    assertEquals(2, values.size());
+    assertEquals("1", values.get("user.id"));
+
+    Result remove = new Result();
+    storage.multiRemove(Arrays.asList("user.name", "missing"), remove);
+    assertEquals(1, remove.await().get("data"));
+    storage.close();
+
+    DefaultWXStorage other = new DefaultWXStorage(RuntimeEnvironment.application);
+    Result otherGet = new Result();
+    other.multiGet(Arrays.asList("user.name", "user.id", "other"), otherGet);
+    values = (Map<?, ?>) otherGet.await().get("data");
+    assertEquals(2, values.size());
+    assertEquals("1", values.get("user.id"));
+
+    Result otherPrefix = new Result();
+    other.getItemsByPrefix("user", otherPrefix);
+    assertEquals(1, ((Map<?, ?>) otherPrefix.await().get("data")).size());
+
+    Result otherRemove = new Result();
+    other.multiRemove(Arrays.asList("user.id", "other"), otherRemove);
+    assertEquals(2, otherRemove.await().get("data"));
+    other.close();
+  }
+
+  @Test
+  public void testReadPendingValueLargerThanCache() throws Exception {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 600 * 1024; i++) {
+      builder.append('v');
+    }
+    String large = builder.toString();
+    storage.setItem("large", large, null);
+
+    Result get = new Result();
+    storage.getItem("large", get);
+    assertEquals(large, get.await().get("data"));
+
+    Result multiGet = new Result();
+    storage.multiGet(Arrays.asList("large"), multiGet);
+    assertEquals(large, ((Map<?, ?>) multiGet.await().get("data")).get("large"));
+
+    Result remove = new Result();
+    storage.removeItem("large", remove);
+    assertEquals("success", remove.await().get("result"));
+  }
+
+  @Test
+  public void testKeepPendingWritesWhenFlushFailed() throws Exception {
+    WXSQLiteOpenHelper helper = storage.mDatabaseSupplier;
+    WXSQLiteOpenHelper broken = Mockito.spy(helper);
+    Mockito.doReturn(null).when(broken).getDatabase();
+    storage.mDatabaseSupplier = broken;
+
+    Result set = new Result();
+    storage.setItem("retry", "value", set);
+    assertEquals("success", set.await().get("result"));
+    storage.flush();
+
+    Result get = new Result();
+    storage.getItem("retry", get);
+    assertEquals("value", get.await().get("data"));
+
+    Result prefix = new Result();
+    storage.getItemsByPrefix("re", prefix);
+    assertEquals("value", ((Map<?, ?>) prefix.await().get("data")).get("retry"));
+
+    storage.mDatabaseSupplier = helper;
+    storage.close();
+
+    DefaultWXStorage other = new DefaultWXStorage(RuntimeEnvironment.application);
+    get = new Result();
+    other.getItem("retry", get);
+    assertEquals("value", get.await().get("data"));
+    other.close();
+  }
+
+  @Test
+  public void testQueryFailureIsNotCachedAsMissing() throws Exception {
+    DefaultWXStorage other = new DefaultWXStorage(RuntimeEnvironment.application);
+    Result set = new Result();
+    other.setItem("stored", "value", set);
+    other.setItem("removed", "value", null);
+    assertEquals("success", set.await().get("result"));
+    other.close();
+
+    WXSQLiteOpenHelper helper = storage.mDatabaseSupplier;
+    WXSQLiteOpenHelper broken = Mockito.spy(helper);
+    Mockito.doReturn(null).when(broken).getDatabase();
+    storage.mDatabaseSupplier = broken;
+
+    Result get = new Result();
+    storage.getItem("stored", get);
+    assertEquals("failed", get.await().get("result"));
+    Result remove = new Result();
+    storage.removeItem("removed", remove);
+    assertEquals("success", remove.await().get("result"));
+
+    storage.mDatabaseSupplier = helper;
+    get = new Result();
+    storage.getItem("stored", get);
+    assertEquals("value", get.await().get("data"));
+    storage.close();
+
+    other = new DefaultWXStorage(RuntimeEnvironment.application);
+    get = new Result();
+    other.getItem("removed", get);
+    assertEquals("failed", get.await().get("result"));
+    other.close();
+  }
+
+  @Test
+  public void testThroughput() throws Exception {
+    int count = 500;
+    long batched = run(storage, count);
+    DefaultWXStorage defaultStorage = new DefaultWXStorage(RuntimeEnvironment.application);
+    long direct = run(defaultStorage, count);
+    defaultStorage.close();
+    System.out.println("storage throughput, " + count + " set + get until written: BatchedWXStorage " + batched
+        + "ms, DefaultWXStorage " + direct + "ms");
+  }
+
+  /**
+   * length() of BatchedWXStorage flushes pending writes first, so the time includes writing them to disk.
+   */
+  private long run(IWXStorageAdapter adapter, int count) throws InterruptedException {
+    Result result = new Result(count * 2);
+    long start = System.currentTimeMillis();
+    for (int i = 0; i < count; i++) {
+      adapter.setItem("key" + i, "value" + i, result);
+      adapter.getItem("key" + (i / 2), result);
+    }
+    assertTrue(result.latch.await(30, TimeUnit.SECONDS));
+    Result length = new Result();
+    adapter.length(length);
+    assertTrue((Long) length.await().get("data") >= count);
+    return System.currentTimeMillis() - start;
+  }
+}
@@ -18,6 +18,8 @@
  */
 package com.taobao.weex.appfram.storage;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.anyMapOf;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
@@ -25,6 +27,8 @@ import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
 import com.taobao.weappplus_sdk.BuildConfig;
+import java.util.Arrays;
+import java.util.Collections;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -104,4 +108,45 @@ public class DefaultWXStorageTest {
     verify(listener,timeout(3000).times(1)).onReceived(anyMapOf(String.class,Object.class));
     storage.close();
   }
+
+  @Test
+  public void testMultiSet() throws Exception {
+    storage.multiSet(Collections.singletonMap("a", "1"),listener);
+
+    verify(listener,timeout(3000).times(1)).onReceived(anyMapOf(String.class,Object.class));
+    storage.close();
+  }
+
+  @Test
+  public void testMultiGet() throws Exception {
+    storage.multiGet(Arrays.asList("a", "b"),listener);
+
+    verify(listener,timeout(3000).times(1)).onReceived(anyMapOf(String.class,Object.class));
+    storage.close();
+  }
+
+  @Test
+  public void testMultiRemove() throws Exception {
+    storage.multiRemove(Arrays.asList("a", "b"),listener);
+
+    verify(listener,timeout(3000).times(1)).onReceived(anyMapOf(String.class,Object.class));
+    storage.close();
+  }
+
+  @Test
+  public void testGetItemsByPrefix() throws Exception {
+    storage.getItemsByPrefix("a",listener);
+
+    verify(listener,timeout(3000).times(1)).onReceived(anyMapOf(String.class,Object.class));
+    storage.close();
+  }
+
+  @Test
+  public void testPrefixUpperBound() throws Exception {
+    assertEquals("user/", WXSQLiteOpenHelper.prefixUpperBound("user."));
+    assertEquals("b", WXSQLiteOpenHelper.prefixUpperBound("a\uffff"));
+    assertNull(WXSQLiteOpenHelper.prefixUpperBound(""));
+    assertNull(WXSQLiteOpenHelper.prefixUpperBound("\uffff"));
+    assertEquals(1, WXSQLiteOpenHelper.keyPrefixArgs("\uffff").length);
+  }
 }
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.alibaba.fastjson.JSONArray;
 import com.taobao.weappplus_sdk.BuildConfig;
 import com.taobao.weex.WXSDKInstanceTest;
 import com.taobao.weex.bridge.JSCallback;
@@ -127,4 +128,10 @@ public class WXStorageModuleTest {
     module.getAllKeys(callback);
     verify(callback,times(1)).invoke(any());
   }
+
+  @Test
+  public void testMultiGetNoHandler() throws Exception {
+    module.multiGet(JSONArray.parseArray("[\"a\"]"),callback);
+    verify(callback,times(1)).invoke(any());
+  }
 }
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.bridge;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class,manifest = Config.NONE)
+public class WXInstanceRegistryTest {
+
+	private WXInstanceRegistry mRegistry;
+
+	@Before
+	public void setUp() throws Exception {
+		mRegistry = new WXInstanceRegistry(3, 1000);
+	}
+
+	@Test
+	public void testMarkDestroyed() throws Exception {
+		mRegistry.markDestroyed("1", 0);
+		assertTrue(mRegistry.isDestroyed("1"));
+		assertFalse(mRegistry.isDestroyed("2"));
+		assertFalse(mRegistry.isDestroyed(null));
+
+		mRegistry.markCreated("1");
+		assertFalse(mRegistry.isDestroyed("1"));
+	}
+
+	@Test
+	public void testCapacity() throws Exception {
+		mRegistry.markDestroyed("1", 0);
+		mRegistry.markDestroyed("2", 0);
+		mRegistry.markDestroyed("1", 0);
+		mRegistry.markDestroyed("3", 0);
+		assertTrue(mRegistry.isDestroyed("1"));
+		assertTrue(mRegistry.isDestroyed("2"));
+		assertTrue(mRegistry.isDestroyed("3"));
+
+		mRegistry.markDestroyed("4", 0);
+		assertFalse(mRegistry.isDestroyed("2"));
+		assertTrue(mRegistry.isDestroyed("1"));
+		assertEquals(3, mRegistry.size());
+	}
+
+	@Test
+	public void testRetention() throws Exception {
+		mRegistry.markDestroyed("1", 0);
+		mRegistry.markDestroyed("2", 800);
+		mRegistry.markDestroyed("3", 1500);
+		assertFalse(mRegistry.isDestroyed("1"));
+		assertTrue(mRegistry.isDestroyed("2"));
+		assertTrue(mRegistry.isDestroyed("3"));
+
+		mRegistry.clear();
+		assertEquals(0, mRegistry.size());
+		assertFalse(mRegistry.isDestroyed("3"));
+	}
+
+	@Test
+	public void testLookupCost() throws Exception {
+		WXInstanceRegistry registry = new WXInstanceRegistry();
+		int instances = 10000;
+		int lookups = 100000;
+		long first = 0;
+		for (int i = 1; i <= instances; i++) {
+			registry.markDestroyed(String.valueOf(i));
+			if (i == 100 || i == instances) {
+				String alive = String.valueOf(instances + 1);
+				long start = System.nanoTime();
+				for (int j = 0; j < lookups; j++) {
+					registry.isDestroyed(alive);
+				}
+				long cost = System.nanoTime() - start;
+				if (i == 100) {
+					first = cost;
+				} else {
+					System.out.println("lookup after 100 instances: " + first / lookups + "ns, after "
+							+ instances + " instances: " + cost / lookups + "ns");
+				}
+			}
+		}
+		assertTrue(registry.size() <= WXInstanceRegistry.DEFAULT_CAPACITY);
+		assertTrue(registry.isDestroyed(String.valueOf(instances)));
+		assertFalse(registry.isDestroyed("1"));
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.bridge;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Stack;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class,manifest = Config.NONE)
+public class WXJSTaskSchedulerTest {
+
+	private WXJSTaskScheduler mScheduler;
+	private List<String> mDrained;
+
+	private WXJSTaskScheduler.Drainer mDrainer = new WXJSTaskScheduler.Drainer() {
+		@Override
+		public void onDrain(String instanceId, List<WXHashMap<String, Object>> tasks) {
+			for (WXHashMap<String, Object> task : tasks) {
+				mDrained.add(instanceId + ":" + task.get(WXBridgeManager.KEY_METHOD));
+			}
+		}
+	};
+
+	private static WXHashMap<String, Object> task(String method) {
+		WXHashMap<String, Object> task = new WXHashMap<>();
+		task.put(WXBridgeManager.KEY_METHOD, method);
+		return task;
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		mScheduler = new WXJSTaskScheduler();
+		mDrained = new ArrayList<>();
+	}
+
+	@Test
+	public void testOfferSchedulesOnlyOnce() {
+		assertTrue(mScheduler.offer("1", task("a")));
+		assertFalse(mScheduler.offer("1", task("b")));
+		assertTrue(mScheduler.offer("2", task("c")));
+		assertTrue(mScheduler.hasPendingTasks());
+	}
+
+	@Test
+	public void testDrainAllInstancesInOnePass() {
+		mScheduler.setPolicy(WXJSTaskScheduler.POLICY_FIFO);
+		mScheduler.offer("1", task("a"));
+		mScheduler.offer("2", task("b"));
+		mScheduler.offer("1", task("c"));
+		assertEquals(2, mScheduler.drain(mDrainer, Integer.MAX_VALUE));
+		assertEquals("[1:a, 1:c, 2:b]", mDrained.toString());
+		assertFalse(mScheduler.hasPendingTasks());
+		assertTrue(mScheduler.offer("1", task("d")));
+	}
+
+	@Test
+	public void testForegroundFirst() {
+		mScheduler.offer("1", task("a"));
+		mScheduler.offer("2", task("b"));
+		mScheduler.setForegroundInstance("2");
+		mScheduler.drain(mDrainer, Integer.MAX_VALUE);
+		assertEquals("[2:b, 1:a]", mDrained.toString());
+	}
+
+	@Test
+	public void testMaxInstances() {
+		mScheduler.setPolicy(WXJSTaskScheduler.POLICY_FIFO);
+		mScheduler.offer("1", task("a"));
+		mScheduler.offer("2", task("b"));
+		assertEquals(1, mScheduler.drain(mDrainer, 1));
+		assertTrue(mScheduler.hasPendingTasks());
+		assertEquals(1, mScheduler.drain(mDrainer, 1));
+		assertEquals("[1:a, 2:b]", mDrained.toString());
+	}
+
+	@Test
+	public void testRemoveInstance() {
+		mScheduler.offer("1", task("a"));
+		mScheduler.setForegroundInstance("1");
+		mScheduler.removeInstance("1");
+		assertEquals(0, mScheduler.drain(mDrainer, Integer.MAX_VALUE));
+		assertEquals(null, mScheduler.getForegroundInstance());
+	}
+
+	@Test
+	public void testCoalesce() {
+		mScheduler.setPolicy(WXJSTaskScheduler.POLICY_FIFO);
+		WXHashMap<String, Object> first = task("fireEvent");
+		first.put(WXBridgeManager.KEY_ARGS, "first");
+		WXHashMap<String, Object> second = task("fireEvent");
+		second.put(WXBridgeManager.KEY_ARGS, "second");
+		assertTrue(mScheduler.offerCoalescible("1", "ref|scroll", "scroll", first));
+		assertFalse(mScheduler.offerCoalescible("1", "ref|scroll", "scroll", second));
+		assertEquals("second", first.get(WXBridgeManager.KEY_ARGS));
+		assertEquals(1, mScheduler.getCoalescedCount("scroll"));
+		assertEquals(0, mScheduler.getCoalescedCount("touchmove"));
+
+		mScheduler.drain(mDrainer, Integer.MAX_VALUE);
+		assertEquals(1, mDrained.size());
+
+		// a drained task is never modified again
+		assertTrue(mScheduler.offerCoalescible("1", "ref|scroll", "scroll", task("fireEvent")));
+		assertEquals("second", first.get(WXBridgeManager.KEY_ARGS));
+	}
+
+	@Test
+	public void testCoalesceKeepsOrder() {
+		mScheduler.offerCoalescible("1", "ref|touchmove", "touchmove", task("move1"));
+		mScheduler.offer("1", task("end"));
+		mScheduler.offerCoalescible("1", "ref|touchmove", "touchmove", task("move2"));
+		mScheduler.drain(mDrainer, Integer.MAX_VALUE);
+		assertEquals("[1:move1, 1:end, 1:move2]", mDrained.toString());
+		assertEquals(0, mScheduler.getCoalescedCount("touchmove"));
+	}
+
+	@Test
+	public void testCoalesceAfterPlainTask() {
+		WXHashMap<String, Object> move2 = task("move2");
+		WXHashMap<String, Object> move3 = task("move3");
+		move3.put(WXBridgeManager.KEY_ARGS, "move3");
+		mScheduler.offerCoalescible("1", "ref|touchmove", "touchmove", task("move1"));
+		mScheduler.offer("1", task("end"));
+		mScheduler.offerCoalescible("1", "ref|touchmove", "touchmove", move2);
+		assertFalse(mScheduler.offerCoalescible("1", "ref|touchmove", "touchmove", move3));
+		assertEquals("move3", move2.get(WXBridgeManager.KEY_ARGS));
+		assertEquals(1, mScheduler.getCoalescedCount("touchmove"));
+		mScheduler.drain(mDrainer, Integer.MAX_VALUE);
+		assertEquals("[1:move1, 1:end, 1:move2]", mDrained.toString());
+	}
+
+	/**
+	 * Compare with the WXHashMap next tick stack it replaces:
+	 * 16 live instances, bursts of events spread over them, drained once per burst.
+	 */
+	@Test
+	public void testBenchmark() {
+		final int instances = 16;
+		final int rounds = 2000;
+		final int burst = 32;
+		String[] ids = new String[instances];
+		for (int i = 0; i < instances; i++) {
+			ids[i] = String.valueOf(i);
+		}
+
+		long start = System.nanoTime();
+		int legacyCount = 0;
+		WXHashMap<String, ArrayList<WXHashMap<String, Object>>> legacy = new WXHashMap<>();
+		for (int r = 0; r < rounds; r++) {
+			for (int e = 0; e < burst; e++) {
+				String id = ids[(r + e) % instances];
+				ArrayList<WXHashMap<String, Object>> list = legacy.get(id);
+				if (list == null) {
+					list = new ArrayList<>();
+					legacy.put(id, list);
+				}
+				list.add(task("fireEvent"));
+			}
+			while (!legacy.isEmpty()) {
+				Stack<String> stack = legacy.getInstanceStack();
+				ArrayList<WXHashMap<String, Object>> list = null;
+				for (int i = stack.size() - 1; i >= 0; i--) {
+					list = legacy.remove(stack.get(i));
+					if (list != null && !list.isEmpty()) {
+						break;
+					}
+				}
+				if (list != null) {
+					legacyCount += list.size();
+				}
+			}
+		}
+		long legacyTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int r = 0; r < rounds; r++) {
+			for (int e = 0; e < burst; e++) {
+				mScheduler.offer(ids[(r + e) % instances], task("fireEvent"));
+			}
+			while (mScheduler.hasPendingTasks()) {
+				mScheduler.drain(mDrainer, instances);
+			}
+		}
+		long schedulerTime = System.nanoTime() - start;
+
+		assertEquals(legacyCount, mDrained.size());
+		System.out.println("WXJSTaskScheduler benchmark: WXHashMap " + legacyTime / 1000 + "us, scheduler "
+				+ schedulerTime / 1000 + "us, tasks " + legacyCount);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.common;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXBundleSourceTest {
+
+  private String mBundle;
+  private byte[] mData;
+
+  @Before
+  public void setUp() throws Exception {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      builder.append("var a").append(i).append(" = '\u4e2d\u6587';\n");
+    }
+    mBundle = builder.toString();
+    mData = mBundle.getBytes("UTF-8");
+  }
+
+  @Test
+  public void testFromFile() throws Exception {
+    File file = File.createTempFile("bundle", ".js");
+    FileOutputStream out = new FileOutputStream(file);
+    out.write(mData);
+    out.close();
+
+    WXBundleSource source = WXBundleSource.fromFile(file);
+    assertEquals(mData.length, source.length());
+    assertEquals(mBundle, source.read());
+    file.delete();
+  }
+
+  @Test
+  public void testFromEmptyFile() throws Exception {
+    File file = File.createTempFile("bundle", ".js");
+    assertEquals("", WXBundleSource.fromFile(file).read());
+    file.delete();
+  }
+
+  @Test
+  public void testFromMalformedFile() throws Exception {
+    File file = File.createTempFile("bundle", ".js");
+    FileOutputStream out = new FileOutputStream(file);
+    byte[] data = new byte[]{'a', (byte) 0xe4, (byte) 0xb8, 'b'};
+    out.write(data);
+    out.close();
+
+    assertEquals(new String(data, "UTF-8"), WXBundleSource.fromFile(file).read());
+    file.delete();
+  }
+
+  @Test
+  public void testFromMissingFile() throws Exception {
+    assertNull(WXBundleSource.fromFile(new File("build/not_exist.js")).readSafely());
+  }
+
+  @Test
+  public void testFromBytes() throws Exception {
+    assertEquals(mBundle, WXBundleSource.fromBytes(mData).read());
+  }
+
+  @Test
+  public void testFromStream() throws Exception {
+    assertEquals(mBundle, WXBundleSource.fromStream(new ByteArrayInputStream(mData), mData.length).read());
+    assertEquals(mBundle, WXBundleSource.fromStream(new ByteArrayInputStream(mData), -1).read());
+    assertEquals(mBundle, WXBundleSource.fromStream(new ByteArrayInputStream(mData), 16).read());
+    assertEquals(mBundle, WXBundleSource.fromStream(new ByteArrayInputStream(mData), mData.length * 2).read());
+  }
+}
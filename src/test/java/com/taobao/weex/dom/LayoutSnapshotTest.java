@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.dom;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKInstanceTest;
+import com.taobao.weex.WXSDKManagerTest;
+import com.taobao.weex.common.WXPerformance;
+import com.taobao.weex.dom.flex.Spacing;
+import com.taobao.weex.ui.WXRenderManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class LayoutSnapshotTest {
+
+  WXDomObject dom;
+
+  @Before
+  public void setUp() throws Exception {
+    dom = new WXDomObject();
+    dom.getStyles().put("color", "#000000");
+    dom.getAttrs().put("value", "a");
+    dom.addEvent("click");
+    dom.setLayoutCopy(dom.clone());
+  }
+
+  @Test
+  public void testLayoutCopy() throws Exception {
+    assertNotNull(dom.getLayoutCopy());
+
+    dom.setLayoutY(100);
+    dom.setMargin(Spacing.TOP, 10);
+    assertNotNull(dom.getLayoutCopy());
+  }
+
+  @Test
+  public void testStylesChanged() throws Exception {
+    Map<String, Object> updates = new HashMap<>();
+    updates.put("color", "#ffffff");
+    dom.updateStyle(updates);
+    assertNull(dom.getLayoutCopy());
+
+    dom.setLayoutCopy(dom.clone());
+    dom.getStyles().remove("color");
+    assertNull(dom.getLayoutCopy());
+  }
+
+  @Test
+  public void testAttrsChanged() throws Exception {
+    dom.getAttrs().put("value", "b");
+    assertNull(dom.getLayoutCopy());
+
+    dom.setLayoutCopy(dom.clone());
+    dom.mAttributes = new WXAttr();
+    assertNull(dom.getLayoutCopy());
+  }
+
+  @Test
+  public void testEventsChanged() throws Exception {
+    dom.addEvent("appear");
+    assertNull(dom.getLayoutCopy());
+
+    dom.setLayoutCopy(dom.clone());
+    dom.removeEvent("click");
+    assertNull(dom.getLayoutCopy());
+  }
+
+  @Test
+  public void testEventBindingArgsChanged() throws Exception {
+    dom.getEvents().putEventBindingArgs("click", "static");
+    assertNull(dom.getLayoutCopy());
+
+    dom.setLayoutCopy(dom.clone());
+    List<Object> values = new ArrayList<>();
+    values.add("static");
+    dom.getEvents().putEventBindingArgsValue("click", values);
+    assertNull(dom.getLayoutCopy());
+  }
+
+  @Test
+  public void testSubclass() throws Exception {
+    WXDomObject text = new WXTextDomObject();
+    text.setLayoutCopy(text.clone());
+    assertNull(text.getLayoutCopy());
+  }
+
+  @Test
+  public void testCopyLayoutTo() throws Exception {
+    WXDomObject copy = dom.getLayoutCopy();
+    dom.setLayoutX(10);
+    dom.setLayoutY(20);
+    dom.setLayoutWidth(300);
+    dom.setLayoutHeight(400);
+    dom.setMargin(Spacing.ALL, 5);
+    dom.setPadding(Spacing.LEFT, 6);
+    dom.setBorder(Spacing.BOTTOM, 2);
+
+    float[] layout = new float[LayoutSnapshot.SIZE * 2];
+    LayoutSnapshot.write(dom, layout, LayoutSnapshot.SIZE);
+    LayoutSnapshot snapshot = new LayoutSnapshot(dom.getRef(), copy, layout, LayoutSnapshot.SIZE, null);
+
+    assertEquals(10, snapshot.getLayoutX(), 0);
+    assertEquals(20, snapshot.getCSSLayoutTop(), 0);
+    assertEquals(300, snapshot.getLayoutWidth(), 0);
+    assertEquals(400, snapshot.getLayoutHeight(), 0);
+    assertEquals(5, snapshot.getMargin().get(Spacing.RIGHT), 0);
+    assertEquals(6, snapshot.getPadding().get(Spacing.LEFT), 0);
+    assertEquals(2, snapshot.getBorder().get(Spacing.BOTTOM), 0);
+    assertSame(copy.getStyles(), snapshot.getStyles());
+    assertSame(copy.getAttrs(), snapshot.getAttrs());
+
+    snapshot.copyLayoutTo(copy);
+    assertEquals(10, copy.getLayoutX(), 0);
+    assertEquals(20, copy.getLayoutY(), 0);
+    assertEquals(300, copy.getLayoutWidth(), 0);
+    assertEquals(400, copy.getLayoutHeight(), 0);
+    assertTrue(copy.getMargin().equal(dom.getMargin()));
+    assertTrue(copy.getPadding().equal(dom.getPadding()));
+    assertTrue(copy.getBorder().equal(dom.getBorder()));
+    assertEquals("#000000", copy.getStyles().get("color"));
+  }
+
+  /**
+   * dom objects copied by layout batches, when only layout changes
+   */
+  @Test
+  public void testLayoutBatches() throws Exception {
+    WXSDKInstance instance = WXSDKInstanceTest.createInstance();
+    WXRenderManager renderManager = new WXRenderManager();
+    renderManager.registerInstance(instance);
+    WXSDKManagerTest.setRenderManager(renderManager);
+    DOMActionContextImpl context = new DOMActionContextImpl(instance.getInstanceId(), renderManager);
+
+    int children = 100;
+    int batches = 10;
+    WXDomObject root = new WXDomObject();
+    for (int i = 0; i < children; i++) {
+      WXDomObject child = new WXDomObject();
+      child.setStyleHeight(10);
+      root.add(child, i);
+    }
+    for (int i = 0; i < batches; i++) {
+      root.setStyleWidth(100 + i);
+      context.layout(root);
+    }
+
+    WXPerformance performance = instance.getWXPerformance();
+    System.out.println("Layout copies: " + performance.layoutDomCopies + ", snapshots "
+        + performance.layoutSnapshots + ", " + batches + " batches of " + (children + 1) + " nodes");
+    assertEquals(children + 1, performance.layoutDomCopies);
+    assertEquals((children + 1) * (batches - 1), performance.layoutSnapshots);
+    context.destroy();
+  }
+}
@@ -21,6 +21,9 @@ package com.taobao.weex.dom;
 import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.dom.flex.CSSLayoutContext;
+import com.taobao.weex.wson.LazyWson;
+import com.taobao.weex.wson.Wson;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -29,6 +32,11 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.Assert.*;
 
 /**
@@ -60,6 +68,105 @@ public class WXDomObjectTest {
     dom.applyStyleToNode();
   }
 
+  /**
+   * addElement payload of a list cell, with nested children
+   */
+  private static Map<String, Object> createElement(int depth, int index) {
+    Map<String, Object> style = new LinkedHashMap<>();
+    style.put("width", 750);
+    style.put("height", 120);
+    style.put("flexDirection", "row");
+    style.put("backgroundColor", "#ffffff");
+    Map<String, Object> attr = new LinkedHashMap<>();
+    attr.put("value", "item title " + index);
+    attr.put("src", "https://img.example.com/" + index + ".png");
+    List<Object> params = new ArrayList<>();
+    params.add(index);
+    Map<String, Object> binding = new LinkedHashMap<>();
+    binding.put(WXEvent.EVENT_KEY_TYPE, "click");
+    binding.put(WXEvent.EVENT_KEY_ARGS, params);
+    List<Object> event = new ArrayList<>();
+    event.add(binding);
+    event.add("appear");
+
+    Map<String, Object> element = new LinkedHashMap<>();
+    element.put("ref", "ref_" + depth + "_" + index);
+    element.put("type", "div");
+    element.put("style", style);
+    element.put("attr", attr);
+    element.put("event", event);
+    if (depth < 2) {
+      List<Object> children = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        children.add(createElement(depth + 1, i));
+      }
+      element.put("children", children);
+    }
+    return element;
+  }
+
+  private static WXDomObject parseTree(JSONObject json) {
+    WXDomObject domObject = new WXDomObject();
+    domObject.parseFromJson(json);
+    JSONArray children = json.getJSONArray("children");
+    if (children != null) {
+      for (int i = 0; i < children.size(); i++) {
+        domObject.add(parseTree(children.getJSONObject(i)), -1);
+      }
+    }
+    return domObject;
+  }
+
+  @Test
+  public void testParseFromLazyWson() throws Exception {
+    byte[] bts = Wson.toWson(createElement(0, 0));
+    WXDomObject eager = parseTree((JSONObject) Wson.parse(bts));
+    WXDomObject lazy = parseTree((JSONObject) LazyWson.parse(bts));
+
+    assertEquals(eager.getRef(), lazy.getRef());
+    assertEquals(eager.getType(), lazy.getType());
+    assertEquals(eager.getChildCount(), lazy.getChildCount());
+    WXDomObject child = lazy.getChild(1);
+    assertEquals("ref_1_1", child.getRef());
+    assertEquals(eager.getChild(1).getStyles(), child.getStyles());
+    assertEquals(eager.getChild(1).getAttrs(), child.getAttrs());
+    assertTrue(child.getEvents().contains("appear"));
+    Object args = child.getEvents().getEventBindingArgs().get("click");
+    assertEquals(eager.getChild(1).getEvents().getEventBindingArgs().get("click"), args);
+    assertFalse(LazyWson.isLazy(args));
+  }
+
+  @Test
+  public void testParseFromLazyWsonBenchmark() throws Exception {
+    List<Object> tasks = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      tasks.add(createElement(0, i));
+    }
+    byte[] bts = Wson.toWson(tasks);
+    int rounds = 200;
+
+    long start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      JSONArray array = (JSONArray) Wson.parse(bts);
+      for (int j = 0; j < array.size(); j++) {
+        parseTree(array.getJSONObject(j));
+      }
+    }
+    long eagerTime = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      JSONArray array = (JSONArray) LazyWson.parse(bts);
+      for (int j = 0; j < array.size(); j++) {
+        parseTree(array.getJSONObject(j));
+      }
+    }
+    long lazyTime = System.nanoTime() - start;
+
+    System.out.println("WXDomObject parse benchmark: eager wson " + eagerTime / 1000 + "us, lazy wson "
+        + lazyTime / 1000 + "us, payload " + bts.length + " bytes x " + rounds);
+  }
+
   @Test
   public void testAdd() throws Exception {
     JSONObject obj = new JSONObject();
@@ -105,4 +212,55 @@ public class WXDomObjectTest {
     assertEquals(clone.getType(),"test");
 
   }
+
+  @Test
+  public void testTraverseUpdateTree() throws Exception {
+    WXDomObject childA = createDom("a");
+    WXDomObject childB = createDom("b");
+    WXDomObject grandA = createDom("ga");
+    WXDomObject grandB = createDom("gb");
+    dom.add(childA, 0);
+    dom.add(childB, 1);
+    childA.add(grandA, 0);
+    childB.add(grandB, 0);
+
+    CSSLayoutContext context = new CSSLayoutContext();
+    dom.calculateLayout(context);
+    dom.traverseTree(new WXDomObject.Consumer() {
+      @Override
+      public void accept(WXDomObject dom) {
+        dom.markUpdateSeen();
+      }
+    });
+    assertEquals(1, dom.traverseUpdateTree(new WXDomObject.Consumer() {
+      @Override
+      public void accept(WXDomObject dom) {
+        fail("clean tree should not be visited");
+      }
+    }));
+
+    grandA.setStyleWidth(100);
+    assertTrue(dom.hasUpdate());
+    dom.calculateLayout(context);
+    final List<WXDomObject> updated = new ArrayList<>();
+    dom.traverseUpdateTree(new WXDomObject.Consumer() {
+      @Override
+      public void accept(WXDomObject dom) {
+        updated.add(dom);
+        dom.markUpdateSeen();
+      }
+    });
+    assertTrue(updated.contains(grandA));
+    assertTrue(updated.contains(childA));
+    assertFalse(updated.contains(grandB));
+  }
+
+  private WXDomObject createDom(String ref){
+    JSONObject obj = new JSONObject();
+    obj.put("ref", ref);
+    obj.put("type", "div");
+    WXDomObject domObject = new WXDomObject();
+    domObject.parseFromJson(obj);
+    return domObject;
+  }
 }
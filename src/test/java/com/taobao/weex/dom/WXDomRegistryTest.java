@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.dom;
+
+import com.alibaba.fastjson.JSONObject;
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.common.WXException;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXDomRegistryTest {
+
+  private static void register(String type, Class<? extends WXDomObject> clazz, DomObjectCreator creator) throws WXException {
+    if (WXDomRegistry.getDomObjectClass(type) == WXDomRegistry.mDefaultClass) {
+      assertTrue(WXDomRegistry.registerDomObject(type, clazz, creator));
+    }
+  }
+
+  @Test
+  public void testReflectiveCreator() throws Exception {
+    register("registry-reflect", TestDomObject.class, null);
+
+    assertTrue(WXDomObjectFactory.newInstance("registry-reflect") instanceof TestDomObject);
+    assertTrue(WXDomRegistry.getDomObjectCreator("registry-reflect") instanceof WXDomRegistry.ClazzDomObjectCreator);
+  }
+
+  @Test
+  public void testRegisteredCreator() throws Exception {
+    register("registry-text", WXTextDomObject.class, new WXTextDomObject.Creator());
+
+    assertTrue(WXDomRegistry.getDomObjectCreator("registry-text") instanceof WXTextDomObject.Creator);
+    assertTrue(WXDomObjectFactory.newInstance("registry-text") instanceof WXTextDomObject);
+  }
+
+  @Test
+  public void testDefault() throws Exception {
+    WXDomObject dom = WXDomObjectFactory.newInstance("registry-unknown");
+    assertNotNull(dom);
+    assertEquals(WXDomObject.class, dom.getClass());
+    assertNull(WXDomObjectFactory.newInstance(""));
+  }
+
+  @Test
+  public void testDefaultClassCreatorCached() throws Exception {
+    WXDomRegistry.mDefaultClass = TestDomObject.class;
+    try {
+      DomObjectCreator creator = WXDomRegistry.getDomObjectCreator("registry-unknown");
+      assertSame(creator, WXDomRegistry.getDomObjectCreator("registry-unknown-other"));
+      assertTrue(WXDomObjectFactory.newInstance("registry-unknown") instanceof TestDomObject);
+    } finally {
+      WXDomRegistry.mDefaultClass = WXDomObject.class;
+    }
+    assertEquals(WXDomObject.class, WXDomObjectFactory.newInstance("registry-unknown").getClass());
+  }
+
+  @Test(expected = WXException.class)
+  public void testNoDefaultConstructor() throws Exception {
+    WXDomRegistry.registerDomObject("registry-invalid", NoDefaultConstructor.class, null);
+  }
+
+  @Test
+  public void testClone() throws Exception {
+    register("registry-text", WXTextDomObject.class, new WXTextDomObject.Creator());
+
+    JSONObject obj = new JSONObject();
+    obj.put("ref", "100");
+    obj.put("type", "registry-text");
+    WXDomObject dom = WXDomObjectFactory.newInstance("registry-text");
+    dom.parseFromJson(obj);
+
+    WXDomObject clone = dom.clone();
+    assertTrue(clone instanceof WXTextDomObject);
+    assertEquals("100", clone.getRef());
+  }
+
+  public static class NoDefaultConstructor extends WXDomObject {
+
+    public NoDefaultConstructor(String type) {
+    }
+  }
+}
@@ -21,6 +21,7 @@ package com.taobao.weex.dom;
 import android.graphics.Typeface;
 
 import com.taobao.weex.common.Constants;
+import com.taobao.weex.dom.flex.CSSFlexDirection;
 
 import org.junit.After;
 import org.junit.Before;
@@ -112,6 +113,48 @@ public class WXStyleTest {
         assertThat(WXStyle.getFontWeight(number900), is(Typeface.BOLD));
     }
 
+    @Test
+    public void testParsedValue() {
+        style.put(Constants.Name.WIDTH, "100px");
+        style.put(Constants.Name.FLEX_DIRECTION, "row");
+        assertEquals(100, style.getWidth(750), 0);
+        assertEquals(100, style.getWidth(750), 0);
+        assertEquals(CSSFlexDirection.ROW, style.getFlexDirection());
+
+        style.put(Constants.Name.WIDTH, "200px");
+        style.put(Constants.Name.FLEX_DIRECTION, "column");
+        assertEquals(200, style.getWidth(750), 0);
+        assertEquals(CSSFlexDirection.COLUMN, style.getFlexDirection());
+
+        WXStyle clone = style.clone();
+        clone.put(Constants.Name.WIDTH, "300px");
+        assertEquals(300, clone.getWidth(750), 0);
+        assertEquals(200, style.getWidth(750), 0);
+
+        style.remove(Constants.Name.WIDTH);
+        assertEquals(true, Float.isNaN(style.getWidth(750)));
+        assertEquals(StyleProperty.MARGIN_TOP, StyleProperty.getId(Constants.Name.MARGIN_TOP));
+        assertEquals(StyleProperty.UNKNOWN, StyleProperty.getId(Constants.Name.COLOR));
+    }
+
+    @Test
+    public void testLayoutProperties() {
+        style.put(Constants.Name.WIDTH, "100px");
+        style.put(Constants.Name.COLOR, "#FF0000");
+        Map<String, Object> styles = new HashMap<>();
+        styles.put(Constants.Name.MARGIN_TOP, "10px");
+        style.putAll(styles, false);
+        assertEquals((1L << StyleProperty.WIDTH) | (1L << StyleProperty.MARGIN_TOP), style.getLayoutProperties());
+        assertEquals(Constants.Name.MARGIN_TOP, StyleProperty.getName(StyleProperty.MARGIN_TOP));
+
+        WXStyle clone = style.clone();
+        style.remove(Constants.Name.WIDTH);
+        assertEquals(1L << StyleProperty.MARGIN_TOP, style.getLayoutProperties());
+        assertEquals((1L << StyleProperty.WIDTH) | (1L << StyleProperty.MARGIN_TOP), clone.getLayoutProperties());
+        style.clear();
+        assertEquals(0, style.getLayoutProperties());
+    }
+
     @After
     public void tearDown() throws Exception {
         style.clear();
@@ -83,6 +83,28 @@ public class WXTextDomObjectTest {
     assertFalse(cloneDom == dom);
   }
 
+  @Test
+  public void testLayoutCache() throws Exception {
+    TextLayoutCache.evictAll();
+    WXTextDomObject other = new WXTextDomObject();
+    other.getStyles().put(LINES,10);
+    other.getStyles().put(FONT_SIZE,10);
+    other.getAttrs().put(VALUE,"test");
+
+    MeasureOutput output = new MeasureOutput();
+    dom.layoutBefore();
+    WXTextDomObject.TEXT_MEASURE_FUNCTION.measure(dom,100,output);
+    dom.layoutAfter();
+    assertEquals(1, TextLayoutCache.size());
+
+    int hit = TextLayoutCache.getHitCount();
+    other.layoutBefore();
+    WXTextDomObject.TEXT_MEASURE_FUNCTION.measure(other,100,output);
+    other.layoutAfter();
+    assertEquals(hit + 1, TextLayoutCache.getHitCount());
+    assertSame(dom.getExtra(), other.getExtra());
+  }
+
   @After
   public void tearDown() throws Exception {
 
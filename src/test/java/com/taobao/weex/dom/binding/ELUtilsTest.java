@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.dom.binding;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.taobao.weex.el.parse.Token;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ELUtilsTest {
+
+  @Before
+  public void setUp() throws Exception {
+    ELUtils.clearParseCache();
+  }
+
+  @Test
+  public void testParseShared() throws Exception {
+    int hit = ELUtils.getParseCacheHitCount();
+    int miss = ELUtils.getParseCacheMissCount();
+    Token token = ELUtils.parse("item.title");
+    assertSame(token, ELUtils.parse("item.title"));
+    assertEquals(hit + 1, ELUtils.getParseCacheHitCount());
+    assertEquals(miss + 1, ELUtils.getParseCacheMissCount());
+  }
+
+  @Test
+  public void testBindingBlock() throws Exception {
+    JSONObject first = JSON.parseObject("{\"@binding\":\"item.title\"}");
+    JSONObject second = JSON.parseObject("{\"@binding\":\"item.title\"}");
+    ELUtils.bindingBlock(first);
+    ELUtils.bindingBlock(second);
+    assertTrue(first.get(ELUtils.BINDING) instanceof Token);
+    assertSame(first.get(ELUtils.BINDING), second.get(ELUtils.BINDING));
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    int eviction = ELUtils.getParseCacheEvictionCount();
+    for(int i=0; i<1024; i++){
+      ELUtils.parse("item.title + " + i);
+    }
+    assertTrue(ELUtils.getParseCacheEvictionCount() > eviction);
+  }
+}
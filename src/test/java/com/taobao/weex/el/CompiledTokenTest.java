@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.el;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.taobao.weex.el.parse.ArrayStack;
+import com.taobao.weex.el.parse.Parser;
+import com.taobao.weex.el.parse.Token;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+
+/**
+ * compiled token should return the same value as token tree
+ */
+public class CompiledTokenTest extends TestCase {
+
+    private static final String[] CODES = {
+            "'hello world'", "1+4", "1+4e6", "1+.4", "1+e6", "1+e7",
+            "item.name", "item[name]", "item[1]", "item['name']", "item['inner']['x']",
+            "item.list.length", "item.list[1]", "item.list[index]", "item.list[index+1]",
+            "item.name.length", "item.inner.x*2", "item.inner[item.inner.name]",
+            "item.missing.x", "missing.x", "item.number%3 === 0",
+            "!(item.number%3 === 0) && (item.number%3 === 1)",
+            "!(!(item.number%3 === 0) && (item.number%3 === 1))",
+            "source ? item.name : 'no'", "zero ? 1 : 2", "str || 'default'", "source && item.number",
+            "item.number > 5 && item.number <= 7", "item.number >= 8 || item.number < 1",
+            "[1, 'a', item.name]", "[]", "[item.number, [1,2]]", "item.number - 2 / 4",
+            "item.number == '7'", "item.number != 7", "null == undefined", "true", "false", "null",
+            "(1+2)*3", "item.name + 1", "'a' + item.number", "i", "i+1", "!source", "a b c", "", "1.2.3",
+            "1 ? : 2", "+", "item.inner.name.length > 0 ? item.inner.name : item.name"
+    };
+
+    public void testSameAsTokenTree(){
+        Object[] contexts = {createContext(), createContext().get(0), null};
+        for(String code : CODES){
+            for(Object context : contexts){
+                Object expect = new Parser(code).parse().execute(context);
+                Object value = Parser.parse(code).execute(context);
+                Assert.assertEquals(code, String.valueOf(expect), String.valueOf(value));
+            }
+        }
+    }
+
+    public void testToString(){
+        Assert.assertEquals(new Parser("item.name + 1").parse().toString(), Parser.parse("item.name + 1").toString());
+    }
+
+    public void testArrayNotShared(){
+        Token token = Parser.parse("[item.name]");
+        ArrayStack context = createContext();
+        Assert.assertNotSame(token.execute(context), token.execute(context));
+    }
+
+    public void testPerformance(){
+        String code = "item.number > 5 && item.list[index] == 2 ? item.name + index : item.inner.x";
+        Token tree = new Parser(code).parse();
+        Token compiled = Parser.parse(code);
+        ArrayStack context = createContext();
+        int count = 200000;
+        long start = System.currentTimeMillis();
+        for(int i=0; i<count; i++){
+            tree.execute(context);
+        }
+        long treeUsed = System.currentTimeMillis() - start;
+        start = System.currentTimeMillis();
+        for(int i=0; i<count; i++){
+            compiled.execute(context);
+        }
+        long compiledUsed = System.currentTimeMillis() - start;
+        System.out.println("tree used " + treeUsed + " compiled used " + compiledUsed);
+    }
+
+    private ArrayStack createContext(){
+        JSONObject item = new JSONObject();
+        item.put("name", "hello world");
+        item.put("number", 7);
+        item.put("1", 10);
+        JSONArray list = new JSONArray();
+        list.add("a");
+        list.add(2);
+        list.add(null);
+        item.put("list", list);
+        JSONObject inner = new JSONObject();
+        inner.put("x", 3.5);
+        inner.put("name", "x");
+        item.put("inner", inner);
+
+        JSONObject data = new JSONObject();
+        data.put("item", item);
+        data.put("index", 1);
+        data.put("source", true);
+        data.put("zero", 0);
+        data.put("str", "");
+        data.put("e6", 10);
+        data.put("e7", "e7hello");
+
+        ArrayStack context = new ArrayStack();
+        context.push(data);
+        JSONObject scope = new JSONObject();
+        scope.put("i", 2);
+        context.push(scope);
+        return context;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.http;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.adapter.IWXHttpAdapter;
+import com.taobao.weex.common.WXRequest;
+import com.taobao.weex.common.WXResponse;
+import com.taobao.weex.utils.WXFileUtils;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXBundleCacheTest {
+
+  private File mDirectory;
+  private WXBundleCache mCache;
+
+  @Before
+  public void setUp() throws Exception {
+    mDirectory = new File(RuntimeEnvironment.application.getCacheDir(), "bundle_" + System.nanoTime());
+    mCache = new WXBundleCache(mDirectory, 100);
+  }
+
+  @Test
+  public void testPutAndRead() throws Exception {
+    byte[] bundle = "// { \"framework\": \"Vue\"}".getBytes("UTF-8");
+    assertTrue(mCache.put("http://a.js", bundle, "v1", "Mon, 01 Jan 2018 00:00:00 GMT", 30));
+
+    WXBundleCache.Entry entry = mCache.get("http://a.js");
+    assertNotNull(entry);
+    assertEquals("v1", entry.getETag());
+    assertEquals(30, entry.getNetworkTime());
+    assertArrayEquals(bundle, mCache.read(entry));
+
+    WXBundleCache reloaded = new WXBundleCache(mDirectory, 100);
+    entry = reloaded.get("http://a.js");
+    assertNotNull(entry);
+    assertArrayEquals(bundle, reloaded.read(entry));
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsed() throws Exception {
+    mCache.put("http://a.js", new byte[40], null, null, 0);
+    mCache.put("http://b.js", new byte[40], null, null, 0);
+    mCache.read(mCache.get("http://a.js"));
+    mCache.put("http://c.js", new byte[40], null, null, 0);
+
+    assertEquals(80, mCache.size());
+    assertNotNull(mCache.get("http://a.js"));
+    assertNull(mCache.get("http://b.js"));
+    assertNotNull(mCache.get("http://c.js"));
+  }
+
+  @Test
+  public void testDropCorrupted() throws Exception {
+    mCache.put("http://a.js", new byte[]{1, 2, 3}, null, null, 0);
+    FileOutputStream out = new FileOutputStream(new File(mDirectory, WXFileUtils.md5("http://a.js") + ".js"));
+    out.write(new byte[]{3, 2, 1});
+    out.close();
+
+    assertNull(mCache.read(mCache.get("http://a.js")));
+    assertNull(mCache.get("http://a.js"));
+    assertEquals(0, mCache.size());
+  }
+
+  @Test
+  public void testAdapter() throws Exception {
+    final List<WXRequest> requests = new ArrayList<>();
+    final String[] status = {"200"};
+    IWXHttpAdapter network = new IWXHttpAdapter() {
+      @Override
+      public void sendRequest(WXRequest request, OnHttpListener listener) {
+        requests.add(request);
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("ETag", Collections.singletonList("v1"));
+        listener.onHeadersReceived(Integer.parseInt(status[0]), headers);
+        WXResponse response = new WXResponse();
+        response.statusCode = status[0];
+        if ("200".equals(status[0])) {
+          response.originalData = "bundle".getBytes();
+        }
+        listener.onHttpFinish(response);
+      }
+    };
+    WXBundleCacheAdapter adapter = new WXBundleCacheAdapter(network, mCache);
+
+    WXResponse response = send(adapter);
+    assertEquals(WXBundleCacheAdapter.STATE_MISS, response.extendParams.get(WXBundleCacheAdapter.KEY_CACHE_STATE));
+
+    status[0] = "304";
+    response = send(adapter);
+    assertEquals("v1", requests.get(1).paramMap.get("If-None-Match"));
+    assertEquals("200", response.statusCode);
+    assertEquals("bundle", new String(response.originalData));
+    assertEquals(WXBundleCacheAdapter.STATE_REVALIDATED, response.extendParams.get(WXBundleCacheAdapter.KEY_CACHE_STATE));
+
+    mCache.setStaleWhileRevalidate(true);
+    response = send(adapter);
+    assertEquals("bundle", new String(response.originalData));
+    assertEquals(WXBundleCacheAdapter.STATE_STALE, response.extendParams.get(WXBundleCacheAdapter.KEY_CACHE_STATE));
+  }
+
+  private WXResponse send(IWXHttpAdapter adapter) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final WXResponse[] result = new WXResponse[1];
+    WXRequest request = new WXRequest();
+    request.url = "http://a.js";
+    adapter.sendRequest(request, new IWXHttpAdapter.OnHttpListener() {
+      @Override
+      public void onHttpStart() {
+      }
+
+      @Override
+      public void onHeadersReceived(int statusCode, Map<String, List<String>> headers) {
+      }
+
+      @Override
+      public void onHttpUploadProgress(int uploadProgress) {
+      }
+
+      @Override
+      public void onHttpResponseProgress(int loadedLength) {
+      }
+
+      @Override
+      public void onHttpFinish(WXResponse response) {
+        result[0] = response;
+        latch.countDown();
+      }
+    });
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    return result[0];
+  }
+}
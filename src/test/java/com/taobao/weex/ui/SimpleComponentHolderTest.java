@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKInstanceTest;
+import com.taobao.weex.dom.WXDomObject;
+import com.taobao.weex.dom.WXDomRegistry;
+import com.taobao.weex.dom.WXTextDomObject;
+import com.taobao.weex.ui.component.WXComponent;
+import com.taobao.weex.ui.component.WXDiv;
+import com.taobao.weex.ui.component.WXText;
+import com.taobao.weex.ui.component.WXVContainer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class SimpleComponentHolderTest {
+
+  private static final String TEXT = "holder-text";
+  private static final String TEXT_REFLECT = "holder-text-reflect";
+  private static final int NODES = 2000;
+
+  private WXSDKInstance instance;
+
+  @Before
+  public void setUp() throws Exception {
+    instance = WXSDKInstanceTest.createInstance();
+    if (WXDomRegistry.getDomObjectClass(TEXT) == WXDomRegistry.mDefaultClass) {
+      WXDomRegistry.registerDomObject(TEXT, WXTextDomObject.class, new WXTextDomObject.Creator());
+      WXDomRegistry.registerDomObject(TEXT_REFLECT, WXTextDomObject.class);
+    }
+  }
+
+  @Test
+  public void testReflectiveCreator() throws Exception {
+    WXDomObject dom = WXDomObject.parse(page(1, "div", TEXT), instance);
+    SimpleComponentHolder holder = new SimpleComponentHolder(WXDiv.class);
+
+    WXComponent component = holder.createInstance(instance, dom, null);
+    assertTrue(component instanceof WXDiv);
+    assertEquals(dom.getRef(), component.getRef());
+  }
+
+  /**
+   * parse and generate the component tree of a page with {@link #NODES} nodes, using reflective
+   * constructors and creators.
+   */
+  @Test
+  public void testCreateBenchmark() throws Exception {
+    Holders reflect = new Holders(
+        new SimpleComponentHolder(WXDiv.class, new SimpleComponentHolder.ClazzComponentCreator(WXDiv.class)),
+        new SimpleComponentHolder(WXText.class, new SimpleComponentHolder.ClazzComponentCreator(WXText.class)));
+    Holders creators = new Holders(
+        new SimpleComponentHolder(WXDiv.class, new WXDiv.Ceator()),
+        new SimpleComponentHolder(WXText.class, new WXText.Creator()));
+    JSONObject reflectPage = page(NODES / 4, "div", TEXT_REFLECT);
+    JSONObject creatorPage = page(NODES / 4, "div", TEXT);
+    int rounds = 5;
+
+    //warm up
+    assertEquals(NODES + 1, create(reflectPage, reflect));
+    assertEquals(NODES + 1, create(creatorPage, creators));
+
+    long reflectTime = 0;
+    long creatorTime = 0;
+    for (int i = 0; i < rounds; i++) {
+      long start = System.nanoTime();
+      create(reflectPage, reflect);
+      reflectTime += System.nanoTime() - start;
+
+      start = System.nanoTime();
+      create(creatorPage, creators);
+      creatorTime += System.nanoTime() - start;
+    }
+
+    System.out.println("Creator benchmark: reflection " + reflectTime / rounds / 1000 + "us, creators "
+        + creatorTime / rounds / 1000 + "us, " + (NODES + 1) + " nodes");
+  }
+
+  private int create(JSONObject page, Holders holders) throws Exception {
+    WXDomObject dom = WXDomObject.parse(page, instance);
+    return generateComponentTree(dom, null, holders);
+  }
+
+  /**
+   * same as {@link com.taobao.weex.dom.action.AbstractAddElementAction}, without the registry
+   * @return count of created components
+   */
+  private int generateComponentTree(WXDomObject dom, WXVContainer parent, Holders holders) throws Exception {
+    IFComponentHolder holder = dom instanceof WXTextDomObject ? holders.text : holders.div;
+    WXComponent component = holder.createInstance(instance, dom, parent);
+    int count = 1;
+    if (component instanceof WXVContainer) {
+      WXVContainer container = (WXVContainer) component;
+      for (int i = 0; i < dom.childCount(); i++) {
+        count += generateComponentTree(dom.getChild(i), container, holders);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return a div with rows, each row is a div with a text, a div and a text.
+   */
+  private static JSONObject page(int rows, String div, String text) {
+    int ref = 0;
+    JSONObject root = node(String.valueOf(ref++), div);
+    JSONArray children = new JSONArray();
+    for (int i = 0; i < rows; i++) {
+      JSONObject row = node(String.valueOf(ref++), div);
+      JSONArray cells = new JSONArray();
+      cells.add(node(String.valueOf(ref++), text));
+      cells.add(node(String.valueOf(ref++), div));
+      cells.add(node(String.valueOf(ref++), text));
+      row.put("children", cells);
+      children.add(row);
+    }
+    root.put("children", children);
+    return root;
+  }
+
+  private static JSONObject node(String ref, String type) {
+    JSONObject node = new JSONObject();
+    node.put("ref", ref);
+    node.put("type", type);
+    JSONObject style = new JSONObject();
+    style.put("width", 750);
+    style.put("height", 80);
+    node.put("style", style);
+    JSONObject attr = new JSONObject();
+    attr.put("value", "node " + ref);
+    node.put("attr", attr);
+    return node;
+  }
+
+  private static class Holders {
+
+    final IFComponentHolder div;
+    final IFComponentHolder text;
+
+    Holders(IFComponentHolder div, IFComponentHolder text) {
+      this.div = div;
+      this.text = text;
+    }
+  }
+}
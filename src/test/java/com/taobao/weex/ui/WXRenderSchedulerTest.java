@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.dom.RenderActionContext;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXRenderSchedulerTest {
+
+  private WXRenderManager mRenderManager;
+  private WXRenderScheduler mScheduler;
+  private List<String> mExecuted;
+
+  @Before
+  public void setUp() throws Exception {
+    mRenderManager = mock(WXRenderManager.class);
+    mockInstance("hidden", false);
+    mockInstance("shown", true);
+    mScheduler = new WXRenderScheduler(mRenderManager, new Handler(Looper.getMainLooper()));
+    mExecuted = new ArrayList<>();
+  }
+
+  private WXSDKInstance mockInstance(String instanceId, boolean shown) {
+    WXSDKInstance instance = mock(WXSDKInstance.class);
+    View view = mock(View.class);
+    when(view.isShown()).thenReturn(shown);
+    when(instance.getContainerView()).thenReturn(view);
+    when(mRenderManager.getWXSDKInstance(instanceId)).thenReturn(instance);
+    when(mRenderManager.getRenderContext(instanceId)).thenReturn(mock(RenderActionContext.class));
+    return instance;
+  }
+
+  private IWXRenderTask task(final String name) {
+    return new IWXRenderTask() {
+      @Override
+      public void execute() {
+        mExecuted.add(name);
+      }
+    };
+  }
+
+  @Test
+  public void testOrder() throws Exception {
+    mScheduler.postAll("hidden", Arrays.asList(task("h1"), task("h2")));
+    mScheduler.post("shown", task("s1"));
+    mScheduler.post("destroyed", task("d1"));
+    mScheduler.post("hidden", task("h3"));
+
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertEquals(Arrays.asList("s1", "h1", "h2", "h3"), mExecuted);
+  }
+
+  @Test
+  public void testIncremental() throws Exception {
+    final int[] executed = {0};
+    mScheduler.post("hidden", new IWXIncrementalRenderTask() {
+      @Override
+      public boolean execute(long deadlineNanos) {
+        executed[0]++;
+        return executed[0] == 3;
+      }
+
+      @Override
+      public void execute() {
+        executed[0] = 3;
+      }
+    });
+    mScheduler.post("hidden", task("after"));
+
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertEquals(3, executed[0]);
+    assertEquals(Arrays.asList("after"), mExecuted);
+  }
+
+  @Test
+  public void testRemoveInstance() throws Exception {
+    mScheduler.post("hidden", task("h1"));
+    mScheduler.removeInstance("hidden");
+    mScheduler.post("shown", task("s1"));
+
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertEquals(Arrays.asList("s1"), mExecuted);
+  }
+}
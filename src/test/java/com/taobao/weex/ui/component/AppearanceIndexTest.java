@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class AppearanceIndexTest {
+
+  private static final int COUNT = 300;
+
+  private int[] starts = new int[COUNT];
+  private int[] ends = new int[COUNT];
+
+  /**
+   * appear events from index should be same as check all helpers on every scroll
+   * */
+  @Test
+  public void testSameAsCheckAll() {
+    Random random = new Random(11);
+    for (int i = 0; i < COUNT; i++) {
+      starts[i] = random.nextInt(20000);
+      ends[i] = starts[i] + random.nextInt(400);
+    }
+    AppearanceHelper[] all = new AppearanceHelper[COUNT];
+    AppearanceHelper[] indexed = new AppearanceHelper[COUNT];
+    AppearanceIndex index = new AppearanceIndex();
+    for (int i = 0; i < COUNT; i++) {
+      all[i] = new AppearanceHelper(null, i);
+      indexed[i] = new AppearanceHelper(null, i);
+      index.put(indexed[i], starts[i], ends[i]);
+    }
+
+    int viewStart = 0;
+    int viewHeight = 1000;
+    index.setViewport(viewStart, viewStart + viewHeight);
+    List<String> allEvents = new ArrayList<>();
+    List<String> indexEvents = new ArrayList<>();
+    for (int i = 0; i < COUNT; i++) {
+      check(all[i], viewStart, viewStart + viewHeight, allEvents);
+      check(indexed[i], viewStart, viewStart + viewHeight, indexEvents);
+    }
+    assertEquals(allEvents, indexEvents);
+
+    List<AppearanceHelper> changed = new ArrayList<>();
+    for (int step = 0; step < 2000; step++) {
+      int move = random.nextInt(10) == 0 ? random.nextInt(6000) - 3000 : random.nextInt(200) - 100;
+      viewStart = Math.max(0, viewStart + move);
+      if (random.nextInt(50) == 0) {
+        viewHeight = 500 + random.nextInt(1000);
+      }
+      allEvents.clear();
+      indexEvents.clear();
+      for (int i = 0; i < COUNT; i++) {
+        check(all[i], viewStart, viewStart + viewHeight, allEvents);
+      }
+      changed.clear();
+      index.collectChanged(viewStart, viewStart + viewHeight, 0, changed);
+      for (AppearanceHelper helper : changed) {
+        check(helper, viewStart, viewStart + viewHeight, indexEvents);
+      }
+      assertEquals(sorted(allEvents), sorted(indexEvents));
+    }
+  }
+
+  /**
+   * interval is cell position, all helpers on edge cells are collected
+   * */
+  @Test
+  public void testEdge() {
+    AppearanceIndex index = new AppearanceIndex();
+    List<AppearanceHelper> helpers = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      AppearanceHelper helper = new AppearanceHelper(null, i);
+      helpers.add(helper);
+      index.put(helper, i, i + 1);
+    }
+    index.setViewport(5, 10);
+    List<AppearanceHelper> changed = new ArrayList<>();
+    index.collectChanged(5, 10, 1, changed);
+    assertEquals(2, changed.size());
+    assertEquals(true, changed.contains(helpers.get(5)));
+    assertEquals(true, changed.contains(helpers.get(9)));
+
+    changed.clear();
+    index.collectChanged(7, 12, 1, changed);
+    //5,6 left, 10,11 entered, 5,9 old edge, 7,11 new edge
+    assertEquals(6, changed.size());
+    for (int i : new int[]{5, 6, 7, 9, 10, 11}) {
+      assertEquals(true, changed.contains(helpers.get(i)));
+    }
+  }
+
+  private void check(AppearanceHelper helper, int viewStart, int viewEnd, List<String> events) {
+    int i = helper.getCellPositionINScollable();
+    boolean visible = starts[i] < viewEnd && ends[i] > viewStart;
+    int result = helper.setAppearStatus(visible);
+    if (result != AppearanceHelper.RESULT_NO_CHANGE) {
+      events.add(i + ":" + result);
+    }
+  }
+
+  private static List<String> sorted(List<String> events) {
+    List<String> list = new ArrayList<>(events);
+    Collections.sort(list);
+    return list;
+  }
+}
@@ -23,6 +23,8 @@ import com.taobao.weappplus_sdk.BuildConfig;
 import com.taobao.weex.WXSDKInstanceTest;
 import com.taobao.weex.dom.TestDomObject;
 import com.taobao.weex.dom.WXScrollerDomObject;
+import com.taobao.weex.ui.component.list.WXListComponent;
+import com.taobao.weex.ui.component.list.WXListComponentTest;
 import com.taobao.weex.ui.view.WXScrollView;
 import org.junit.After;
 import org.junit.Before;
@@ -78,6 +80,49 @@ public class WXScrollerTest {
     view.scrollTo(100,100);
   }
 
+  /**
+   * create view and set layout without binding events, so the component is not watched
+   */
+  private static <T extends WXComponent> T create(T child) {
+    child.createView();
+    setLayoutY(child, 0);
+    return child;
+  }
+
+  private static void setLayoutY(WXComponent child, float y) {
+    TestDomObject dom = new TestDomObject();
+    dom.setLayoutY(y);
+    child.setLayout(dom);
+  }
+
+  @Test
+  public void testAppearanceIndexInNestedList() throws Exception {
+    WXListComponent list = create(WXListComponentTest.create(component));
+    component.addChild(list);
+    WXDiv cell = create(WXDivTest.create(list));
+    list.addChild(cell);
+    WXDiv watched = create(WXDivTest.create(cell));
+    cell.addChild(watched);
+    WXDiv sibling = create(WXDivTest.create(component));
+    component.addChild(sibling);
+
+    component.bindAppearEvent(watched);
+    assertFalse(component.isAppearanceIndexDirty());
+
+    //not on the path of a watched component
+    setLayoutY(sibling, 100);
+    assertFalse(component.isAppearanceIndexDirty());
+
+    //ancestor of the watched component inside the list
+    setLayoutY(cell, 100);
+    assertTrue(component.isAppearanceIndexDirty());
+
+    component.onScrollChanged(null, 0, 0, 0, 0);
+    assertFalse(component.isAppearanceIndexDirty());
+    setLayoutY(watched, 100);
+    assertTrue(component.isAppearanceIndexDirty());
+  }
+
   @After
   public void tearDown() throws Exception {
     component.destroy();
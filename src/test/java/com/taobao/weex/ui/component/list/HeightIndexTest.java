@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component.list;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class HeightIndexTest {
+
+  @Test
+  public void testPrefixSum() {
+    Random random = new Random(7);
+    int[] heights = new int[200];
+    for (int i = 0; i < heights.length; i++) {
+      heights[i] = random.nextInt(300);
+    }
+    HeightIndex index = new HeightIndex();
+    index.build(heights, heights.length);
+    assertEquals(heights.length, index.size());
+    assertPrefixSum(heights, index);
+
+    for (int i = 0; i < 500; i++) {
+      int position = random.nextInt(heights.length);
+      heights[position] = random.nextInt(300);
+      index.set(position, heights[position]);
+    }
+    assertPrefixSum(heights, index);
+    assertEquals(index.total(), index.prefixSum(heights.length + 10));
+  }
+
+  @Test
+  public void testPositionOf() {
+    int[] heights = new int[]{100, 0, 50, 0, 0, 200, 30};
+    HeightIndex index = new HeightIndex();
+    index.build(heights, heights.length);
+    long total = index.total();
+    for (long offset = -1; offset <= total + 1; offset++) {
+      assertEquals("offset " + offset, positionOf(heights, offset), index.positionOf(offset));
+    }
+  }
+
+  @Test
+  public void testReset() {
+    HeightIndex index = new HeightIndex();
+    index.build(new int[]{1, 2, 3, 4, 5}, 5);
+    assertEquals(15, index.total());
+    index.build(new int[]{6, 7}, 2);
+    assertEquals(2, index.size());
+    assertEquals(13, index.total());
+    index.reset(4);
+    assertEquals(0, index.total());
+    index.set(3, 9);
+    assertEquals(9, index.total());
+    assertEquals(0, index.prefixSum(3));
+  }
+
+  private static void assertPrefixSum(int[] heights, HeightIndex index) {
+    long sum = 0;
+    for (int i = 0; i <= heights.length; i++) {
+      assertEquals(sum, index.prefixSum(i));
+      if (i < heights.length) {
+        assertEquals(heights[i], index.get(i));
+        sum += heights[i];
+      }
+    }
+  }
+
+  private static int positionOf(int[] heights, long offset) {
+    if (offset < 0) {
+      return 0;
+    }
+    long sum = 0;
+    for (int i = 0; i < heights.length; i++) {
+      sum += heights[i];
+      if (sum > offset) {
+        return i;
+      }
+    }
+    return heights.length;
+  }
+}
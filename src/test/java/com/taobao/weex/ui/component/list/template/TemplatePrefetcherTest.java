@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component.list.template;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.WXSDKInstanceTest;
+import com.taobao.weex.dom.WXRecyclerDomObject;
+import com.taobao.weex.ui.SimpleComponentHolder;
+import com.taobao.weex.ui.component.WXDivTest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+@PowerMockIgnore( {"org.mockito.*", "org.robolectric.*", "android.*"})
+public class TemplatePrefetcherTest {
+
+  private static WXRecyclerTemplateList mockList(int itemCount) {
+    WXRecyclerTemplateList list = mock(WXRecyclerTemplateList.class);
+    when(list.getItemCount()).thenReturn(itemCount);
+    for (int i = 0; i < itemCount; i++) {
+      when(list.getTemplateKey(i)).thenReturn(i % 3 == 0 ? "a" : "b");
+    }
+    return list;
+  }
+
+  @Test
+  public void testPredictCountsTemplatesAhead() throws Exception {
+    WXRecyclerTemplateList list = mockList(20);
+    new TemplatePrefetcher(list).predict(2, 1, 6);
+    //positions 3..8: a at 3, 6; b at 4, 5, 7, 8
+    verify(list).preloadTemplate("a", 2);
+    verify(list).preloadTemplate("b", 4);
+  }
+
+  @Test
+  public void testPredictBackwardStopsAtStart() throws Exception {
+    WXRecyclerTemplateList list = mockList(20);
+    new TemplatePrefetcher(list).predict(2, -1, 6);
+    //positions 1, 0
+    verify(list).preloadTemplate("a", 1);
+    verify(list).preloadTemplate("b", 1);
+  }
+
+  @Test
+  public void testPredictStopsAtEnd() throws Exception {
+    WXRecyclerTemplateList list = mockList(20);
+    new TemplatePrefetcher(list).predict(19, 1, 6);
+    verify(list, never()).preloadTemplate(anyString(), anyInt());
+  }
+
+  @Test
+  public void testResetTemplateOutOfWindow() throws Exception {
+    WXRecyclerTemplateList list = mockList(20);
+    TemplatePrefetcher prefetcher = new TemplatePrefetcher(list);
+    prefetcher.predict(2, 1, 6);
+    verify(list).preloadTemplate("a", 2);
+    //position 4, 5: b only
+    prefetcher.predict(3, 1, 2);
+    verify(list).resetPredictSize("a");
+    verify(list, never()).resetPredictSize("b");
+    //position 6: a is back, b dropped out
+    prefetcher.predict(5, 1, 1);
+    verify(list).preloadTemplate("a", 1);
+    verify(list).resetPredictSize("b");
+  }
+
+  @Test
+  public void testResetPredictSize() throws Exception {
+    WXRecyclerTemplateList list = (WXRecyclerTemplateList) new SimpleComponentHolder(WXRecyclerTemplateList.class)
+        .createInstance(WXSDKInstanceTest.createInstance(), new WXRecyclerDomObject(), WXDivTest.create());
+
+    list.preloadTemplate("missing", 5);
+    list.resetPredictSize("missing");
+    TemplateCache cache = list.getTemplatesCache().get("missing");
+    assertEquals(0, cache.predictSize);
+    assertEquals(list.getTemplateCacheSize(), cache.getLoadSize(list.getTemplateCacheSize()));
+  }
+
+  @Test
+  public void testPredictSizeIsBounded() throws Exception {
+    WXRecyclerTemplateList list = mock(WXRecyclerTemplateList.class);
+    when(list.getItemCount()).thenReturn(100);
+    when(list.getTemplateKey(anyInt())).thenReturn("a");
+    new TemplatePrefetcher(list).predict(0, 1, 16);
+    verify(list).preloadTemplate("a", TemplatePrefetcher.MAX_PREDICT_SIZE);
+  }
+
+  @Test
+  public void testPreloadTemplateWithoutSource() throws Exception {
+    WXRecyclerTemplateList list = (WXRecyclerTemplateList) new SimpleComponentHolder(WXRecyclerTemplateList.class)
+        .createInstance(WXSDKInstanceTest.createInstance(), new WXRecyclerDomObject(), WXDivTest.create());
+
+    list.preloadTemplate("missing", 5);
+    TemplateCache cache = list.getTemplatesCache().get("missing");
+    assertNotNull(cache);
+    assertEquals(5, cache.predictSize);
+    assertEquals(5, cache.getLoadSize(list.getTemplateCacheSize()));
+    //no task was started, so the cache must not stay marked as loading
+    assertFalse(cache.isLoadIng);
+  }
+}
@@ -18,30 +18,42 @@
  */
 package com.taobao.weex.ui.module;
 
-import static android.R.attr.end;
-import static android.R.attr.start;
-import static org.hamcrest.CoreMatchers.is;
-import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
-import static org.mockito.Mockito.never;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 import android.os.Handler;
-import android.os.Message;
+
 import com.taobao.weappplus_sdk.BuildConfig;
 import com.taobao.weex.InitConfig;
 import com.taobao.weex.WXSDKEngine;
+import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.WXSDKInstanceTest;
+import com.taobao.weex.WXSDKManager;
+import com.taobao.weex.WXSDKManagerTest;
 import com.taobao.weex.bridge.WXBridgeManager;
 import com.taobao.weex.bridge.WXBridgeManagerTest;
 import com.taobao.weex.common.WXThread;
+import com.taobao.weex.dom.DOMAction;
+import com.taobao.weex.dom.RenderAction;
+import com.taobao.weex.dom.WXDomManager;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.rule.PowerMockRule;
@@ -68,20 +80,42 @@ public class WXTimerModuleTest {
   @Rule
   public PowerMockRule rule = new PowerMockRule();
   WXTimerModule module;
+  WXTimerWheel.Listener listener;
   ShadowLooper mLooper;
+  WXBridgeManager bridge;
+  WXSDKManager sdkManager;
 
   @Before
   public void setup() throws Exception {
     WXSDKEngine.initialize(RuntimeEnvironment.application, new InitConfig.Builder().build());
-    WXBridgeManager bridge = Mockito.mock(WXBridgeManager.class);
+    bridge = Mockito.mock(WXBridgeManager.class);
     when(bridge.getJSLooper()).thenReturn(new WXThread("js").getLooper());
     WXBridgeManagerTest.setBridgeManager(bridge);
+    sdkManager = WXSDKManager.getInstance();
 
     module = Mockito.spy(new WXTimerModule());
     module.mWXSDKInstance = WXSDKInstanceTest.createInstance();
-    Handler handler = new Handler(WXBridgeManager.getInstance().getJSLooper(), module);
-    mLooper = Shadows.shadowOf(handler.getLooper());
-    module.setHandler(handler);
+    listener = Mockito.mock(WXTimerWheel.Listener.class);
+    WXTimerWheel wheel = new WXTimerWheel(WXBridgeManager.getInstance().getJSLooper(), listener);
+    mLooper = Shadows.shadowOf(WXBridgeManager.getInstance().getJSLooper());
+    module.setTimerWheel(wheel);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    WXSDKManagerTest.setInstance(sdkManager);
+  }
+
+  /**
+   * timers fire on the first wheel tick not earlier than the deadline
+   */
+  private static void assertDuration(long duration, long delay) {
+    assertTrue("fired after " + duration + "ms, delay " + delay + "ms",
+        duration >= delay && duration < delay + WXTimerWheel.TICK_MS);
+  }
+
+  private void verifyFired(int times) {
+    Mockito.verify(listener, times(times)).onTimersExpired(anyInt(), anyListOf(WXTimerWheel.Timer.class));
   }
 
   @Test
@@ -93,8 +127,8 @@ public class WXTimerModuleTest {
     end = mLooper.getScheduler().getCurrentTime();
     duration = end - start;
 
-    assertThat(duration, is((long) DELAY));
-    Mockito.verify(module, times(1)).handleMessage(any(Message.class));
+    assertDuration(duration, DELAY);
+    verifyFired(1);
   }
 
   @Test
@@ -106,15 +140,15 @@ public class WXTimerModuleTest {
     end = mLooper.getScheduler().getCurrentTime();
     duration = end - start;
 
-    assertThat(duration, is((long) FLOAT_DELAY));
-    Mockito.verify(module, times(1)).handleMessage(any(Message.class));
+    assertDuration(duration, (long) FLOAT_DELAY);
+    verifyFired(1);
   }
 
   @Test
   public void testSetTimeoutImmediately() throws Exception {
     module.setTimeout(VALID_FUNC_ID, IMMEDIATELY);
     mLooper.idle(IMMEDIATELY);
-    Mockito.verify(module, times(1)).handleMessage(any(Message.class));
+    verifyFired(1);
   }
 
   @SuppressWarnings("Range")
@@ -122,7 +156,7 @@ public class WXTimerModuleTest {
   public void testSetTimeoutError1() throws Exception {
     module.setTimeout(INVALID_FUNC_ID, DELAY);
     mLooper.idle(DELAY);
-    Mockito.verify(module, never()).handleMessage(any(Message.class));
+    verifyFired(0);
   }
 
   @SuppressWarnings("Range")
@@ -130,7 +164,7 @@ public class WXTimerModuleTest {
   public void testSetTimeoutError2() throws Exception {
     module.setTimeout(VALID_FUNC_ID, INVALID_DELAY);
     mLooper.runToEndOfTasks();
-    Mockito.verify(module, never()).handleMessage(any(Message.class));
+    verifyFired(0);
   }
 
   @SuppressWarnings("Range")
@@ -138,7 +172,7 @@ public class WXTimerModuleTest {
   public void testSetIntervalError1() throws Exception {
     module.setInterval(INVALID_FUNC_ID, DELAY);
     mLooper.idle(DELAY);
-    Mockito.verify(module, never()).handleMessage(any(Message.class));
+    verifyFired(0);
   }
 
   @SuppressWarnings("Range")
@@ -146,7 +180,7 @@ public class WXTimerModuleTest {
   public void testSetIntervalError2() throws Exception {
     module.setInterval(VALID_FUNC_ID, INVALID_DELAY);
     mLooper.runToEndOfTasks();
-    Mockito.verify(module, never()).handleMessage(any(Message.class));
+    verifyFired(0);
   }
 
   @Test
@@ -159,13 +193,13 @@ public class WXTimerModuleTest {
     end = mLooper.getScheduler().getCurrentTime();
     duration = end - start;
 
-    assertThat(duration, is((long) DELAY));
+    assertDuration(duration, DELAY);
 
     mLooper.runOneTask();
     mLooper.runOneTask();
     mLooper.runOneTask();
     mLooper.runOneTask();
-    Mockito.verify(module, times(5)).handleMessage(any(Message.class));
+    verifyFired(5);
   }
 
   @Test
@@ -178,11 +212,11 @@ public class WXTimerModuleTest {
     end = mLooper.getScheduler().getCurrentTime();
     duration = end - start;
 
-    assertThat(duration, is((long) DELAY));
+    assertDuration(duration, DELAY);
 
     mLooper.runOneTask();
     mLooper.runOneTask();
-    Mockito.verify(module, times(3)).handleMessage(any(Message.class));
+    verifyFired(3);
   }
 
   @Test
@@ -195,11 +229,11 @@ public class WXTimerModuleTest {
     end = mLooper.getScheduler().getCurrentTime();
     duration = end - start;
 
-    assertThat(duration, is((long) FLOAT_DELAY));
+    assertDuration(duration, (long) FLOAT_DELAY);
 
     mLooper.runOneTask();
     mLooper.runOneTask();
-    Mockito.verify(module, times(3)).handleMessage(any(Message.class));
+    verifyFired(3);
   }
 
   @Test
@@ -207,7 +241,7 @@ public class WXTimerModuleTest {
     module.setTimeout(VALID_FUNC_ID, DELAY);
     module.clearTimeout(VALID_FUNC_ID);
     mLooper.idle(DELAY, TimeUnit.MILLISECONDS);
-    Mockito.verify(module, never()).handleMessage(any(Message.class));
+    verifyFired(0);
   }
 
   @Test
@@ -215,7 +249,7 @@ public class WXTimerModuleTest {
     module.setInterval(VALID_FUNC_ID, DELAY);
     module.clearInterval(VALID_FUNC_ID);
     mLooper.idle(DELAY, TimeUnit.MILLISECONDS);
-    Mockito.verify(module, never()).handleMessage(any(Message.class));
+    verifyFired(0);
   }
 
   @Test
@@ -223,7 +257,7 @@ public class WXTimerModuleTest {
     module.setTimeout(NO_CACHING_FUNC_ID, DELAY);
     module.clearTimeout(NO_CACHING_FUNC_ID);
     mLooper.idle(DELAY, TimeUnit.MILLISECONDS);
-    Mockito.verify(module, never()).handleMessage(any(Message.class));
+    verifyFired(0);
   }
 
   @Test
@@ -231,6 +265,44 @@ public class WXTimerModuleTest {
     module.setInterval(NO_CACHING_FUNC_ID, DELAY);
     module.clearInterval(NO_CACHING_FUNC_ID);
     mLooper.idle(DELAY, TimeUnit.MILLISECONDS);
-    Mockito.verify(module, never()).handleMessage(any(Message.class));
+    verifyFired(0);
+  }
+
+  @Test
+  public void testPreRenderMode() throws Exception {
+    final Handler jsHandler = new Handler(bridge.getJSLooper());
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        jsHandler.post((Runnable) invocation.getArguments()[0]);
+        return null;
+      }
+    }).when(bridge).post(any(Runnable.class));
+    WXDomManager domManager = Mockito.mock(WXDomManager.class);
+    WXSDKManager manager = Mockito.spy(sdkManager);
+    when(manager.getWXDomManager()).thenReturn(domManager);
+    WXSDKManagerTest.setInstance(manager);
+    WXSDKInstance instance = Mockito.spy(module.mWXSDKInstance);
+    when(instance.isPreRenderMode()).thenReturn(true);
+    module.mWXSDKInstance = instance;
+
+    module.setTimeout(VALID_FUNC_ID, DELAY);
+    module.setTimeout(NO_CACHING_FUNC_ID, DELAY);
+    module.clearTimeout(NO_CACHING_FUNC_ID);
+    ArgumentCaptor<DOMAction> actions = ArgumentCaptor.forClass(DOMAction.class);
+    Mockito.verify(domManager, times(3)).postAction(anyString(), actions.capture(), anyBoolean());
+    Mockito.verify(bridge, times(0)).post(any(Runnable.class));
+
+    //render actions run on the ui thread, and only post the timer calls to the js thread
+    List<DOMAction> rendered = actions.getAllValues();
+    for (DOMAction action : rendered) {
+      ((RenderAction) action).executeRender(null);
+    }
+    Mockito.verify(bridge, times(3)).post(any(Runnable.class));
+    verifyFired(0);
+
+    mLooper.idle(DELAY, TimeUnit.MILLISECONDS);
+    mLooper.runToEndOfTasks();
+    Mockito.verify(listener, times(1)).onTimersExpired(anyInt(), anyListOf(WXTimerWheel.Timer.class));
   }
 }
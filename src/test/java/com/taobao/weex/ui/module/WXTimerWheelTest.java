@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.os.Looper;
+import android.os.SystemClock;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.Shadows;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXTimerWheelTest {
+
+  static class Fire {
+    final int instanceId;
+    final List<WXTimerWheel.Timer> timers;
+    final long time;
+
+    Fire(int instanceId, List<WXTimerWheel.Timer> timers, long time) {
+      this.instanceId = instanceId;
+      this.timers = timers;
+      this.time = time;
+    }
+  }
+
+  List<Fire> fires;
+  WXTimerWheel wheel;
+  ShadowLooper looper;
+
+  @Before
+  public void setUp() throws Exception {
+    fires = new ArrayList<>();
+    looper = Shadows.shadowOf(Looper.getMainLooper());
+    wheel = new WXTimerWheel(Looper.getMainLooper(), new WXTimerWheel.Listener() {
+      @Override
+      public void onTimersExpired(int instanceId, List<WXTimerWheel.Timer> timers) {
+        fires.add(new Fire(instanceId, timers, SystemClock.uptimeMillis()));
+      }
+    });
+  }
+
+  /**
+   * move the clock to 1ms after a tick, so timers scheduled now do not straddle a tick boundary.
+   */
+  private long alignClock() {
+    long now = SystemClock.uptimeMillis();
+    looper.idle(WXTimerWheel.TICK_MS - now % WXTimerWheel.TICK_MS + 1);
+    return SystemClock.uptimeMillis();
+  }
+
+  private int countTimers() {
+    int count = 0;
+    for (Fire fire : fires) {
+      count += fire.timers.size();
+    }
+    return count;
+  }
+
+  @Test
+  public void testTimeoutAccuracy() throws Exception {
+    int[] delays = {1, 15, 16, 17, 20, 50, 100, 1000, 5000};
+    for (int delay : delays) {
+      fires.clear();
+      long start = SystemClock.uptimeMillis();
+      wheel.schedule(1, 1, delay, false);
+      looper.idle(delay + WXTimerWheel.TICK_MS);
+
+      assertEquals(1, fires.size());
+      long duration = fires.get(0).time - start;
+      //the previous implementation fired after exactly delay ms, now never earlier and less than a tick later
+      assertTrue("delay " + delay + " fired after " + duration, duration >= delay && duration < delay + WXTimerWheel.TICK_MS);
+      assertEquals(0, wheel.size());
+    }
+  }
+
+  @Test
+  public void testZeroDelayFiresImmediately() throws Exception {
+    alignClock();
+    long start = SystemClock.uptimeMillis();
+    wheel.schedule(1, 1, 0, false);
+    wheel.schedule(2, 1, 0, false);
+    looper.idle(0);
+
+    assertEquals(2, fires.size());
+    assertEquals(start, fires.get(0).time);
+    assertEquals(start, fires.get(1).time);
+  }
+
+  @Test
+  public void testSameTickCoalesced() throws Exception {
+    alignClock();
+    for (int instance = 1; instance <= 2; instance++) {
+      wheel.schedule(instance, 3, 102, false);
+      wheel.schedule(instance, 1, 100, false);
+      wheel.schedule(instance, 2, 101, true);
+    }
+    looper.idle(100 + WXTimerWheel.TICK_MS);
+
+    assertEquals(2, fires.size());
+    for (Fire fire : fires) {
+      assertEquals(3, fire.timers.size());
+      assertEquals(1, fire.timers.get(0).getFuncId());
+      assertEquals(2, fire.timers.get(1).getFuncId());
+      assertEquals(3, fire.timers.get(2).getFuncId());
+      assertTrue(fire.timers.get(1).isRepeat());
+    }
+    assertEquals(fires.get(0).time, fires.get(1).time);
+    assertEquals(2, wheel.size());
+  }
+
+  @Test
+  public void testIntervalDoesNotDrift() throws Exception {
+    long start = SystemClock.uptimeMillis();
+    wheel.schedule(1, 1, 50, true);
+    looper.idle(1000 + WXTimerWheel.TICK_MS);
+
+    assertEquals(20, fires.size());
+    for (int i = 0; i < fires.size(); i++) {
+      long expected = start + 50 * (i + 1);
+      long time = fires.get(i).time;
+      assertTrue(time >= expected && time < expected + WXTimerWheel.TICK_MS);
+    }
+  }
+
+  @Test
+  public void testCancel() throws Exception {
+    wheel.schedule(1, 1, 50, true);
+    wheel.schedule(1, 2, 50, false);
+    //type does not match
+    wheel.cancel(1, 1, false);
+    wheel.cancel(1, 2, true);
+    looper.idle(50 + WXTimerWheel.TICK_MS);
+    assertEquals(2, countTimers());
+
+    wheel.cancel(1, 1, true);
+    looper.idle(1000);
+    assertEquals(2, countTimers());
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  public void testReplace() throws Exception {
+    wheel.schedule(1, 1, 50, false);
+    wheel.schedule(1, 1, 200, false);
+    looper.idle(100);
+    assertEquals(0, fires.size());
+    looper.idle(200);
+    assertEquals(1, fires.size());
+  }
+
+  @Test
+  public void testRemoveInstance() throws Exception {
+    wheel.schedule(1, 1, 50, true);
+    wheel.schedule(1, 2, 80, false);
+    wheel.schedule(2, 1, 50, false);
+    wheel.removeInstance(1);
+    looper.idle(1000);
+
+    assertEquals(1, fires.size());
+    assertEquals(2, fires.get(0).instanceId);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  public void testBackgroundThrottled() throws Exception {
+    wheel.setInstanceBackground(1, true);
+    wheel.schedule(1, 1, 16, true);
+    wheel.schedule(2, 1, 16, true);
+    looper.idle(3000);
+
+    int background = 0;
+    for (Fire fire : fires) {
+      if (fire.instanceId == 1) {
+        background++;
+        assertEquals(0, fire.time % WXTimerWheel.BACKGROUND_ALIGN_MS);
+      }
+    }
+    assertTrue(background >= 2 && background <= 3);
+    assertTrue(fires.size() - background >= 3000 / 16 - 1);
+
+    //timers run at the normal rate after the first background aligned fire
+    wheel.setInstanceBackground(1, false);
+    fires.clear();
+    looper.idle(WXTimerWheel.BACKGROUND_ALIGN_MS + 12 * 16);
+    int foreground = 0;
+    for (Fire fire : fires) {
+      if (fire.instanceId == 1) {
+        foreground++;
+      }
+    }
+    assertTrue(foreground >= 10);
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Activity;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.view.View;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.TestActivity;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.dom.TestDomObject;
+import com.taobao.weex.ui.component.WXBasicComponentType;
+import com.taobao.weex.ui.component.WXDiv;
+import com.taobao.weex.ui.component.WXDivTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXViewPoolTest {
+
+  private Activity mActivity;
+  private WXViewPool mPool;
+
+  @Before
+  public void setUp() throws Exception {
+    mActivity = Robolectric.setupActivity(TestActivity.class);
+    mPool = WXViewPool.get(mActivity);
+  }
+
+  @Test
+  public void testWarm() throws Exception {
+    Map<String, Integer> counts = new HashMap<>();
+    counts.put(WXBasicComponentType.DIV, 3);
+    counts.put(WXBasicComponentType.CONTAINER, 2);
+    counts.put(WXBasicComponentType.TEXT, 4);
+    counts.put(WXBasicComponentType.IMG, 200);
+    counts.put(WXBasicComponentType.SCROLLER, 1);
+    mPool.prepare(counts);
+
+    assertFalse(mPool.warm(Long.MAX_VALUE));
+    assertEquals(5, mPool.size(WXViewPool.DIV));
+    assertEquals(4, mPool.size(WXViewPool.TEXT));
+    assertEquals(WXViewPool.MAX_POOL_SIZE, mPool.size(WXViewPool.IMAGE));
+    assertTrue(mPool.obtain(WXViewPool.TEXT) instanceof WXTextView);
+    assertTrue(mPool.obtain(WXViewPool.IMAGE) instanceof WXImageView);
+    assertEquals(3, mPool.size(WXViewPool.TEXT));
+    assertNull(mPool.obtain(WXBasicComponentType.SCROLLER));
+
+    assertTrue(mPool.warm(0));
+    assertEquals(3, mPool.size(WXViewPool.TEXT));
+    assertFalse(mPool.warm(Long.MAX_VALUE));
+    assertEquals(4, mPool.size(WXViewPool.TEXT));
+  }
+
+  @Test
+  public void testRelease() throws Exception {
+    WXFrameLayout parent = new WXFrameLayout(mActivity);
+    WXTextView child = new WXTextView(mActivity);
+    parent.addView(child);
+    child.setPadding(1, 2, 3, 4);
+    child.setAlpha(0.5f);
+    child.setBackgroundDrawable(new ColorDrawable(Color.RED));
+    child.setContentDescription("text");
+    child.setOnClickListener(new View.OnClickListener() {
+      @Override
+      public void onClick(View v) {
+      }
+    });
+
+    mPool.release(child);
+    assertEquals(0, mPool.size(WXViewPool.TEXT));
+
+    mPool.release(parent);
+    assertEquals(1, mPool.size(WXViewPool.DIV));
+    assertEquals(1, mPool.size(WXViewPool.TEXT));
+    assertEquals(0, parent.getChildCount());
+
+    assertSame(child, mPool.obtain(WXViewPool.TEXT));
+    assertNull(child.getParent());
+    assertEquals(0, child.getPaddingLeft());
+    assertEquals(0, child.getPaddingBottom());
+    assertEquals(1, child.getAlpha(), 0);
+    assertNull(child.getBackground());
+    assertNull(child.getContentDescription());
+    assertFalse(child.isClickable());
+  }
+
+  @Test
+  public void testReleaseTransformed() throws Exception {
+    WXImageView view = new WXImageView(mActivity);
+    view.setRotation(30);
+    mPool.release(view);
+    assertEquals(0, mPool.size(WXViewPool.IMAGE));
+  }
+
+  @Test
+  public void testComponentTakesPooledView() throws Exception {
+    WXDiv div = WXDivTest.create();
+    WXSDKInstance instance = div.getInstance();
+    WXViewPool pool = instance.getViewPool();
+    Map<String, Integer> counts = new HashMap<>();
+    counts.put(WXBasicComponentType.DIV, 1);
+    pool.prepare(counts);
+    pool.warm(Long.MAX_VALUE);
+    assertEquals(1, pool.size(WXViewPool.DIV));
+
+    div.createView();
+    assertEquals(0, pool.size(WXViewPool.DIV));
+    assertSame(div, ((WXFrameLayout) div.getHostView()).getComponent());
+    assertEquals(1, instance.getWXPerformance().viewPoolHits);
+
+    new WXDiv(instance, new TestDomObject(), null).createView();
+    assertEquals(1, instance.getWXPerformance().viewPoolHits);
+    assertEquals(1, instance.getWXPerformance().viewPoolMisses);
+  }
+
+  @Test
+  public void testPoolIsNotHeldByContext() throws Exception {
+    WXViewPool pool = WXViewPool.get(mActivity);
+    assertSame(mPool, pool);
+
+    WeakReference<WXViewPool> reference = new WeakReference<>(mPool);
+    pool = null;
+    mPool = null;
+    for (int i = 0; i < 10 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertNull(reference.get());
+  }
+}
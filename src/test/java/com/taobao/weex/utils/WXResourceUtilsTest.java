@@ -142,4 +142,27 @@ public class WXResourceUtilsTest {
     shader = WXResourceUtils.getShader("gradient", 100, 100);
     assertNull(shader);
   }
+
+  @Test
+  public void testCache() throws Exception {
+    WXResourceUtils.clearCache();
+    int hit = WXResourceUtils.getColorCacheHitCount();
+    int miss = WXResourceUtils.getColorCacheMissCount();
+    assertEquals(0xff112233, WXResourceUtils.getColor("#123"));
+    assertEquals(0xff112233, WXResourceUtils.getColor("#123"));
+    assertEquals(hit + 1, WXResourceUtils.getColorCacheHitCount());
+    assertEquals(miss + 1, WXResourceUtils.getColorCacheMissCount());
+
+    //invalid color is cached, and default color is used
+    assertEquals(Integer.MIN_VALUE, WXResourceUtils.getColor("#sss"));
+    assertEquals(0xff000000, WXResourceUtils.getColor("#sss", 0xff000000));
+    assertEquals(hit + 2, WXResourceUtils.getColorCacheHitCount());
+
+    hit = WXResourceUtils.getGradientCacheHitCount();
+    assertNotNull(WXResourceUtils.getShader("linear-gradient(to bottom,#a80077,blue)", 100, 100));
+    assertNotNull(WXResourceUtils.getShader("linear-gradient(to bottom,#a80077,blue)", 200, 200));
+    assertNull(WXResourceUtils.getShader("gradient", 100, 100));
+    assertNull(WXResourceUtils.getShader("gradient", 100, 100));
+    assertEquals(hit + 2, WXResourceUtils.getGradientCacheHitCount());
+  }
 }
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.wson;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class LazyWsonTest {
+
+  /**
+   * addElement payload of a list cell, with nested children
+   */
+  private static Map<String, Object> createElement(int depth, int index) {
+    Map<String, Object> style = new LinkedHashMap<>();
+    style.put("width", 750);
+    style.put("height", 120.5);
+    style.put("flexDirection", "row");
+    style.put("backgroundColor", "#ffffff");
+    Map<String, Object> attr = new LinkedHashMap<>();
+    attr.put("value", "item title " + index);
+    attr.put("src", "https://img.example.com/" + index + ".png");
+    List<Object> event = new ArrayList<>();
+    event.add("click");
+    event.add("appear");
+
+    Map<String, Object> element = new LinkedHashMap<>();
+    element.put("ref", "ref_" + depth + "_" + index);
+    element.put("type", depth == 0 ? "cell" : "div");
+    element.put("style", style);
+    element.put("attr", attr);
+    element.put("event", event);
+    if (depth < 2) {
+      List<Object> children = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        children.add(createElement(depth + 1, i));
+      }
+      element.put("children", children);
+    }
+    return element;
+  }
+
+  @Test
+  public void testEqualsEager() throws Exception {
+    byte[] bts = Wson.toWson(new Object[]{createElement(0, 0), "text", 1, null, 2.5, Long.MAX_VALUE});
+    Object eager = Wson.parse(bts);
+    Object lazy = LazyWson.parse(bts);
+    assertTrue(lazy instanceof JSONArray);
+    assertEquals(eager, lazy);
+    assertEquals(lazy, eager);
+  }
+
+  @Test
+  public void testPartialAccess() throws Exception {
+    byte[] bts = Wson.toWson(createElement(0, 0));
+    JSONObject dom = (JSONObject) LazyWson.parse(bts);
+    assertEquals("ref_0_0", dom.get("ref"));
+    assertEquals("cell", dom.getString("type"));
+    assertNull(dom.get("missing"));
+    assertTrue(dom.containsKey("style"));
+    assertEquals(750, dom.getJSONObject("style").get("width"));
+    JSONArray children = dom.getJSONArray("children");
+    assertEquals(4, children.size());
+    assertEquals("ref_1_3", children.getJSONObject(3).get("ref"));
+  }
+
+  @Test
+  public void testModify() throws Exception {
+    byte[] bts = Wson.toWson(createElement(0, 0));
+    JSONObject dom = (JSONObject) LazyWson.parse(bts);
+    dom.put("type", "div");
+    assertEquals("div", dom.get("type"));
+    assertEquals("ref_0_0", dom.get("ref"));
+    dom.remove("event");
+    assertFalse(dom.containsKey("event"));
+
+    JSONArray children = dom.getJSONArray("children");
+    children.remove(0);
+    assertEquals(3, children.size());
+    assertEquals("ref_1_1", children.getJSONObject(0).get("ref"));
+  }
+
+  @Test
+  public void testEntrySetInPlace() throws Exception {
+    byte[] bts = Wson.toWson(createElement(0, 0));
+    JSONObject dom = (JSONObject) LazyWson.parse(bts);
+    JSONObject style = dom.getJSONObject("style");
+    Map<String, Object> copy = new LinkedHashMap<>(style);
+    assertEquals(4, copy.size());
+    assertEquals("row", copy.get("flexDirection"));
+    assertNull(((LazyWson.LazyObject) style).view.decoded);
+  }
+
+  @Test
+  public void testDetach() throws Exception {
+    Map<String, Object> element = createElement(1, 0);
+    Map<String, Object> attr = new LinkedHashMap<>();
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("list", element.get("event"));
+    attr.put("data", data);
+    attr.put("value", "text");
+    element.put("attr", attr);
+    byte[] bts = Wson.toWson(element);
+    JSONObject dom = (JSONObject) LazyWson.parse(bts);
+
+    JSONObject lazyAttr = dom.getJSONObject("attr");
+    assertTrue(LazyWson.isLazy(lazyAttr));
+    JSONObject detachedAttr = LazyWson.detached(lazyAttr);
+    Map<String, Object> copy = new LinkedHashMap<>(detachedAttr);
+    assertEquals("text", copy.get("value"));
+    assertFalse(LazyWson.isLazy(copy.get("data")));
+    assertFalse(LazyWson.isLazy(((JSONObject) copy.get("data")).get("list")));
+    assertEquals(Wson.parse(Wson.toWson(attr)), copy);
+
+    Object detached = LazyWson.detach(dom);
+    assertFalse(LazyWson.isLazy(detached));
+    assertFalse(LazyWson.isLazy(((JSONObject) detached).get("style")));
+    assertEquals(Wson.parse(bts), detached);
+    assertSame("text", LazyWson.detach("text"));
+  }
+
+  @Test
+  public void testBenchmark() throws Exception {
+    List<Object> tasks = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      tasks.add(createElement(0, i));
+    }
+    byte[] bts = Wson.toWson(tasks);
+    int rounds = 2000;
+
+    long start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      JSONArray array = (JSONArray) Wson.parse(bts);
+      for (int j = 0; j < array.size(); j++) {
+        JSONObject task = array.getJSONObject(j);
+        task.get("ref");
+        task.get("type");
+      }
+    }
+    long eagerTime = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      JSONArray array = (JSONArray) LazyWson.parse(bts);
+      for (int j = 0; j < array.size(); j++) {
+        JSONObject task = array.getJSONObject(j);
+        task.get("ref");
+        task.get("type");
+      }
+    }
+    long lazyTime = System.nanoTime() - start;
+
+    System.out.println("LazyWson benchmark: eager " + eagerTime / 1000 + "us, lazy " + lazyTime / 1000
+        + "us, payload " + bts.length + " bytes x " + rounds);
+  }
+}